@@ -0,0 +1,69 @@
+package com.decoaromas.decoaromaspos.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades del sistema ({@code -Dcarga.*} en la línea de mvn).
+ *
+ * @param productos        Productos del catálogo sintético.
+ * @param aromas           Aromas.
+ * @param familias         Familias de producto.
+ * @param clientes         Clientes registrados.
+ * @param vendedores       Usuarios vendedores (cada cajero virtual usa uno).
+ * @param anios            Años de historia de ventas.
+ * @param ventasPorDia     Ventas de un día promedio (se ajusta por día de semana y mes).
+ * @param semilla          Semilla de los datos y de la mezcla de operaciones (resultados reproducibles).
+ * @param concurrencia     Cajeros virtuales enviando solicitudes en paralelo.
+ * @param calentamientoS   Segundos iniciales que no se miden (JIT, pool de conexiones, cachés).
+ * @param duracionS        Segundos medidos.
+ * @param mezcla           Peso de cada operación en la carga.
+ * @param maxErroresPct    Porcentaje de errores sobre el que la prueba falla.
+ * @param salida           Archivo JSON con los resultados.
+ */
+record ConfiguracionCarga(int productos, int aromas, int familias, int clientes, int vendedores, int anios,
+                          int ventasPorDia, long semilla, int concurrencia, int calentamientoS, int duracionS,
+                          Map<OperacionCarga, Integer> mezcla, double maxErroresPct, String salida) {
+
+    static ConfiguracionCarga desdePropiedades() {
+        return new ConfiguracionCarga(
+                entero("carga.productos", 2000),
+                entero("carga.aromas", 40),
+                entero("carga.familias", 15),
+                entero("carga.clientes", 5000),
+                entero("carga.vendedores", 10),
+                entero("carga.anios", 2),
+                entero("carga.ventas-por-dia", 120),
+                Long.getLong("carga.semilla", 42L),
+                entero("carga.concurrencia", 8),
+                entero("carga.calentamiento-s", 15),
+                entero("carga.duracion-s", 60),
+                mezcla(System.getProperty("carga.mezcla",
+                        "crear-venta:40,codigo-barras:30,ventas-filtradas:15,dashboard:10,exportar-csv:5")),
+                Double.parseDouble(System.getProperty("carga.max-errores-pct", "1")),
+                System.getProperty("carga.salida", "target/carga-resultados.json"));
+    }
+
+    // Formato: operacion:peso,operacion:peso (las operaciones omitidas no se ejecutan)
+    private static Map<OperacionCarga, Integer> mezcla(String valor) {
+        Map<OperacionCarga, Integer> mezcla = new EnumMap<>(OperacionCarga.class);
+        for (String parte : valor.split(",")) {
+            String[] claveValor = parte.trim().split(":");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("carga.mezcla inválida: " + parte);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso > 0) {
+                mezcla.put(OperacionCarga.desdeNombre(claveValor[0].trim()), peso);
+            }
+        }
+        if (mezcla.isEmpty()) {
+            throw new IllegalArgumentException("carga.mezcla no tiene operaciones con peso mayor a cero.");
+        }
+        return mezcla;
+    }
+
+    private static int entero(String propiedad, int porDefecto) {
+        return Integer.getInteger(propiedad, porDefecto);
+    }
+}
@@ -0,0 +1,286 @@
+package com.decoaromas.decoaromaspos.carga;
+
+import com.decoaromas.decoaromaspos.carga.GeneradorDatosCarga.DatosCarga;
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaFilterDTO;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.enums.TipoDocumento;
+import com.decoaromas.decoaromaspos.model.Usuario;
+import com.decoaromas.decoaromaspos.service.IdempotenciaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ejecuta la mezcla de operaciones contra la API con {@code carga.concurrencia} cajeros virtuales.
+ * <p>
+ * Cada cajero es un hilo que envía una solicitud, espera la respuesta completa (incluido el cuerpo del CSV) y
+ * envía la siguiente, sin pausas: la concurrencia es la cantidad de solicitudes en curso. Las solicitudes que
+ * empiezan durante el calentamiento no se miden. Cada cajero guarda sus latencias por operación y se juntan
+ * al final, así la medición no agrega contención entre hilos.
+ */
+class EjecutorCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(EjecutorCarga.class);
+
+    private static final String[] REPORTES_DASHBOARD = {
+            "/api/reportes/general/kpis",
+            "/api/reportes/general/tendencia-ventas",
+            "/api/reportes/general/mapa-calor-ventas",
+            "/api/reportes/general/top-familias/10"
+    };
+
+    private final ConfiguracionCarga config;
+    private final DatosCarga datos;
+    private final String baseUrl;
+    private final Map<Long, String> tokens;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final OperacionCarga[] operaciones;
+    private final int[] pesos;
+
+    /**
+     * @param tokens JWT por ID de usuario (vendedores y administrador).
+     */
+    EjecutorCarga(ConfiguracionCarga config, DatosCarga datos, String baseUrl, Map<Long, String> tokens,
+                  ObjectMapper objectMapper) {
+        this.config = config;
+        this.datos = datos;
+        this.baseUrl = baseUrl;
+        this.tokens = tokens;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.operaciones = config.mezcla().keySet().toArray(OperacionCarga[]::new);
+        this.pesos = config.mezcla().values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Latencias (ns) y errores de una operación. */
+    static final class Medicion {
+        private long[] latencias = new long[1024];
+        private int cantidad;
+        private int errores;
+        private final Map<Integer, Integer> errorPorCodigo = new TreeMap<>();
+
+        void registrar(long latenciaNs, int codigo) {
+            if (codigo >= 200 && codigo < 300) {
+                if (cantidad == latencias.length) {
+                    latencias = Arrays.copyOf(latencias, cantidad * 2);
+                }
+                latencias[cantidad++] = latenciaNs;
+            } else {
+                errores++;
+                errorPorCodigo.merge(codigo, 1, Integer::sum);
+            }
+        }
+
+        void agregar(Medicion otra) {
+            for (int i = 0; i < otra.cantidad; i++) {
+                registrar(otra.latencias[i], 200);
+            }
+            errores += otra.errores;
+            otra.errorPorCodigo.forEach((codigo, n) -> errorPorCodigo.merge(codigo, n, Integer::sum));
+        }
+
+        /** Latencias de las solicitudes exitosas, ordenadas. */
+        long[] latenciasOrdenadas() {
+            long[] copia = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(copia);
+            return copia;
+        }
+
+        int exitosas() {
+            return cantidad;
+        }
+
+        int errores() {
+            return errores;
+        }
+
+        Map<Integer, Integer> errorPorCodigo() {
+            return errorPorCodigo;
+        }
+    }
+
+    /** Mediciones por operación y segundos medidos. */
+    record ResultadoCarga(Map<OperacionCarga, Medicion> mediciones, double segundos) {}
+
+    ResultadoCarga ejecutar() {
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + Duration.ofSeconds(config.calentamientoS()).toNanos();
+        long fin = inicioMedicion + Duration.ofSeconds(config.duracionS()).toNanos();
+        log.info("Carga: {} cajeros, {} s de calentamiento y {} s medidos, mezcla {}",
+                config.concurrencia(), config.calentamientoS(), config.duracionS(), config.mezcla());
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.concurrencia());
+        try {
+            List<Future<Map<OperacionCarga, Medicion>>> cajeros = new ArrayList<>();
+            for (int i = 0; i < config.concurrencia(); i++) {
+                Usuario vendedor = datos.vendedores().get(i % datos.vendedores().size());
+                Random random = new Random(config.semilla() + i);
+                cajeros.add(executor.submit(() -> cajero(vendedor, random, inicioMedicion, fin)));
+            }
+            Map<OperacionCarga, Medicion> total = new EnumMap<>(OperacionCarga.class);
+            for (Future<Map<OperacionCarga, Medicion>> cajero : cajeros) {
+                cajero.get().forEach((op, m) -> total.computeIfAbsent(op, o -> new Medicion()).agregar(m));
+            }
+            return new ResultadoCarga(total, (fin - inicioMedicion) / 1e9);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un cajero virtual: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private Map<OperacionCarga, Medicion> cajero(Usuario vendedor, Random random, long inicioMedicion, long fin)
+            throws InterruptedException {
+        Map<OperacionCarga, Medicion> mediciones = new EnumMap<>(OperacionCarga.class);
+        long ahora;
+        while ((ahora = System.nanoTime()) < fin) {
+            OperacionCarga operacion = operaciones[ponderado(random)];
+            HttpRequest request = solicitud(operacion, vendedor, random);
+            int codigo;
+            try {
+                codigo = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                log.debug("Error de conexión en {}: {}", operacion.getNombre(), e.getMessage());
+                codigo = 0;
+            }
+            long latencia = System.nanoTime() - ahora;
+            if (ahora >= inicioMedicion) {
+                mediciones.computeIfAbsent(operacion, o -> new Medicion()).registrar(latencia, codigo);
+            }
+        }
+        return mediciones;
+    }
+
+    private HttpRequest solicitud(OperacionCarga operacion, Usuario vendedor, Random random) {
+        return switch (operacion) {
+            case CREAR_VENTA -> post("/api/ventas", vendedor.getUsuarioId(), ventaRequest(vendedor, random))
+                    .header(IdempotenciaService.HEADER, UUID.randomUUID().toString())
+                    .build();
+            case BUSCAR_CODIGO_BARRAS -> get("/api/productos/codigo-barras/"
+                    + datos.codigosBarras().get(indiceSesgado(random, datos.codigosBarras().size())),
+                    vendedor.getUsuarioId());
+            case VENTAS_FILTRADAS -> {
+                LocalDate desde = diaAlAzar(random);
+                yield post("/api/ventas/filtros/paginas?page=0&size=20&" + rango(desde, desde.plusDays(30)),
+                        vendedor.getUsuarioId(), filtroVentas(random)).build();
+            }
+            case DASHBOARD -> get(REPORTES_DASHBOARD[random.nextInt(REPORTES_DASHBOARD.length)] + "?"
+                    + rango(datos.hasta().minusYears(1), datos.hasta()), administrador());
+            case EXPORTAR_CSV -> {
+                LocalDate desde = diaAlAzar(random);
+                yield get("/api/ventas/exportar-csv?" + rango(desde, desde.plusMonths(1)),
+                        administrador());
+            }
+        };
+    }
+
+    private VentaRequest ventaRequest(Usuario vendedor, Random random) {
+        int lineas = 1 + random.nextInt(4);
+        List<DetalleVentaRequest> detalles = new ArrayList<>(lineas);
+        for (int i = 0; i < lineas; i++) {
+            detalles.add(DetalleVentaRequest.builder()
+                    .productoId(datos.productoIds().get(indiceSesgado(random, datos.productoIds().size())))
+                    .cantidad(1 + random.nextInt(2))
+                    .build());
+        }
+        PagoRequest pago = new PagoRequest();
+        pago.setMedioPago(MedioPago.EFECTIVO);
+        pago.setMonto(10_000_000.0);
+        return VentaRequest.builder()
+                .uuid(UUID.randomUUID())
+                .usuarioId(vendedor.getUsuarioId())
+                .clienteId(random.nextInt(5) == 0
+                        ? datos.clienteIds().get(random.nextInt(datos.clienteIds().size())) : null)
+                .tipoCliente(TipoCliente.DETALLE)
+                .tipoDocumento(TipoDocumento.BOLETA)
+                .detalles(detalles)
+                .pagos(List.of(pago))
+                .build();
+    }
+
+    private VentaFilterDTO filtroVentas(Random random) {
+        VentaFilterDTO filtro = new VentaFilterDTO();
+        switch (random.nextInt(3)) {
+            case 0 -> filtro.setUsuarioId(datos.vendedores().get(random.nextInt(datos.vendedores().size())).getUsuarioId());
+            case 1 -> filtro.setMedioPago(MedioPago.EFECTIVO);
+            default -> { } // Sin filtros: solo el rango de fechas
+        }
+        return filtro;
+    }
+
+    private HttpRequest.Builder post(String ruta, Long usuarioId, Object cuerpo) {
+        try {
+            return autenticada(ruta, usuarioId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la solicitud de " + ruta, e);
+        }
+    }
+
+    private HttpRequest get(String ruta, Long usuarioId) {
+        return autenticada(ruta, usuarioId).GET().build();
+    }
+
+    private HttpRequest.Builder autenticada(String ruta, Long usuarioId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .timeout(Duration.ofSeconds(120))
+                .header("Authorization", "Bearer " + tokens.get(usuarioId));
+    }
+
+    private Long administrador() {
+        return datos.administrador().getUsuarioId();
+    }
+
+    private LocalDate diaAlAzar(Random random) {
+        long dias = datos.hasta().toEpochDay() - datos.desde().toEpochDay();
+        return datos.desde().plusDays(dias > 31 ? random.nextLong(dias - 31) : 0);
+    }
+
+    private static String rango(LocalDate desde, LocalDate hasta) {
+        return "fechaInicio=" + desde + "&fechaFin=" + hasta;
+    }
+
+    // Misma forma que el histórico: los primeros del catálogo se venden (y se escanean) más
+    private static int indiceSesgado(Random random, int total) {
+        return (int) (total * Math.pow(random.nextDouble(), 2.5));
+    }
+
+    private int ponderado(Random random) {
+        int r = random.nextInt(Arrays.stream(pesos).sum());
+        for (int i = 0; i < pesos.length; i++) {
+            r -= pesos[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+}
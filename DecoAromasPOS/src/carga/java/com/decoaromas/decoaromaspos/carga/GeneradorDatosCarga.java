@@ -0,0 +1,335 @@
+package com.decoaromas.decoaromaspos.carga;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.enums.*;
+import com.decoaromas.decoaromaspos.model.*;
+import com.decoaromas.decoaromaspos.repository.*;
+import com.decoaromas.decoaromaspos.service.EstadisticaClienteService;
+import com.decoaromas.decoaromaspos.service.ParticionVentaService;
+import com.decoaromas.decoaromaspos.service.ResumenVentaHorariaService;
+import com.decoaromas.decoaromaspos.service.VentaService;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Crea el dataset sintético de la prueba de carga: catálogo, clientes, vendedores, una caja cerrada por día y
+ * años de ventas con la forma de una tienda real (más ventas los sábados y en diciembre, peaks a mediodía y
+ * a la salida del trabajo, pocos productos concentran la mayoría de las ventas).
+ * <p>
+ * Las ventas se calculan con {@link VentaService#calcularVenta} (mismos totales que la caja) y se insertan
+ * en batch con {@link VentaLoteRepository}, junto con sus movimientos de salida. Cada producto parte con un
+ * movimiento NUEVO_STOCK anterior a la primera venta y termina con ese stock menos lo vendido, así el libro de
+ * inventario cuadra con Producto.stock. Al final se reconstruyen el resumen horario y las estadísticas de
+ * clientes, como tras una importación, y se abre la caja del día para las ventas de la carga.
+ */
+class GeneradorDatosCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneradorDatosCarga.class);
+
+    static final String PASSWORD = "carga";
+    private static final int VENTAS_POR_TRANSACCION = 2000;
+    private static final int STOCK_INICIAL = 10_000_000;
+
+    // Lunes a domingo
+    private static final double[] FACTOR_DIA_SEMANA = {0.80, 0.85, 0.90, 0.95, 1.15, 1.45, 0.90};
+    // Enero a diciembre: mayo (día de la madre), noviembre y diciembre (navidad) sobre el promedio
+    private static final double[] FACTOR_MES = {0.90, 0.80, 0.90, 0.95, 1.30, 0.95, 1.00, 0.95, 1.05, 1.00, 1.20, 1.80};
+    // Peso de cada hora de atención, de 10:00 a 20:00
+    private static final int HORA_APERTURA = 10;
+    private static final int[] PESO_HORA = {3, 6, 9, 11, 8, 7, 8, 10, 12, 11, 5};
+
+    private static final MedioPago[] MEDIOS_PAGO = {MedioPago.EFECTIVO, MedioPago.POST, MedioPago.MERCADO_PAGO,
+            MedioPago.TRANSFERENCIA};
+    private static final int[] PESO_MEDIO_PAGO = {40, 35, 15, 10};
+
+    /** Lo que la carga necesita conocer del dataset generado. */
+    record DatosCarga(List<Long> productoIds, List<String> codigosBarras, List<Long> clienteIds,
+                      List<Usuario> vendedores, Usuario administrador, List<Long> familiaIds, List<Long> aromaIds,
+                      LocalDate desde, LocalDate hasta, long ventas) {}
+
+    private final ConfiguracionCarga config;
+    private final Random random;
+    private final ApplicationContext contexto;
+    private final TransactionTemplate transaccion;
+    // Unidades vendidas por producto, para el stock final
+    private final Map<Long, Integer> vendidos = new HashMap<>();
+
+    GeneradorDatosCarga(ConfiguracionCarga config, ApplicationContext contexto) {
+        this.config = config;
+        this.random = new Random(config.semilla());
+        this.contexto = contexto;
+        this.transaccion = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+    }
+
+    DatosCarga generar() {
+        long inicio = System.currentTimeMillis();
+        List<Aroma> aromas = bean(AromaRepository.class).saveAll(IntStream.rangeClosed(1, config.aromas())
+                .mapToObj(i -> Aroma.builder().nombre("Aroma " + i).isDeleted(false).build()).toList());
+        List<FamiliaProducto> familias = bean(FamiliaProductoRepository.class).saveAll(
+                IntStream.rangeClosed(1, config.familias())
+                        .mapToObj(i -> FamiliaProducto.builder().nombre("Familia " + i).isDeleted(false).build())
+                        .toList());
+        List<Producto> productos = bean(ProductoRepository.class).saveAll(
+                IntStream.rangeClosed(1, config.productos()).mapToObj(i -> producto(i, aromas, familias)).toList());
+        List<Cliente> clientes = bean(ClienteRepository.class).saveAll(
+                IntStream.rangeClosed(1, config.clientes()).mapToObj(this::cliente).toList());
+        List<Usuario> usuarios = crearUsuarios();
+        Usuario administrador = usuarios.get(0);
+        List<Usuario> vendedores = usuarios.subList(1, usuarios.size());
+        log.info("Catálogo sintético: {} productos, {} clientes, {} vendedores",
+                productos.size(), clientes.size(), vendedores.size());
+
+        LocalDate hasta = DateUtils.obtenerFechaActual().minusDays(1);
+        LocalDate desde = hasta.minusYears(config.anios()).plusDays(1);
+        // La base recién migrada solo tiene particiones desde el mes actual
+        bean(ParticionVentaService.class).crearParticiones(YearMonth.from(desde), YearMonth.from(hasta));
+        registrarStockInicial(productos, administrador, desde);
+        long ventas = generarVentas(desde, hasta, productos, clientes, vendedores);
+        actualizarStock(productos);
+
+        bean(ResumenVentaHorariaService.class).reconstruir(desde, hasta);
+        bean(EstadisticaClienteService.class).reconstruir();
+        bean(CajaRepository.class).save(Caja.builder()
+                .fechaApertura(DateUtils.obtenerFechaHoraActual())
+                .efectivoApertura(50_000.0)
+                .estado(EstadoCaja.ABIERTA)
+                .usuario(vendedores.get(0))
+                .build());
+        log.info("Dataset de carga generado: {} ventas entre {} y {} en {} s",
+                ventas, desde, hasta, (System.currentTimeMillis() - inicio) / 1000);
+
+        return new DatosCarga(
+                productos.stream().map(Producto::getProductoId).toList(),
+                productos.stream().map(Producto::getCodigoBarras).toList(),
+                clientes.stream().map(Cliente::getClienteId).toList(),
+                vendedores, administrador,
+                familias.stream().map(FamiliaProducto::getFamiliaId).toList(),
+                aromas.stream().map(Aroma::getAromaId).toList(),
+                desde, hasta, ventas);
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private Producto producto(int i, List<Aroma> aromas, List<FamiliaProducto> familias) {
+        double precio = 1990 + random.nextInt(60) * 250;
+        return Producto.builder()
+                .nombre("Producto carga " + i)
+                .sku("CARGA-" + i)
+                .codigoBarras(String.format("78%011d", i))
+                .precioDetalle(precio)
+                .precioMayorista(Math.round(precio * 0.75) * 1.0)
+                .costo(Math.round(precio * 0.45) * 1.0)
+                .stock(STOCK_INICIAL)
+                .aroma(aromas.get(random.nextInt(aromas.size())))
+                .familia(familias.get(random.nextInt(familias.size())))
+                .activo(true)
+                .build();
+    }
+
+    private Cliente cliente(int i) {
+        return Cliente.builder()
+                .nombre("Cliente " + i)
+                .apellido("Carga")
+                .rut(String.format("%08d-%d", 10_000_000 + i, i % 10))
+                .correo("cliente" + i + "@carga.test")
+                .tipo(random.nextInt(10) == 0 ? TipoCliente.MAYORISTA : TipoCliente.DETALLE)
+                .ciudad("Santiago")
+                .activo(true)
+                .build();
+    }
+
+    // El primero es el administrador (dashboard y exportaciones), el resto vendedores
+    private List<Usuario> crearUsuarios() {
+        String password = contexto.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<Usuario> usuarios = new ArrayList<>();
+        usuarios.add(usuario("admin.carga", Rol.ADMIN, password));
+        for (int i = 1; i <= config.vendedores(); i++) {
+            usuarios.add(usuario("vendedor" + i + ".carga", Rol.VENDEDOR, password));
+        }
+        return bean(UsuarioRepository.class).saveAll(usuarios);
+    }
+
+    private static Usuario usuario(String username, Rol rol, String password) {
+        return Usuario.builder()
+                .nombre(username)
+                .apellido("Carga")
+                .username(username)
+                .correo(username + "@carga.test")
+                .password(password)
+                .rol(rol)
+                .activo(true)
+                .build();
+    }
+
+    // Ingreso del stock inicial antes de la apertura de la primera caja
+    private void registrarStockInicial(List<Producto> productos, Usuario administrador, LocalDate desde) {
+        List<MovimientoInventario> movimientos = productos.stream()
+                .map(p -> MovimientoInventario.builder()
+                        .fecha(desde.atTime(9, 0).atZone(DateUtils.ZONE_ID_SANTIAGO))
+                        .tipo(TipoMovimiento.ENTRADA)
+                        .motivo(MotivoMovimiento.NUEVO_STOCK)
+                        .cantidad(STOCK_INICIAL)
+                        .producto(p)
+                        .usuario(administrador)
+                        .build())
+                .toList();
+        InventarioLoteRepository inventarioLoteRepository = bean(InventarioLoteRepository.class);
+        transaccion.executeWithoutResult(status -> inventarioLoteRepository.insertarMovimientos(movimientos));
+    }
+
+    private void actualizarStock(List<Producto> productos) {
+        Map<Long, Integer> stock = productos.stream().collect(Collectors.toMap(Producto::getProductoId,
+                p -> STOCK_INICIAL - vendidos.getOrDefault(p.getProductoId(), 0)));
+        InventarioLoteRepository inventarioLoteRepository = bean(InventarioLoteRepository.class);
+        transaccion.executeWithoutResult(status -> inventarioLoteRepository.actualizarStock(stock));
+    }
+
+    private long generarVentas(LocalDate desde, LocalDate hasta, List<Producto> productos, List<Cliente> clientes,
+                               List<Usuario> vendedores) {
+        Map<Long, Producto> catalogo = productos.stream()
+                .collect(Collectors.toMap(Producto::getProductoId, Function.identity()));
+        VentaService ventaService = bean(VentaService.class);
+        CajaRepository cajaRepository = bean(CajaRepository.class);
+        List<Venta> pendientes = new ArrayList<>();
+        long total = 0;
+
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            Usuario vendedor = vendedores.get(random.nextInt(vendedores.size()));
+            Caja caja = cajaRepository.save(Caja.builder()
+                    .fechaApertura(dia.atTime(9, 30).atZone(DateUtils.ZONE_ID_SANTIAGO))
+                    .fechaCierre(dia.atTime(21, 0).atZone(DateUtils.ZONE_ID_SANTIAGO))
+                    .efectivoApertura(50_000.0)
+                    .estado(EstadoCaja.CERRADA)
+                    .diferenciaReal(random.nextInt(20) == 0 ? -(random.nextInt(10) + 1) * 1000.0 : 0.0)
+                    .usuario(vendedor)
+                    .build());
+
+            int ventasDia = ventasDelDia(dia);
+            for (int i = 0; i < ventasDia; i++) {
+                pendientes.add(venta(dia, caja, vendedores, clientes, productos, catalogo, ventaService));
+            }
+            if (pendientes.size() >= VENTAS_POR_TRANSACCION) {
+                total += insertar(pendientes);
+            }
+        }
+        return total + insertar(pendientes);
+    }
+
+    private int ventasDelDia(LocalDate dia) {
+        double esperado = config.ventasPorDia()
+                * FACTOR_DIA_SEMANA[dia.getDayOfWeek().getValue() - 1]
+                * FACTOR_MES[dia.getMonthValue() - 1]
+                * (0.85 + random.nextDouble() * 0.3);
+        return (int) Math.round(esperado);
+    }
+
+    private Venta venta(LocalDate dia, Caja caja, List<Usuario> vendedores, List<Cliente> clientes,
+                        List<Producto> productos, Map<Long, Producto> catalogo, VentaService ventaService) {
+        Cliente cliente = random.nextInt(5) == 0 ? clientes.get(random.nextInt(clientes.size())) : null;
+        VentaRequest request = VentaRequest.builder()
+                .tipoCliente(cliente != null ? cliente.getTipo() : TipoCliente.DETALLE)
+                .tipoDocumento(TipoDocumento.BOLETA)
+                .detalles(detalles(productos))
+                .pagos(List.of(pago(MedioPago.EFECTIVO, 100_000_000.0)))
+                .build();
+        if (random.nextInt(10) == 0) {
+            request.setValorDescuentoGlobal(5.0 * (1 + random.nextInt(3)));
+            request.setTipoDescuentoGlobal(TipoDescuento.PORCENTAJE);
+        }
+
+        Venta venta = ventaService.calcularVenta(request, catalogo::get);
+        // El pago se registra por el total exacto (sin vuelto) con un medio según su frecuencia en tienda
+        venta.getPagos().clear();
+        venta.setVuelto(0.0);
+        venta.addPago(PagoVenta.builder()
+                .medioPago(MEDIOS_PAGO[ponderado(PESO_MEDIO_PAGO)])
+                .monto(venta.getTotalNeto())
+                .build());
+        venta.setFecha(dia.atTime(HORA_APERTURA + ponderado(PESO_HORA), random.nextInt(60), random.nextInt(60))
+                .atZone(DateUtils.ZONE_ID_SANTIAGO));
+        venta.setUuid(new UUID(random.nextLong(), random.nextLong()));
+        venta.setUsuario(vendedores.get(random.nextInt(vendedores.size())));
+        venta.setCaja(caja);
+        venta.setCliente(cliente);
+        return venta;
+    }
+
+    private List<DetalleVentaRequest> detalles(List<Producto> productos) {
+        int lineas = 1 + ponderado(new int[]{55, 25, 12, 8});
+        List<DetalleVentaRequest> detalles = new ArrayList<>(lineas);
+        for (int i = 0; i < lineas; i++) {
+            // Distribución sesgada: los primeros productos del catálogo son los más vendidos
+            int indice = (int) (productos.size() * Math.pow(random.nextDouble(), 2.5));
+            DetalleVentaRequest.DetalleVentaRequestBuilder detalle = DetalleVentaRequest.builder()
+                    .productoId(productos.get(indice).getProductoId())
+                    .cantidad(1 + ponderado(new int[]{70, 20, 10}));
+            if (random.nextInt(8) == 0) {
+                detalle.valorDescuentoUnitario(10.0).tipoDescuentoUnitario(TipoDescuento.PORCENTAJE);
+            }
+            detalles.add(detalle.build());
+        }
+        return detalles;
+    }
+
+    private long insertar(List<Venta> ventas) {
+        if (ventas.isEmpty()) {
+            return 0;
+        }
+        // Una salida por línea de venta, como la venta en caja y la importación
+        List<MovimientoInventario> movimientos = new ArrayList<>();
+        for (Venta venta : ventas) {
+            for (DetalleVenta detalle : venta.getDetalles()) {
+                vendidos.merge(detalle.getProducto().getProductoId(), detalle.getCantidad(), Integer::sum);
+                movimientos.add(MovimientoInventario.builder()
+                        .fecha(venta.getFecha())
+                        .tipo(TipoMovimiento.SALIDA)
+                        .motivo(MotivoMovimiento.VENTA)
+                        .cantidad(detalle.getCantidad())
+                        .producto(detalle.getProducto())
+                        .usuario(venta.getUsuario())
+                        .build());
+            }
+        }
+        VentaLoteRepository ventaLoteRepository = bean(VentaLoteRepository.class);
+        transaccion.executeWithoutResult(status -> ventaLoteRepository.insertar(ventas, movimientos));
+        int insertadas = ventas.size();
+        ventas.clear();
+        return insertadas;
+    }
+
+    private int ponderado(int[] pesos) {
+        int r = random.nextInt(Arrays.stream(pesos).sum());
+        for (int i = 0; i < pesos.length; i++) {
+            r -= pesos[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    private static PagoRequest pago(MedioPago medio, double monto) {
+        PagoRequest pago = new PagoRequest();
+        pago.setMedioPago(medio);
+        pago.setMonto(monto);
+        return pago;
+    }
+
+    private <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+}
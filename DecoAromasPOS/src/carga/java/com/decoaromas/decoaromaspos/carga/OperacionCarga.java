@@ -0,0 +1,26 @@
+package com.decoaromas.decoaromaspos.carga;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/** Operaciones de la mezcla de carga, con el nombre usado en {@code carga.mezcla} y en el reporte. */
+@Getter
+@RequiredArgsConstructor
+enum OperacionCarga {
+    CREAR_VENTA("crear-venta"),
+    BUSCAR_CODIGO_BARRAS("codigo-barras"),
+    VENTAS_FILTRADAS("ventas-filtradas"),
+    DASHBOARD("dashboard"),
+    EXPORTAR_CSV("exportar-csv");
+
+    private final String nombre;
+
+    static OperacionCarga desdeNombre(String nombre) {
+        return Arrays.stream(values())
+                .filter(o -> o.nombre.equals(nombre))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Operación de carga desconocida: " + nombre));
+    }
+}
@@ -0,0 +1,104 @@
+package com.decoaromas.decoaromaspos.carga;
+
+import com.decoaromas.decoaromaspos.carga.EjecutorCarga.ResultadoCarga;
+import com.decoaromas.decoaromaspos.carga.GeneradorDatosCarga.DatosCarga;
+import com.decoaromas.decoaromaspos.config.JwtUtil;
+import com.decoaromas.decoaromaspos.model.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de extremo a extremo: levanta la aplicación completa contra PostgreSQL, genera el dataset
+ * sintético ({@link GeneradorDatosCarga}) y ejecuta la mezcla de operaciones ({@link EjecutorCarga}).
+ * <pre>
+ *   mvn -Pcarga verify
+ *   mvn -Pcarga verify -Dcarga.concurrencia=32 -Dcarga.anios=3 -Dcarga.duracion-s=300
+ * </pre>
+ * PostgreSQL se levanta con Testcontainers ({@code carga.imagen}, por defecto postgres:16-alpine; sin red,
+ * la imagen debe estar descargada de antes). Con {@code -Dcarga.jdbc-url=...} (y {@code carga.bd-usuario},
+ * {@code carga.bd-password}) se usa una base existente en su lugar; debe estar vacía, la prueba carga sus datos.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.offline.dir=target/carga/offline",
+        // Solo los usa BackupService (pg_dump), que la carga no ejecuta
+        "DB_HOST=localhost", "DB_PORT=5432", "DB_NAME=carga", "DB_USER=carga", "DB_PASSWORD=carga",
+        "logging.level.com.decoaromas.decoaromaspos=WARN",
+        "logging.level.com.decoaromas.decoaromaspos.carga=INFO"
+})
+@EnabledIf("baseDeDatosDisponible")
+class PruebaCargaIT {
+
+    private static final ConfiguracionCarga CONFIG = ConfiguracionCarga.desdePropiedades();
+    private static PostgreSQLContainer<?> postgres;
+
+    @LocalServerPort private int puerto;
+    @Autowired private ApplicationContext contexto;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private ObjectMapper objectMapper;
+
+    static boolean baseDeDatosDisponible() {
+        return System.getProperty("carga.jdbc-url") != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void baseDeDatos(DynamicPropertyRegistry registry) {
+        String jdbcUrl = System.getProperty("carga.jdbc-url");
+        if (jdbcUrl != null) {
+            registry.add("spring.datasource.url", () -> jdbcUrl);
+            registry.add("spring.datasource.username", () -> System.getProperty("carga.bd-usuario", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("carga.bd-password", "postgres"));
+            return;
+        }
+        postgres = new PostgreSQLContainer<>(System.getProperty("carga.imagen", "postgres:16-alpine"));
+        postgres.start();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @AfterAll
+    static void detener() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void cargaMixta() throws IOException {
+        DatosCarga datos = new GeneradorDatosCarga(CONFIG, contexto).generar();
+
+        Map<Long, String> tokens = new HashMap<>();
+        Stream.concat(datos.vendedores().stream(), Stream.of(datos.administrador()))
+                .forEach(u -> tokens.put(u.getUsuarioId(), token(u)));
+        ResultadoCarga resultado = new EjecutorCarga(CONFIG, datos, "http://localhost:" + puerto, tokens, objectMapper)
+                .ejecutar();
+
+        ReporteCarga reporte = new ReporteCarga(CONFIG, datos, resultado);
+        reporte.imprimir();
+        reporte.guardar(objectMapper);
+        assertTrue(reporte.porcentajeErrores() <= CONFIG.maxErroresPct(),
+                String.format("%.2f%% de solicitudes con error (máximo %.2f%%)",
+                        reporte.porcentajeErrores(), CONFIG.maxErroresPct()));
+    }
+
+    private String token(Usuario usuario) {
+        return jwtUtil.createToken(usuario.getCorreo(), usuario.getRol().name());
+    }
+}
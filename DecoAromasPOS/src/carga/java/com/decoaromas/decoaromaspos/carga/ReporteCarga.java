@@ -0,0 +1,101 @@
+package com.decoaromas.decoaromaspos.carga;
+
+import com.decoaromas.decoaromaspos.carga.EjecutorCarga.Medicion;
+import com.decoaromas.decoaromaspos.carga.EjecutorCarga.ResultadoCarga;
+import com.decoaromas.decoaromaspos.carga.GeneradorDatosCarga.DatosCarga;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumen de una prueba de carga: por operación, solicitudes por segundo, percentiles de latencia (ms) y
+ * errores por código HTTP (0 = error de conexión). Se imprime como tabla y se guarda en JSON.
+ */
+class ReporteCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(ReporteCarga.class);
+
+    /** Resultado de una operación. Latencias en milisegundos. */
+    record ResultadoOperacion(String operacion, int solicitudes, int errores, double porSegundo,
+                              double p50, double p95, double p99, double max, Map<Integer, Integer> errorPorCodigo) {}
+
+    private final ConfiguracionCarga config;
+    private final DatosCarga datos;
+    private final ResultadoCarga resultado;
+    private final List<ResultadoOperacion> operaciones = new ArrayList<>();
+
+    ReporteCarga(ConfiguracionCarga config, DatosCarga datos, ResultadoCarga resultado) {
+        this.config = config;
+        this.datos = datos;
+        this.resultado = resultado;
+        resultado.mediciones().forEach((operacion, medicion) -> operaciones.add(resumir(operacion, medicion)));
+    }
+
+    /** Porcentaje de solicitudes con error sobre el total. */
+    double porcentajeErrores() {
+        int total = operaciones.stream().mapToInt(o -> o.solicitudes() + o.errores()).sum();
+        int errores = operaciones.stream().mapToInt(ResultadoOperacion::errores).sum();
+        return total == 0 ? 0 : 100.0 * errores / total;
+    }
+
+    void imprimir() {
+        StringBuilder tabla = new StringBuilder(String.format("%n%-18s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operacion", "ok", "errores", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (ResultadoOperacion o : operaciones) {
+            tabla.append(String.format("%-18s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n", o.operacion(),
+                    o.solicitudes(), o.errores(), o.porSegundo(), o.p50(), o.p95(), o.p99(), o.max()));
+        }
+        int total = operaciones.stream().mapToInt(ResultadoOperacion::solicitudes).sum();
+        tabla.append(String.format("%-18s %9d %8s %9.1f%n", "total", total, "", total / resultado.segundos()));
+        log.info("Resultados de carga ({} cajeros, {} s, {} ventas históricas):{}",
+                config.concurrencia(), config.duracionS(), datos.ventas(), tabla);
+    }
+
+    void guardar(ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("configuracion", config);
+        json.put("ventasHistoricas", datos.ventas());
+        json.put("segundosMedidos", resultado.segundos());
+        json.put("errores%", porcentajeErrores());
+        json.put("operaciones", operaciones);
+        File archivo = new File(config.salida());
+        if (archivo.getParentFile() != null) {
+            archivo.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(archivo, json);
+        log.info("Resultados de carga guardados en {}", archivo.getAbsolutePath());
+    }
+
+    private ResultadoOperacion resumir(OperacionCarga operacion, Medicion medicion) {
+        long[] latencias = medicion.latenciasOrdenadas();
+        return new ResultadoOperacion(operacion.getNombre(), medicion.exitosas(), medicion.errores(),
+                redondear(medicion.exitosas() / resultado.segundos()),
+                percentil(latencias, 50), percentil(latencias, 95), percentil(latencias, 99),
+                latencias.length == 0 ? 0 : ms(latencias[latencias.length - 1]),
+                medicion.errorPorCodigo());
+    }
+
+    // Percentil por rango más cercano sobre latencias ordenadas
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int rango = (int) Math.ceil(percentil / 100.0 * ordenadas.length);
+        return ms(ordenadas[Math.max(0, rango - 1)]);
+    }
+
+    private static double ms(long nanos) {
+        return redondear(nanos / 1_000_000.0);
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.decoaromas.decoaromaspos.benchmark;
+
+import com.decoaromas.decoaromaspos.enums.TipoDescuento;
+import com.decoaromas.decoaromaspos.service.CalculoPrecioService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Descuento de una línea o de la venta: se ejecuta una vez por línea y una por venta. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class CalculoPrecioBenchmark {
+
+    private final CalculoPrecioService calculoPrecioService = new CalculoPrecioService();
+
+    // Campos no finales para que el JIT no los trate como constantes
+    private double precioBase = 7_821.37;
+    private double porcentaje = 15.0;
+    private double valor = 500.0;
+
+    @Benchmark
+    public Double descuentoPorcentaje() {
+        return calculoPrecioService.calcularMontoDescuento(precioBase, porcentaje, TipoDescuento.PORCENTAJE);
+    }
+
+    @Benchmark
+    public Double descuentoValor() {
+        return calculoPrecioService.calcularMontoDescuento(precioBase, valor, TipoDescuento.VALOR);
+    }
+
+    @Benchmark
+    public Double sinDescuento() {
+        return calculoPrecioService.calcularMontoDescuento(precioBase, null, null);
+    }
+}
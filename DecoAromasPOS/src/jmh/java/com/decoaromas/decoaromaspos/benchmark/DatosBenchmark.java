@@ -0,0 +1,112 @@
+package com.decoaromas.decoaromaspos.benchmark;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.enums.TipoDescuento;
+import com.decoaromas.decoaromaspos.mapper.VentaMapper;
+import com.decoaromas.decoaromaspos.model.Caja;
+import com.decoaromas.decoaromaspos.model.Cliente;
+import com.decoaromas.decoaromaspos.model.Producto;
+import com.decoaromas.decoaromaspos.model.Usuario;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.service.CalculoPrecioService;
+import com.decoaromas.decoaromaspos.service.PagoService;
+import com.decoaromas.decoaromaspos.service.VentaService;
+import lombok.experimental.UtilityClass;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datos de prueba de los benchmarks: un catálogo en memoria y ventas de N líneas parecidas a las de caja
+ * (cantidades chicas, algunas líneas con descuento, descuento global y pago mixto).
+ */
+@UtilityClass
+class DatosBenchmark {
+
+    static final int PRODUCTOS_CATALOGO = 500;
+
+    /** Catálogo en memoria por id, en reemplazo de ProductoRepository. */
+    static Map<Long, Producto> catalogo() {
+        Map<Long, Producto> catalogo = new HashMap<>();
+        for (long id = 1; id <= PRODUCTOS_CATALOGO; id++) {
+            catalogo.put(id, Producto.builder()
+                    .productoId(id)
+                    .nombre("Vela aromática " + id)
+                    .sku("VEL-" + id)
+                    .codigoBarras("780000" + id)
+                    .precioDetalle(1990.0 + (id % 40) * 250)
+                    .precioMayorista(1490.0 + (id % 40) * 200)
+                    .costo(800.0 + (id % 40) * 90)
+                    .stock(1_000_000)
+                    .activo(true)
+                    .build());
+        }
+        return catalogo;
+    }
+
+    static VentaRequest ventaRequest(int lineas) {
+        List<DetalleVentaRequest> detalles = new ArrayList<>(lineas);
+        for (int i = 0; i < lineas; i++) {
+            DetalleVentaRequest.DetalleVentaRequestBuilder detalle = DetalleVentaRequest.builder()
+                    .productoId((long) (i * 7 % PRODUCTOS_CATALOGO) + 1)
+                    .cantidad(1 + i % 3);
+            if (i % 4 == 0) {
+                detalle.valorDescuentoUnitario(10.0).tipoDescuentoUnitario(TipoDescuento.PORCENTAJE);
+            } else if (i % 4 == 1) {
+                detalle.valorDescuentoUnitario(100.0).tipoDescuentoUnitario(TipoDescuento.VALOR);
+            }
+            detalles.add(detalle.build());
+        }
+        return VentaRequest.builder()
+                .tipoCliente(TipoCliente.DETALLE)
+                .valorDescuentoGlobal(5.0)
+                .tipoDescuentoGlobal(TipoDescuento.PORCENTAJE)
+                .usuarioId(1L)
+                .detalles(detalles)
+                .pagos(pagosMixtos(10_000_000.0))
+                .build();
+    }
+
+    /** Pago con tarjeta por una parte y el resto (con vuelto) en efectivo. */
+    static List<PagoRequest> pagosMixtos(double efectivo) {
+        PagoRequest tarjeta = new PagoRequest();
+        tarjeta.setMedioPago(MedioPago.POST);
+        tarjeta.setMonto(1000.0);
+        PagoRequest enEfectivo = new PagoRequest();
+        enEfectivo.setMedioPago(MedioPago.EFECTIVO);
+        enEfectivo.setMonto(efectivo);
+        return List.of(tarjeta, enEfectivo);
+    }
+
+    /**
+     * VentaService solo con las dependencias del cálculo en memoria; las de base de datos quedan en null,
+     * así un benchmark que tocara un repositorio fallaría en vez de medir otra cosa.
+     */
+    static VentaService ventaService() {
+        return new VentaService(null, null, null, null, null, null, null,
+                new CalculoPrecioService(), new PagoService(), null, null, null, null, null, null, new VentaMapper(), null);
+    }
+
+    /** Venta calculada y completada con las relaciones que leen el ticket y el mapper. */
+    static Venta ventaCompleta(int lineas) {
+        Map<Long, Producto> catalogo = catalogo();
+        Venta venta = ventaService().calcularVenta(ventaRequest(lineas), catalogo::get);
+        venta.setVentaId(123_456L);
+        venta.setFecha(ZonedDateTime.now());
+        venta.setUsuario(Usuario.builder().usuarioId(1L).nombre("Ana").apellido("Pérez").build());
+        venta.setCaja(Caja.builder().cajaId(10L).build());
+        Cliente cliente = new Cliente();
+        cliente.setClienteId(5L);
+        cliente.setNombre("Marta");
+        cliente.setApellido("Soto");
+        venta.setCliente(cliente);
+        return venta;
+    }
+}
@@ -0,0 +1,33 @@
+package com.decoaromas.decoaromaspos.benchmark;
+
+import com.decoaromas.decoaromaspos.dto.venta.DatosPagoProcesado;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.service.PagoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Validación de un pago mixto (tarjeta + efectivo con vuelto) contra el total de la venta. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class PagoBenchmark {
+
+    private final PagoService pagoService = new PagoService();
+    private List<PagoRequest> pagos;
+    private double totalNeto;
+
+    @Setup
+    public void preparar() {
+        pagos = DatosBenchmark.pagosMixtos(20_000.0);
+        totalNeto = 15_990.0;
+    }
+
+    @Benchmark
+    public DatosPagoProcesado procesarPagos() {
+        return pagoService.procesarPagos(pagos, totalNeto);
+    }
+}
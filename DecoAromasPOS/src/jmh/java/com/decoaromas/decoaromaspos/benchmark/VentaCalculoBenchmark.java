@@ -0,0 +1,41 @@
+package com.decoaromas.decoaromaspos.benchmark;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.model.Producto;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.service.VentaService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo completo de una venta en memoria: precio y descuento por línea, totales, descuento global y pagos
+ * (VentaService.calcularVenta, el mismo cálculo de crearVenta sin lecturas ni escrituras en la base).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class VentaCalculoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lineas;
+
+    private VentaService ventaService;
+    private Map<Long, Producto> catalogo;
+    private VentaRequest request;
+
+    @Setup
+    public void preparar() {
+        ventaService = DatosBenchmark.ventaService();
+        catalogo = DatosBenchmark.catalogo();
+        request = DatosBenchmark.ventaRequest(lineas);
+    }
+
+    @Benchmark
+    public Venta calcularVenta() {
+        return ventaService.calcularVenta(request, catalogo::get);
+    }
+}
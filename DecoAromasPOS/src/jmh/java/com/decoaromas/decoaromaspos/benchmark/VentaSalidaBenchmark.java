@@ -0,0 +1,41 @@
+package com.decoaromas.decoaromaspos.benchmark;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.mapper.VentaMapper;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.service.ReceiptBuilderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Lo que se hace con una venta ya guardada: la respuesta de la API y las líneas del ticket. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class VentaSalidaBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lineas;
+
+    private final VentaMapper ventaMapper = new VentaMapper();
+    private final ReceiptBuilderService receiptBuilderService = new ReceiptBuilderService();
+    private Venta venta;
+
+    @Setup
+    public void preparar() {
+        venta = DatosBenchmark.ventaCompleta(lineas);
+    }
+
+    @Benchmark
+    public VentaResponse toResponse() {
+        return ventaMapper.toResponse(venta);
+    }
+
+    @Benchmark
+    public List<String> buildReceiptLines() {
+        return receiptBuilderService.buildReceiptLines(venta);
+    }
+}
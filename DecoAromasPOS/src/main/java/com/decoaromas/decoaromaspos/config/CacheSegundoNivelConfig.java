@@ -0,0 +1,52 @@
+package com.decoaromas.decoaromaspos.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Métricas de la cache de segundo nivel de Hibernate (regiones en {@code caffeine-l2.conf}). Hibernate ya publica
+ * aciertos, fallos y escrituras por región ({@code hibernate.second.level.cache.*},
+ * {@code hibernate.cache.query.*}); aquí se agregan las de Caffeine por región: tamaño y desalojos
+ * ({@code cache.size}, {@code cache.evictions}, tag {@code cache.manager=hibernate}), para ajustar los tamaños.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    @Bean
+    public MeterBinder cacheSegundoNivelMetricas(
+            EntityManagerFactory entityManagerFactory,
+            @Value("${spring.jpa.properties.hibernate.javax.cache.uri}") String configuracion) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache().getRegionFactory();
+            if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+                return; // Cache de segundo nivel desactivada
+            }
+            CacheManager cacheManager = jcache.getCacheManager();
+            // Hibernate abre las regiones de consultas recién en su primer uso: se abren todas las configuradas
+            // para medirlas desde el arranque (Hibernate luego obtiene la misma cache)
+            Set<String> regiones = new TreeSet<>(TypesafeConfigurator.cacheNames(
+                    ConfigFactory.parseResources(configuracion)));
+            cacheManager.getCacheNames().forEach(regiones::add);
+            regiones.remove("default");
+            for (String region : regiones) {
+                com.github.benmanes.caffeine.cache.Cache<?, ?> cache = cacheManager.getCache(region)
+                        .unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+                CaffeineCacheMetrics.monitor(registry, cache, region, "cache.manager", "hibernate");
+            }
+        };
+    }
+}
@@ -1,6 +1,8 @@
 package com.decoaromas.decoaromaspos.config;
 
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,9 +27,11 @@ import java.io.IOException;
 public class JwtFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
+    static final String TIMER_AUTENTICACION = "decoaromas.jwt.autenticacion";
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -44,6 +48,9 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
+        // Mide la validación del token y la carga del usuario (tag resultado: autenticado, omitido, invalido)
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        String resultado = "omitido";
 
         try {
             // Si el token es válido, se autentica al usuario
@@ -60,13 +67,18 @@ public class JwtFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     log.debug("Usuario autenticado por JWT: {}", correo);
+                    resultado = "autenticado";
                 }
+            } else {
+                resultado = "invalido";
             }
         } catch (JWTVerificationException e) {
             // En caso de ser ruta protegida, Spring Security lanzará una excepción que será manejada por
             // CustomAuthenticationEntryPoint, devolviendo un 401.
             log.debug("Token JWT inválido o expirado: {}", e.getMessage());
+            resultado = "invalido";
         }
+        muestra.stop(meterRegistry.timer(TIMER_AUTENTICACION, "resultado", resultado));
 
         filterChain.doFilter(request, response);
     }
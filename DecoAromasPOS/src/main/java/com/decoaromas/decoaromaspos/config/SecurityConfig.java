@@ -2,6 +2,7 @@ package com.decoaromas.decoaromaspos.config;
 
 import com.decoaromas.decoaromaspos.service.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -30,6 +31,10 @@ public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
 
+    // Puerto del actuator (management.server.port), solo accesible desde la red interna
+    @Value("${management.server.port:-1}")
+    private int puertoAdministracion;
+
 
     // Define los paths de Swagger/OpenAPI que quieres permitir
     private static final String[] SWAGGER_PATHS = {
@@ -50,6 +55,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/usuarios/**").permitAll()
                         .requestMatchers("/api/**").hasAnyRole("ADMIN", "VENDEDOR", "SUPER_ADMIN")
                         .requestMatchers(SWAGGER_PATHS).permitAll()
+                        // Health para el balanceador; Prometheus no envía JWT, así que sus métricas solo se sirven
+                        // sin token en el puerto de administración. El resto del actuator, solo admin
+                        .requestMatchers("/actuator/health", "/livez", "/readyz").permitAll()
+                        .requestMatchers(request -> request.getLocalPort() == puertoAdministracion
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,22 @@
+package com.decoaromas.decoaromaspos.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exportación de trazas de OpenTelemetry. Al collector OTLP la configura Spring Boot cuando se define
+ * {@code management.otlp.tracing.endpoint}; sin collector, {@code app.trazas.exportar-log=true} escribe cada
+ * span en el log (logger {@code io.opentelemetry.exporter.logging}), útil para revisar un cobro lento en la tienda.
+ */
+@Configuration
+public class TrazasConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.trazas.exportar-log", havingValue = "true")
+    public SpanExporter logSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,37 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Suma cada ejecución JDBC (Hibernate y JdbcTemplate) a la medición abierta del hilo, si hay una.
+ * Un batch cuenta como una ejecución por sentencia distinta, no por fila: es un solo viaje a la base.
+ */
+public class ConsultasSqlListener implements QueryExecutionListener {
+
+    private static final String INICIO = "decoaromas.sql.inicio";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (ContextoSql.actual() != null) {
+            execInfo.addCustomValue(INICIO, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        MedicionSql medicion = ContextoSql.actual();
+        Long inicio = execInfo.getCustomValue(INICIO, Long.class);
+        if (medicion == null || inicio == null) {
+            return;
+        }
+        // El tiempo de un batch con varias sentencias se reparte entre ellas
+        long nanos = (System.nanoTime() - inicio) / Math.max(1, queryInfoList.size());
+        for (QueryInfo queryInfo : queryInfoList) {
+            medicion.registrar(queryInfo.getQuery(), nanos);
+        }
+    }
+}
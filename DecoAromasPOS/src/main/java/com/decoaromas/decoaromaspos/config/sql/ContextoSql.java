@@ -0,0 +1,33 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Medición SQL del hilo actual. {@link PresupuestoSqlFilter} la abre y cierra por cada solicitud HTTP y la
+ * extensión de pruebas de {@code @MaxQueries} por cada prueba; {@link ConsultasSqlListener} suma cada sentencia
+ * ejecutada mientras está abierta. Las sentencias de otros hilos (tareas programadas, ejecutores) no se cuentan.
+ */
+@UtilityClass
+public class ContextoSql {
+
+    private static final ThreadLocal<MedicionSql> ACTUAL = new ThreadLocal<>();
+
+    /** Abre una medición nueva en el hilo actual (reemplaza la que hubiera). */
+    public static MedicionSql iniciar() {
+        MedicionSql medicion = new MedicionSql();
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    /** Medición abierta en el hilo actual, o null si no hay. */
+    public static MedicionSql actual() {
+        return ACTUAL.get();
+    }
+
+    /** Cierra la medición del hilo actual y la devuelve (null si no había). */
+    public static MedicionSql terminar() {
+        MedicionSql medicion = ACTUAL.get();
+        ACTUAL.remove();
+        return medicion;
+    }
+}
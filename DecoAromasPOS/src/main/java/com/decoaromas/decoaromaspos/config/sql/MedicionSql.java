@@ -0,0 +1,74 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Sentencias SQL ejecutadas durante una medición (una solicitud HTTP o una prueba con {@code @MaxQueries}):
+ * cantidad, tiempo total en la base de datos y cuántas veces se repitió cada sentencia. Una misma sentencia
+ * repetida muchas veces en la misma solicitud es la huella de un N+1 (un SELECT por fila de la lista).
+ * <p>
+ * Lo escribe un solo hilo (el de la solicitud), no necesita sincronización.
+ */
+public class MedicionSql {
+
+    // Listas IN (?, ?, ?) de largo variable cuentan como la misma sentencia
+    private static final Pattern LISTA_PARAMETROS = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    /** Una sentencia y cuántas veces se ejecutó. */
+    public record SentenciaRepetida(String sql, int veces) {}
+
+    private int sentencias;
+    private long nanos;
+    private final Map<String, Integer> repeticiones = new HashMap<>();
+
+    /**
+     * Suma una ejecución.
+     * @param sql   Sentencia tal como se preparó (con parámetros {@code ?}).
+     * @param nanos Duración de la ejecución.
+     */
+    public void registrar(String sql, long nanos) {
+        this.sentencias++;
+        this.nanos += nanos;
+        repeticiones.merge(normalizar(sql), 1, Integer::sum);
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public long getMilisegundos() {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Sentencias ejecutadas al menos {@code umbral} veces, de la más repetida a la menos.
+     * @param umbral Repeticiones mínimas para considerarla un posible N+1.
+     */
+    public List<SentenciaRepetida> repetidas(int umbral) {
+        return repeticiones.entrySet().stream()
+                .filter(e -> e.getValue() >= umbral)
+                .map(e -> new SentenciaRepetida(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingInt(SentenciaRepetida::veces).reversed())
+                .toList();
+    }
+
+    /** Resumen legible: total, tiempo y las sentencias repetidas al menos {@code umbral} veces. */
+    public String resumen(int umbral) {
+        StringBuilder sb = new StringBuilder()
+                .append(sentencias).append(" sentencias en ").append(getMilisegundos()).append(" ms");
+        for (SentenciaRepetida repetida : repetidas(umbral)) {
+            sb.append(System.lineSeparator()).append("  ").append(repetida.veces()).append("x ").append(repetida.sql());
+        }
+        return sb.toString();
+    }
+
+    static String normalizar(String sql) {
+        String compacta = ESPACIOS.matcher(sql.trim()).replaceAll(" ");
+        return LISTA_PARAMETROS.matcher(compacta).replaceAll("(?...)");
+    }
+}
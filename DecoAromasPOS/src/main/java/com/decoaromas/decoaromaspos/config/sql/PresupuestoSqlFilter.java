@@ -0,0 +1,100 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Presupuesto de sentencias SQL por solicitud HTTP. Mide todas las sentencias de la solicitud (incluida la carga
+ * del usuario del JWT y las cargas lazy al serializar la respuesta) y:
+ * <ul>
+ *   <li>publica {@code decoaromas.sql.sentencias} y {@code decoaromas.sql.tiempo} por ruta;</li>
+ *   <li>avisa en el log si la solicitud supera {@code app.sql.presupuesto.max-sentencias};</li>
+ *   <li>avisa si una misma sentencia se repite {@code app.sql.presupuesto.umbral-repeticiones} veces o más
+ *       (posible N+1), aunque no supere el presupuesto.</li>
+ * </ul>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.sql.presupuesto.habilitado", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PresupuestoSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PresupuestoSqlFilter.class);
+    static final String SENTENCIAS = "decoaromas.sql.sentencias";
+    static final String TIEMPO = "decoaromas.sql.tiempo";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql.presupuesto.max-sentencias:40}")
+    private int maxSentencias;
+
+    @Value("${app.sql.presupuesto.umbral-repeticiones:10}")
+    private int umbralRepeticiones;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        ContextoSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MedicionSql medicion = ContextoSql.terminar();
+            if (medicion != null) {
+                registrar(request, medicion);
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, MedicionSql medicion) {
+        String ruta = ruta(request);
+        DistributionSummary.builder(SENTENCIAS)
+                .description("Sentencias SQL por solicitud HTTP")
+                .tag("uri", ruta)
+                .register(meterRegistry)
+                .record(medicion.getSentencias());
+        Timer.builder(TIEMPO)
+                .description("Tiempo en la base de datos por solicitud HTTP")
+                .tag("uri", ruta)
+                .register(meterRegistry)
+                .record(medicion.getMilisegundos(), TimeUnit.MILLISECONDS);
+
+        boolean sobrePresupuesto = medicion.getSentencias() > maxSentencias;
+        if (sobrePresupuesto || !medicion.repetidas(umbralRepeticiones).isEmpty()) {
+            log.warn("{} {} {}: {}", request.getMethod(), ruta,
+                    sobrePresupuesto ? "supera el presupuesto de " + maxSentencias + " sentencias SQL"
+                            : "repite sentencias SQL (posible N+1)",
+                    medicion.resumen(umbralRepeticiones));
+        }
+    }
+
+    // Patrón de la ruta (/api/ventas/{id}) para no abrir una serie de métricas por cada ID
+    private static String ruta(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron != null ? patron.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,58 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+
+/**
+ * Envuelve el DataSource (Hikari) con datasource-proxy para ver cada sentencia, incluidas las de JdbcTemplate:
+ * <ul>
+ *   <li>{@link ConsultasSqlListener}: presupuesto SQL por solicitud ({@code app.sql.presupuesto.habilitado}).</li>
+ *   <li>{@link DataSourceObservationListener}: un span por conexión obtenida y por sentencia, hijos del span
+ *       que esté abierto (fase de la venta, solicitud HTTP) ({@code app.trazas.jdbc}).</li>
+ * </ul>
+ * Con ambos desactivados el DataSource queda sin envolver.
+ */
+@Configuration
+public class ProxyDataSourceConfig {
+
+    // Estático: un BeanPostProcessor se crea antes que el resto de los beans de la configuración.
+    // El registro de observaciones se pide recién al ejecutar la primera sentencia.
+    @Bean
+    public static BeanPostProcessor proxyDataSource(Environment environment,
+                                                    ObjectProvider<ObservationRegistry> observationRegistry) {
+        boolean presupuesto = environment.getProperty("app.sql.presupuesto.habilitado", Boolean.class, true);
+        boolean trazas = environment.getProperty("app.trazas.jdbc", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || !(presupuesto || trazas)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                if (presupuesto) {
+                    builder.listener(new ConsultasSqlListener());
+                }
+                if (trazas) {
+                    DataSourceObservationListener listener = new DataSourceObservationListener(
+                            () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                    listener.setSupportedTypes(EnumSet.of(
+                            JdbcObservationDocumentation.CONNECTION, JdbcObservationDocumentation.QUERY));
+                    builder.listener(listener).methodListener(listener);
+                }
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.decoaromas.decoaromaspos.controller;
+
+import com.decoaromas.decoaromaspos.dto.alerta_stock.AlertaStockResponse;
+import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
+import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
+import com.decoaromas.decoaromaspos.service.AlertaStockPublicador;
+import com.decoaromas.decoaromaspos.service.AlertaStockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static com.decoaromas.decoaromaspos.utils.SecurityConstants.*;
+
+@RestController
+@RequestMapping("/api/alertas-stock")
+@RequiredArgsConstructor
+@Tag(name = "Alertas de Stock", description = "API para recibir y consultar las alertas de bajo stock, agotamiento y reposición de productos.")
+@ApiResponses(value = {
+        @ApiResponse(responseCode = "401", description = "Usuario no autenticado",
+                content = @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = UnauthorizedResponse.class),
+                        examples = @ExampleObject(value = "{\"path\": \"/api/alertas-stock\", \"error\": \"No autorizado\", \"status\": 401}")
+                )
+        )
+})
+public class AlertaStockController {
+
+    private final AlertaStockService alertaStockService;
+    private final AlertaStockPublicador alertaStockPublicador;
+
+    @Operation(summary = "Stream de alertas de stock (SSE)",
+            description = "Abre un stream Server-Sent Events con eventos 'alerta-stock' a medida que los productos cruzan su stock mínimo, se agotan o se reponen. "
+                    + "Al reconectar con la cabecera Last-Event-ID se reciben las alertas emitidas durante la desconexión.")
+    @ApiResponse(responseCode = "200", description = "Stream abierto",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = AlertaStockResponse.class)))
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize(IS_AUTHENTICATED)
+    public SseEmitter suscribir(
+            @Parameter(description = "ID de la última alerta recibida") @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoId) {
+        return alertaStockPublicador.suscribir(ultimoId);
+    }
+
+    @Operation(summary = "Listar alertas de stock", description = "Devuelve las alertas de stock registradas, más recientes primero.")
+    @ApiResponse(responseCode = "200", description = "Paginación obtenida correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginacionResponse.class)))
+    @GetMapping
+    @PreAuthorize(IS_AUTHENTICATED)
+    public ResponseEntity<PaginacionResponse<AlertaStockResponse>> listarAlertas(
+            @Parameter(description = "Número de página (0..N)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(alertaStockService.obtenerAlertasPaginadas(page, size));
+    }
+}
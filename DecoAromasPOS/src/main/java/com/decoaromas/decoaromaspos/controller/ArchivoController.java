@@ -0,0 +1,84 @@
+package com.decoaromas.decoaromaspos.controller;
+
+import com.decoaromas.decoaromaspos.dto.other.response.AnioArchivadoResponse;
+import com.decoaromas.decoaromaspos.dto.other.response.GeneralErrorResponse;
+import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
+import com.decoaromas.decoaromaspos.model.AnioArchivado;
+import com.decoaromas.decoaromaspos.service.archivo.ArchivoVentasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_ADMIN_OR_SUPER_ADMIN;
+import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_SUPER_ADMIN;
+
+@RestController
+@RequestMapping("/api/archivo")
+@RequiredArgsConstructor
+@Tag(name = "Archivo de años cerrados", description = "API para archivar en frío las ventas y movimientos de años cerrados y consultar los años archivados.")
+@ApiResponses(value = {
+        @ApiResponse(responseCode = "401", description = "Usuario no autenticado",
+                content = @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = UnauthorizedResponse.class),
+                        examples = @ExampleObject(value = "{\"path\": \"/api/archivo\", \"error\": \"No autorizado\", \"message\": \"Se requiere autenticación.\", \"status\": 401}")
+                )
+        )
+})
+public class ArchivoController {
+
+    private final ArchivoVentasService archivoVentasService;
+
+    @Operation(summary = "Listar años archivados",
+            description = "Años cuyas ventas, detalles, pagos y movimientos están en archivos comprimidos, con las cantidades archivadas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de años archivados"),
+            @ApiResponse(responseCode = "403", description = "Requiere rol ADMIN o SUPER_ADMIN",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GeneralErrorResponse.class)))
+    })
+    @GetMapping
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<List<AnioArchivadoResponse>> listarAnios() {
+        return ResponseEntity.ok(archivoVentasService.listar().stream().map(this::toResponse).toList());
+    }
+
+    @Operation(summary = "Archivar un año cerrado",
+            description = "Exporta las ventas, detalles, pagos y movimientos de inventario del año a archivos comprimidos y los elimina de la base. " +
+                    "Los reportes y la exportación de ventas siguen incluyéndolos. Solo años anteriores al actual.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Año archivado"),
+            @ApiResponse(responseCode = "403", description = "Requiere rol SUPER_ADMIN",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GeneralErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Año no cerrado, ya archivado o error al exportar",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GeneralErrorResponse.class)))
+    })
+    @PostMapping("/{anio}")
+    @PreAuthorize(IS_SUPER_ADMIN)
+    public ResponseEntity<AnioArchivadoResponse> archivarAnio(
+            @Parameter(description = "Año a archivar", example = "2023")
+            @PathVariable int anio) {
+        return ResponseEntity.ok(toResponse(archivoVentasService.archivarAnio(anio)));
+    }
+
+    private AnioArchivadoResponse toResponse(AnioArchivado archivado) {
+        return AnioArchivadoResponse.builder()
+                .anio(archivado.getAnio())
+                .fechaArchivo(archivado.getFechaArchivo())
+                .ventas(archivado.getVentas())
+                .detalles(archivado.getDetalles())
+                .pagos(archivado.getPagos())
+                .movimientos(archivado.getMovimientos())
+                .totalNeto(archivado.getTotalNeto())
+                .build();
+    }
+}
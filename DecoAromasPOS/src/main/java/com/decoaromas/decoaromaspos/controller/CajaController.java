@@ -3,6 +3,7 @@ package com.decoaromas.decoaromaspos.controller;
 import com.decoaromas.decoaromaspos.dto.caja.AbrirCajaRequest;
 import com.decoaromas.decoaromaspos.dto.caja.CajaResponse;
 import com.decoaromas.decoaromaspos.dto.caja.CajaResumenResponse;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.GeneralErrorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
@@ -10,9 +11,9 @@ import com.decoaromas.decoaromaspos.dto.other.response.ValidationErrorResponse;
 import com.decoaromas.decoaromaspos.enums.EstadoCaja;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.service.CajaService;
+import com.decoaromas.decoaromaspos.service.IdempotenciaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -28,7 +29,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.List;
 
 import static com.decoaromas.decoaromaspos.utils.SecurityConstants.*;
 
@@ -47,14 +47,17 @@ import static com.decoaromas.decoaromaspos.utils.SecurityConstants.*;
 public class CajaController {
 
     private final CajaService cajaService;
+    private final IdempotenciaService idempotenciaService;
 
-    @Operation(summary = "Listar todas las cajas", description = "Obtiene el historial completo de cajas (abiertas y cerradas).")
-    @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente",
-            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CajaResponse.class))))
+    @Operation(summary = "Listar cajas (keyset)", description = "Obtiene el historial de cajas (abiertas y cerradas), aperturas más recientes primero, paginado por cursor.")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class)))
     @GetMapping
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<CajaResponse>> listarCajas() {
-        return ResponseEntity.ok(cajaService.listarCajas());
+    public ResponseEntity<CursorResponse<CajaResponse>> listarCajas(
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(cajaService.listarCajas(cursor, size));
     }
 
 
@@ -143,9 +146,11 @@ public class CajaController {
     @PostMapping("/abrir")
     @PreAuthorize(IS_VENDEDOR_OR_ADMIN)
     public ResponseEntity<CajaResponse> abrirCaja(
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Datos de apertura")
             @Valid @RequestBody AbrirCajaRequest request) {
-        return new ResponseEntity<>(cajaService.abrirCaja(request), HttpStatus.CREATED);
+        return idempotenciaService.ejecutar(idempotencyKey, "POST /api/cajas/abrir", request, CajaResponse.class,
+                () -> new ResponseEntity<>(cajaService.abrirCaja(request), HttpStatus.CREATED));
     }
 
     @Operation(summary = "Cerrar caja abierta", description = "Cierra el turno actual, calcula diferencias y guarda los totales. Se recibe el efectivo físico contado.")
@@ -165,8 +170,10 @@ public class CajaController {
     @PreAuthorize(IS_VENDEDOR_OR_ADMIN)
     public ResponseEntity<CajaResponse> cerrarCaja(
             @Parameter(description = "Monto de efectivo contado físicamente en la caja", required = true, example = "150500.0")
-            @Valid @PathVariable Double efectivoReal) {
-        return ResponseEntity.ok(cajaService.cerrarCaja(efectivoReal));
+            @Valid @PathVariable Double efectivoReal,
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey) {
+        return idempotenciaService.ejecutar(idempotencyKey, "POST /api/cajas/cerrar-abierta/efectivo/" + efectivoReal, null, CajaResponse.class,
+                () -> ResponseEntity.ok(cajaService.cerrarCaja(efectivoReal)));
     }
 
     @Operation(summary = "Eliminar caja", description = "Borrado físico de una caja. Solo Super Admin.")
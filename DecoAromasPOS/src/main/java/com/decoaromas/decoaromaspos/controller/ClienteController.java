@@ -53,13 +53,15 @@ public class ClienteController {
     private final ClienteService clienteService;
     private final ClienteExportService exportService;
 
-    @Operation(summary = "Listar todos los clientes", description = "Obtiene una lista completa de clientes (activos e inactivos).")
-    @ApiResponse(responseCode = "200", description = "Lista obtenida de clientes",
-            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ClienteResponse.class))))
+    @Operation(summary = "Listar clientes (keyset)", description = "Obtiene los clientes (activos e inactivos), más recientes primero, paginados por cursor.")
+    @ApiResponse(responseCode = "200", description = "Página de clientes obtenida",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class)))
     @GetMapping
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<ClienteResponse>> listarClientes() {
-        return ResponseEntity.ok(clienteService.listarClientes());
+    public ResponseEntity<CursorResponse<ClienteResponse>> listarClientes(
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(clienteService.listarClientes(cursor, size));
     }
 
     @Operation(summary = "Listar clientes activos", description = "Obtiene una lista completa de clientes activos.")
@@ -2,7 +2,9 @@ package com.decoaromas.decoaromaspos.controller;
 
 import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionRequest;
 import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionResponse;
+import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionResumenResponse;
 import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionUpdateEstado;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.GeneralErrorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
@@ -10,6 +12,7 @@ import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.exception.BusinessException;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.service.CotizacionService;
+import com.decoaromas.decoaromaspos.service.IdempotenciaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,7 +30,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.List;
 
 import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_AUTHENTICATED;
 import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_VENDEDOR_OR_ADMIN_OR_SUPER_ADMIN;
@@ -51,6 +53,7 @@ import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_VENDEDOR_O
 public class CotizacionController {
 
     private final CotizacionService cotizacionService;
+    private final IdempotenciaService idempotenciaService;
 
     @Operation(
             summary = "Obtener cotizaciones paginadas y filtradas",
@@ -80,17 +83,19 @@ public class CotizacionController {
     }
 
     @Operation(
-            summary = "Listar todas las cotizaciones",
-            description = "Obtiene una lista completa de todas las cotizaciones sin paginación. Usar con precaución."
+            summary = "Listar cotizaciones (keyset)",
+            description = "Obtiene las cabeceras de cotizaciones, más recientes primero, paginadas por cursor."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cotizaciones",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CotizacionResponse.class)))
+            @ApiResponse(responseCode = "200", description = "Página de cotizaciones",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class)))
     })
     @GetMapping
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<CotizacionResponse>> getCotizaciones() {
-        return ResponseEntity.ok(cotizacionService.listarCotizaciones());
+    public ResponseEntity<CursorResponse<CotizacionResumenResponse>> getCotizaciones(
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(cotizacionService.listarCotizaciones(cursor, size));
     }
 
     @Operation(
@@ -116,9 +121,11 @@ public class CotizacionController {
     })
     @PostMapping
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<CotizacionResponse> crearCotizacion(@Valid @RequestBody CotizacionRequest request) {
-        CotizacionResponse response = cotizacionService.crearCotizacion(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<CotizacionResponse> crearCotizacion(
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CotizacionRequest request) {
+        return idempotenciaService.ejecutar(idempotencyKey, "POST /api/cotizaciones", request, CotizacionResponse.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(cotizacionService.crearCotizacion(request)));
     }
 
     @Operation(
@@ -2,12 +2,17 @@ package com.decoaromas.decoaromaspos.controller;
 
 import com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoFilterDTO;
 import com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoInventarioResponse;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.ReporteDescuadreStockResponse;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.ValidationErrorResponse;
 import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.service.MovimientoInventarioService;
+import com.decoaromas.decoaromaspos.service.ReconciliacionStockService;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -44,14 +49,17 @@ import static com.decoaromas.decoaromaspos.utils.SecurityConstants.*;
 public class MovimientoInventarioController {
 
     private final MovimientoInventarioService movService;
+    private final ReconciliacionStockService reconciliacionStockService;
 
-    @Operation(summary = "Listar todos los movimientos", description = "Obtiene una lista completa del historial de movimientos de inventario.")
-    @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente",
-            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MovimientoInventarioResponse.class))))
+    @Operation(summary = "Listar movimientos (keyset)", description = "Obtiene el historial de movimientos de inventario, más recientes primero, paginado por cursor.")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class)))
     @GetMapping
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<MovimientoInventarioResponse>> listarMovimientos() {
-        return ResponseEntity.ok(movService.listarMovimientos());
+    public ResponseEntity<CursorResponse<MovimientoInventarioResponse>> listarMovimientos(
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(movService.listarMovimientos(cursor, size));
     }
 
     @Operation(summary = "Listar movimientos paginados", description = "Devuelve una lista paginada de movimientos de inventario (sin filtros).")
@@ -83,6 +91,21 @@ public class MovimientoInventarioController {
         return ResponseEntity.ok(movService.getMovimientosFiltrados(page, size, sortBy, fechaInicio, fechaFin, filters));
     }
 
+    @Operation(summary = "Listar movimientos filtrados (keyset)", description = "Devuelve movimientos filtrados, más recientes primero, paginados por cursor. El total solo se informa en la primera página.")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class)))
+    @PostMapping("/filtros/cursor")
+    @PreAuthorize(IS_AUTHENTICATED)
+    public ResponseEntity<CursorResponse<MovimientoInventarioResponse>> getMovimientosFiltradosCursor(
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "Fecha de inicio del rango (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @Parameter(description = "Fecha de fin del rango (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            @Valid @RequestBody MovimientoFilterDTO filters) {
+
+        return ResponseEntity.ok(movService.getMovimientosFiltradosCursor(cursor, size, fechaInicio, fechaFin, filters));
+    }
+
     @Operation(summary = "Obtener movimiento por ID", description = "Devuelve el movimiento correspondiente al ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = MovimientoInventarioResponse.class))),
@@ -110,44 +133,86 @@ public class MovimientoInventarioController {
 
     @Operation(summary = "Obtener movimientos por usuario", description = "Devuelve los movimientos de inventario de un usuario específico.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente según id de usuario", content = @Content(mediaType = "application/json",
-                    array = @ArraySchema(schema = @Schema(implementation = MovimientoInventarioResponse.class)))),
+            @ApiResponse(responseCode = "200", description = "Página obtenida correctamente según id de usuario", content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = CursorResponse.class))),
             @ApiResponse(responseCode = "400", description = "ID de usuario inválido (debe ser numérico)", content = @Content(schema = @Schema(implementation = ValidationErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Usuario no encontrado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResourceNotFoundException.class),
                     examples = @ExampleObject(value = "{\"error\": \"Usuario con id 123 no encontrado.\"," + "\"timestamp\": \"2025-12-09T18:47:24.763249103}\"," + "\"status\": 404}")))
     })
     @GetMapping("/usuario/{id}")
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<MovimientoInventarioResponse>> obtenerMovimientosPorIdUsuario(
-            @Parameter(description = "ID del usuario cajero/admin", example = "3") @PathVariable Long id){
-        return ResponseEntity.ok(movService.obtenerMovimientosPorIdUsuario(id));
+    public ResponseEntity<CursorResponse<MovimientoInventarioResponse>> obtenerMovimientosPorIdUsuario(
+            @Parameter(description = "ID del usuario cajero/admin", example = "3") @PathVariable Long id,
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size){
+        return ResponseEntity.ok(movService.obtenerMovimientosPorIdUsuario(id, cursor, size));
     }
 
     @Operation(summary = "Obtener movimientos por producto", description = "Devuelve la trazabilidad completa (historial) de movimientos de stock de un producto.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente según id de producto", content = @Content(mediaType = "application/json",
-                    array = @ArraySchema(schema = @Schema(implementation = MovimientoInventarioResponse.class)))),
+            @ApiResponse(responseCode = "200", description = "Página obtenida correctamente según id de producto", content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = CursorResponse.class))),
             @ApiResponse(responseCode = "400", description = "ID de producto inválido (debe ser numérico)", content = @Content(schema = @Schema(implementation = ValidationErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResourceNotFoundException.class),
                     examples = @ExampleObject(value = "{\"error\": \"Producto con id 123 no encontrado.\"," + "\"timestamp\": \"2025-12-09T18:47:24.763249103}\"," + "\"status\": 404}")))
     })
     @GetMapping("/producto/{id}")
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<MovimientoInventarioResponse>> obtenerMovimientosPorIdProducto(
-            @Parameter(description = "ID del producto", example = "10") @PathVariable Long id) {
-        return ResponseEntity.ok(movService.obtenerMovimientosPorProductoId(id));
+    public ResponseEntity<CursorResponse<MovimientoInventarioResponse>> obtenerMovimientosPorIdProducto(
+            @Parameter(description = "ID del producto", example = "10") @PathVariable Long id,
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(movService.obtenerMovimientosPorProductoId(id, cursor, size));
     }
 
     @Operation(summary = "Obtener movimientos por motivo", description = "Devuelve los movimientos de inventario agrupados por la causa del movimiento (VENTA, AJUSTE_VENTA, PRODUCCION, NUEVO_STOCK, CORRECION).")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente según motivo de movimiento.",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation =  MovimientoInventarioResponse.class))),
+            @ApiResponse(responseCode = "200", description = "Página obtenida correctamente según motivo de movimiento.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class))),
             @ApiResponse(responseCode = "400", description = "Motivo de movimiento inválido", content = @Content(schema = @Schema(implementation = ValidationErrorResponse.class))),
     })
     @GetMapping("/motivo/{motivo}")
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<MovimientoInventarioResponse>> obtenerMovimientosPorMotivo(
-            @Parameter(description = "Motivo del movimiento (VENTA, AJUSTE, etc.)", example = "AJUSTE") @PathVariable MotivoMovimiento motivo) {
-        return ResponseEntity.ok(movService.obtenerMovimientosPorMotivo(motivo));
+    public ResponseEntity<CursorResponse<MovimientoInventarioResponse>> obtenerMovimientosPorMotivo(
+            @Parameter(description = "Motivo del movimiento (VENTA, AJUSTE, etc.)", example = "AJUSTE") @PathVariable MotivoMovimiento motivo,
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(movService.obtenerMovimientosPorMotivo(motivo, cursor, size));
+    }
+
+    @Operation(summary = "Stock a una fecha", description = "Calcula el stock al cierre del día indicado desde el libro de movimientos (último snapshot mensual más los movimientos posteriores). Sin productoId entrega todo el catálogo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock calculado correctamente",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = StockProductoDTO.class)))),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResourceNotFoundException.class)))
+    })
+    @GetMapping("/stock-en-fecha")
+    @PreAuthorize(IS_AUTHENTICATED)
+    public ResponseEntity<List<StockProductoDTO>> obtenerStockEnFecha(
+            @Parameter(description = "Día a consultar (yyyy-MM-dd), se usa el cierre del día", required = true, example = "2025-06-30")
+            @RequestParam("fecha") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @Parameter(description = "ID del producto (opcional)", example = "10") @RequestParam(required = false) Long productoId) {
+        if (productoId != null) {
+            return ResponseEntity.ok(List.of(reconciliacionStockService.stockEnFecha(productoId, DateUtils.obtenerFinDiaSegunFecha(fecha))));
+        }
+        return ResponseEntity.ok(reconciliacionStockService.stockEnFecha(DateUtils.obtenerFinDiaSegunFecha(fecha)));
+    }
+
+    @Operation(summary = "Reporte de descuadres de stock", description = "Compara el stock de cada producto con la suma de sus movimientos de inventario y lista las diferencias.")
+    @ApiResponse(responseCode = "200", description = "Reporte generado correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReporteDescuadreStockResponse.class)))
+    @GetMapping("/descuadres")
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<ReporteDescuadreStockResponse> obtenerDescuadresStock() {
+        return ResponseEntity.ok(reconciliacionStockService.reporteDescuadres());
+    }
+
+    @Operation(summary = "Reparar descuadres de stock", description = "Lleva el stock de los productos descuadrados al valor del libro de movimientos. Los productos modificados por una venta durante la reparación se omiten.")
+    @ApiResponse(responseCode = "200", description = "Reparación ejecutada correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReporteDescuadreStockResponse.class)))
+    @PostMapping("/descuadres/reparar")
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<ReporteDescuadreStockResponse> repararDescuadresStock() {
+        return ResponseEntity.ok(reconciliacionStockService.repararDescuadres());
     }
 }
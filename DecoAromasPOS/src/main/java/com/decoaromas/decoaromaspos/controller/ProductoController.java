@@ -13,6 +13,7 @@ import com.decoaromas.decoaromaspos.exception.ExistsRegisterException;
 import com.decoaromas.decoaromaspos.exception.ExportException;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.service.ProductoService;
+import com.decoaromas.decoaromaspos.service.IdempotenciaService;
 import com.decoaromas.decoaromaspos.service.exports.ProductoExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,11 +28,14 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -57,6 +61,7 @@ public class ProductoController {
 
     private final ProductoService productoService;
     private final ProductoExportService exportService;
+    private final IdempotenciaService idempotenciaService;
 
     // Lectura Básica elementos
 
@@ -291,8 +296,12 @@ public class ProductoController {
     })
     @PatchMapping("/stock/{id}")
     @PreAuthorize(IS_VENDEDOR_OR_ADMIN_OR_SUPER_ADMIN)
-    public ResponseEntity<ProductoResponse> actualizarStockProducto(@PathVariable Long id, @Valid @RequestBody ActualizarStockRequest request) {
-        return ResponseEntity.ok(productoService.actualizarStock(id, request));
+    public ResponseEntity<ProductoResponse> actualizarStockProducto(
+            @PathVariable Long id,
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ActualizarStockRequest request) {
+        return idempotenciaService.ejecutar(idempotencyKey, "PATCH /api/productos/stock/" + id, request, ProductoResponse.class,
+                () -> ResponseEntity.ok(productoService.actualizarStock(id, request)));
     }
 
     @Operation(summary = "Ingresar stock", description = "Suma cantidad al stock actual (Entrada de mercancía).")
@@ -312,10 +321,14 @@ public class ProductoController {
     })
     @PatchMapping("/ingresar-stock/{id}")
     @PreAuthorize(IS_VENDEDOR_OR_ADMIN_OR_SUPER_ADMIN)
-    public ResponseEntity<ProductoResponse> ingresarStockProducto(@PathVariable Long id, @Valid @RequestBody MovimientoStockRequest request) {
+    public ResponseEntity<ProductoResponse> ingresarStockProducto(
+            @PathVariable Long id,
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody MovimientoStockRequest request) {
         request.setTipo(TipoMovimiento.ENTRADA);
         request.setMotivo(MotivoMovimiento.NUEVO_STOCK);
-        return ResponseEntity.ok(productoService.registrarMovimientoStock(id, request));
+        return idempotenciaService.ejecutar(idempotencyKey, "PATCH /api/productos/ingresar-stock/" + id, request, ProductoResponse.class,
+                () -> ResponseEntity.ok(productoService.registrarMovimientoStock(id, request)));
     }
 
     @Operation(summary = "Retirar stock", description = "Resta cantidad al stock actual (Corrección).")
@@ -341,9 +354,47 @@ public class ProductoController {
     })
     @PatchMapping("/retirar-stock/{id}")
     @PreAuthorize(IS_VENDEDOR_OR_ADMIN_OR_SUPER_ADMIN)
-    public ResponseEntity<ProductoResponse> retirarStockProducto(@PathVariable Long id, @Valid @RequestBody MovimientoStockRequest request) {
+    public ResponseEntity<ProductoResponse> retirarStockProducto(
+            @PathVariable Long id,
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody MovimientoStockRequest request) {
         request.setMotivo(MotivoMovimiento.CORRECCION);
-        return ResponseEntity.ok(productoService.registrarMovimientoStock(id, request));
+        return idempotenciaService.ejecutar(idempotencyKey, "PATCH /api/productos/retirar-stock/" + id, request, ProductoResponse.class,
+                () -> ResponseEntity.ok(productoService.registrarMovimientoStock(id, request)));
+    }
+
+    @Operation(summary = "Conteo de inventario (masivo)", description = "Establece el stock de muchos productos (identificados por SKU o código de barras) " +
+            "en una sola transacción, con un movimiento de CORRECCION por cada diferencia. Los ítems con error se informan y no se aplican.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conteo aplicado (puede incluir ítems con error)", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConteoStockResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Usuario no encontrado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResourceNotFoundException.class)))
+    })
+    @PostMapping("/conteo-stock")
+    @PreAuthorize(IS_VENDEDOR_OR_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<ConteoStockResponse> aplicarConteoStock(
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ConteoStockRequest request) {
+        return idempotenciaService.ejecutar(idempotencyKey, "POST /api/productos/conteo-stock", request, ConteoStockResponse.class,
+                () -> ResponseEntity.ok(productoService.aplicarConteoStock(request)));
+    }
+
+    @Operation(summary = "Conteo de inventario desde archivo", description = "Igual que el conteo masivo, leyendo un CSV con encabezado sku, codigo_barras, cantidad.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conteo aplicado (puede incluir ítems con error)", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConteoStockResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cantidad inválida en el archivo", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GeneralErrorResponse.class)))
+    })
+    @PostMapping(value = "/conteo-stock/archivo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize(IS_VENDEDOR_OR_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<ConteoStockResponse> aplicarConteoStockArchivo(
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "Archivo CSV del conteo") @RequestParam("archivo") MultipartFile archivo,
+            @Parameter(description = "ID del usuario que realiza el conteo", example = "3") @RequestParam Long usuarioId) throws IOException {
+        ConteoStockRequest request;
+        try (InputStream contenido = archivo.getInputStream()) {
+            request = productoService.leerConteoStock(contenido, usuarioId);
+        }
+        return idempotenciaService.ejecutar(idempotencyKey, "POST /api/productos/conteo-stock", request, ConteoStockResponse.class,
+                () -> ResponseEntity.ok(productoService.aplicarConteoStock(request)));
     }
 
     @Operation(summary = "Eliminar producto", description = "Eliminación física. Solo Super Admin.")
@@ -7,6 +7,7 @@ import com.decoaromas.decoaromaspos.dto.other.response.ValidationErrorResponse;
 import com.decoaromas.decoaromaspos.dto.reportes.*;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.service.ReporteService;
+import com.decoaromas.decoaromaspos.service.pronostico.PronosticoDemandaService;
 import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,7 +29,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_ADMIN_OR_SUPER_ADMIN;
 import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_AUTHENTICATED;
 
 @RestController
@@ -46,6 +49,7 @@ import static com.decoaromas.decoaromaspos.utils.SecurityConstants.IS_AUTHENTICA
 public class ReporteController {
 
     private final ReporteService reporteService;
+    private final PronosticoDemandaService pronosticoDemandaService;
 
 
     // VENTAS GENERALES (ANUALES / COMPARATIVAS)
@@ -547,6 +551,24 @@ public class ReporteController {
         return ResponseEntity.ok(chartData);
     }
 
+    @Operation(summary = "Reconstruir resumen horario de ventas",
+            description = "Recalcula desde las ventas el cubo día/hora usado por el mapa de calor y los gráficos por hora y día de semana. Usado para corregir diferencias (la carga inicial del histórico la hace la migración V9).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumen reconstruido exitosamente",
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"resumenesGenerados\": 730}"))),
+            @ApiResponse(responseCode = "400", description = "Rango de fechas inválido", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/general/mapa-calor-ventas/reconstruir")
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<Map<String, Integer>> reconstruirResumenVentaHoraria(
+            @Parameter(description = "Fecha de inicio del rango (YYYY-MM-DD)", example = "2024-01-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate fechaInicio,
+            @Parameter(description = "Fecha de fin del rango (YYYY-MM-DD)", example = "2024-12-31") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate fechaFin) {
+        int generados = reporteService.reconstruirResumenVentaHoraria(fechaInicio, fechaFin);
+        return ResponseEntity.ok(Map.of("resumenesGenerados", generados));
+    }
+
     // REPORTES CRM / CLIENTES
 
     // 1. Gráfico de Torta: Distribución de Clientes por Tipo. No requiere filtros de tiempo, es sobre la base estática.
@@ -600,6 +622,30 @@ public class ReporteController {
         return ResponseEntity.ok(data);
     }
 
+    @Operation(summary = "Tabla Paginada: Clientes en Riesgo (Inactivos)", description = "Listado de clientes inactivos ordenados por mayor inactividad.")
+    @ApiResponse(responseCode = "200", description = "Paginación de clientes en riesgo obtenida exitosamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginacionResponse.class)))
+    @GetMapping("/clientes/recencia/detalle/paginas")
+    @PreAuthorize(IS_AUTHENTICATED)
+    public ResponseEntity<PaginacionResponse<ClienteInactivoDTO>> getClientesInactivosDetallePaginados(
+            @Parameter(description = "Número de página (0..N)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Días sin comprar (inactivos)", example = "90") @RequestParam(defaultValue = "90") Integer dias,
+            @Parameter(description = "Filtro opcional: MAYORISTA o DETALLE") @RequestParam(required = false) TipoCliente tipoCliente) {
+        return ResponseEntity.ok(reporteService.getReporteClientesInactivosDetallePaginado(dias, tipoCliente, page, size));
+    }
+
+    @Operation(summary = "Reconstruir estadísticas de clientes",
+            description = "Recalcula desde las ventas la última compra, cantidad de compras y gasto total de cada cliente. También se ejecuta cada noche.")
+    @ApiResponse(responseCode = "200", description = "Estadísticas reconstruidas exitosamente",
+            content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"clientesActualizados\": 250}")))
+    @PostMapping("/clientes/estadisticas/reconstruir")
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<Map<String, Integer>> reconstruirEstadisticasClientes() {
+        int actualizados = reporteService.reconstruirEstadisticasClientes();
+        return ResponseEntity.ok(Map.of("clientesActualizados", actualizados));
+    }
+
     @Operation(summary = "KPIs Clientes", description = "Totales de cartera de clientes.")
     @ApiResponse(responseCode = "200", description = "Datos KPIs clientes generados exitosamente",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ClienteKpisDTO.class)))
@@ -609,4 +655,31 @@ public class ReporteController {
         ClienteKpisDTO data = reporteService.getKpisClientes();
         return ResponseEntity.ok(data);
     }
+
+
+    // PRONÓSTICO DE DEMANDA Y REPOSICIÓN
+
+    @Operation(summary = "Tabla: Reposición Sugerida (Paginada)",
+            description = "Pronóstico de demanda por producto (suavizamiento exponencial con estacionalidad semanal) y cantidad sugerida a reponer según stock actual y plazo de reposición. Se calcula cada noche.")
+    @ApiResponse(responseCode = "200", description = "Paginación obtenida correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginacionResponse.class)))
+    @GetMapping("/reposicion-sugerida/paginas")
+    @PreAuthorize(IS_AUTHENTICATED)
+    public ResponseEntity<PaginacionResponse<PronosticoDemandaDTO>> listarReposicionSugeridaPaginada(
+            @Parameter(description = "Solo productos con cantidad sugerida mayor a cero") @RequestParam(defaultValue = "true") boolean soloReponer,
+            @Parameter(description = "ID de la familia (opcional)") @RequestParam(required = false) Long familiaId,
+            @Parameter(description = "Número de página (0..N)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(pronosticoDemandaService.obtenerReposicionSugerida(soloReponer, familiaId, page, size));
+    }
+
+    @Operation(summary = "Recalcular pronóstico de demanda",
+            description = "Recalcula el pronóstico y la reposición sugerida de todos los productos sin esperar la ejecución nocturna.")
+    @ApiResponse(responseCode = "200", description = "Pronóstico recalculado exitosamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResumenPronosticoDTO.class)))
+    @PostMapping("/reposicion-sugerida/recalcular")
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<ResumenPronosticoDTO> recalcularPronostico() {
+        return ResponseEntity.ok(pronosticoDemandaService.calcularPronosticos());
+    }
 }
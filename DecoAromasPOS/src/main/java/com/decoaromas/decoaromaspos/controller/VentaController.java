@@ -1,15 +1,20 @@
 package com.decoaromas.decoaromaspos.controller;
 
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.AvailabilityResponse;
 import com.decoaromas.decoaromaspos.dto.venta.*;
+import com.decoaromas.decoaromaspos.dto.venta.importacion.ImportacionVentasResponse;
+import com.decoaromas.decoaromaspos.enums.FormatoImportacion;
 import com.decoaromas.decoaromaspos.exception.*;
+import com.decoaromas.decoaromaspos.service.IdempotenciaService;
 import com.decoaromas.decoaromaspos.service.VentaService;
 import com.decoaromas.decoaromaspos.service.exports.VentaExportService;
+import com.decoaromas.decoaromaspos.service.importacion.VentaImportacionService;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -21,14 +26,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Map;
 
 import static com.decoaromas.decoaromaspos.utils.SecurityConstants.*;
@@ -49,6 +56,8 @@ public class VentaController {
 
     private final VentaService ventaService;
     private final VentaExportService ventaExportService;
+    private final IdempotenciaService idempotenciaService;
+    private final VentaImportacionService ventaImportacionService;
 
     @Operation(summary = "Crear venta", description = "Crea una nueva venta, junto con el movimiento de inventario. Validaciones de stock, pagos y caja abierta.")
     @ApiResponses(value = {
@@ -78,9 +87,32 @@ public class VentaController {
     })
     @PostMapping
     @PreAuthorize(IS_VENDEDOR_OR_ADMIN)
-    public ResponseEntity<VentaResponse> crearVenta(@RequestBody @Valid VentaRequest request) {
-        VentaResponse response = ventaService.crearVenta(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<VentaResponse> crearVenta(
+            @Parameter(description = "Clave única por intento de operación; un reintento con la misma clave devuelve la respuesta original sin repetir la operación") @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid VentaRequest request) {
+        return idempotenciaService.ejecutar(idempotencyKey, "POST /api/ventas", request, VentaResponse.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(ventaService.crearVenta(request)));
+    }
+
+    @Operation(summary = "Importar ventas en lote", description = "Importa un archivo de ventas (JSONL o CSV) en lotes transaccionales: " +
+            "stock bloqueado y descontado una vez por producto y lote, inserciones en batch y errores informados por venta. " +
+            "Ventas con un uuid ya registrado se omiten, así el mismo archivo puede reimportarse. Las ventas van a una caja propia de la importación, " +
+            "que se registra cerrada con sus totales y no afecta a la caja abierta.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación procesada (puede incluir errores por venta)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportacionVentasResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Usuario no encontrado según id",
+                    content = @Content(schema = @Schema(implementation = ResourceNotFoundException.class)))
+    })
+    @PostMapping(value = "/importar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<ImportacionVentasResponse> importarVentas(
+            @Parameter(description = "Archivo JSONL (una venta por línea) o CSV (una fila por producto/pago, agrupadas por ticket)") @RequestParam("archivo") MultipartFile archivo,
+            @Parameter(description = "Formato del archivo") @RequestParam(defaultValue = "JSONL") FormatoImportacion formato,
+            @Parameter(description = "Usuario a cargo de la caja propia de la importación") @RequestParam Long usuarioId) throws IOException {
+        try (InputStream contenido = archivo.getInputStream()) {
+            return ResponseEntity.ok(ventaImportacionService.importar(contenido, formato, usuarioId));
+        }
     }
 
     @Operation(summary = "Verificar disponibilidad de número de documento", description = "Comprueba si un número de documento está disponible.")
@@ -165,6 +197,21 @@ public class VentaController {
         return ResponseEntity.ok(ventaService.getVentasFiltradas(page, size, sortBy, fechaInicio, fechaFin, dto));
     }
 
+    @Operation(summary = "Listar ventas filtradas (keyset)", description = "Devuelve ventas filtradas, más recientes primero, paginadas por cursor. El total solo se informa en la primera página.")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente",
+            content =  @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class)))
+    @PostMapping("/filtros/cursor")
+    @PreAuthorize(IS_AUTHENTICATED)
+    public ResponseEntity<CursorResponse<VentaResponse>> getVentasFiltradasCursor(
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            @Valid @RequestBody VentaFilterDTO dto) {
+
+        return ResponseEntity.ok(ventaService.getVentasFiltradasCursor(cursor, size, fechaInicio, fechaFin, dto));
+    }
+
 
     @Operation(summary = "Obtener venta por ID", description = "Devuelve la venta correspondiente al ID.")
     @ApiResponses(value = {
@@ -181,13 +228,15 @@ public class VentaController {
         return ResponseEntity.ok(ventaService.obtenerVenta(id));
     }
 
-    @Operation(summary = "Listar todas las ventas", description = "Obtiene una lista completa de ventas.")
-    @ApiResponse(responseCode = "200", description = "Lista de ventas obtenida correctamente",
-            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = VentaResponse.class))))
+    @Operation(summary = "Listar ventas (keyset)", description = "Obtiene las cabeceras de ventas, más recientes primero, paginadas por cursor. El detalle se obtiene con GET /api/ventas/{id}.")
+    @ApiResponse(responseCode = "200", description = "Página de ventas obtenida correctamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorResponse.class)))
     @GetMapping
     @PreAuthorize(IS_AUTHENTICATED)
-    public ResponseEntity<List<VentaResponse>> listarVentas() {
-        return ResponseEntity.ok(ventaService.listarVentas());
+    public ResponseEntity<CursorResponse<VentaResumenResponse>> listarVentas(
+            @Parameter(description = "Cursor de la página anterior (nextCursor). Omitir para la primera página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(ventaService.listarVentas(cursor, size));
     }
 
     @Operation(summary = "Eliminar venta", description = "Elimina una venta por ID.")
@@ -0,0 +1,84 @@
+package com.decoaromas.decoaromaspos.controller;
+
+import com.decoaromas.decoaromaspos.dto.other.response.UnauthorizedResponse;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.offline.ConflictoVentaOfflineResponse;
+import com.decoaromas.decoaromaspos.dto.venta.offline.EstadoOfflineResponse;
+import com.decoaromas.decoaromaspos.dto.venta.offline.VentaOfflineResponse;
+import com.decoaromas.decoaromaspos.enums.EstadoSincronizacion;
+import com.decoaromas.decoaromaspos.service.offline.VentaOfflineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.decoaromas.decoaromaspos.utils.SecurityConstants.*;
+
+@RestController
+@RequestMapping("/api/ventas/offline")
+@RequiredArgsConstructor
+@Tag(name = "Ventas Offline", description = "API de la caja para vender sin conexión a la base de datos y sincronizar después.")
+@ApiResponses(value = {
+        @ApiResponse(responseCode = "401", description = "Usuario no autenticado",
+                content = @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = UnauthorizedResponse.class),
+                        examples = @ExampleObject(value = "{\"path\": \"/api/ventas/offline\", \"error\": \"No autorizado\", \"status\": 401}")
+                )
+        )
+})
+public class VentaOfflineController {
+
+    private final VentaOfflineService ventaOfflineService;
+
+    @Operation(summary = "Registrar venta desde la caja", description = "Guarda la venta en línea si la base de datos responde; si no, la valida contra el catálogo local y la deja en el journal para sincronizarla después.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Venta guardada en la base de datos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VentaOfflineResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Venta registrada en el journal local, pendiente de sincronizar",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VentaOfflineResponse.class)))
+    })
+    @PostMapping
+    @PreAuthorize(IS_VENDEDOR_OR_ADMIN)
+    public ResponseEntity<VentaOfflineResponse> registrarVenta(@RequestBody @Valid VentaRequest request) {
+        VentaOfflineResponse response = ventaOfflineService.registrarVenta(request);
+        HttpStatus status = response.getEstado() == EstadoSincronizacion.SINCRONIZADA ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @Operation(summary = "Estado del modo offline", description = "Indica si la caja está en modo offline, cuántas ventas faltan por sincronizar y la antigüedad del catálogo local.")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstadoOfflineResponse.class)))
+    @GetMapping("/estado")
+    @PreAuthorize(IS_AUTHENTICATED)
+    public ResponseEntity<EstadoOfflineResponse> obtenerEstado() {
+        return ResponseEntity.ok(ventaOfflineService.obtenerEstado());
+    }
+
+    @Operation(summary = "Listar conflictos de sincronización", description = "Ventas registradas sin conexión que la base de datos rechazó al sincronizar (ej.: stock insuficiente).")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ConflictoVentaOfflineResponse.class))))
+    @GetMapping("/conflictos")
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<List<ConflictoVentaOfflineResponse>> listarConflictos() {
+        return ResponseEntity.ok(ventaOfflineService.listarConflictos());
+    }
+
+    @Operation(summary = "Sincronizar ahora", description = "Fuerza la sincronización de las ventas pendientes sin esperar al proceso periódico.")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstadoOfflineResponse.class)))
+    @PostMapping("/sincronizar")
+    @PreAuthorize(IS_ADMIN_OR_SUPER_ADMIN)
+    public ResponseEntity<EstadoOfflineResponse> sincronizar() {
+        ventaOfflineService.sincronizar();
+        return ResponseEntity.ok(ventaOfflineService.obtenerEstado());
+    }
+}
@@ -0,0 +1,25 @@
+package com.decoaromas.decoaromaspos.dto.alerta_stock;
+
+import com.decoaromas.decoaromaspos.enums.TipoAlertaStock;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertaStockResponse {
+    private Long alertaId;
+    private Long productoId;
+    private String sku;
+    private String nombre;
+    private TipoAlertaStock tipo;
+    private Integer stockAnterior;
+    private Integer stockActual;
+    private Integer stockMinimo;
+    private ZonedDateTime fecha;
+}
@@ -1,14 +1,18 @@
 package com.decoaromas.decoaromaspos.dto.caja;
 
 import com.decoaromas.decoaromaspos.enums.EstadoCaja;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.ZonedDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class CajaResponse {
 
@@ -29,4 +33,14 @@ public class CajaResponse {
     private Long usuarioId;
     private String nombreUsuario;
     private String username;
+
+    // Usado por la consulta JPQL (SELECT new ...). Arma el nombre igual que CajaMapper.
+    public CajaResponse(Long cajaId, ZonedDateTime fechaApertura, Double efectivoApertura, ZonedDateTime fechaCierre,
+                        Double efectivoCierre, Double mercadoPagoCierre, Double bciCierre, Double botonDePagoCierre,
+                        Double transferenciaCierre, Double postCierre, EstadoCaja estado, Double diferenciaReal,
+                        Long usuarioId, String nombre, String apellido, String username) {
+        this(cajaId, fechaApertura, efectivoApertura, fechaCierre, efectivoCierre, mercadoPagoCierre, bciCierre,
+                botonDePagoCierre, transferenciaCierre, postCierre, estado, diferenciaReal,
+                usuarioId, nombre + " " + apellido, username);
+    }
 }
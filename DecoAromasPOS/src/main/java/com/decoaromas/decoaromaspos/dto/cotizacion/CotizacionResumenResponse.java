@@ -0,0 +1,51 @@
+package com.decoaromas.decoaromaspos.dto.cotizacion;
+
+import com.decoaromas.decoaromaspos.enums.EstadoCotizacion;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Cabecera de una cotización para listados. Se construye directamente en la consulta
+ * (sin cargar detalles), por eso no incluye esa colección.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CotizacionResumenResponse {
+    private Long cotizacionId;
+    private ZonedDateTime fechaEmision;
+    private TipoCliente tipoCliente;
+    private Double totalBruto;
+    private Double totalNeto;
+    private EstadoCotizacion estado;
+
+    private Long usuarioId;
+    private String usuarioNombre;
+    private Long clienteId;
+    private String clienteNombre;
+
+    // Usado por la consulta JPQL (SELECT new ...). Arma los nombres igual que CotizacionMapper.
+    public CotizacionResumenResponse(Long cotizacionId, ZonedDateTime fechaEmision, TipoCliente tipoCliente,
+                                     Double totalBruto, Double totalNeto, EstadoCotizacion estado,
+                                     Long usuarioId, String usuarioNombre, String usuarioApellido,
+                                     Long clienteId, String clienteNombre, String clienteApellido) {
+        this.cotizacionId = cotizacionId;
+        this.fechaEmision = fechaEmision;
+        this.tipoCliente = tipoCliente;
+        this.totalBruto = totalBruto;
+        this.totalNeto = totalNeto;
+        this.estado = estado;
+        this.usuarioId = usuarioId;
+        this.usuarioNombre = nombreCompleto(usuarioNombre, usuarioApellido);
+        this.clienteId = clienteId;
+        this.clienteNombre = clienteNombre != null ? nombreCompleto(clienteNombre, clienteApellido) : null;
+    }
+
+    private static String nombreCompleto(String nombre, String apellido) {
+        return apellido == null ? nombre : nombre + " " + apellido;
+    }
+}
@@ -0,0 +1,21 @@
+package com.decoaromas.decoaromaspos.dto.evento;
+
+import com.decoaromas.decoaromaspos.enums.EstadoCaja;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CajaEvento {
+    private Long cajaId;
+    private EstadoCaja estado;
+    private ZonedDateTime fechaApertura;
+    private ZonedDateTime fechaCierre;
+    private Double diferenciaReal;
+}
@@ -0,0 +1,22 @@
+package com.decoaromas.decoaromaspos.dto.evento;
+
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.ZonedDateTime;
+
+/** Evento de dominio tal como lo reciben los listeners. El payload es JSON (VentaEvento, CajaEvento o StockEvento). */
+@Getter
+@Builder
+@AllArgsConstructor
+public class EventoDominio {
+    private final Long eventoId;
+    private final TipoAgregado tipoAgregado;
+    private final Long agregadoId;
+    private final TipoEvento tipo;
+    private final String payload;
+    private final ZonedDateTime fecha;
+}
@@ -0,0 +1,18 @@
+package com.decoaromas.decoaromaspos.dto.evento;
+
+import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockEvento {
+    private Long productoId;
+    private Integer stockAnterior;
+    private Integer stockNuevo;
+    private MotivoMovimiento motivo;
+}
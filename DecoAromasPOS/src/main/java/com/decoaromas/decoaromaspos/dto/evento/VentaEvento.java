@@ -0,0 +1,32 @@
+package com.decoaromas.decoaromaspos.dto.evento;
+
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaEvento {
+    private Long ventaId;
+    private Long cajaId;
+    private Long clienteId;
+    private TipoCliente tipoCliente;
+    private ZonedDateTime fecha;
+    private Double totalNeto;
+    private List<Linea> lineas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Linea {
+        private Long productoId;
+        private Integer cantidad;
+    }
+}
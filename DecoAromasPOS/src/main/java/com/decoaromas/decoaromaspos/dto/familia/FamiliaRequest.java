@@ -1,10 +1,14 @@
 package com.decoaromas.decoaromaspos.dto.familia;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 
 @Getter
 public class FamiliaRequest {
     @NotBlank(message = "El nombre es obligatorio")
     private String nombre;
+
+    @PositiveOrZero(message = "El stock mínimo no puede ser negativo")
+    private Integer stockMinimo;
 }
@@ -12,5 +12,6 @@ import lombok.NoArgsConstructor;
 public class FamiliaResponse {
     private Long familiaId;
     private String nombre;
+    private Integer stockMinimo;
     private Boolean isDeleted;
 }
@@ -0,0 +1,16 @@
+package com.decoaromas.decoaromaspos.dto.movimiento_inventario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cantidad agregada por producto (stock de un snapshot o suma neta de movimientos).
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CantidadPorProductoDTO {
+    private Long productoId;
+    private Long cantidad;
+}
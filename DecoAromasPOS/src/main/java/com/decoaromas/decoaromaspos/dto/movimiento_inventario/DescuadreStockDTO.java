@@ -0,0 +1,23 @@
+package com.decoaromas.decoaromaspos.dto.movimiento_inventario;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Producto cuyo stock (Producto.stock) no coincide con la suma de sus movimientos de inventario.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DescuadreStockDTO {
+    private Long productoId;
+    private String sku;
+    private String nombre;
+    private Integer stockProducto;
+    private Integer stockLibro;
+    // stockProducto - stockLibro
+    private Integer diferencia;
+}
@@ -3,6 +3,7 @@ package com.decoaromas.decoaromaspos.dto.movimiento_inventario;
 import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
 import com.decoaromas.decoaromaspos.enums.TipoMovimiento;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,6 +12,7 @@ import java.time.ZonedDateTime;
 
 @Getter
 @Setter
+@AllArgsConstructor
 @Builder
 @Schema(description = "Detalle de un movimiento de stock en el inventario.")
 public class MovimientoInventarioResponse {
@@ -44,4 +46,12 @@ public class MovimientoInventarioResponse {
 
     @Schema(description = "Nombre completo del usuario", example = "Jane Doe")
     private String nombreCompleto;
+
+    // Usado por la consulta JPQL (SELECT new ...). Arma el nombre igual que MovimientoInventarioMapper.
+    public MovimientoInventarioResponse(Long movimientoId, ZonedDateTime fecha, TipoMovimiento tipo, MotivoMovimiento motivo,
+                                        Integer cantidad, Long productoId, String productoNombre,
+                                        Long usuarioId, String username, String nombre, String apellido) {
+        this(movimientoId, fecha, tipo, motivo, cantidad, productoId, productoNombre,
+                usuarioId, username, nombre + " " + apellido);
+    }
 }
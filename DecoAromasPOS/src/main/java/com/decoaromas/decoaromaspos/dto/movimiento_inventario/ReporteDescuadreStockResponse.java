@@ -0,0 +1,28 @@
+package com.decoaromas.decoaromaspos.dto.movimiento_inventario;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de la reconciliación del stock de todos los productos contra el libro de movimientos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteDescuadreStockResponse {
+    private ZonedDateTime fecha;
+    private int productosRevisados;
+    private int productosConDescuadre;
+    // Productos cuyo stock se corrigió al valor del libro (solo en la reparación)
+    private int productosReparados;
+    private long duracionMs;
+    @Builder.Default
+    private List<DescuadreStockDTO> descuadres = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.decoaromas.decoaromaspos.dto.movimiento_inventario;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock de un producto: el contador de la tabla producto o el calculado desde el libro a una fecha.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockProductoDTO {
+    private Long productoId;
+    private String sku;
+    private String nombre;
+    private Integer stock;
+}
@@ -0,0 +1,41 @@
+package com.decoaromas.decoaromaspos.dto.other;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
+
+public class CursorMapper {
+
+    private CursorMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Arma la respuesta a partir de las filas leídas con límite {@code size + 1}.
+     * La fila extra solo indica que existe una página siguiente y no se devuelve.
+     * @param filas Filas obtenidas (hasta size + 1).
+     * @param size Tamaño de página solicitado.
+     * @param cursorDe Función que codifica el cursor de una fila.
+     */
+    public static <T> CursorResponse<T> mapToResponse(List<T> filas, int size, Function<T, String> cursorDe) {
+        return mapToResponse(filas, size, cursorDe, null);
+    }
+
+    /**
+     * Igual que {@link #mapToResponse(List, int, Function)}, incluyendo el total de resultados del filtro.
+     * @param totalElements Total calculado una sola vez (primera página), o null.
+     */
+    public static <T> CursorResponse<T> mapToResponse(List<T> filas, int size, Function<T, String> cursorDe, Long totalElements) {
+        boolean hasNext = filas.size() > size;
+        List<T> content = hasNext ? filas.subList(0, size) : filas;
+
+        return CursorResponse.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorDe.apply(content.get(content.size() - 1)) : null)
+                .totalElements(totalElements)
+                .build();
+    }
+}
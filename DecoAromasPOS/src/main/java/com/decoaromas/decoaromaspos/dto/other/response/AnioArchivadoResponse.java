@@ -0,0 +1,22 @@
+package com.decoaromas.decoaromaspos.dto.other.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnioArchivadoResponse {
+    private Integer anio;
+    private ZonedDateTime fechaArchivo;
+    private Long ventas;
+    private Long detalles;
+    private Long pagos;
+    private Long movimientos;
+    private Double totalNeto;
+}
@@ -0,0 +1,24 @@
+package com.decoaromas.decoaromaspos.dto.other.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página obtenida por keyset (seek). Para pedir la siguiente página se envía
+ * {@code nextCursor} tal cual lo entregó la respuesta anterior.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;  // null cuando no hay más resultados
+    private boolean hasNext;
+    private Long totalElements; // Solo se calcula en la primera página de un filtro (null en las demás)
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
 
 @Getter
@@ -31,6 +32,9 @@ public class ActualizarProductoRequest {
     @Positive(message = "El costo debe ser positivo")
     private Double costo;
 
+    @PositiveOrZero(message = "El stock mínimo no puede ser negativo")
+    private Integer stockMinimo;
+
     @Positive(message = "La id ser positiva")
     private Long familiaId;
 
@@ -0,0 +1,24 @@
+package com.decoaromas.decoaromaspos.dto.producto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+/**
+ * Cantidad contada de un producto, identificado por SKU o por código de barras.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConteoStockItem {
+
+    private String sku;
+
+    private String codigoBarras;
+
+    @NotNull(message = "Debe ingresar la cantidad contada")
+    @PositiveOrZero(message = "La cantidad contada no puede ser negativa")
+    private Integer cantidad;
+}
@@ -0,0 +1,25 @@
+package com.decoaromas.decoaromaspos.dto.producto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConteoStockRequest {
+
+    @NotNull(message = "Debe asociar un usuario")
+    @Positive(message = "La id ser positiva")
+    private Long usuarioId;
+
+    @NotEmpty(message = "El conteo no tiene productos")
+    @Valid
+    private List<ConteoStockItem> items;
+}
@@ -0,0 +1,25 @@
+package com.decoaromas.decoaromaspos.dto.producto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumen de un conteo de inventario aplicado.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConteoStockResponse {
+    private int itemsRecibidos;
+    private int productosActualizados;
+    private int productosSinCambios;
+    private long unidadesEntrada;   // Suma de las diferencias positivas
+    private long unidadesSalida;    // Suma de las diferencias negativas (en valor absoluto)
+    private long duracionMs;
+    @Builder.Default
+    private List<ErrorConteoStock> errores = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.decoaromas.decoaromaspos.dto.producto;
+
+import lombok.*;
+
+/**
+ * Ítem del conteo que no se aplicó.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErrorConteoStock {
+    private int posicion;   // Posición del ítem en el conteo (en CSV, la fila de datos)
+    private String codigo;  // SKU o código de barras informado
+    private String mensaje;
+}
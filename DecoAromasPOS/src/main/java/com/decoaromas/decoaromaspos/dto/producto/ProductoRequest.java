@@ -35,6 +35,9 @@ public class ProductoRequest {
     @Min(value = 0, message = "El costo debe ser positivo")
     private Double costo;
 
+    @PositiveOrZero(message = "El stock mínimo no puede ser negativo")
+    private Integer stockMinimo;
+
     @Positive(message = "La id ser positiva")
     private Long familiaId;
 
@@ -17,6 +17,7 @@ public class ProductoResponse {
     private Double precioDetalle;
     private Double precioMayorista;
     private Integer stock;
+    private Integer stockMinimo;
     private Double costo;
     private Long familiaId;
     private String familiaNombre;
@@ -0,0 +1,21 @@
+package com.decoaromas.decoaromaspos.dto.producto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Copia mínima de un producto para el catálogo local de la caja (precios y stock al momento de la copia).
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoSnapshot {
+    private Long productoId;
+    private String nombre;
+    private String codigoBarras;
+    private Double precioDetalle;
+    private Double precioMayorista;
+    private Double costo;
+    private Integer stock;
+}
@@ -0,0 +1,72 @@
+package com.decoaromas.decoaromaspos.dto.reportes;
+
+import com.decoaromas.decoaromaspos.utils.Dinero;
+import lombok.Getter;
+
+/**
+ * Cubo 7x24 de ventas en tienda: día de la semana (0=Domingo ... 6=Sábado) por hora (0-23).
+ * Se arma sumando los resúmenes diarios en memoria, sin escanear la tabla de ventas.
+ * Los totales se suman en centavos y se convierten a pesos solo al leerlos.
+ */
+public class CuboVentaHorariaDTO {
+
+    public static final int DIAS_SEMANA = 7;
+    public static final int HORAS_DIA = 24;
+
+    @Getter
+    private final long[][] tickets = new long[DIAS_SEMANA][HORAS_DIA];
+    private final long[][] centavos = new long[DIAS_SEMANA][HORAS_DIA];
+
+    public void acumular(int diaSemana, int[] ticketsDia, long[] centavosDia) {
+        long[] filaTickets = tickets[diaSemana];
+        long[] filaCentavos = centavos[diaSemana];
+        for (int h = 0; h < HORAS_DIA; h++) {
+            filaTickets[h] += ticketsDia[h];
+            filaCentavos[h] += centavosDia[h];
+        }
+    }
+
+    // Total vendido por día de la semana y hora, en pesos
+    public double[][] getTotales() {
+        double[][] resultado = new double[DIAS_SEMANA][HORAS_DIA];
+        for (int dia = 0; dia < DIAS_SEMANA; dia++) {
+            for (int h = 0; h < HORAS_DIA; h++) {
+                resultado[dia][h] = Dinero.monto(centavos[dia][h]);
+            }
+        }
+        return resultado;
+    }
+
+    // Total vendido por hora, sumando todos los días de la semana
+    public double[] totalesPorHora() {
+        long[] suma = new long[HORAS_DIA];
+        for (long[] fila : centavos) {
+            for (int h = 0; h < HORAS_DIA; h++) {
+                suma[h] += fila[h];
+            }
+        }
+        double[] resultado = new double[HORAS_DIA];
+        for (int h = 0; h < HORAS_DIA; h++) {
+            resultado[h] = Dinero.monto(suma[h]);
+        }
+        return resultado;
+    }
+
+    // Total vendido por día de la semana, sumando todas las horas
+    public double totalDia(int diaSemana) {
+        long suma = 0;
+        for (long valor : centavos[diaSemana]) {
+            suma += valor;
+        }
+        return Dinero.monto(suma);
+    }
+
+    // Tickets por día de la semana, sumando todas las horas
+    public long ticketsDia(int diaSemana) {
+        long suma = 0;
+        for (long valor : tickets[diaSemana]) {
+            suma += valor;
+        }
+        return suma;
+    }
+}
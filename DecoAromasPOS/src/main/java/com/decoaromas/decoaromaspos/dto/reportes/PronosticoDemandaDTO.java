@@ -0,0 +1,27 @@
+package com.decoaromas.decoaromaspos.dto.reportes;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PronosticoDemandaDTO {
+    private Long productoId;
+    private String sku;
+    private String nombre;
+    private ZonedDateTime fechaCalculo;
+    private Integer diasHistoria;
+    private Double demandaDiaria;
+    private Double demandaReposicion;
+    private Integer stockActual;
+    private Integer stockSeguridad;
+    private Integer puntoReorden;
+    private Integer cantidadSugerida;
+    private Double diasCobertura;
+}
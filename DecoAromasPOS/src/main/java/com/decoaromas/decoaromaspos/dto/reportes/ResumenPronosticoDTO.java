@@ -0,0 +1,22 @@
+package com.decoaromas.decoaromaspos.dto.reportes;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumenPronosticoDTO {
+    private ZonedDateTime fechaCalculo;
+    private LocalDate historiaDesde;
+    private LocalDate historiaHasta;
+    private int productosPronosticados;
+    private int productosAReponer;
+    private long duracionMs;
+}
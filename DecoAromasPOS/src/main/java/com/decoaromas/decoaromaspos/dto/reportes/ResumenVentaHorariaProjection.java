@@ -0,0 +1,11 @@
+package com.decoaromas.decoaromaspos.dto.reportes;
+
+import java.time.LocalDate;
+
+public interface ResumenVentaHorariaProjection {
+    LocalDate getFecha();
+    Integer getHora();
+    String getTipoCliente();
+    Long getTickets();
+    Long getCentavos();
+}
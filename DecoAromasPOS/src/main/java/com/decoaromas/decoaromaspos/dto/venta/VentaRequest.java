@@ -8,6 +8,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.UUID;
 
 @Getter
 @Setter
@@ -26,4 +27,6 @@ public class VentaRequest {
     private List<PagoRequest> pagos;
 
     private Long cotizacionId;   // opcional
+
+    private UUID uuid;   // opcional, generado por la caja para reintentos idempotentes
 }
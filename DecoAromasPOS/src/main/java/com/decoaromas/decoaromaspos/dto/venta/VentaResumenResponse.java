@@ -0,0 +1,58 @@
+package com.decoaromas.decoaromaspos.dto.venta;
+
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.enums.TipoDocumento;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Cabecera de una venta para listados. Se construye directamente en la consulta
+ * (sin cargar detalles ni pagos), por eso no incluye esas colecciones.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VentaResumenResponse {
+    private Long ventaId;
+    private ZonedDateTime fecha;
+    private TipoCliente tipoCliente;
+    private Double totalBruto;
+    private Double totalDescuentoTotal;
+    private Double totalNeto;
+    private TipoDocumento tipoDocumento;
+    private String numeroDocumento;
+
+    private Long usuarioId;
+    private String usuarioNombre;
+    private Long cajaId;
+    private Long clienteId;
+    private String clienteNombre;
+
+    // Usado por la consulta JPQL (SELECT new ...). Arma los nombres igual que VentaMapper.
+    public VentaResumenResponse(Long ventaId, ZonedDateTime fecha, TipoCliente tipoCliente,
+                                Double totalBruto, Double totalDescuentoTotal, Double totalNeto,
+                                TipoDocumento tipoDocumento, String numeroDocumento,
+                                Long usuarioId, String usuarioNombre, String usuarioApellido,
+                                Long cajaId, Long clienteId, String clienteNombre, String clienteApellido) {
+        this.ventaId = ventaId;
+        this.fecha = fecha;
+        this.tipoCliente = tipoCliente;
+        this.totalBruto = totalBruto;
+        this.totalDescuentoTotal = totalDescuentoTotal;
+        this.totalNeto = totalNeto;
+        this.tipoDocumento = tipoDocumento;
+        this.numeroDocumento = numeroDocumento;
+        this.usuarioId = usuarioId;
+        this.usuarioNombre = nombreCompleto(usuarioNombre, usuarioApellido);
+        this.cajaId = cajaId;
+        this.clienteId = clienteId;
+        this.clienteNombre = clienteNombre != null ? nombreCompleto(clienteNombre, clienteApellido) : null;
+    }
+
+    private static String nombreCompleto(String nombre, String apellido) {
+        return apellido == null ? nombre : nombre + " " + apellido;
+    }
+}
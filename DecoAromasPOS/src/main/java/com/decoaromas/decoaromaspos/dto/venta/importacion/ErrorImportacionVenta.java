@@ -0,0 +1,17 @@
+package com.decoaromas.decoaromaspos.dto.venta.importacion;
+
+import lombok.*;
+
+/**
+ * Venta del archivo que no se pudo importar.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErrorImportacionVenta {
+    private int linea;          // Línea del archivo donde empieza la venta
+    private String referencia;  // Ticket (CSV) o uuid de la venta, si lo trae
+    private String mensaje;
+}
@@ -0,0 +1,25 @@
+package com.decoaromas.decoaromaspos.dto.venta.importacion;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de ventas.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportacionVentasResponse {
+    private Long cajaId;            // Caja propia de la importación
+    private int ventasLeidas;
+    private int ventasCreadas;
+    private int ventasOmitidas;     // Ya importadas antes (mismo uuid)
+    private int lotes;
+    private long duracionMs;
+    @Builder.Default
+    private List<ErrorImportacionVenta> errores = new ArrayList<>();
+}
@@ -0,0 +1,23 @@
+package com.decoaromas.decoaromaspos.dto.venta.offline;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Venta registrada sin conexión que fue rechazada al sincronizar.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConflictoVentaOfflineResponse {
+    private UUID uuid;
+    private ZonedDateTime fechaVenta;
+    private ZonedDateTime fechaIntento;
+    private String mensaje;
+    private VentaRequest request;
+}
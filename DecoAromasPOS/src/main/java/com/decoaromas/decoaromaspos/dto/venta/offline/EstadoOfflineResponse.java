@@ -0,0 +1,18 @@
+package com.decoaromas.decoaromaspos.dto.venta.offline;
+
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadoOfflineResponse {
+    private boolean modoOffline;
+    private int pendientes;
+    private int conflictos;
+    private int productosEnCatalogo;
+    private ZonedDateTime catalogoActualizadoEn;
+}
@@ -0,0 +1,27 @@
+package com.decoaromas.decoaromaspos.dto.venta.offline;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.enums.EstadoSincronizacion;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Resultado de registrar una venta desde la caja. Si la base de datos respondió, {@code venta} trae la
+ * venta guardada; si no, la venta quedó en el journal local (PENDIENTE) con los totales calculados
+ * desde el catálogo local.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VentaOfflineResponse {
+    private UUID uuid;
+    private EstadoSincronizacion estado;
+    private ZonedDateTime fecha;
+    private Double totalNeto;
+    private Double vuelto;
+    private VentaResponse venta;    // null mientras esté PENDIENTE
+}
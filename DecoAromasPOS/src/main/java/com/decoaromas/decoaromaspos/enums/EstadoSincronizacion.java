@@ -0,0 +1,10 @@
+package com.decoaromas.decoaromaspos.enums;
+
+/**
+ * Estado de una venta registrada sin conexión respecto de la base de datos.
+ */
+public enum EstadoSincronizacion {
+    PENDIENTE,      // En el journal local, todavía no se ha guardado en la base de datos
+    SINCRONIZADA,   // Guardada por el flujo normal de crearVenta
+    CONFLICTO       // Rechazada al sincronizar (ej.: stock insuficiente); requiere revisión manual
+}
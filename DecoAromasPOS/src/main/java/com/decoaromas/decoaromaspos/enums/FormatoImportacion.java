@@ -0,0 +1,9 @@
+package com.decoaromas.decoaromaspos.enums;
+
+/**
+ * Formato del archivo de importación masiva de ventas.
+ */
+public enum FormatoImportacion {
+    JSONL,  // Una venta por línea: {"fecha": ..., "venta": VentaRequest}
+    CSV     // Una fila por producto y/o pago; las filas de una misma boleta (columna ticket) van seguidas
+}
@@ -0,0 +1,7 @@
+package com.decoaromas.decoaromaspos.enums;
+
+public enum TipoAgregado {
+    VENTA,
+    CAJA,
+    PRODUCTO
+}
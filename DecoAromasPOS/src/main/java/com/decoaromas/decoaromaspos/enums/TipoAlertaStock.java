@@ -0,0 +1,7 @@
+package com.decoaromas.decoaromaspos.enums;
+
+public enum TipoAlertaStock {
+    BAJO_STOCK,
+    SIN_STOCK,
+    REPUESTO
+}
@@ -0,0 +1,11 @@
+package com.decoaromas.decoaromaspos.enums;
+
+public enum TipoEvento {
+    VENTA_CREADA,
+    VENTA_ACTUALIZADA,
+    VENTA_ELIMINADA,
+    CAJA_ABIERTA,
+    CAJA_CERRADA,
+    CAJA_ELIMINADA,
+    STOCK_ACTUALIZADO
+}
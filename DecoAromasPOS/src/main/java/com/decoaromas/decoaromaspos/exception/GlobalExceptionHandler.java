@@ -67,6 +67,11 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    @ExceptionHandler(IdempotenciaException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotenciaException(IdempotenciaException ex) {
+        return buildResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
 
     // Captura de errores de validacion de parametros (@Valid)
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,10 @@
+package com.decoaromas.decoaromaspos.exception;
+
+/**
+ * Se lanza cuando un Idempotency-Key ya usado llega con otra operación u otros datos.
+ */
+public class IdempotenciaException extends RuntimeException {
+    public IdempotenciaException(String message) {
+        super(message);
+    }
+}
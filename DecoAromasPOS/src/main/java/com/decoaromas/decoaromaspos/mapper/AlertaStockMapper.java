@@ -0,0 +1,23 @@
+package com.decoaromas.decoaromaspos.mapper;
+
+import com.decoaromas.decoaromaspos.dto.alerta_stock.AlertaStockResponse;
+import com.decoaromas.decoaromaspos.model.AlertaStock;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AlertaStockMapper {
+
+    public AlertaStockResponse toResponse(AlertaStock alerta) {
+        return AlertaStockResponse.builder()
+                .alertaId(alerta.getAlertaId())
+                .productoId(alerta.getProductoId())
+                .sku(alerta.getSku())
+                .nombre(alerta.getNombre())
+                .tipo(alerta.getTipo())
+                .stockAnterior(alerta.getStockAnterior())
+                .stockActual(alerta.getStockActual())
+                .stockMinimo(alerta.getStockMinimo())
+                .fecha(alerta.getFecha())
+                .build();
+    }
+}
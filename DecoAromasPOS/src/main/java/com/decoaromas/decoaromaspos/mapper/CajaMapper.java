@@ -1,6 +1,7 @@
 package com.decoaromas.decoaromaspos.mapper;
 
 import com.decoaromas.decoaromaspos.dto.caja.CajaResponse;
+import com.decoaromas.decoaromaspos.dto.evento.CajaEvento;
 import com.decoaromas.decoaromaspos.model.Caja;
 import com.decoaromas.decoaromaspos.model.Usuario;
 import org.springframework.stereotype.Component;
@@ -28,4 +29,15 @@ public class CajaMapper {
                 .username(usuario.getUsername())
                 .build();
     }
+
+    // Payload compacto del evento de dominio de la caja
+    public CajaEvento toEvento(Caja caja) {
+        return CajaEvento.builder()
+                .cajaId(caja.getCajaId())
+                .estado(caja.getEstado())
+                .fechaApertura(caja.getFechaApertura())
+                .fechaCierre(caja.getFechaCierre())
+                .diferenciaReal(caja.getDiferenciaReal())
+                .build();
+    }
 }
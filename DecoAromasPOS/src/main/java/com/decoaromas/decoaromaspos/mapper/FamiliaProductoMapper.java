@@ -11,6 +11,7 @@ public class FamiliaProductoMapper {
         return FamiliaResponse.builder()
                 .familiaId(familia.getFamiliaId())
                 .nombre(familia.getNombre())
+                .stockMinimo(familia.getStockMinimo())
                 .isDeleted(familia.getIsDeleted())
                 .build();
     }
@@ -25,6 +25,7 @@ public class ProductoMapper {
                 .precioDetalle(producto.getPrecioDetalle())
                 .precioMayorista(producto.getPrecioMayorista())
                 .stock(producto.getStock())
+                .stockMinimo(producto.getStockMinimo())
                 .costo(producto.getCosto())
                 .familiaId(familiaId)
                 .familiaNombre(familiaNombre)
@@ -1,5 +1,6 @@
 package com.decoaromas.decoaromaspos.mapper;
 
+import com.decoaromas.decoaromaspos.dto.evento.VentaEvento;
 import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaResponse;
 import com.decoaromas.decoaromaspos.dto.venta.PagoResponse;
 import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
@@ -70,6 +71,21 @@ public class VentaMapper {
         return response;
     }
 
+    // Payload compacto del evento de dominio de la venta
+    public VentaEvento toEvento(Venta venta) {
+        return VentaEvento.builder()
+                .ventaId(venta.getVentaId())
+                .cajaId(venta.getCaja() != null ? venta.getCaja().getCajaId() : null)
+                .clienteId(venta.getCliente() != null ? venta.getCliente().getClienteId() : null)
+                .tipoCliente(venta.getTipoCliente())
+                .fecha(venta.getFecha())
+                .totalNeto(venta.getTotalNeto())
+                .lineas(venta.getDetalles().stream()
+                        .map(d -> new VentaEvento.Linea(d.getProducto().getProductoId(), d.getCantidad()))
+                        .toList())
+                .build();
+    }
+
     // Helper privado para crear la respuesta de detalle de venta
     private DetalleVentaResponse toDetalleVentaResponse(DetalleVenta det) {
         DetalleVentaResponse d = new DetalleVentaResponse();
@@ -0,0 +1,56 @@
+package com.decoaromas.decoaromaspos.model;
+
+import com.decoaromas.decoaromaspos.enums.TipoAlertaStock;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Alerta de stock: un producto cruzó su umbral de reposición (o se agotó, o volvió a tener stock).
+ * Se registra en la misma transacción que el cambio de stock y queda pendiente hasta que
+ * AlertaStockPublicador la envía a los clientes suscritos (bandeja de salida).
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "alerta_stock", indexes = {
+        @Index(name = "idx_alerta_stock_publicada_id", columnList = "publicada, alertaId"),
+        @Index(name = "idx_alerta_stock_fecha", columnList = "fecha")
+})
+public class AlertaStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long alertaId;
+
+    // Sin FK: la alerta es un registro histórico y no debe bloquear la tabla producto
+    @Column(nullable = false)
+    private Long productoId;
+
+    private String sku;
+
+    private String nombre;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoAlertaStock tipo;
+
+    private Integer stockAnterior;
+
+    private Integer stockActual;
+
+    private Integer stockMinimo;
+
+    @Column(nullable = false)
+    private ZonedDateTime fecha;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean publicada = Boolean.FALSE;
+}
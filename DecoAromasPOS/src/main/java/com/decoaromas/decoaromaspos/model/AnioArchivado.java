@@ -0,0 +1,49 @@
+package com.decoaromas.decoaromaspos.model;
+
+import com.decoaromas.decoaromaspos.utils.Dinero;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Año cerrado cuyas ventas, detalles, pagos y movimientos de inventario se exportaron a archivos columnares
+ * ({@code app.archivo.dir}/{@code anio}) y se eliminaron de las tablas. Guarda las cantidades y el total neto
+ * exportados, que se verifican contra el manifiesto del archivo al volver a leerlo.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "anio_archivado")
+public class AnioArchivado {
+
+    @Id
+    private Integer anio;
+
+    @Column(nullable = false)
+    private ZonedDateTime fechaArchivo;
+
+    @Column(nullable = false)
+    private Long ventas;
+
+    @Column(nullable = false)
+    private Long detalles;
+
+    @Column(nullable = false)
+    private Long pagos;
+
+    @Column(nullable = false)
+    private Long movimientos;
+
+    @Column(nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double totalNeto;
+
+    // Directorio con los archivos del año y su manifiesto
+    @Column(nullable = false, length = 500)
+    private String directorio;
+}
@@ -1,6 +1,7 @@
 package com.decoaromas.decoaromaspos.model;
 
 import com.decoaromas.decoaromaspos.enums.EstadoCaja;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +15,10 @@ import java.time.ZonedDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // Paginación keyset de listados (fecha de apertura, id)
+        @Index(name = "idx_caja_fecha_apertura_id", columnList = "fechaApertura, cajaId")
+})
 public class Caja {
 
     @Id
@@ -21,19 +26,27 @@ public class Caja {
     private Long cajaId;
 
     private ZonedDateTime fechaApertura;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double efectivoApertura;
 
     private ZonedDateTime fechaCierre;
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double efectivoCierre;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double mercadoPagoCierre;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double bciCierre;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double botonDePagoCierre;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double transferenciaCierre;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double postCierre;
 
     @Enumerated(EnumType.STRING)
     private EstadoCaja estado;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double diferenciaReal;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,13 +3,18 @@ package com.decoaromas.decoaromaspos.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad que representa una configuración genérica de la aplicación
  * en formato clave-valor. La clave debe ser única.
+ * Va en la cache de segundo nivel: se lee mucho y casi no cambia.
  */
 @Entity
 @Table(name = "configuracion")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "configuracion")
 @Data
 @NoArgsConstructor
 public class Configuracion {
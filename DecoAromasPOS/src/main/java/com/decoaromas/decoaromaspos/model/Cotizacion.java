@@ -3,6 +3,7 @@ package com.decoaromas.decoaromaspos.model;
 import com.decoaromas.decoaromaspos.enums.EstadoCotizacion;
 import com.decoaromas.decoaromaspos.enums.TipoDescuento;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +19,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // Paginación keyset de listados (fecha de emisión, id)
+        @Index(name = "idx_cotizacion_fecha_emision_id", columnList = "fechaEmision, cotizacionId")
+})
 public class Cotizacion {
 
     @Id
@@ -32,12 +37,16 @@ public class Cotizacion {
     @Enumerated(EnumType.STRING)
     private TipoCliente tipoCliente;
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double totalBruto;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double valorDescuentoGlobal;
     @Enumerated(EnumType.STRING)
     private TipoDescuento tipoDescuentoGlobal;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double montoDescuentoGlobalCalculado;
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double totalNeto;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -52,6 +61,7 @@ public class Cotizacion {
     @OneToMany(mappedBy = "cotizacion", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DetalleCotizacion> detalles = new ArrayList<>();
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double costoGeneral; // Útil para ver la rentabilidad de la cotización
 
 
@@ -1,6 +1,7 @@
 package com.decoaromas.decoaromaspos.model;
 
 import com.decoaromas.decoaromaspos.enums.TipoDescuento;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,12 +20,15 @@ public class DetalleCotizacion {
     private Long detalleCotizacionId;
 
     private Integer cantidad;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double precioUnitario; // El precio al momento de cotizar
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double valorDescuentoUnitario;
     @Enumerated(EnumType.STRING)
     private TipoDescuento tipoDescuentoUnitario;
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double subtotal;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -1,12 +1,15 @@
 package com.decoaromas.decoaromaspos.model;
 
 import com.decoaromas.decoaromaspos.enums.TipoDescuento;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.ZonedDateTime;
+
 @Entity
 @Data
 @NoArgsConstructor
@@ -19,26 +22,31 @@ public class DetalleVenta {
     private Long detalleId;
 
     private Integer cantidad;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double precioUnitario;
 
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double valorDescuentoUnitario;
 
     @Enumerated(EnumType.STRING)
     private TipoDescuento tipoDescuentoUnitario;
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double subtotalBruto; // Guarda el (precioUnitario * cantidad). Es el subtotal "Bruto" de la línea.
 
     /**
      * NUEVO CAMPO: Guarda el monto total (en dinero) del descuento aplicado a esta línea.
      * (Ej.: $1.000 de descuento por unidad * 2 unidades = $2.000)
      */
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double montoDescuentoUnitarioCalculado;
 
     /**
      * Guarda el total final de la línea.
      * (subtotalBruto - montoDescuentoUnitarioCalculado)
      */
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double subtotal;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -50,4 +58,18 @@ public class DetalleVenta {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "ventaId")
     private Venta venta;
+
+    /**
+     * Fecha de la venta: clave de partición de la tabla (db/migration/V6__ventas_particionadas.sql). Se copia de
+     * la venta al insertar; si la fecha de la venta cambia, la BD la actualiza en cascada.
+     */
+    @Column(updatable = false)
+    private ZonedDateTime fechaVenta;
+
+    @PrePersist
+    void copiarFechaVenta() {
+        if (fechaVenta == null && venta != null) {
+            fechaVenta = venta.getFecha();
+        }
+    }
 }
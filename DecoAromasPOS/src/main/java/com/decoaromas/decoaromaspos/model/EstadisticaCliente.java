@@ -0,0 +1,50 @@
+package com.decoaromas.decoaromaspos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Estadísticas acumuladas de compra por cliente (recencia, frecuencia y monto).
+ * Existe una fila por cliente que haya comprado al menos una vez. Se actualiza de forma
+ * incremental al crear, eliminar o reasignar una venta, y se reconstruye periódicamente
+ * desde la tabla de ventas para corregir cualquier diferencia.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "estadistica_cliente",
+        indexes = {
+                @Index(name = "idx_estadistica_cliente_ultima_compra", columnList = "ultima_compra"),
+                @Index(name = "idx_estadistica_cliente_gasto_total", columnList = "gasto_total")
+        })
+public class EstadisticaCliente {
+
+    // Mismo ID del cliente (relación 1 a 1 sin FK para no bloquear la tabla cliente)
+    @Id
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "ultima_compra")
+    private ZonedDateTime ultimaCompra;
+
+    @Column(name = "cantidad_compras", nullable = false)
+    private Long cantidadCompras;
+
+    // Suma de totalNeto de todas las ventas del cliente
+    @Column(name = "gasto_total", nullable = false)
+    private Double gastoTotal;
+
+    public Double getTicketPromedio() {
+        if (cantidadCompras == null || cantidadCompras == 0) {
+            return 0.0;
+        }
+        return gastoTotal / cantidadCompras;
+    }
+}
@@ -0,0 +1,63 @@
+package com.decoaromas.decoaromaspos.model;
+
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Evento de dominio pendiente de entregar (bandeja de salida transaccional).
+ * Se inserta en la misma transacción que el cambio que describe, así existe si y solo si el cambio se
+ * confirmó. El ID (secuencial) define el orden de entrega; EventoOutboxPublicador lo entrega a los
+ * listeners en proceso y lo marca como procesado.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "evento_outbox", indexes = {
+        @Index(name = "idx_evento_outbox_procesado_id", columnList = "procesado, eventoId"),
+        @Index(name = "idx_evento_outbox_agregado_id", columnList = "tipoAgregado, agregadoId, eventoId")
+})
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long eventoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoAgregado tipoAgregado;
+
+    @Column(nullable = false)
+    private Long agregadoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEvento tipo;
+
+    @Column(columnDefinition = "text")
+    private String payload; // JSON
+
+    @Column(nullable = false)
+    private ZonedDateTime fecha;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean procesado = Boolean.FALSE;
+
+    private ZonedDateTime procesadoEn;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer intentos = 0;
+
+    @Column(length = 500)
+    private String ultimoError;
+}
@@ -5,9 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Cache de segundo nivel: se lee al mapear cada producto y en las alertas de stock
 @Entity
 @Table(name = "familia_producto")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "familia-producto")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,5 +26,8 @@ public class FamiliaProducto {
     @Column(nullable = false, unique = true)
     private String nombre;
 
+    // Umbral de reposición por defecto para los productos de la familia
+    private Integer stockMinimo;
+
     private Boolean isDeleted = Boolean.FALSE;
 }
@@ -7,20 +7,36 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
 
 import java.time.ZonedDateTime;
 
+/**
+ * Libro de inventario: cada cambio de stock queda como un movimiento. Es de solo inserción (las
+ * correcciones son nuevos movimientos), y en PostgreSQL la tabla se particiona por mes sobre {@code fecha}
+ * (ver db/migration/V4__movimiento_particionado.sql y {@link com.decoaromas.decoaromaspos.service.ParticionMovimientoService}).
+ */
 @Entity
+@Immutable
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // Paginación keyset de listados (fecha, id), general y por producto/usuario/motivo
+        @Index(name = "idx_movimiento_fecha_id", columnList = "fecha, movimientoId"),
+        @Index(name = "idx_movimiento_producto_fecha_id", columnList = "productoId, fecha, movimientoId"),
+        @Index(name = "idx_movimiento_usuario_fecha_id", columnList = "usuarioId, fecha, movimientoId"),
+        @Index(name = "idx_movimiento_motivo_fecha_id", columnList = "motivo, fecha, movimientoId")
+})
 public class MovimientoInventario {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long movimientoId;
 
+    // Clave de partición de la tabla
+    @Column(nullable = false)
     private ZonedDateTime fecha;
 
     @Enumerated(EnumType.STRING)
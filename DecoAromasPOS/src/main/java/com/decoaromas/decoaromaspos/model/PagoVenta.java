@@ -1,12 +1,15 @@
 package com.decoaromas.decoaromaspos.model;
 
 import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.ZonedDateTime;
+
 @Entity
 @Data
 @NoArgsConstructor
@@ -22,10 +25,24 @@ public class PagoVenta {
     @Column(nullable = false)
     private MedioPago medioPago;
 
-    @Column(nullable = false)
+    @Column(nullable = false, columnDefinition = Dinero.COLUMNA)
     private Double monto;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ventaId", nullable = false)
     private Venta venta;
-}
\ No newline at end of file
+
+    /**
+     * Fecha de la venta: clave de partición de la tabla (db/migration/V6__ventas_particionadas.sql). Se copia de
+     * la venta al insertar; si la fecha de la venta cambia, la BD la actualiza en cascada.
+     */
+    @Column(updatable = false)
+    private ZonedDateTime fechaVenta;
+
+    @PrePersist
+    void copiarFechaVenta() {
+        if (fechaVenta == null && venta != null) {
+            fechaVenta = venta.getFecha();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.decoaromas.decoaromaspos.model;
 
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,12 +29,18 @@ public class Producto {
     @Column(nullable = true, unique = true)
     private String codigoBarras;    // Inicialmente se puede nulear, despues no
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double precioDetalle;
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double precioMayorista;
 
     private Integer stock;
 
+    // Umbral de reposición; si es null se usa el de la familia (ver AlertaStockService)
+    private Integer stockMinimo;
+
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double costo;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,43 @@
+package com.decoaromas.decoaromaspos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Pronóstico de demanda y reposición sugerida de un producto, calculado por el proceso nocturno de
+ * pronóstico a partir de su historial de ventas diarias. Cada ejecución reemplaza todos los pronósticos.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "pronostico_demanda")
+public class PronosticoDemanda {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long pronosticoId;
+
+    // Sin FK: la tabla se reemplaza completa en cada ejecución
+    @Column(nullable = false, unique = true)
+    private Long productoId;
+
+    @Column(nullable = false)
+    private ZonedDateTime fechaCalculo;
+
+    private Integer diasHistoria;      // Días de la serie usada (desde la primera venta del producto)
+    private Double demandaDiaria;      // Promedio diario pronosticado en el horizonte
+    private Double demandaReposicion;  // Demanda pronosticada durante el plazo de reposición
+    private Double desviacionDiaria;   // Error típico del modelo (un día)
+    private Integer stockActual;
+    private Integer stockSeguridad;
+    private Integer puntoReorden;
+    private Integer cantidadSugerida;
+    private Double diasCobertura;      // Días que alcanza el stock actual (null si no hay demanda)
+}
@@ -0,0 +1,51 @@
+package com.decoaromas.decoaromaspos.model;
+
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen pre-agregado de las ventas en tienda de un día, dividido en 24 buckets horarios.
+ * Existe una fila por (fecha, tipoCliente). El día de la semana se deriva de la fecha,
+ * por lo que sumar filas de un rango entrega el cubo 7x24 del mapa de calor.
+ * Se actualiza de forma incremental al crear o eliminar una venta.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "resumen_venta_horaria",
+        uniqueConstraints = { @UniqueConstraint(columnNames = { "fecha", "tipo_cliente" }) })
+public class ResumenVentaHoraria {
+
+    public static final int HORAS_DIA = 24;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long resumenId;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_cliente", nullable = false)
+    private TipoCliente tipoCliente;
+
+    // Cantidad de tickets por hora (índice 0 = 00:00, índice 23 = 23:00)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false)
+    private int[] tickets;
+
+    // Suma de totalNeto por hora en centavos (mismo índice que tickets), exacta como el resto del dinero (ver Dinero)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false)
+    private long[] totales;
+}
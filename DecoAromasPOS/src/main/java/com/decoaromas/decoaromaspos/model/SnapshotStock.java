@@ -0,0 +1,39 @@
+package com.decoaromas.decoaromaspos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Stock de un producto según el libro de movimientos en un instante de corte: suma de los movimientos
+ * con fecha anterior a {@code fecha}. Se genera periódicamente para todos los productos con el mismo corte,
+ * así el stock a una fecha se obtiene del último snapshot más los movimientos posteriores a él.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "snapshot_stock",
+        uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_stock_producto_fecha", columnNames = {"producto_id", "fecha"}),
+        indexes = @Index(name = "idx_snapshot_stock_fecha", columnList = "fecha"))
+public class SnapshotStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long snapshotId;
+
+    // Sin FK para no bloquear la tabla producto al generar los snapshots
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @Column(nullable = false)
+    private ZonedDateTime fecha;
+
+    @Column(nullable = false)
+    private Integer stock;
+}
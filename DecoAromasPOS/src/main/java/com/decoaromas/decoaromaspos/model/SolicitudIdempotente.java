@@ -0,0 +1,48 @@
+package com.decoaromas.decoaromaspos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Respuesta guardada de una solicitud de escritura enviada con el header Idempotency-Key.
+ * Un reintento con la misma clave recibe esta respuesta en lugar de volver a ejecutar la operación.
+ * Las filas vencidas se eliminan periódicamente.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "solicitud_idempotente",
+        indexes = @Index(name = "idx_solicitud_idempotente_expira_en", columnList = "expira_en"))
+public class SolicitudIdempotente {
+
+    @Id
+    @Column(length = 100)
+    private String clave;
+
+    // Método y ruta de la operación (ej.: "POST /api/ventas")
+    @Column(nullable = false, length = 120)
+    private String operacion;
+
+    // SHA-256 (hex) del cuerpo de la solicitud, para detectar una clave reutilizada con otros datos
+    @Column(name = "hash_solicitud", nullable = false, length = 64)
+    private String hashSolicitud;
+
+    @Column(name = "codigo_http")
+    private Integer codigoHttp;
+
+    @Column(columnDefinition = "text")
+    private String respuesta;
+
+    @Column(name = "creada_en", nullable = false)
+    private ZonedDateTime creadaEn;
+
+    @Column(name = "expira_en", nullable = false)
+    private ZonedDateTime expiraEn;
+}
@@ -0,0 +1,43 @@
+package com.decoaromas.decoaromaspos.model;
+
+import com.decoaromas.decoaromaspos.utils.Dinero;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totales acumulados de una caja: lo cobrado en cada medio de pago y el vuelto entregado.
+ * Existe una fila por caja. Se actualiza de forma incremental al crear o eliminar una venta y se
+ * compara con la suma de los pagos al cerrar la caja.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "total_caja")
+public class TotalCaja {
+
+    // Mismo ID de la caja
+    @Id
+    @Column(name = "caja_id")
+    private Long cajaId;
+
+    // Efectivo recibido, sin descontar el vuelto
+    @Column(nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double efectivo;
+    @Column(name = "mercado_pago", nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double mercadoPago;
+    @Column(nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double bci;
+    @Column(name = "boton_de_pago", nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double botonDePago;
+    @Column(nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double transferencia;
+    @Column(nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double post;
+    @Column(nullable = false, columnDefinition = Dinero.COLUMNA)
+    private Double vuelto;
+}
@@ -3,6 +3,7 @@ package com.decoaromas.decoaromaspos.model;
 import com.decoaromas.decoaromaspos.enums.TipoDescuento;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.enums.TipoDocumento;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,12 +14,19 @@ import org.hibernate.annotations.BatchSize;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // Recencia por cliente (estadísticas de clientes y reconstrucción)
+        @Index(name = "idx_venta_cliente_fecha", columnList = "clienteId, fecha"),
+        // Paginación keyset de listados (fecha, id)
+        @Index(name = "idx_venta_fecha_id", columnList = "fecha, ventaId")
+})
 public class Venta {
 
     @Id
@@ -27,6 +35,10 @@ public class Venta {
 
     private ZonedDateTime fecha;
 
+    // Generado por la caja (ventas registradas sin conexión); permite sincronizarlas sin duplicar
+    @Column(unique = true)
+    private UUID uuid;
+
     @Enumerated(EnumType.STRING)
     private TipoCliente tipoCliente;
 
@@ -34,17 +46,23 @@ public class Venta {
     @OneToMany(mappedBy = "venta", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PagoVenta> pagos = new ArrayList<>();
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double totalBruto; // Suma de (precio * cant) de detalles.
 
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double valorDescuentoGlobal;
     @Enumerated(EnumType.STRING)
     private TipoDescuento tipoDescuentoGlobal;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double montoDescuentoGlobalCalculado;   // Guarda el monto final del descuento en dinero.
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double totalDescuentosUnitarios; // Guarda la suma de todos los descuentos unitarios (los de DetalleVenta).
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double totalDescuentoTotal; // Guarda la suma total de descuentos (unitarios + global).
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double totalNeto;  // Total a pagar (totalBruto - totalDescuentoTotal)
     private TipoDocumento tipoDocumento;
     @Column(nullable = true, unique = true, length = 30)
@@ -67,7 +85,9 @@ public class Venta {
     @OneToMany(mappedBy = "venta", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DetalleVenta> detalles = new ArrayList<>();
 
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double costoGeneral;
+    @Column(columnDefinition = Dinero.COLUMNA)
     private Double vuelto = 0.0;
 
 
@@ -0,0 +1,34 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.AlertaStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AlertaStockRepository extends JpaRepository<AlertaStock, Long> {
+
+    // Alertas pendientes de publicar, en orden de creación (las publica una sola instancia, ver AlertaStockPublicador)
+    @Query(value = """
+            SELECT * FROM alerta_stock
+            WHERE publicada = false
+            ORDER BY alerta_id
+            LIMIT :limite""", nativeQuery = true)
+    List<AlertaStock> findPendientesParaPublicar(@Param("limite") int limite);
+
+    List<AlertaStock> findTop100ByAlertaIdGreaterThanAndPublicadaTrueOrderByAlertaIdAsc(Long alertaId);
+
+    @Modifying
+    @Query("UPDATE AlertaStock a SET a.publicada = true WHERE a.alertaId IN :ids")
+    int marcarPublicadas(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM AlertaStock a WHERE a.publicada = true AND a.fecha < :fecha")
+    int eliminarPublicadasAntesDe(@Param("fecha") ZonedDateTime fecha);
+}
@@ -0,0 +1,17 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.AnioArchivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnioArchivadoRepository extends JpaRepository<AnioArchivado, Integer> {
+
+    @Query("SELECT a.anio FROM AnioArchivado a ORDER BY a.anio")
+    List<Integer> findAnios();
+
+    List<AnioArchivado> findAllByOrderByAnioAsc();
+}
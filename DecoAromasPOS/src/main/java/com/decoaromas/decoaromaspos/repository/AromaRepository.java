@@ -2,10 +2,13 @@ package com.decoaromas.decoaromaspos.repository;
 
 import com.decoaromas.decoaromaspos.dto.aroma.AromaCantidadProductosResponse;
 import com.decoaromas.decoaromaspos.model.Aroma;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +19,9 @@ public interface AromaRepository extends JpaRepository<Aroma, Long> {
 
     List<Aroma> findByNombreContainingIgnoreCase(String nombre);
     List<Aroma> findByNombreIgnoreCase(String nombre);
+    // Selectores del catálogo (cache de consultas)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-catalogo")})
     List<Aroma> findAllByIsDeletedIsFalse();
 
 
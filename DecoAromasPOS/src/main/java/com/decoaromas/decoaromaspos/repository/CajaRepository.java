@@ -1,5 +1,6 @@
 package com.decoaromas.decoaromaspos.repository;
 
+import com.decoaromas.decoaromaspos.dto.caja.CajaResponse;
 import com.decoaromas.decoaromaspos.dto.reportes.*;
 import com.decoaromas.decoaromaspos.enums.EstadoCaja;
 import com.decoaromas.decoaromaspos.model.Caja;
@@ -130,4 +131,19 @@ public interface CajaRepository extends JpaRepository<Caja,Long>, JpaSpecificati
             @Param("fechaInicio") ZonedDateTime fechaInicio,
             @Param("fechaFin") ZonedDateTime fechaFin
     );
+
+
+    // Página keyset (más recientes primero) desde la posición (fecha, id) del cursor
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.caja.CajaResponse(" +
+            "    c.cajaId, c.fechaApertura, c.efectivoApertura, c.fechaCierre, c.efectivoCierre, " +
+            "    c.mercadoPagoCierre, c.bciCierre, c.botonDePagoCierre, c.transferenciaCierre, c.postCierre, " +
+            "    c.estado, c.diferenciaReal, u.usuarioId, u.nombre, u.apellido, u.username) " +
+            "FROM Caja c JOIN c.usuario u " +
+            "WHERE (c.fechaApertura, c.cajaId) < (:fecha, :id) " +
+            "ORDER BY c.fechaApertura DESC, c.cajaId DESC")
+    List<CajaResponse> findResumenAntesDe(
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
@@ -1,15 +1,16 @@
 package com.decoaromas.decoaromaspos.repository;
 
+import com.decoaromas.decoaromaspos.dto.cliente.ClienteResponse;
 import com.decoaromas.decoaromaspos.dto.reportes.ClienteAgregadoDTO;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.model.Cliente;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -56,21 +57,17 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long>, JpaSpec
     @Query("SELECT COUNT(c) FROM Cliente c WHERE c.activo = :activo AND (:tipoCliente IS NULL OR c.tipo = :tipoCliente)")
     long countByActivoAndTipoOpcional(@Param("activo") Boolean activo, @Param("tipoCliente") TipoCliente tipoCliente);
 
-    // Nuevo método adaptado para la recencia, filtrando por tipoCliente
-    @Query("SELECT c.clienteId FROM Cliente c WHERE c.activo = true " +
-            "  AND (:tipoCliente IS NULL OR c.tipo = :tipoCliente) " + // Filtro de Tipo Cliente
-            "  AND c.clienteId NOT IN (" +
-            "    SELECT DISTINCT v.cliente.clienteId FROM Venta v WHERE v.fecha >= :fechaLimite AND v.cliente IS NOT NULL" +
-            "  )")
-    List<Long> findClientesActivosInactivosDesde(
-            @Param("fechaLimite") ZonedDateTime fechaLimite,
-            @Param("tipoCliente") TipoCliente tipoCliente
-    );
-
     // Total de clientes activos
     long countByActivo(boolean activo);
 
     // Total de clientes activos por tipo
     long countByActivoAndTipo(boolean activo, TipoCliente tipo);
 
+    // Página keyset (más recientes primero) desde el id del cursor. Cliente no tiene fecha de registro.
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.cliente.ClienteResponse(" +
+            "    c.clienteId, c.rut, c.nombre, c.apellido, c.correo, c.telefono, c.ciudad, c.tipo, c.activo) " +
+            "FROM Cliente c " +
+            "WHERE c.clienteId < :id " +
+            "ORDER BY c.clienteId DESC")
+    List<ClienteResponse> findResumenAntesDe(@Param("id") Long id, Pageable pageable);
 }
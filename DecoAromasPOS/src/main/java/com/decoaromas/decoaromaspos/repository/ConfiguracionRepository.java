@@ -1,7 +1,10 @@
 package com.decoaromas.decoaromaspos.repository;
 
 import com.decoaromas.decoaromaspos.model.Configuracion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,5 +19,7 @@ public interface ConfiguracionRepository extends JpaRepository<Configuracion, Lo
      * @param clave La clave única de la configuración a buscar.
      * @return Un Optional que contiene la configuración si se encuentra, o vacío si no.
      */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-configuracion")})
     Optional<Configuracion> findByClave(String clave);
 }
\ No newline at end of file
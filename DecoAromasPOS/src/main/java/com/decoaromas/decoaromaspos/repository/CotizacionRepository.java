@@ -1,11 +1,30 @@
 package com.decoaromas.decoaromaspos.repository;
 
+import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionResumenResponse;
 import com.decoaromas.decoaromaspos.model.Cotizacion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+
 @Repository
 public interface CotizacionRepository extends JpaRepository<Cotizacion,Long>, JpaSpecificationExecutor<Cotizacion> {
 
+    // Página keyset (más recientes primero) desde la posición (fecha, id) del cursor
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionResumenResponse(" +
+            "    co.cotizacionId, co.fechaEmision, co.tipoCliente, co.totalBruto, co.totalNeto, co.estado, " +
+            "    u.usuarioId, u.nombre, u.apellido, c.clienteId, c.nombre, c.apellido) " +
+            "FROM Cotizacion co JOIN co.usuario u LEFT JOIN co.cliente c " +
+            "WHERE (co.fechaEmision, co.cotizacionId) < (:fecha, :id) " +
+            "ORDER BY co.fechaEmision DESC, co.cotizacionId DESC")
+    List<CotizacionResumenResponse> findResumenAntesDe(
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
@@ -212,6 +212,8 @@ public interface DetalleVentaRepository extends JpaRepository<DetalleVenta, Long
             "JOIN dv.producto p " +
             "WHERE v.fecha >= :fechaInicio " +
             "AND v.fecha <= :fechaFin " +
+            "AND dv.fechaVenta >= :fechaInicio " + // Poda de particiones de detalle_venta
+            "AND dv.fechaVenta <= :fechaFin " +
             "AND (:tipoCliente IS NULL OR v.tipoCliente = :tipoCliente) " +
             "AND (:familiaId IS NULL OR p.familia.familiaId = :familiaId) " +
             "AND p.aroma.nombre IS NOT NULL " +
@@ -231,6 +233,8 @@ public interface DetalleVentaRepository extends JpaRepository<DetalleVenta, Long
             "JOIN dv.producto p " +
             "WHERE v.fecha >= :fechaInicio " +
             "AND v.fecha <= :fechaFin " +
+            "AND dv.fechaVenta >= :fechaInicio " + // Poda de particiones de detalle_venta
+            "AND dv.fechaVenta <= :fechaFin " +
             "AND (:tipoCliente IS NULL OR v.tipoCliente = :tipoCliente) " +
             "AND (:aromaId IS NULL OR p.aroma.aromaId = :aromaId) " +
             "AND p.familia.nombre IS NOT NULL " +
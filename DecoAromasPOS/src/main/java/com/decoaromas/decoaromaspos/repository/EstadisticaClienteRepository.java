@@ -0,0 +1,131 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.dto.reportes.ClienteAgregadoDTO;
+import com.decoaromas.decoaromaspos.dto.reportes.ClienteInactivoDTO;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.model.EstadisticaCliente;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Repository
+public interface EstadisticaClienteRepository extends JpaRepository<EstadisticaCliente, Long> {
+
+    /**
+     * Suma una compra a las estadísticas del cliente, creando la fila si no existe.
+     * ON CONFLICT la hace segura entre ventas concurrentes; frente a la reconstrucción la protege
+     * {@link #bloquearParaReconstruir()}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO estadistica_cliente (cliente_id, ultima_compra, cantidad_compras, gasto_total) " +
+            "VALUES (:clienteId, :fecha, 1, :total) " +
+            "ON CONFLICT (cliente_id) DO UPDATE SET " +
+            "    ultima_compra = GREATEST(estadistica_cliente.ultima_compra, EXCLUDED.ultima_compra), " +
+            "    cantidad_compras = estadistica_cliente.cantidad_compras + 1, " +
+            "    gasto_total = estadistica_cliente.gasto_total + EXCLUDED.gasto_total", nativeQuery = true)
+    void registrarCompra(
+            @Param("clienteId") Long clienteId,
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("total") double total
+    );
+
+    /**
+     * Resta una compra de las estadísticas del cliente. La última compra se recalcula
+     * excluyendo la venta descontada (usa el índice idx_venta_cliente_fecha) y considerando
+     * sus compras de años archivados.
+     */
+    @Modifying
+    @Query(value = "UPDATE estadistica_cliente SET " +
+            "    cantidad_compras = GREATEST(cantidad_compras - 1, 0), " +
+            "    gasto_total = gasto_total - :total, " +
+            "    ultima_compra = GREATEST(" +
+            "        (SELECT MAX(v.fecha) FROM venta v " +
+            "         WHERE v.cliente_id = :clienteId AND v.venta_id <> :ventaId), " +
+            "        (SELECT MAX(a.ultima_compra) FROM estadistica_cliente_archivada a " +
+            "         WHERE a.cliente_id = :clienteId)) " +
+            "WHERE cliente_id = :clienteId", nativeQuery = true)
+    void descontarCompra(
+            @Param("clienteId") Long clienteId,
+            @Param("ventaId") Long ventaId,
+            @Param("total") double total
+    );
+
+    /**
+     * Bloquea estadistica_cliente hasta el fin de la transacción contra registrarCompra y descontarCompra.
+     * La reconstrucción reemplaza los valores con su foto de las ventas: espera a que confirmen las ventas que
+     * ya tocaron la tabla (así las ve) y las siguientes esperan a que termine (así suman sobre el resultado).
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE estadistica_cliente IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void bloquearParaReconstruir();
+
+    // Recalcula las estadísticas de todos los clientes con ventas en una sola sentencia, sumando
+    // las compras de los años archivados. Debe ejecutarse después de bloquearParaReconstruir
+    @Modifying
+    @Query(value = "INSERT INTO estadistica_cliente (cliente_id, ultima_compra, cantidad_compras, gasto_total) " +
+            "SELECT t.cliente_id, MAX(t.ultima_compra), SUM(t.cantidad_compras), SUM(t.gasto_total) FROM (" +
+            "    SELECT v.cliente_id, MAX(v.fecha) AS ultima_compra, COUNT(*) AS cantidad_compras, " +
+            "           COALESCE(SUM(v.total_neto), 0) AS gasto_total " +
+            "    FROM venta v WHERE v.cliente_id IS NOT NULL " +
+            "    GROUP BY v.cliente_id " +
+            "    UNION ALL " +
+            "    SELECT a.cliente_id, a.ultima_compra, a.cantidad_compras, a.gasto_total " +
+            "    FROM estadistica_cliente_archivada a" +
+            ") t GROUP BY t.cliente_id " +
+            "ON CONFLICT (cliente_id) DO UPDATE SET " +
+            "    ultima_compra = EXCLUDED.ultima_compra, " +
+            "    cantidad_compras = EXCLUDED.cantidad_compras, " +
+            "    gasto_total = EXCLUDED.gasto_total", nativeQuery = true)
+    int reconstruirDesdeVentas();
+
+    // Elimina estadísticas de clientes que ya no tienen ventas, en línea ni archivadas
+    @Modifying
+    @Query(value = "DELETE FROM estadistica_cliente e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM venta v WHERE v.cliente_id = e.cliente_id) " +
+            "  AND NOT EXISTS (SELECT 1 FROM estadistica_cliente_archivada a WHERE a.cliente_id = e.cliente_id)",
+            nativeQuery = true)
+    int eliminarSinVentas();
+
+    // Cantidad de clientes activos sin compras desde la fecha límite (o que nunca han comprado)
+    @Query("SELECT COUNT(c) FROM Cliente c LEFT JOIN EstadisticaCliente e ON e.clienteId = c.clienteId " +
+            "WHERE c.activo = true " +
+            "  AND (:tipoCliente IS NULL OR c.tipo = :tipoCliente) " +
+            "  AND (e.ultimaCompra IS NULL OR e.ultimaCompra < :fechaLimite)")
+    long countClientesInactivosDesde(
+            @Param("fechaLimite") ZonedDateTime fechaLimite,
+            @Param("tipoCliente") TipoCliente tipoCliente
+    );
+
+    // Clientes activos cuya última compra es anterior o igual a la fecha límite, ordenados por mayor inactividad
+    @Query(value = "SELECT new com.decoaromas.decoaromaspos.dto.reportes.ClienteInactivoDTO(" +
+            "    c.clienteId, c.nombre, c.apellido, e.ultimaCompra) " +
+            "FROM Cliente c LEFT JOIN EstadisticaCliente e ON e.clienteId = c.clienteId " +
+            "WHERE c.activo = true " +
+            "  AND (:tipoCliente IS NULL OR c.tipo = :tipoCliente) " +
+            "  AND (e.ultimaCompra IS NULL OR e.ultimaCompra <= :fechaLimite) " +
+            "ORDER BY e.ultimaCompra ASC NULLS FIRST, c.clienteId ASC",
+            countQuery = "SELECT COUNT(c) FROM Cliente c LEFT JOIN EstadisticaCliente e ON e.clienteId = c.clienteId " +
+                    "WHERE c.activo = true " +
+                    "  AND (:tipoCliente IS NULL OR c.tipo = :tipoCliente) " +
+                    "  AND (e.ultimaCompra IS NULL OR e.ultimaCompra <= :fechaLimite)")
+    Page<ClienteInactivoDTO> findClientesInactivos(
+            @Param("fechaLimite") ZonedDateTime fechaLimite,
+            @Param("tipoCliente") TipoCliente tipoCliente,
+            Pageable pageable
+    );
+
+    // Top clientes por gasto histórico, usando el índice de gasto_total
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.reportes.ClienteAgregadoDTO(" +
+            "    CONCAT(c.nombre, ' ', c.apellido), e.gastoTotal) " +
+            "FROM EstadisticaCliente e JOIN Cliente c ON c.clienteId = e.clienteId " +
+            "WHERE c.activo = true AND e.cantidadCompras > 0 " +
+            "ORDER BY e.gastoTotal DESC")
+    List<ClienteAgregadoDTO> findTopClientesPorGastoTotal(Pageable pageable);
+}
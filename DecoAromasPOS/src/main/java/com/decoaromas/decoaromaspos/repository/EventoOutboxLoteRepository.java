@@ -0,0 +1,36 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.EventoOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Inserción de eventos de la bandeja de salida en un solo batch (JDBC), para que las operaciones masivas
+ * (conteo de stock, importación de ventas) no hagan un INSERT por evento. Debe ejecutarse dentro de la
+ * transacción del cambio que describen los eventos.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventoOutboxLoteRepository {
+
+    private static final String SQL_EVENTO = "INSERT INTO evento_outbox (tipo_agregado, agregado_id, tipo, payload, " +
+            "fecha, procesado, intentos) VALUES (?, ?, ?, ?, ?, false, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param eventos Eventos a insertar, en orden (los ids los asigna la base en ese orden).
+     */
+    public void insertar(List<EventoOutbox> eventos) {
+        jdbcTemplate.batchUpdate(SQL_EVENTO, eventos, eventos.size(), (ps, e) -> {
+            ps.setString(1, e.getTipoAgregado().name());
+            ps.setLong(2, e.getAgregadoId());
+            ps.setString(3, e.getTipo().name());
+            ps.setString(4, e.getPayload());
+            ps.setObject(5, e.getFecha().toOffsetDateTime());
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Bloquea los eventos pendientes más antiguos que ninguna otra instancia tiene tomados (SKIP LOCKED) y
+     * devuelve solo aquellos sin un evento anterior pendiente del mismo agregado fuera del lote: ese evento
+     * lo tiene otra instancia, y entregar los siguientes antes rompería el orden por agregado.
+     */
+    @Query(value = """
+            WITH lote AS (
+                SELECT * FROM evento_outbox
+                WHERE procesado = false
+                ORDER BY evento_id
+                LIMIT :limite
+                FOR UPDATE SKIP LOCKED
+            )
+            SELECT l.* FROM lote l
+            WHERE NOT EXISTS (
+                SELECT 1 FROM evento_outbox e
+                WHERE e.procesado = false
+                  AND e.tipo_agregado = l.tipo_agregado
+                  AND e.agregado_id = l.agregado_id
+                  AND e.evento_id < l.evento_id
+                  AND e.evento_id NOT IN (SELECT evento_id FROM lote))
+            ORDER BY l.evento_id""", nativeQuery = true)
+    List<EventoOutbox> findPendientesParaPublicar(@Param("limite") int limite);
+
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.procesado = true AND e.procesadoEn < :fecha")
+    int eliminarProcesadosAntesDe(@Param("fecha") ZonedDateTime fecha);
+}
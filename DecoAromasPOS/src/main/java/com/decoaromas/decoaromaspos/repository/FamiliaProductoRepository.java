@@ -2,10 +2,13 @@ package com.decoaromas.decoaromaspos.repository;
 
 import com.decoaromas.decoaromaspos.dto.familia.FamiliaCantidadProductosResponse;
 import com.decoaromas.decoaromaspos.model.FamiliaProducto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +18,9 @@ import java.util.List;
 public interface FamiliaProductoRepository extends JpaRepository<FamiliaProducto, Long> {
 
     List<FamiliaProducto> findByNombreIgnoreCase(String nombre);
+    // Selectores del catálogo (cache de consultas)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-catalogo")})
     List<FamiliaProducto> findAllByIsDeletedIsFalse();
 
     // ----- Logica obtener Familias con atributo de cantidad de productos asociados y filtros
@@ -0,0 +1,59 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.MovimientoInventario;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escrituras de inventario en lote (JDBC): stock de muchos productos con un solo UPDATE y movimientos
+ * con un solo batch de INSERT. Debe ejecutarse dentro de la transacción del llamador, con los productos
+ * ya bloqueados. No pasa por el contexto de persistencia: las entidades Producto cargadas en la misma
+ * transacción conservan el stock anterior.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventarioLoteRepository {
+
+    private static final String SQL_STOCK = "UPDATE producto p SET stock = c.stock " +
+            "FROM unnest(?, ?) AS c(producto_id, stock) WHERE p.producto_id = c.producto_id";
+    private static final String SQL_MOVIMIENTO = "INSERT INTO movimiento_inventario (fecha, tipo, motivo, cantidad, " +
+            "producto_id, usuario_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fija el stock de varios productos con una sola sentencia.
+     * @param stockPorProducto Nuevo stock por ID de producto.
+     * @return Cantidad de productos actualizados.
+     */
+    public int actualizarStock(Map<Long, Integer> stockPorProducto) {
+        if (stockPorProducto.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = stockPorProducto.keySet().toArray(Long[]::new);
+        Integer[] stocks = stockPorProducto.values().toArray(Integer[]::new);
+        return jdbcTemplate.update(SQL_STOCK, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setArray(2, ps.getConnection().createArrayOf("integer", stocks));
+        });
+    }
+
+    /**
+     * Inserta los movimientos en un solo batch (los ids los asigna la base).
+     * @param movimientos Movimientos con producto y usuario asignados.
+     */
+    public void insertarMovimientos(List<MovimientoInventario> movimientos) {
+        jdbcTemplate.batchUpdate(SQL_MOVIMIENTO, movimientos, movimientos.size(), (ps, m) -> {
+            ps.setObject(1, m.getFecha().toOffsetDateTime());
+            ps.setString(2, m.getTipo().name());
+            ps.setString(3, m.getMotivo().name());
+            ps.setInt(4, m.getCantidad());
+            ps.setLong(5, m.getProducto().getProductoId());
+            ps.setLong(6, m.getUsuario().getUsuarioId());
+        });
+    }
+}
@@ -1,9 +1,14 @@
 package com.decoaromas.decoaromaspos.repository;
 
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.CantidadPorProductoDTO;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoInventarioResponse;
 import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
 import com.decoaromas.decoaromaspos.model.MovimientoInventario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
@@ -11,8 +16,85 @@ import java.util.List;
 
 @Repository
 public interface MovimientoInventarioRepository extends JpaRepository<MovimientoInventario,Long>, JpaSpecificationExecutor<MovimientoInventario> {
-    List<MovimientoInventario> findByProducto_ProductoId(Long id);
     List<MovimientoInventario> findByFechaBetween(ZonedDateTime startOfDay, ZonedDateTime endOfDay);
-    List<MovimientoInventario> findByUsuario_UsuarioId(Long id);
-    List<MovimientoInventario> findByMotivo(MotivoMovimiento motivo);
+
+    // Stock neto (entradas - salidas) de un producto entre dos instantes, ambos incluidos
+    @Query("SELECT COALESCE(SUM(CASE WHEN m.tipo = com.decoaromas.decoaromaspos.enums.TipoMovimiento.ENTRADA " +
+            "    THEN m.cantidad ELSE -m.cantidad END), 0) " +
+            "FROM MovimientoInventario m " +
+            "WHERE m.producto.productoId = :productoId AND m.fecha >= :desde AND m.fecha <= :hasta")
+    long sumarCantidadNeta(
+            @Param("productoId") Long productoId,
+            @Param("desde") ZonedDateTime desde,
+            @Param("hasta") ZonedDateTime hasta
+    );
+
+    // Igual que sumarCantidadNeta, agrupado para un rango de IDs de producto (ambos incluidos)
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.CantidadPorProductoDTO(" +
+            "    m.producto.productoId, SUM(CASE WHEN m.tipo = com.decoaromas.decoaromaspos.enums.TipoMovimiento.ENTRADA " +
+            "    THEN m.cantidad ELSE -m.cantidad END)) " +
+            "FROM MovimientoInventario m " +
+            "WHERE m.producto.productoId BETWEEN :desdeId AND :hastaId AND m.fecha >= :desde AND m.fecha <= :hasta " +
+            "GROUP BY m.producto.productoId")
+    List<CantidadPorProductoDTO> sumarCantidadNetaPorProducto(
+            @Param("desdeId") Long desdeId,
+            @Param("hastaId") Long hastaId,
+            @Param("desde") ZonedDateTime desde,
+            @Param("hasta") ZonedDateTime hasta
+    );
+
+    // Páginas keyset (más recientes primero) desde la posición (fecha, id) del cursor
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoInventarioResponse(" +
+            "    m.movimientoId, m.fecha, m.tipo, m.motivo, m.cantidad, p.productoId, p.nombre, " +
+            "    u.usuarioId, u.username, u.nombre, u.apellido) " +
+            "FROM MovimientoInventario m JOIN m.producto p JOIN m.usuario u " +
+            "WHERE (m.fecha, m.movimientoId) < (:fecha, :id) " +
+            "ORDER BY m.fecha DESC, m.movimientoId DESC")
+    List<MovimientoInventarioResponse> findResumenAntesDe(
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Igual que findResumenAntesDe, filtrado por producto
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoInventarioResponse(" +
+            "    m.movimientoId, m.fecha, m.tipo, m.motivo, m.cantidad, p.productoId, p.nombre, " +
+            "    u.usuarioId, u.username, u.nombre, u.apellido) " +
+            "FROM MovimientoInventario m JOIN m.producto p JOIN m.usuario u " +
+            "WHERE m.producto.productoId = :productoId AND (m.fecha, m.movimientoId) < (:fecha, :id) " +
+            "ORDER BY m.fecha DESC, m.movimientoId DESC")
+    List<MovimientoInventarioResponse> findResumenPorProductoAntesDe(
+            @Param("productoId") Long productoId,
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Igual que findResumenAntesDe, filtrado por usuario
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoInventarioResponse(" +
+            "    m.movimientoId, m.fecha, m.tipo, m.motivo, m.cantidad, p.productoId, p.nombre, " +
+            "    u.usuarioId, u.username, u.nombre, u.apellido) " +
+            "FROM MovimientoInventario m JOIN m.producto p JOIN m.usuario u " +
+            "WHERE m.usuario.usuarioId = :usuarioId AND (m.fecha, m.movimientoId) < (:fecha, :id) " +
+            "ORDER BY m.fecha DESC, m.movimientoId DESC")
+    List<MovimientoInventarioResponse> findResumenPorUsuarioAntesDe(
+            @Param("usuarioId") Long usuarioId,
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Igual que findResumenAntesDe, filtrado por motivo
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoInventarioResponse(" +
+            "    m.movimientoId, m.fecha, m.tipo, m.motivo, m.cantidad, p.productoId, p.nombre, " +
+            "    u.usuarioId, u.username, u.nombre, u.apellido) " +
+            "FROM MovimientoInventario m JOIN m.producto p JOIN m.usuario u " +
+            "WHERE m.motivo = :motivo AND (m.fecha, m.movimientoId) < (:fecha, :id) " +
+            "ORDER BY m.fecha DESC, m.movimientoId DESC")
+    List<MovimientoInventarioResponse> findResumenPorMotivoAntesDe(
+            @Param("motivo") MotivoMovimiento motivo,
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
@@ -17,6 +17,8 @@ public interface PagoVentaRepository extends JpaRepository<PagoVenta, Long> {
             "FROM PagoVenta pv " +
             "WHERE (CAST(:fechaInicio as timestamp) IS NULL OR pv.venta.fecha >= :fechaInicio) " +
             "AND (CAST(:fechaFin as timestamp) IS NULL OR pv.venta.fecha <= :fechaFin) " +
+            "AND (CAST(:fechaInicio as timestamp) IS NULL OR pv.fechaVenta >= :fechaInicio) " + // Poda de particiones
+            "AND (CAST(:fechaFin as timestamp) IS NULL OR pv.fechaVenta <= :fechaFin) " +
             "AND (:tipoCliente IS NULL OR pv.venta.tipoCliente = :tipoCliente) " +
             "GROUP BY pv.medioPago")
     List<MedioPagoTotalDTO> findTotalPorMedioPago(
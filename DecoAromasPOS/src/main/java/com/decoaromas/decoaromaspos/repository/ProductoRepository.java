@@ -1,13 +1,23 @@
 package com.decoaromas.decoaromaspos.repository;
 
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO;
 import com.decoaromas.decoaromaspos.dto.producto.ProductoAutoCompleteSelectProjection;
+import com.decoaromas.decoaromaspos.dto.producto.ProductoSnapshot;
 import com.decoaromas.decoaromaspos.model.Producto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,9 +31,56 @@ public interface ProductoRepository extends JpaRepository<Producto, Long>, JpaSp
 
     List<Producto> findByActivoTrue();
 
+    // Catálogo local de la caja (modo offline): solo precios y stock de productos activos
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.producto.ProductoSnapshot(" +
+            "p.productoId, p.nombre, p.codigoBarras, p.precioDetalle, p.precioMayorista, p.costo, p.stock) " +
+            "FROM Producto p WHERE p.activo = true")
+    List<ProductoSnapshot> findSnapshotCatalogo();
+
     List<Producto> findByActivoFalse();
 
+    // Bloquea los productos de un lote (importación masiva) en orden de id, para que dos lotes concurrentes no se bloqueen mutuamente
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Producto p WHERE p.productoId IN :ids ORDER BY p.productoId")
+    List<Producto> findAllByIdParaActualizar(@Param("ids") Collection<Long> ids);
+
+    // Productos de un conteo de inventario, bloqueados en orden de id
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Producto p WHERE p.sku IN :skus ORDER BY p.productoId")
+    List<Producto> findBySkuInParaActualizar(@Param("skus") Collection<String> skus);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Producto p WHERE p.codigoBarras IN :codigos ORDER BY p.productoId")
+    List<Producto> findByCodigoBarrasInParaActualizar(@Param("codigos") Collection<String> codigos);
+
+    // IDs de todos los productos, para dividir el catálogo en bloques
+    @Query("SELECT p.productoId FROM Producto p ORDER BY p.productoId")
+    List<Long> findAllIds();
+
+    // Stock actual de los productos de un rango de IDs (ambos incluidos)
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO(" +
+            "p.productoId, p.sku, p.nombre, p.stock) " +
+            "FROM Producto p WHERE p.productoId BETWEEN :desdeId AND :hastaId ORDER BY p.productoId")
+    List<StockProductoDTO> findStockEntreIds(@Param("desdeId") Long desdeId, @Param("hastaId") Long hastaId);
+
+    // Stock actual de los productos activos (pronóstico de demanda)
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO(" +
+            "p.productoId, p.sku, p.nombre, p.stock) FROM Producto p WHERE p.activo = true ORDER BY p.productoId")
+    List<StockProductoDTO> findStockActivos();
+
+    // Corrige el stock solo si no cambió desde que se leyó (una venta concurrente lo habría modificado)
+    @Modifying
+    @Query("UPDATE Producto p SET p.stock = :stockNuevo WHERE p.productoId = :productoId AND p.stock = :stockAnterior")
+    int corregirStock(
+            @Param("productoId") Long productoId,
+            @Param("stockAnterior") Integer stockAnterior,
+            @Param("stockNuevo") Integer stockNuevo
+    );
+
     List<Producto> findByNombreContainingIgnoreCase(String nombre);
+    // Autocompletado (cache de consultas): cada escritura JPA sobre producto invalida sus resultados
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-autocompletado")})
     List<ProductoAutoCompleteSelectProjection> findByNombreContainingIgnoreCase(String nombre, Pageable pageable);
 
     List<Producto> findByNombreContainingIgnoreCaseAndActivo(String nombre, Boolean activo);
@@ -0,0 +1,90 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.PronosticoDemanda;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Lecturas y escrituras masivas del pronóstico de demanda (JDBC).
+ * La demanda diaria se recorre con un cursor (fetch size), sin cargar el historial completo en memoria;
+ * debe llamarse dentro de una transacción para que PostgreSQL use el cursor.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PronosticoDemandaLoteRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    // Unidades vendidas por producto y día (hora de Santiago), ordenadas por producto y día
+    private static final String SQL_DEMANDA_DIARIA = "SELECT d.producto_id, " +
+            "CAST(v.fecha AT TIME ZONE 'America/Santiago' AS date) AS dia, SUM(d.cantidad) AS cantidad " +
+            "FROM detalle_venta d JOIN venta v ON v.venta_id = d.venta_id AND v.fecha = d.fecha_venta " +
+            "WHERE d.fecha_venta >= ? AND d.fecha_venta < ? AND v.fecha >= ? AND v.fecha < ? " +
+            "GROUP BY d.producto_id, dia ORDER BY d.producto_id, dia";
+    private static final String SQL_PRONOSTICO = "INSERT INTO pronostico_demanda (producto_id, fecha_calculo, " +
+            "dias_historia, demanda_diaria, demanda_reposicion, desviacion_diaria, stock_actual, stock_seguridad, " +
+            "punto_reorden, cantidad_sugerida, dias_cobertura) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Recibe una fila de demanda diaria: producto, día y unidades vendidas. */
+    @FunctionalInterface
+    public interface DemandaDiariaHandler {
+        void procesar(long productoId, LocalDate dia, int cantidad);
+    }
+
+    /**
+     * Recorre las unidades vendidas por producto y día en [desde, hasta), en orden de producto y día.
+     * @param desde   Primer día (incluido).
+     * @param hasta   Último día (excluido).
+     * @param handler Recibe cada fila a medida que se lee.
+     */
+    public void recorrerDemandaDiaria(LocalDate desde, LocalDate hasta, DemandaDiariaHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_DEMANDA_DIARIA);
+            ps.setFetchSize(FETCH_SIZE);
+            OffsetDateTime inicio = desde.atStartOfDay(DateUtils.ZONE_ID_SANTIAGO).toOffsetDateTime();
+            OffsetDateTime fin = hasta.atStartOfDay(DateUtils.ZONE_ID_SANTIAGO).toOffsetDateTime();
+            // El rango se repite sobre venta y detalle_venta para podar las particiones de ambas
+            ps.setObject(1, inicio);
+            ps.setObject(2, fin);
+            ps.setObject(3, inicio);
+            ps.setObject(4, fin);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.procesar(rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getInt(3)));
+    }
+
+    /**
+     * Reemplaza todos los pronósticos por los de la ejecución actual (un DELETE y un batch de INSERT).
+     * @param pronosticos Pronósticos calculados.
+     */
+    public void reemplazarPronosticos(List<PronosticoDemanda> pronosticos) {
+        jdbcTemplate.update("DELETE FROM pronostico_demanda");
+        jdbcTemplate.batchUpdate(SQL_PRONOSTICO, pronosticos, 1000, (ps, p) -> {
+            ps.setLong(1, p.getProductoId());
+            ps.setObject(2, p.getFechaCalculo().toOffsetDateTime());
+            ps.setInt(3, p.getDiasHistoria());
+            ps.setDouble(4, p.getDemandaDiaria());
+            ps.setDouble(5, p.getDemandaReposicion());
+            ps.setDouble(6, p.getDesviacionDiaria());
+            ps.setInt(7, p.getStockActual());
+            ps.setInt(8, p.getStockSeguridad());
+            ps.setInt(9, p.getPuntoReorden());
+            ps.setInt(10, p.getCantidadSugerida());
+            if (p.getDiasCobertura() != null) {
+                ps.setDouble(11, p.getDiasCobertura());
+            } else {
+                ps.setNull(11, Types.DOUBLE);
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.dto.reportes.PronosticoDemandaDTO;
+import com.decoaromas.decoaromaspos.model.PronosticoDemanda;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PronosticoDemandaRepository extends JpaRepository<PronosticoDemanda, Long> {
+
+    @Query(value = "SELECT new com.decoaromas.decoaromaspos.dto.reportes.PronosticoDemandaDTO(" +
+            "p.productoId, p.sku, p.nombre, pd.fechaCalculo, pd.diasHistoria, pd.demandaDiaria, pd.demandaReposicion, " +
+            "pd.stockActual, pd.stockSeguridad, pd.puntoReorden, pd.cantidadSugerida, pd.diasCobertura) " +
+            "FROM PronosticoDemanda pd JOIN Producto p ON p.productoId = pd.productoId " +
+            "WHERE (:soloReponer = false OR pd.cantidadSugerida > 0) " +
+            "AND (:familiaId IS NULL OR p.familia.familiaId = :familiaId) " +
+            "ORDER BY pd.cantidadSugerida DESC, pd.demandaDiaria DESC, p.productoId",
+            countQuery = "SELECT COUNT(pd) FROM PronosticoDemanda pd JOIN Producto p ON p.productoId = pd.productoId " +
+                    "WHERE (:soloReponer = false OR pd.cantidadSugerida > 0) " +
+                    "AND (:familiaId IS NULL OR p.familia.familiaId = :familiaId)")
+    Page<PronosticoDemandaDTO> findReposicionSugerida(@Param("soloReponer") boolean soloReponer,
+                                                      @Param("familiaId") Long familiaId,
+                                                      Pageable pageable);
+}
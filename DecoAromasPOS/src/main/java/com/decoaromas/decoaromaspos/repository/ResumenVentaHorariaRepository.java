@@ -0,0 +1,76 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.dto.reportes.ResumenVentaHorariaProjection;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.model.ResumenVentaHoraria;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Repository
+public interface ResumenVentaHorariaRepository extends JpaRepository<ResumenVentaHoraria, Long> {
+
+    // Obtener los resúmenes diarios de un rango (fechas opcionales) y tipo de cliente opcional
+    @Query("SELECT r FROM ResumenVentaHoraria r " +
+            "WHERE (CAST(:fechaInicio AS date) IS NULL OR r.fecha >= :fechaInicio) " +
+            "AND (CAST(:fechaFin AS date) IS NULL OR r.fecha <= :fechaFin) " +
+            "AND (:tipoCliente IS NULL OR r.tipoCliente = :tipoCliente)")
+    List<ResumenVentaHoraria> findByRango(
+            @Param("fechaInicio") LocalDate fechaInicio,
+            @Param("fechaFin") LocalDate fechaFin,
+            @Param("tipoCliente") TipoCliente tipoCliente
+    );
+
+    /**
+     * Crea la fila del día con los 24 buckets en cero, si aún no existe.
+     * Es seguro ante ventas concurrentes gracias a ON CONFLICT.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO resumen_venta_horaria (fecha, tipo_cliente, tickets, totales) " +
+            "VALUES (:fecha, :tipoCliente, array_fill(0, ARRAY[24]), array_fill(CAST(0 AS bigint), ARRAY[24])) " +
+            "ON CONFLICT (fecha, tipo_cliente) DO NOTHING", nativeQuery = true)
+    void inicializarDia(@Param("fecha") LocalDate fecha, @Param("tipoCliente") String tipoCliente);
+
+    /**
+     * Suma (o resta, con deltas negativos) un ticket y su total en centavos al bucket de la hora indicada.
+     * La hora es 1..24 porque los arreglos de PostgreSQL parten en 1.
+     */
+    @Modifying
+    @Query(value = "UPDATE resumen_venta_horaria " +
+            "SET tickets[:hora] = tickets[:hora] + :deltaTickets, " +
+            "    totales[:hora] = totales[:hora] + :deltaCentavos " +
+            "WHERE fecha = :fecha AND tipo_cliente = :tipoCliente", nativeQuery = true)
+    void acumularEnHora(
+            @Param("fecha") LocalDate fecha,
+            @Param("tipoCliente") String tipoCliente,
+            @Param("hora") int hora,
+            @Param("deltaTickets") int deltaTickets,
+            @Param("deltaCentavos") long deltaCentavos
+    );
+
+    // Eliminar los resúmenes de un rango antes de reconstruirlos
+    @Modifying
+    @Query("DELETE FROM ResumenVentaHoraria r WHERE r.fecha >= :fechaInicio AND r.fecha <= :fechaFin")
+    void deleteByRango(@Param("fechaInicio") LocalDate fechaInicio, @Param("fechaFin") LocalDate fechaFin);
+
+    // Agregación de ventas por día, hora y tipo de cliente (hora local de Santiago), con el total en centavos.
+    // Usada para reconstruir el cubo; V9__resumen_venta_horaria_centavos.sql hace la misma agregación para la carga inicial.
+    @Query(value = "SELECT CAST(v.fecha AT TIME ZONE 'America/Santiago' AS date) AS fecha, " +
+            "   CAST(EXTRACT(HOUR FROM v.fecha AT TIME ZONE 'America/Santiago') AS integer) AS hora, " +
+            "   COALESCE(v.tipo_cliente, 'DETALLE') AS tipoCliente, " +
+            "   COUNT(*) AS tickets, " +
+            "   CAST(COALESCE(SUM(v.total_neto), 0) * 100 AS bigint) AS centavos " +
+            "FROM venta v " +
+            "WHERE v.fecha >= :fechaInicio AND v.fecha < :fechaFin " +
+            "GROUP BY 1, 2, 3", nativeQuery = true)
+    List<ResumenVentaHorariaProjection> agregarVentasPorHora(
+            @Param("fechaInicio") ZonedDateTime fechaInicio,
+            @Param("fechaFin") ZonedDateTime fechaFin
+    );
+}
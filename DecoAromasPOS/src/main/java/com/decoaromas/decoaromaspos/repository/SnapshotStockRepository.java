@@ -0,0 +1,59 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.CantidadPorProductoDTO;
+import com.decoaromas.decoaromaspos.model.SnapshotStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SnapshotStockRepository extends JpaRepository<SnapshotStock, Long> {
+
+    // Último snapshot del producto con corte igual o anterior a la fecha
+    Optional<SnapshotStock> findFirstByProductoIdAndFechaLessThanEqualOrderByFechaDesc(Long productoId, ZonedDateTime fecha);
+
+    // Último corte igual o anterior a la fecha (null si no hay)
+    @Query("SELECT MAX(s.fecha) FROM SnapshotStock s WHERE s.fecha <= :fecha")
+    ZonedDateTime findUltimoCorteHasta(@Param("fecha") ZonedDateTime fecha);
+
+    // Stock de los snapshots de un corte para un rango de IDs de producto (ambos incluidos)
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.movimiento_inventario.CantidadPorProductoDTO(" +
+            "s.productoId, CAST(s.stock AS Long)) " +
+            "FROM SnapshotStock s WHERE s.fecha = :corte AND s.productoId BETWEEN :desdeId AND :hastaId")
+    List<CantidadPorProductoDTO> findStockPorProducto(
+            @Param("corte") ZonedDateTime corte,
+            @Param("desdeId") Long desdeId,
+            @Param("hastaId") Long hastaId
+    );
+
+    // Corte del último snapshot generado (null si aún no hay)
+    @Query("SELECT MAX(s.fecha) FROM SnapshotStock s")
+    ZonedDateTime findUltimoCorte();
+
+    // Snapshots con corte posterior a la fecha
+    @Modifying
+    @Query("DELETE FROM SnapshotStock s WHERE s.fecha > :fecha")
+    int deleteByFechaAfter(@Param("fecha") ZonedDateTime fecha);
+
+    /**
+     * Genera los snapshots de todos los productos al corte indicado en una sola sentencia:
+     * snapshot del corte anterior + movimientos en [desde, corte). Sin corte anterior, desde debe ser
+     * anterior al primer movimiento (no hay snapshots en esa fecha y se suma todo el libro).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO snapshot_stock (producto_id, fecha, stock) " +
+            "SELECT t.producto_id, :corte, SUM(t.cantidad) FROM (" +
+            "    SELECT s.producto_id, s.stock AS cantidad FROM snapshot_stock s WHERE s.fecha = :desde " +
+            "    UNION ALL " +
+            "    SELECT m.producto_id, CASE WHEN m.tipo = 'ENTRADA' THEN m.cantidad ELSE -m.cantidad END " +
+            "    FROM movimiento_inventario m WHERE m.fecha >= :desde AND m.fecha < :corte" +
+            ") t GROUP BY t.producto_id " +
+            "ON CONFLICT (producto_id, fecha) DO NOTHING", nativeQuery = true)
+    int generarDesde(@Param("desde") ZonedDateTime desde, @Param("corte") ZonedDateTime corte);
+}
@@ -0,0 +1,48 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.SolicitudIdempotente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+
+@Repository
+public interface SolicitudIdempotenteRepository extends JpaRepository<SolicitudIdempotente, String> {
+
+    /**
+     * Reserva la clave para esta transacción. Devuelve 1 si se reservó (clave nueva o vencida) y 0 si ya existe.
+     * Si otra transacción reservó la misma clave y sigue en curso, PostgreSQL espera a que termine antes de
+     * resolver el ON CONFLICT: así un duplicado concurrente se bloquea hasta que la primera solicitud termine,
+     * en lugar de ejecutarse dos veces. Si la primera falla (rollback), la clave queda libre y el duplicado la reserva.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO solicitud_idempotente (clave, operacion, hash_solicitud, creada_en, expira_en) " +
+            "VALUES (:clave, :operacion, :hash, :ahora, :expiraEn) " +
+            "ON CONFLICT (clave) DO UPDATE SET " +
+            "    operacion = EXCLUDED.operacion, hash_solicitud = EXCLUDED.hash_solicitud, " +
+            "    codigo_http = NULL, respuesta = NULL, " +
+            "    creada_en = EXCLUDED.creada_en, expira_en = EXCLUDED.expira_en " +
+            "WHERE solicitud_idempotente.expira_en < EXCLUDED.creada_en", nativeQuery = true)
+    int reservar(
+            @Param("clave") String clave,
+            @Param("operacion") String operacion,
+            @Param("hash") String hash,
+            @Param("ahora") ZonedDateTime ahora,
+            @Param("expiraEn") ZonedDateTime expiraEn
+    );
+
+    @Modifying
+    @Query("UPDATE SolicitudIdempotente s SET s.codigoHttp = :codigoHttp, s.respuesta = :respuesta WHERE s.clave = :clave")
+    void guardarRespuesta(
+            @Param("clave") String clave,
+            @Param("codigoHttp") int codigoHttp,
+            @Param("respuesta") String respuesta
+    );
+
+    @Modifying
+    @Query("DELETE FROM SolicitudIdempotente s WHERE s.expiraEn < :ahora")
+    int eliminarVencidas(@Param("ahora") ZonedDateTime ahora);
+}
@@ -0,0 +1,50 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.TotalCaja;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TotalCajaRepository extends JpaRepository<TotalCaja, Long> {
+
+    /**
+     * Suma (o resta, con montos negativos) los pagos y el vuelto de una venta a los totales de su caja,
+     * creando la fila si no existe. Es seguro ante ventas concurrentes gracias a ON CONFLICT.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO total_caja (caja_id, efectivo, mercado_pago, bci, boton_de_pago, transferencia, post, vuelto) " +
+            "VALUES (:cajaId, :efectivo, :mercadoPago, :bci, :botonDePago, :transferencia, :post, :vuelto) " +
+            "ON CONFLICT (caja_id) DO UPDATE SET " +
+            "    efectivo = total_caja.efectivo + EXCLUDED.efectivo, " +
+            "    mercado_pago = total_caja.mercado_pago + EXCLUDED.mercado_pago, " +
+            "    bci = total_caja.bci + EXCLUDED.bci, " +
+            "    boton_de_pago = total_caja.boton_de_pago + EXCLUDED.boton_de_pago, " +
+            "    transferencia = total_caja.transferencia + EXCLUDED.transferencia, " +
+            "    post = total_caja.post + EXCLUDED.post, " +
+            "    vuelto = total_caja.vuelto + EXCLUDED.vuelto", nativeQuery = true)
+    void acumular(
+            @Param("cajaId") Long cajaId,
+            @Param("efectivo") double efectivo,
+            @Param("mercadoPago") double mercadoPago,
+            @Param("bci") double bci,
+            @Param("botonDePago") double botonDePago,
+            @Param("transferencia") double transferencia,
+            @Param("post") double post,
+            @Param("vuelto") double vuelto
+    );
+
+    /**
+     * Totales de la caja bloqueados hasta el fin de la transacción: las ventas que intenten acumular en
+     * la caja esperan, así los totales no cambian mientras se comparan con la suma de los pagos.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TotalCaja t WHERE t.cajaId = :cajaId")
+    Optional<TotalCaja> findParaCierre(@Param("cajaId") Long cajaId);
+}
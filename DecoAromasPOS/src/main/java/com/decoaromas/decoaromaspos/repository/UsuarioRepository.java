@@ -2,8 +2,11 @@ package com.decoaromas.decoaromaspos.repository;
 
 import com.decoaromas.decoaromaspos.enums.Rol;
 import com.decoaromas.decoaromaspos.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,7 +15,12 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario> {
 
+    // Autenticación de cada solicitud (JwtFilter busca por el correo del token): cache de consultas
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-usuario")})
     Optional<Usuario> findByUsernameIgnoreCase(String username);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-usuario")})
     Optional<Usuario> findByCorreo(String correo);
     Optional<Usuario> findByUsername(String username);
     List<Usuario> findByActivoTrue();
@@ -0,0 +1,29 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.model.Venta;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Modelo de lectura de ventas para listados. Arma {@link VentaResponse} sin hidratar entidades:
+ * una consulta para las cabeceras (proyección) y una consulta por lote para detalles y otra para pagos,
+ * usando los ids de la página. La cantidad de consultas es constante, sin importar el tamaño de página.
+ */
+public interface VentaConsultaRepository {
+
+    /**
+     * Página de ventas filtradas. Además de las tres consultas de datos, ejecuta el COUNT
+     * solo cuando el total no se puede deducir de la propia página.
+     */
+    Page<VentaResponse> findVentaResponses(Specification<Venta> spec, Pageable pageable);
+
+    /**
+     * Primeras {@code limite} ventas filtradas según el orden indicado (usado por la paginación keyset).
+     */
+    List<VentaResponse> findVentaResponses(Specification<Venta> spec, Sort sort, int limite);
+}
@@ -0,0 +1,211 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaResponse;
+import com.decoaromas.decoaromaspos.dto.venta.PagoResponse;
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.enums.TipoDescuento;
+import com.decoaromas.decoaromaspos.enums.TipoDocumento;
+import com.decoaromas.decoaromaspos.model.Cliente;
+import com.decoaromas.decoaromaspos.model.Usuario;
+import com.decoaromas.decoaromaspos.model.Venta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de {@link VentaConsultaRepository}. Spring Data la enlaza a {@link VentaRepository}
+ * por el sufijo "Impl".
+ */
+@RequiredArgsConstructor
+public class VentaConsultaRepositoryImpl implements VentaConsultaRepository {
+
+    private static final String DETALLES_POR_VENTAS = """
+            SELECT d.venta.ventaId AS ventaId, d.detalleId AS detalleId, d.codigoBarras AS codigoBarras,
+                   p.productoId AS productoId, p.nombre AS productoNombre, d.cantidad AS cantidad,
+                   d.precioUnitario AS precioUnitario, d.valorDescuentoUnitario AS valorDescuentoUnitario,
+                   d.tipoDescuentoUnitario AS tipoDescuentoUnitario, d.subtotalBruto AS subtotalBruto,
+                   d.montoDescuentoUnitarioCalculado AS montoDescuentoUnitarioCalculado, d.subtotal AS subtotal
+            FROM DetalleVenta d JOIN d.producto p
+            WHERE d.venta.ventaId IN :ids
+            ORDER BY d.detalleId
+            """;
+
+    private static final String PAGOS_POR_VENTAS = """
+            SELECT p.venta.ventaId AS ventaId, p.medioPago AS medioPago, p.monto AS monto
+            FROM PagoVenta p
+            WHERE p.venta.ventaId IN :ids
+            ORDER BY p.pagoId
+            """;
+
+    private final EntityManager em;
+
+    @Override
+    public Page<VentaResponse> findVentaResponses(Specification<Venta> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = em.createQuery(cabeceras(spec, pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<VentaResponse> ventas = completar(query.getResultList());
+        return PageableExecutionUtils.getPage(ventas, pageable, () -> contar(spec));
+    }
+
+    @Override
+    public List<VentaResponse> findVentaResponses(Specification<Venta> spec, Sort sort, int limite) {
+        TypedQuery<Tuple> query = em.createQuery(cabeceras(spec, sort));
+        query.setMaxResults(limite);
+        return completar(query.getResultList());
+    }
+
+    // Proyección de cabeceras: columnas de la venta más nombres de usuario y cliente, sin cargar entidades.
+    private CriteriaQuery<Tuple> cabeceras(Specification<Venta> spec, Sort sort) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Venta> v = query.from(Venta.class);
+        Join<Venta, Usuario> u = v.join("usuario");
+        Join<Venta, Cliente> c = v.join("cliente", JoinType.LEFT);
+
+        query.multiselect(
+                v.get("ventaId").alias("ventaId"),
+                v.get("fecha").alias("fecha"),
+                v.get("tipoCliente").alias("tipoCliente"),
+                v.get("totalBruto").alias("totalBruto"),
+                v.get("valorDescuentoGlobal").alias("valorDescuentoGlobal"),
+                v.get("tipoDescuentoGlobal").alias("tipoDescuentoGlobal"),
+                v.get("montoDescuentoGlobalCalculado").alias("montoDescuentoGlobalCalculado"),
+                v.get("totalDescuentosUnitarios").alias("totalDescuentosUnitarios"),
+                v.get("totalDescuentoTotal").alias("totalDescuentoTotal"),
+                v.get("totalNeto").alias("totalNeto"),
+                v.get("tipoDocumento").alias("tipoDocumento"),
+                v.get("numeroDocumento").alias("numeroDocumento"),
+                v.get("costoGeneral").alias("costoGeneral"),
+                v.get("vuelto").alias("vuelto"),
+                v.get("caja").get("cajaId").alias("cajaId"),
+                u.get("usuarioId").alias("usuarioId"),
+                u.get("nombre").alias("usuarioNombre"),
+                u.get("apellido").alias("usuarioApellido"),
+                c.get("clienteId").alias("clienteId"),
+                c.get("nombre").alias("clienteNombre"),
+                c.get("apellido").alias("clienteApellido")
+        );
+
+        Predicate filtros = spec.toPredicate(v, query, cb);
+        if (filtros != null) {
+            query.where(filtros);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, v, cb));
+        return query;
+    }
+
+    private long contar(Specification<Venta> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Venta> v = query.from(Venta.class);
+
+        Predicate filtros = spec.toPredicate(v, query, cb);
+        if (filtros != null) {
+            query.where(filtros);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(v) : cb.count(v));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    // Arma las respuestas: una consulta por lote para detalles y otra para pagos de todas las ventas de la página.
+    private List<VentaResponse> completar(List<Tuple> filas) {
+        if (filas.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = filas.stream().map(t -> t.get("ventaId", Long.class)).toList();
+
+        Map<Long, List<DetalleVentaResponse>> detalles = em.createQuery(DETALLES_POR_VENTAS, Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .collect(Collectors.groupingBy(t -> t.get("ventaId", Long.class),
+                        Collectors.mapping(this::toDetalle, Collectors.toList())));
+
+        Map<Long, List<PagoResponse>> pagos = em.createQuery(PAGOS_POR_VENTAS, Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .collect(Collectors.groupingBy(t -> t.get("ventaId", Long.class),
+                        Collectors.mapping(this::toPago, Collectors.toList())));
+
+        return filas.stream().map(t -> {
+            VentaResponse response = toCabecera(t);
+            response.setDetalles(detalles.getOrDefault(response.getVentaId(), List.of()));
+            response.setPagos(pagos.getOrDefault(response.getVentaId(), List.of()));
+            return response;
+        }).toList();
+    }
+
+    // Mismos campos y formato de nombres que VentaMapper.toResponse
+    private VentaResponse toCabecera(Tuple t) {
+        VentaResponse response = new VentaResponse();
+        response.setVentaId(t.get("ventaId", Long.class));
+        response.setFecha(t.get("fecha", ZonedDateTime.class));
+        response.setTipoCliente(t.get("tipoCliente", TipoCliente.class));
+        response.setTotalBruto(t.get("totalBruto", Double.class));
+        response.setValorDescuentoGlobal(t.get("valorDescuentoGlobal", Double.class));
+        response.setTipoDescuentoGlobal(t.get("tipoDescuentoGlobal", TipoDescuento.class));
+        response.setMontoDescuentoGlobalCalculado(t.get("montoDescuentoGlobalCalculado", Double.class));
+        response.setTotalDescuentosUnitarios(t.get("totalDescuentosUnitarios", Double.class));
+        response.setTotalDescuentoTotal(t.get("totalDescuentoTotal", Double.class));
+        response.setTotalNeto(t.get("totalNeto", Double.class));
+        response.setTipoDocumento(t.get("tipoDocumento", TipoDocumento.class));
+        response.setNumeroDocumento(t.get("numeroDocumento", String.class));
+        response.setCostoGeneral(t.get("costoGeneral", Double.class));
+        response.setVuelto(t.get("vuelto", Double.class));
+        response.setCajaId(t.get("cajaId", Long.class));
+
+        response.setUsuarioId(t.get("usuarioId", Long.class));
+        response.setUsuarioNombre(nombreCompleto(t.get("usuarioNombre", String.class), t.get("usuarioApellido", String.class)));
+
+        Long clienteId = t.get("clienteId", Long.class);
+        if (clienteId != null) {
+            response.setClienteId(clienteId);
+            response.setClienteNombre(nombreCompleto(t.get("clienteNombre", String.class), t.get("clienteApellido", String.class)));
+        }
+        return response;
+    }
+
+    private DetalleVentaResponse toDetalle(Tuple t) {
+        DetalleVentaResponse d = new DetalleVentaResponse();
+        d.setDetalleId(t.get("detalleId", Long.class));
+        d.setCodigoBarras(t.get("codigoBarras", String.class));
+        d.setProductoId(t.get("productoId", Long.class));
+        d.setProductoNombre(t.get("productoNombre", String.class));
+        d.setCantidad(t.get("cantidad", Integer.class));
+        d.setPrecioUnitario(t.get("precioUnitario", Double.class));
+        d.setValorDescuentoUnitario(t.get("valorDescuentoUnitario", Double.class));
+        d.setTipoDescuentoUnitario(t.get("tipoDescuentoUnitario", TipoDescuento.class));
+        d.setSubtotalBruto(t.get("subtotalBruto", Double.class));
+        d.setMontoDescuentoUnitarioCalculado(t.get("montoDescuentoUnitarioCalculado", Double.class));
+        d.setSubtotal(t.get("subtotal", Double.class));
+        return d;
+    }
+
+    private PagoResponse toPago(Tuple t) {
+        return PagoResponse.builder()
+                .medioPago(t.get("medioPago", MedioPago.class))
+                .monto(t.get("monto", Double.class))
+                .build();
+    }
+
+    private static String nombreCompleto(String nombre, String apellido) {
+        return apellido == null ? nombre : nombre + " " + apellido;
+    }
+}
@@ -0,0 +1,120 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.model.DetalleVenta;
+import com.decoaromas.decoaromaspos.model.MovimientoInventario;
+import com.decoaromas.decoaromaspos.model.PagoVenta;
+import com.decoaromas.decoaromaspos.model.Venta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Inserción en lote (JDBC batch) de ventas ya calculadas, con sus detalles, pagos y movimientos de inventario.
+ * <p>
+ * Las entidades usan IDENTITY, que impide a Hibernate agrupar los INSERT. Aquí los ids se reservan de una
+ * vez desde las secuencias de cada tabla y cada tabla se inserta con un solo batch (que el driver reescribe
+ * como INSERT de varias filas con {@code reWriteBatchedInserts}). Los ids de ventas, detalles y pagos quedan
+ * asignados en las entidades; los movimientos se insertan con {@link InventarioLoteRepository}.
+ * Debe ejecutarse dentro de la transacción del llamador.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VentaLoteRepository {
+
+    private static final String SQL_VENTA = "INSERT INTO venta (venta_id, fecha, uuid, tipo_cliente, " +
+            "valor_descuento_global, tipo_descuento_global, monto_descuento_global_calculado, total_bruto, " +
+            "total_descuentos_unitarios, total_descuento_total, total_neto, tipo_documento, usuario_id, caja_id, " +
+            "cliente_id, costo_general, vuelto) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_DETALLE = "INSERT INTO detalle_venta (detalle_id, venta_id, fecha_venta, " +
+            "producto_id, codigo_barras, cantidad, precio_unitario, valor_descuento_unitario, tipo_descuento_unitario, " +
+            "subtotal_bruto, monto_descuento_unitario_calculado, subtotal) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_PAGO = "INSERT INTO pago_venta (pago_id, venta_id, fecha_venta, medio_pago, monto) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventarioLoteRepository inventarioLoteRepository;
+
+    /**
+     * Inserta las ventas (con sus detalles y pagos) y los movimientos de inventario.
+     * @param ventas      Ventas con usuario, caja, detalles y pagos asignados.
+     * @param movimientos Movimientos de salida generados por esas ventas.
+     */
+    public void insertar(List<Venta> ventas, List<MovimientoInventario> movimientos) {
+        List<DetalleVenta> detalles = new ArrayList<>();
+        List<PagoVenta> pagos = new ArrayList<>();
+        ventas.forEach(v -> {
+            detalles.addAll(v.getDetalles());
+            pagos.addAll(v.getPagos());
+        });
+
+        Iterator<Long> idsVenta = reservarIds("venta", "venta_id", ventas.size());
+        ventas.forEach(v -> v.setVentaId(idsVenta.next()));
+        Iterator<Long> idsDetalle = reservarIds("detalle_venta", "detalle_id", detalles.size());
+        detalles.forEach(d -> d.setDetalleId(idsDetalle.next()));
+        Iterator<Long> idsPago = reservarIds("pago_venta", "pago_id", pagos.size());
+        pagos.forEach(p -> p.setPagoId(idsPago.next()));
+
+        jdbcTemplate.batchUpdate(SQL_VENTA, ventas, ventas.size(), (ps, v) -> {
+            ps.setLong(1, v.getVentaId());
+            ps.setObject(2, v.getFecha().toOffsetDateTime());
+            ps.setObject(3, v.getUuid());
+            ps.setString(4, nombre(v.getTipoCliente()));
+            ps.setObject(5, v.getValorDescuentoGlobal(), Types.NUMERIC);
+            ps.setString(6, nombre(v.getTipoDescuentoGlobal()));
+            ps.setObject(7, v.getMontoDescuentoGlobalCalculado(), Types.NUMERIC);
+            ps.setObject(8, v.getTotalBruto(), Types.NUMERIC);
+            ps.setObject(9, v.getTotalDescuentosUnitarios(), Types.NUMERIC);
+            ps.setObject(10, v.getTotalDescuentoTotal(), Types.NUMERIC);
+            ps.setObject(11, v.getTotalNeto(), Types.NUMERIC);
+            // TipoDocumento se guarda por ordinal (sin @Enumerated)
+            ps.setObject(12, v.getTipoDocumento() != null ? v.getTipoDocumento().ordinal() : null, Types.SMALLINT);
+            ps.setLong(13, v.getUsuario().getUsuarioId());
+            ps.setLong(14, v.getCaja().getCajaId());
+            ps.setObject(15, v.getCliente() != null ? v.getCliente().getClienteId() : null, Types.BIGINT);
+            ps.setObject(16, v.getCostoGeneral(), Types.NUMERIC);
+            ps.setObject(17, v.getVuelto(), Types.NUMERIC);
+        });
+        jdbcTemplate.batchUpdate(SQL_DETALLE, detalles, detalles.size(), (ps, d) -> {
+            ps.setLong(1, d.getDetalleId());
+            ps.setLong(2, d.getVenta().getVentaId());
+            // Clave de partición: la fecha de la venta
+            ps.setObject(3, d.getVenta().getFecha().toOffsetDateTime());
+            ps.setLong(4, d.getProducto().getProductoId());
+            ps.setString(5, d.getCodigoBarras());
+            ps.setInt(6, d.getCantidad());
+            ps.setObject(7, d.getPrecioUnitario(), Types.NUMERIC);
+            ps.setObject(8, d.getValorDescuentoUnitario(), Types.NUMERIC);
+            ps.setString(9, nombre(d.getTipoDescuentoUnitario()));
+            ps.setObject(10, d.getSubtotalBruto(), Types.NUMERIC);
+            ps.setObject(11, d.getMontoDescuentoUnitarioCalculado(), Types.NUMERIC);
+            ps.setObject(12, d.getSubtotal(), Types.NUMERIC);
+        });
+        jdbcTemplate.batchUpdate(SQL_PAGO, pagos, pagos.size(), (ps, p) -> {
+            ps.setLong(1, p.getPagoId());
+            ps.setLong(2, p.getVenta().getVentaId());
+            ps.setObject(3, p.getVenta().getFecha().toOffsetDateTime());
+            ps.setString(4, p.getMedioPago().name());
+            ps.setObject(5, p.getMonto(), Types.NUMERIC);
+        });
+        inventarioLoteRepository.insertarMovimientos(movimientos);
+    }
+
+    // Reserva 'cantidad' ids de la secuencia de la columna identity en una sola consulta
+    private Iterator<Long> reservarIds(String tabla, String columna, int cantidad) {
+        if (cantidad == 0) {
+            return List.<Long>of().iterator();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence(?, ?)) FROM generate_series(1, ?)",
+                Long.class, tabla, columna, cantidad).iterator();
+    }
+
+    private static String nombre(Enum<?> valor) {
+        return valor != null ? valor.name() : null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.decoaromas.decoaromaspos.repository;
 
 import com.decoaromas.decoaromaspos.dto.reportes.*;
+import com.decoaromas.decoaromaspos.dto.venta.VentaResumenResponse;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.model.Venta;
 import org.springframework.data.domain.Pageable;
@@ -13,11 +14,13 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecificationExecutor<Venta> {
+public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecificationExecutor<Venta>, VentaConsultaRepository {
 
     @Override
     @EntityGraph(attributePaths = {"usuario", "cliente"})
@@ -31,6 +34,12 @@ public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecifica
 
     Optional<Venta> findByNumeroDocumento(String numeroDocumento);
 
+    Optional<Venta> findByUuid(UUID uuid);
+
+    // Uuids de un lote de importación que ya están registrados (reimportar el mismo archivo no duplica ventas)
+    @Query("SELECT v.uuid FROM Venta v WHERE v.uuid IN :uuids")
+    List<UUID> findUuidsExistentes(@Param("uuids") Collection<UUID> uuids);
+
     boolean existsByNumeroDocumentoIgnoreCase(String numeroDocumento);
 
 
@@ -111,32 +120,6 @@ public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecifica
     Double sumTotalMayoristaByAnioAndMesOpcional(@Param("anio") Integer anio, @Param("mes") Integer mes);
 
 
-    // Consulta para Ventas por Día de la Semana
-    @Query("SELECT new com.decoaromas.decoaromaspos.dto.reportes.VentaAgrupadaPorNombreDTO( " +
-            "CASE FUNCTION('to_char', v.fecha, 'ID') " +
-            "  WHEN '1' THEN 'Lunes' " +
-            "  WHEN '2' THEN 'Martes' " +
-            "  WHEN '3' THEN 'Miércoles' " +
-            "  WHEN '4' THEN 'Jueves' " +
-            "  WHEN '5' THEN 'Viernes' " +
-            "  WHEN '6' THEN 'Sábado' " +
-            "  WHEN '7' THEN 'Domingo' " +
-            "END, " +
-            "SUM(v.totalNeto)) " +
-            "FROM Venta v " +
-            "WHERE (CAST(:fechaInicio AS timestamp) IS NULL OR v.fecha >= :fechaInicio) " +
-            "AND (CAST(:fechaFin AS timestamp) IS NULL OR v.fecha <= :fechaFin) " +
-            "AND (CAST(:tipoCliente AS string) IS NULL OR v.tipoCliente = :tipoCliente) " +
-            "GROUP BY FUNCTION('to_char', v.fecha, 'ID') " +
-            "ORDER BY FUNCTION('to_char', v.fecha, 'ID') ASC")
-    List<VentaAgrupadaPorNombreDTO> findVentasPorDiaDeLaSemana(
-            @Param("fechaInicio") ZonedDateTime fechaInicio,
-            @Param("fechaFin") ZonedDateTime fechaFin,
-            @Param("tipoCliente") TipoCliente tipoCliente
-    );
-
-
-
     // Consulta para Rendimiento por Vendedor
     @Query("SELECT new com.decoaromas.decoaromaspos.dto.reportes.VentaAgrupadaPorNombreDTO(u.username, SUM(v.totalNeto)) " +
             "FROM Venta v JOIN v.usuario u " +
@@ -152,26 +135,6 @@ public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecifica
 
 
 
-    /**
-     * Gráfico 3: Ventas por Hora del Día
-     * Usa to_char(fecha, 'HH24') para obtener la hora (00-23) como texto.
-     */
-    @Query("SELECT new com.decoaromas.decoaromaspos.dto.reportes.VentaAgrupadaPorNombreDTO(" +
-            "CAST(FUNCTION('to_char', v.fecha, 'HH24') AS string), " +
-            "SUM(v.totalNeto)) " +
-            "FROM Venta v " +
-            "WHERE (CAST(:fechaInicio AS timestamp) IS NULL OR v.fecha >= :fechaInicio) " +
-            "AND (CAST(:fechaFin AS timestamp) IS NULL OR v.fecha <= :fechaFin) " +
-            "AND (CAST(:tipoCliente AS string) IS NULL OR v.tipoCliente = :tipoCliente) " +
-            "GROUP BY FUNCTION('to_char', v.fecha, 'HH24') " +
-            "ORDER BY FUNCTION('to_char', v.fecha, 'HH24') ASC")
-    List<VentaAgrupadaPorNombreDTO> findVentasPorHora(
-            @Param("fechaInicio") ZonedDateTime fechaInicio,
-            @Param("fechaFin") ZonedDateTime fechaFin,
-            @Param("tipoCliente") TipoCliente tipoCliente
-    );
-
-
     /**
      * Gráfico 5: Análisis de Descuentos vs Ventas (Mensual)
      * Agrupa por mes (usando to_char 'MM') y suma totalNeto y montoDescuentoGlobalCalculado.
@@ -305,10 +268,11 @@ public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecifica
     );
 
 
-    // Obtener mapa de calor de ventas por hora y dia de semana
+    // Obtener mapa de calor de ventas por hora y dia de semana, en hora local de Santiago (mismos buckets
+    // que el cubo horario)
     @Query("SELECT new com.decoaromas.decoaromaspos.dto.reportes.VentaPorHoraDiaDTO(" +
-            "   CAST(function('date_part', 'dow', v.fecha) AS INTEGER), " +
-            "   CAST(function('date_part', 'hour', v.fecha) AS INTEGER), " +
+            "   CAST(function('date_part', 'dow', function('timezone', 'America/Santiago', v.fecha)) AS INTEGER), " +
+            "   CAST(function('date_part', 'hour', function('timezone', 'America/Santiago', v.fecha)) AS INTEGER), " +
             "   COALESCE(SUM(v.totalNeto), 0.0)) " +
             "FROM Venta v " +
             "WHERE v.fecha >= :fechaInicio " +
@@ -321,7 +285,8 @@ public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecifica
             "   AND (:familiaId IS NULL OR p.familia.familiaId = :familiaId) " +
             "   AND (:aromaId IS NULL OR p.aroma.aromaId = :aromaId)" +
             ")) " +
-            "GROUP BY function('date_part', 'dow', v.fecha), function('date_part', 'hour', v.fecha)")
+            "GROUP BY function('date_part', 'dow', function('timezone', 'America/Santiago', v.fecha)), " +
+            "   function('date_part', 'hour', function('timezone', 'America/Santiago', v.fecha))")
     List<VentaPorHoraDiaDTO> findVentasPorHoraYDiaSemana(
             @Param("fechaInicio") ZonedDateTime fechaInicio,
             @Param("fechaFin") ZonedDateTime fechaFin,
@@ -350,13 +315,18 @@ public interface VentaRepository extends JpaRepository<Venta,Long>, JpaSpecifica
             Pageable pageable
     );
 
-    // Query para obtener la última compra de cada cliente activo y su nombre completo
-    @Query("SELECT new com.decoaromas.decoaromaspos.dto.reportes.ClienteInactivoDTO(" +
-            "    c.clienteId, c.nombre, c.apellido, MAX(v.fecha)) " +
-            "FROM Cliente c LEFT JOIN Venta v ON c.clienteId = v.cliente.clienteId " +
-            "WHERE c.activo = true " +
-            "  AND (:tipoCliente IS NULL OR c.tipo = :tipoCliente) " +
-            "GROUP BY c.clienteId, c.nombre, c.apellido " +
-            "ORDER BY MAX(v.fecha) ASC")
-    List<ClienteInactivoDTO> findClientesLastPurchaseDate(TipoCliente tipoCliente);
+
+    // Página keyset (más recientes primero) desde la posición (fecha, id) del cursor
+    @Query("SELECT new com.decoaromas.decoaromaspos.dto.venta.VentaResumenResponse(" +
+            "    v.ventaId, v.fecha, v.tipoCliente, v.totalBruto, v.totalDescuentoTotal, v.totalNeto, " +
+            "    v.tipoDocumento, v.numeroDocumento, u.usuarioId, u.nombre, u.apellido, " +
+            "    v.caja.cajaId, c.clienteId, c.nombre, c.apellido) " +
+            "FROM Venta v JOIN v.usuario u LEFT JOIN v.cliente c " +
+            "WHERE (v.fecha, v.ventaId) < (:fecha, :id) " +
+            "ORDER BY v.fecha DESC, v.ventaId DESC")
+    List<VentaResumenResponse> findResumenAntesDe(
+            @Param("fecha") ZonedDateTime fecha,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
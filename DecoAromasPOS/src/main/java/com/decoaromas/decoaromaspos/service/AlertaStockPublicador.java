@@ -0,0 +1,125 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.alerta_stock.AlertaStockResponse;
+import com.decoaromas.decoaromaspos.mapper.AlertaStockMapper;
+import com.decoaromas.decoaromaspos.model.AlertaStock;
+import com.decoaromas.decoaromaspos.repository.AlertaStockRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publica las alertas de stock pendientes a los clientes suscritos por SSE.
+ * <p>
+ * Cada pocos segundos toma las alertas no publicadas, las envía a cada suscriptor y las marca como publicadas en
+ * la misma transacción. Mientras no hay suscriptores no publica nada: las alertas quedan pendientes y las recibe el
+ * primer cliente que se conecte. Un cliente que se reconecta con {@code Last-Event-ID} recibe además las alertas
+ * publicadas mientras estuvo desconectado.
+ * <p>
+ * Supone una sola instancia de la aplicación: los suscriptores viven en la memoria de esta instancia, y una alerta
+ * marcada como publicada aquí no llegaría a los clientes conectados a otra.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlertaStockPublicador {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertaStockPublicador.class);
+    static final String EVENTO = "alerta-stock";
+
+    private final AlertaStockRepository alertaStockRepository;
+    private final AlertaStockMapper alertaStockMapper;
+    private final List<SseEmitter> suscriptores = new CopyOnWriteArrayList<>();
+
+    @Value("${app.inventario.alertas.sse-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.inventario.alertas.tamanio-lote:100}")
+    private int tamanioLote;
+
+    @Value("${app.inventario.alertas.retencion-dias:90}")
+    private int retencionDias;
+
+    /**
+     * Registra un cliente en el stream de alertas.
+     * @param ultimoId ID de la última alerta recibida (cabecera Last-Event-ID), o null.
+     * @return Emisor SSE del cliente.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter suscribir(Long ultimoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> suscriptores.remove(emitter));
+        emitter.onTimeout(() -> suscriptores.remove(emitter));
+        emitter.onError(e -> suscriptores.remove(emitter));
+
+        if (ultimoId != null) {
+            for (AlertaStock alerta : alertaStockRepository
+                    .findTop100ByAlertaIdGreaterThanAndPublicadaTrueOrderByAlertaIdAsc(ultimoId)) {
+                if (!enviar(emitter, alertaStockMapper.toResponse(alerta))) {
+                    return emitter;
+                }
+            }
+        }
+        suscriptores.add(emitter);
+        return emitter;
+    }
+
+    /** Envía las alertas pendientes a los suscriptores y las marca como publicadas. */
+    @Scheduled(fixedDelayString = "${app.inventario.alertas.publicacion-ms:2000}")
+    @Transactional
+    public void publicarPendientes() {
+        if (suscriptores.isEmpty()) {
+            return;
+        }
+        List<AlertaStock> pendientes = alertaStockRepository.findPendientesParaPublicar(tamanioLote);
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        for (AlertaStock alerta : pendientes) {
+            AlertaStockResponse response = alertaStockMapper.toResponse(alerta);
+            suscriptores.removeIf(emitter -> !enviar(emitter, response));
+        }
+        alertaStockRepository.marcarPublicadas(pendientes.stream().map(AlertaStock::getAlertaId).toList());
+        log.debug("Alertas de stock publicadas: {} a {} suscriptores", pendientes.size(), suscriptores.size());
+    }
+
+    /** Elimina las alertas publicadas con más de {@code app.inventario.alertas.retencion-dias} días. */
+    @Scheduled(cron = "${app.inventario.alertas.limpieza.cron:0 30 4 * * *}", zone = "America/Santiago")
+    @Transactional
+    public void eliminarAntiguas() {
+        int eliminadas = alertaStockRepository.eliminarPublicadasAntesDe(
+                DateUtils.obtenerFechaHoraActual().minusDays(retencionDias));
+        if (eliminadas > 0) {
+            log.info("Alertas de stock antiguas eliminadas: {}", eliminadas);
+        }
+    }
+
+    int cantidadSuscriptores() {
+        return suscriptores.size();
+    }
+
+    // Devuelve false si el cliente ya no está conectado
+    private static boolean enviar(SseEmitter emitter, AlertaStockResponse alerta) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(alerta.getAlertaId()))
+                    .name(EVENTO)
+                    .data(alerta));
+            return true;
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return false;
+        } catch (IllegalStateException e) {
+            return false; // El emisor ya terminó (timeout o cierre del cliente)
+        }
+    }
+}
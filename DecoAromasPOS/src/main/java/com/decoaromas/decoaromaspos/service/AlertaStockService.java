@@ -0,0 +1,123 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.alerta_stock.AlertaStockResponse;
+import com.decoaromas.decoaromaspos.dto.other.PaginacionMapper;
+import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
+import com.decoaromas.decoaromaspos.enums.TipoAlertaStock;
+import com.decoaromas.decoaromaspos.mapper.AlertaStockMapper;
+import com.decoaromas.decoaromaspos.model.AlertaStock;
+import com.decoaromas.decoaromaspos.model.Producto;
+import com.decoaromas.decoaromaspos.repository.AlertaStockRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Evaluación incremental de alertas de stock.
+ * <p>
+ * GestorInventarioService la invoca con el stock anterior y el nuevo de cada producto que modifica, así solo
+ * se revisan los productos cuyo stock acaba de cambiar. Hay alerta cuando el producto cruza un nivel:
+ * agotado (stock 0), bajo (hasta su stock mínimo) o normal. El stock mínimo es el del producto, o el de su
+ * familia, o {@code app.inventario.alertas.stock-minimo} si ninguno lo define.
+ * <p>
+ * La alerta se guarda en la transacción del cambio de stock, de modo que solo existe si el cambio se confirmó;
+ * {@link AlertaStockPublicador} la envía después a los clientes suscritos.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AlertaStockService {
+
+    // Niveles de stock respecto del stock mínimo
+    private static final int NIVEL_AGOTADO = 0;
+    private static final int NIVEL_BAJO = 1;
+    private static final int NIVEL_NORMAL = 2;
+
+    private final AlertaStockRepository alertaStockRepository;
+    private final AlertaStockMapper alertaStockMapper;
+
+    @Value("${app.inventario.alertas.stock-minimo:0}")
+    private int stockMinimoPorDefecto;
+
+    /**
+     * Registra una alerta si el cambio de stock del producto cruza su stock mínimo o lo agota.
+     * Una caída de normal a agotado genera solo la alerta de agotado, y una reposición parcial
+     * (de agotado a bajo) no genera alerta.
+     * @param producto      Producto cuyo stock cambió.
+     * @param stockAnterior Stock antes del cambio.
+     * @param stockNuevo    Stock después del cambio.
+     * @return La alerta registrada, o vacío si no hubo cruce.
+     */
+    public Optional<AlertaStock> evaluar(Producto producto, int stockAnterior, int stockNuevo) {
+        if (stockAnterior == stockNuevo) {
+            return Optional.empty();
+        }
+        int stockMinimo = stockMinimo(producto);
+        int nivelAnterior = nivel(stockAnterior, stockMinimo);
+        int nivelNuevo = nivel(stockNuevo, stockMinimo);
+
+        TipoAlertaStock tipo;
+        if (nivelNuevo == nivelAnterior || (nivelNuevo == NIVEL_BAJO && nivelAnterior == NIVEL_AGOTADO)) {
+            return Optional.empty();
+        } else if (nivelNuevo == NIVEL_AGOTADO) {
+            tipo = TipoAlertaStock.SIN_STOCK;
+        } else if (nivelNuevo == NIVEL_BAJO) {
+            tipo = TipoAlertaStock.BAJO_STOCK;
+        } else {
+            tipo = TipoAlertaStock.REPUESTO;
+        }
+
+        return Optional.of(alertaStockRepository.save(AlertaStock.builder()
+                .productoId(producto.getProductoId())
+                .sku(producto.getSku())
+                .nombre(producto.getNombre())
+                .tipo(tipo)
+                .stockAnterior(stockAnterior)
+                .stockActual(stockNuevo)
+                .stockMinimo(stockMinimo)
+                .fecha(DateUtils.obtenerFechaHoraActual())
+                .publicada(Boolean.FALSE)
+                .build()));
+    }
+
+    /**
+     * Stock mínimo efectivo del producto: el propio, el de su familia o el valor por defecto.
+     * @param producto La entidad Producto.
+     * @return Stock bajo el cual (inclusive) el producto se considera con bajo stock.
+     */
+    @Transactional(readOnly = true)
+    public int stockMinimo(Producto producto) {
+        if (producto.getStockMinimo() != null) {
+            return producto.getStockMinimo();
+        }
+        if (producto.getFamilia() != null && producto.getFamilia().getStockMinimo() != null) {
+            return producto.getFamilia().getStockMinimo();
+        }
+        return stockMinimoPorDefecto;
+    }
+
+    /**
+     * Alertas registradas, más recientes primero.
+     * @param page Número de página (0..N).
+     * @param size Tamaño de página.
+     * @return PaginacionResponse de alertas.
+     */
+    @Transactional(readOnly = true)
+    public PaginacionResponse<AlertaStockResponse> obtenerAlertasPaginadas(int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "alertaId"));
+        return PaginacionMapper.mapToResponse(alertaStockRepository.findAll(pageable).map(alertaStockMapper::toResponse));
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private static int nivel(int stock, int stockMinimo) {
+        if (stock <= 0) return NIVEL_AGOTADO;
+        return stock <= stockMinimo ? NIVEL_BAJO : NIVEL_NORMAL;
+    }
+}
@@ -1,7 +1,10 @@
 package com.decoaromas.decoaromaspos.service;
 
 import com.decoaromas.decoaromaspos.utils.DateUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -25,6 +28,7 @@ import java.util.stream.Stream;
 public class BackupService {
 
     private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
 
     // Ruta de backups dentro del contenedor (montada a C:\Backups\decoaromas)
     private static final String BACKUP_DIR_PATH = "/app/backups";
@@ -55,6 +59,7 @@ public class BackupService {
      * Crea un backup de la estructura completa, pero con productos, aromas y familias.
      * Considera a todos los productos con stock 0. Y mantiene solo al usuario súper administrador.
      */
+    @Timed("decoaromas.backups")
     public String createSmartDemoBackup1() throws Exception {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm");
         String timestamp = DateUtils.obtenerFechaHoraActual().format(formatter);
@@ -179,6 +184,7 @@ public class BackupService {
      * Ejecuta el comando pg_restore para cargar el archivo .dump en la base de datos.
      * Se requiere el nombre del archivo de backup.
      */
+    @Timed("decoaromas.backups")
     public String restoreBackup(String filename) throws IOException, InterruptedException {
         // 1. Validación de seguridad y formato del nombre de archivo
         if (filename == null || filename.contains("..") || !filename.endsWith(FILENAME_SUFFIX)) {
@@ -218,6 +224,10 @@ public class BackupService {
             throw new IOException("Fallo en pg_restore. Código de salida: " + exitCode + ". Error: " + error);
         }
 
+        // pg_restore reemplaza las tablas por fuera de Hibernate: lo que hay en la cache de segundo nivel
+        // (entidades y consultas) quedó obsoleto
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
         return "Restauración completada con éxito desde el archivo: " + filename;
     }
 
@@ -237,6 +247,7 @@ public class BackupService {
      * 1. Genera un nombre de archivo con formato de fecha.
      * 2. Ejecuta el comando pg_dump para crear el archivo .dump (formato custom)
      */
+    @Timed("decoaromas.backups")
     public String createBackup() throws IOException, InterruptedException {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm");
         String timestamp = DateUtils.obtenerFechaHoraActual().format(formatter);
@@ -4,21 +4,32 @@ import com.decoaromas.decoaromaspos.dto.caja.AbrirCajaRequest;
 import com.decoaromas.decoaromaspos.dto.caja.CajaResponse;
 import com.decoaromas.decoaromaspos.dto.caja.CajaResumenResponse;
 import com.decoaromas.decoaromaspos.dto.caja.PagoPorMedioDTO;
+import com.decoaromas.decoaromaspos.dto.other.CursorMapper;
 import com.decoaromas.decoaromaspos.dto.other.PaginacionMapper;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.enums.EstadoCaja;
 import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
 import com.decoaromas.decoaromaspos.exception.BusinessException;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.mapper.CajaMapper;
 import com.decoaromas.decoaromaspos.model.Caja;
+import com.decoaromas.decoaromaspos.model.TotalCaja;
 import com.decoaromas.decoaromaspos.repository.CajaRepository;
 import com.decoaromas.decoaromaspos.repository.PagoVentaRepository;
+import com.decoaromas.decoaromaspos.repository.TotalCajaRepository;
 import com.decoaromas.decoaromaspos.repository.VentaRepository;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
 import com.decoaromas.decoaromaspos.utils.CajaSpecification;
+import com.decoaromas.decoaromaspos.utils.CursorUtils;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,33 +41,43 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Servicio para la gestión de Cajas (apertura, cierre, consultas).
- * Orquesta las operaciones de caja y calcula los resúmenes de ventas
- * consultando directamente los repositorios de pagos y ventas.
+ * Orquesta las operaciones de caja y entrega los resúmenes de ventas desde los totales
+ * acumulados por caja ({@link TotalCajaService}), que se verifican contra los pagos al cerrar.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CajaService {
 
+    private static final Logger log = LoggerFactory.getLogger(CajaService.class);
+
     private final CajaRepository cajaRepository;
     private final UsuarioService usuarioService;
     private final VentaRepository ventaRepository; // Añadida para sumar vueltos
     private final PagoVentaRepository pagoVentaRepository; // Añadido para sumar pagos
     private final CajaMapper cajaMapper;
+    private final EventoOutboxService eventoOutboxService;
+    private final TotalCajaRepository totalCajaRepository;
+    private final TotalCajaService totalCajaService;
 
     /**
-     * Obtiene una lista de todas las cajas.
-     * @return Lista de CajaResponse.
+     * Obtiene las cajas con paginación keyset (aperturas más recientes primero).
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de CajaResponse.
      */
     @Transactional(readOnly = true)
-    public List<CajaResponse> listarCajas() {
-        return cajaRepository.findAll().stream()
-                .map(cajaMapper::toResponse)
-                .toList();
+    public CursorResponse<CajaResponse> listarCajas(String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        List<CajaResponse> filas = cajaRepository.findResumenAntesDe(
+                desde.fecha(), desde.id(), CursorUtils.limiteConSiguiente(tamanio));
+        return CursorMapper.mapToResponse(filas, tamanio, c -> CursorUtils.codificar(c.getFechaApertura(), c.getCajaId()));
     }
 
     /**
@@ -103,13 +124,16 @@ public class CajaService {
                 .usuario(usuarioService.obtenerUsuarioRealPorId(request.getUsuarioId()))
                 .build();
 
-        return cajaMapper.toResponse(cajaRepository.save(caja));
+        Caja guardada = cajaRepository.save(caja);
+        totalCajaService.inicializar(guardada.getCajaId());
+        eventoOutboxService.registrar(TipoAgregado.CAJA, guardada.getCajaId(), TipoEvento.CAJA_ABIERTA, cajaMapper.toEvento(guardada));
+        return cajaMapper.toResponse(guardada);
     }
 
     /**
      * Cierra la caja actualmente abierta.
-     * Calcula el resumen de pagos, lo compara con el efectivo real contado
-     * y registra la diferencia si existe.
+     * Toma los totales acumulados (verificados contra la suma de los pagos), los compara con
+     * el efectivo real contado y registra la diferencia si existe.
      *
      * @param efectivoRealContado El monto de efectivo contado físicamente.
      * @return CajaResponse de la caja cerrada.
@@ -122,37 +146,70 @@ public class CajaService {
         }
 
         Caja caja = obtenerCajaRealAbierta();
-        CajaResumenResponse ventasResumen = calcularResumenCaja(caja);
+        CajaResumenResponse ventasResumen = toResumen(verificarTotales(caja.getCajaId()));
 
         caja.setFechaCierre(DateUtils.obtenerFechaHoraActual());
         caja.setEstado(EstadoCaja.CERRADA);
 
         // Guardamos lo que el sistema dice que se vendió por cada medio (Totales Teóricos)
-        caja.setMercadoPagoCierre(ventasResumen.getTotalMercadoPago());
-        caja.setBciCierre(ventasResumen.getTotalBCI());
-        caja.setBotonDePagoCierre(ventasResumen.getTotalBotonDePago());
-        caja.setTransferenciaCierre(ventasResumen.getTotalTransferencia());
-        caja.setPostCierre(ventasResumen.getTotalPost());
+        registrarTotalesCierre(caja, ventasResumen);
 
         // 1. Guardamos el EFECTIVO REAL contado por el usuario (la realidad física)
         caja.setEfectivoCierre(efectivoRealContado);
 
         // 2. Calculamos cuánto efectivo DEBERÍA haber: (Apertura + Ventas Efectivo - Vueltos)
-        // ventasResumen.getTotalEfectivo() ya viene con (Efectivo Bruto - Vueltos) de calcularResumenCaja
-        double efectivoEsperado = caja.getEfectivoApertura() + ventasResumen.getTotalEfectivo();
+        // ventasResumen.getTotalEfectivo() ya viene con (Efectivo Bruto - Vueltos) de toResumen
+        long efectivoEsperado = Dinero.centavos(caja.getEfectivoApertura()) + Dinero.centavos(ventasResumen.getTotalEfectivo());
 
-        // 3. Diferencia: Real - Esperado
+        // 3. Diferencia: Real - Esperado, exacta en centavos
         // Si da negativo: falta dinero (faltante). Si da positivo: sobra dinero (sobrante).
-        double diferencia = efectivoRealContado - efectivoEsperado;
+        caja.setDiferenciaReal(Dinero.monto(Dinero.centavos(efectivoRealContado) - efectivoEsperado));
 
-        // Usamos un umbral pequeño para evitar problemas de precisión decimal
-        if (Math.abs(diferencia) < 0.01) {
-            caja.setDiferenciaReal(0.0);
-        } else {
-            caja.setDiferenciaReal(diferencia);
-        }
+        Caja guardada = cajaRepository.save(caja);
+        eventoOutboxService.registrar(TipoAgregado.CAJA, guardada.getCajaId(), TipoEvento.CAJA_CERRADA, cajaMapper.toEvento(guardada));
+        return cajaMapper.toResponse(guardada);
+    }
+
+    /**
+     * Crea la caja propia de una importación de ventas. Se registra ya cerrada: nunca es la caja abierta,
+     * así las ventas importadas no suman al efectivo de la caja en curso ni entran en su cierre.
+     * @param usuarioId Id del usuario que importa.
+     * @return La entidad Caja creada.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    public Caja crearCajaImportacion(Long usuarioId) {
+        ZonedDateTime ahora = DateUtils.obtenerFechaHoraActual();
+        Caja caja = Caja.builder()
+                .fechaApertura(ahora)
+                .fechaCierre(ahora)
+                .efectivoApertura(0.0)
+                .estado(EstadoCaja.CERRADA)
+                .usuario(usuarioService.obtenerUsuarioRealPorId(usuarioId))
+                .build();
+
+        Caja guardada = cajaRepository.save(caja);
+        totalCajaService.inicializar(guardada.getCajaId());
+        return guardada;
+    }
+
+    /**
+     * Registra como cierre de la caja de una importación los totales de sus ventas. No hay efectivo que
+     * contar: el efectivo de cierre es el esperado y la diferencia es cero.
+     * @param cajaId Id de la caja creada con {@link #crearCajaImportacion(Long)}.
+     * @return CajaResponse de la caja cerrada.
+     */
+    public CajaResponse cerrarCajaImportacion(Long cajaId) {
+        Caja caja = obtenerCajaRealPorId(cajaId);
+        CajaResumenResponse ventasResumen = toResumen(verificarTotales(cajaId));
+
+        caja.setFechaCierre(DateUtils.obtenerFechaHoraActual());
+        registrarTotalesCierre(caja, ventasResumen);
+        caja.setEfectivoCierre(Dinero.monto(Dinero.centavos(caja.getEfectivoApertura()) + Dinero.centavos(ventasResumen.getTotalEfectivo())));
+        caja.setDiferenciaReal(0.0);
 
-        return cajaMapper.toResponse(cajaRepository.save(caja));
+        Caja guardada = cajaRepository.save(caja);
+        eventoOutboxService.registrar(TipoAgregado.CAJA, guardada.getCajaId(), TipoEvento.CAJA_CERRADA, cajaMapper.toEvento(guardada));
+        return cajaMapper.toResponse(guardada);
     }
 
     /**
@@ -186,6 +243,7 @@ public class CajaService {
      */
     public void eliminarCaja(Long id) {
         Caja caja = obtenerCajaRealPorId(id);
+        eventoOutboxService.registrar(TipoAgregado.CAJA, id, TipoEvento.CAJA_ELIMINADA, cajaMapper.toEvento(caja));
         cajaRepository.delete(caja);
     }
 
@@ -241,33 +299,87 @@ public class CajaService {
     }
 
     /**
-     * Calcula el resumen de pagos de una caja de forma eficiente,
-     * consultando directamente la base de datos en lugar de cargar todas las ventas.
+     * Obtiene el resumen de pagos de una caja desde sus totales acumulados (una lectura por ID).
+     * Si la caja no tiene totales, los suma desde sus pagos.
      * @param caja La entidad Caja (abierta o cerrada).
      * @return CajaResumenResponse con los totales.
      */
     public CajaResumenResponse calcularResumenCaja(Caja caja) {
+        return toResumen(totalCajaRepository.findById(caja.getCajaId())
+                .orElseGet(() -> sumarPagosCaja(caja.getCajaId())));
+    }
+
+    // Totales teóricos por medio de pago distinto del efectivo
+    private static void registrarTotalesCierre(Caja caja, CajaResumenResponse ventasResumen) {
+        caja.setMercadoPagoCierre(ventasResumen.getTotalMercadoPago());
+        caja.setBciCierre(ventasResumen.getTotalBCI());
+        caja.setBotonDePagoCierre(ventasResumen.getTotalBotonDePago());
+        caja.setTransferenciaCierre(ventasResumen.getTotalTransferencia());
+        caja.setPostCierre(ventasResumen.getTotalPost());
+    }
+
+    /**
+     * Compara los totales acumulados de la caja con la suma de todos sus pagos y vueltos. Los totales
+     * quedan bloqueados hasta el fin de la transacción, así no cambian entre la comparación y el cierre.
+     * Si no coinciden, se corrigen con la suma y se usa esta.
+     * @param cajaId Id de la caja.
+     * @return Los totales verificados.
+     */
+    private TotalCaja verificarTotales(Long cajaId) {
+        Optional<TotalCaja> acumulado = totalCajaRepository.findParaCierre(cajaId);
+        TotalCaja sumado = sumarPagosCaja(cajaId);
+        if (acumulado.isPresent() && mismosTotales(acumulado.get(), sumado)) {
+            return acumulado.get();
+        }
+        log.warn("Los totales acumulados de la caja {} no coinciden con sus pagos, se corrigen: {} -> {}",
+                cajaId, acumulado.orElse(null), sumado);
+        return totalCajaRepository.save(sumado);
+    }
+
+    /**
+     * Suma los pagos de la caja por medio de pago y sus vueltos, consultando directamente la base de datos.
+     * @param cajaId Id de la caja.
+     * @return TotalCaja (sin guardar) con las sumas.
+     */
+    private TotalCaja sumarPagosCaja(Long cajaId) {
         // 1. Obtener los totales de pagos agrupados por medio de pago
-        List<PagoPorMedioDTO> pagosAgrupados = pagoVentaRepository.sumTotalesByCajaId(caja.getCajaId());
+        List<PagoPorMedioDTO> pagosAgrupados = pagoVentaRepository.sumTotalesByCajaId(cajaId);
 
         // 2. Obtener la suma total de vueltos dados en esa caja
-        double totalVuelto = ventaRepository.sumVueltoByCajaIdCoalesce(caja.getCajaId());
+        double totalVuelto = ventaRepository.sumVueltoByCajaIdCoalesce(cajaId);
 
-        // 3. Convertir la lista a un Mapa para fácil acceso
+        // 3. Convertir la lista a un Mapa para fácil acceso (con 0.0 si no hubo pagos de ese tipo)
         Map<MedioPago, Double> mapaPagos = pagosAgrupados.stream()
                 .collect(Collectors.toMap(PagoPorMedioDTO::getMedioPago, PagoPorMedioDTO::getTotal));
 
-        // 4. Obtener totales (con 0.0 si no hubo pagos de ese tipo)
-        double totalEfectivoBruto = mapaPagos.getOrDefault(MedioPago.EFECTIVO, 0.0);
-        double totalMercadoPago = mapaPagos.getOrDefault(MedioPago.MERCADO_PAGO, 0.0);
-        double totalBCI = mapaPagos.getOrDefault(MedioPago.BCI, 0.0);
-        double totalBotonDePago = mapaPagos.getOrDefault(MedioPago.BOTON_DE_PAGO, 0.0);
-        double totalTransferencia = mapaPagos.getOrDefault(MedioPago.TRANSFERENCIA, 0.0);
-        double totalPost = mapaPagos.getOrDefault(MedioPago.POST, 0.0);
+        return TotalCaja.builder()
+                .cajaId(cajaId)
+                .efectivo(mapaPagos.getOrDefault(MedioPago.EFECTIVO, 0.0))
+                .mercadoPago(mapaPagos.getOrDefault(MedioPago.MERCADO_PAGO, 0.0))
+                .bci(mapaPagos.getOrDefault(MedioPago.BCI, 0.0))
+                .botonDePago(mapaPagos.getOrDefault(MedioPago.BOTON_DE_PAGO, 0.0))
+                .transferencia(mapaPagos.getOrDefault(MedioPago.TRANSFERENCIA, 0.0))
+                .post(mapaPagos.getOrDefault(MedioPago.POST, 0.0))
+                .vuelto(totalVuelto)
+                .build();
+    }
+
+    // Comparación exacta en centavos
+    private static boolean mismosTotales(TotalCaja a, TotalCaja b) {
+        return Dinero.centavos(a.getEfectivo()) == Dinero.centavos(b.getEfectivo())
+                && Dinero.centavos(a.getMercadoPago()) == Dinero.centavos(b.getMercadoPago())
+                && Dinero.centavos(a.getBci()) == Dinero.centavos(b.getBci())
+                && Dinero.centavos(a.getBotonDePago()) == Dinero.centavos(b.getBotonDePago())
+                && Dinero.centavos(a.getTransferencia()) == Dinero.centavos(b.getTransferencia())
+                && Dinero.centavos(a.getPost()) == Dinero.centavos(b.getPost())
+                && Dinero.centavos(a.getVuelto()) == Dinero.centavos(b.getVuelto());
+    }
 
-        // 5. Calcular el efectivo NETO (Efectivo Recibido - Vueltos Dados)
-        double totalEfectivoNeto = totalEfectivoBruto - totalVuelto;
+    private static CajaResumenResponse toResumen(TotalCaja total) {
+        // Efectivo NETO (Efectivo Recibido - Vueltos Dados), en centavos para que la resta sea exacta
+        double totalEfectivoNeto = Dinero.monto(Dinero.centavos(total.getEfectivo()) - Dinero.centavos(total.getVuelto()));
 
-        return new CajaResumenResponse(totalEfectivoNeto, totalMercadoPago, totalBCI, totalBotonDePago, totalTransferencia, totalPost);
+        return new CajaResumenResponse(totalEfectivoNeto, total.getMercadoPago(), total.getBci(),
+                total.getBotonDePago(), total.getTransferencia(), total.getPost());
     }
 }
@@ -4,13 +4,16 @@ import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.enums.TipoDescuento;
 import com.decoaromas.decoaromaspos.exception.BusinessException;
 import com.decoaromas.decoaromaspos.model.Producto;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import org.springframework.stereotype.Service;
 
+/**
+ * Cálculo de precios y descuentos. Los montos se operan en centavos ({@link Dinero}), por lo que
+ * los resultados son exactos y las validaciones no necesitan tolerancia.
+ */
 @Service
 public class CalculoPrecioService {
 
-    private static final double TOLERANCIA_DECIMAL = 0.01;
-
     /**
      * Determina el precio unitario basado en el tipo de cliente.
      */
@@ -28,20 +31,28 @@ public class CalculoPrecioService {
      * @return El monto final del descuento en dinero.
      */
     public Double calcularMontoDescuento(Double precioBase, Double valorDescuento, TipoDescuento tipoDescuento) {
+        return Dinero.monto(calcularDescuentoCentavos(Dinero.centavos(precioBase), valorDescuento, tipoDescuento));
+    }
+
+    /**
+     * Igual que {@link #calcularMontoDescuento}, con la base y el resultado en centavos.
+     * Un descuento porcentual se redondea al centavo.
+     */
+    public long calcularDescuentoCentavos(long baseCentavos, Double valorDescuento, TipoDescuento tipoDescuento) {
         if (valorDescuento == null || tipoDescuento == null) {
-            return 0.0;
+            return 0;
         }
 
         if (tipoDescuento == TipoDescuento.PORCENTAJE) {
             if (valorDescuento < 0 || valorDescuento > 100) {
                 throw new BusinessException("El porcentaje de descuento debe estar entre 0 y 100.");
             }
-            return precioBase * (valorDescuento / 100.0);
+            return Dinero.porcentaje(baseCentavos, valorDescuento);
         } else { // NUMÉRICO
             if (valorDescuento < 0) {
                 throw new BusinessException("El descuento numérico no puede ser negativo.");
             }
-            return valorDescuento;
+            return Dinero.centavos(valorDescuento);
         }
     }
 
@@ -49,9 +60,12 @@ public class CalculoPrecioService {
      * Valida que un descuento no sea mayor que su base.
      */
     public void validarDescuento(Double montoDescuento, Double precioBase, String mensajeError) {
-        // Usamos una pequeña tolerancia para problemas de decimales
-        if (montoDescuento > (precioBase + TOLERANCIA_DECIMAL)) {
+        validarDescuentoCentavos(Dinero.centavos(montoDescuento), Dinero.centavos(precioBase), mensajeError);
+    }
+
+    public void validarDescuentoCentavos(long descuentoCentavos, long baseCentavos, String mensajeError) {
+        if (descuentoCentavos > baseCentavos) {
             throw new BusinessException(mensajeError);
         }
     }
-}
\ No newline at end of file
+}
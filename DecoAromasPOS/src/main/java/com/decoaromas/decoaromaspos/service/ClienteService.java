@@ -6,6 +6,7 @@ import com.decoaromas.decoaromaspos.dto.cliente.ClienteResponse;
 import com.decoaromas.decoaromaspos.dto.other.*;
 import com.decoaromas.decoaromaspos.dto.other.request.EmailRequest;
 import com.decoaromas.decoaromaspos.dto.other.request.RutRequest;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.AvailabilityResponse;
 import com.decoaromas.decoaromaspos.exception.ExistsRegisterException;
@@ -15,6 +16,7 @@ import com.decoaromas.decoaromaspos.model.Cliente;
 import com.decoaromas.decoaromaspos.repository.ClienteRepository;
 import com.decoaromas.decoaromaspos.utils.AvailabilityChecker;
 import com.decoaromas.decoaromaspos.utils.ClienteSpecification;
+import com.decoaromas.decoaromaspos.utils.CursorUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -41,12 +43,18 @@ public class ClienteService {
     // --- CONSULTAS (Lectura) ---
 
     /**
-     * Obtiene una lista de todos los clientes (activos e inactivos).
-     * @return Lista de ClienteResponse.
+     * Obtiene los clientes (activos e inactivos) con paginación keyset por id (más recientes primero).
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de ClienteResponse.
      */
     @Transactional(readOnly = true)
-    public List<ClienteResponse> listarClientes() {
-        return mapToList(clienteRepository.findAll());
+    public CursorResponse<ClienteResponse> listarClientes(String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        List<ClienteResponse> filas = clienteRepository.findResumenAntesDe(
+                desde.id(), CursorUtils.limiteConSiguiente(tamanio));
+        return CursorMapper.mapToResponse(filas, tamanio, c -> CursorUtils.codificar(c.getClienteId()));
     }
 
     /**
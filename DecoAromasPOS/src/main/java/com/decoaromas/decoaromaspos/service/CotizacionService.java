@@ -2,9 +2,12 @@ package com.decoaromas.decoaromaspos.service;
 
 import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionRequest;
 import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionResponse;
+import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionResumenResponse;
 import com.decoaromas.decoaromaspos.dto.cotizacion.CotizacionUpdateEstado;
 import com.decoaromas.decoaromaspos.dto.cotizacion.DetalleCotizacionRequest;
+import com.decoaromas.decoaromaspos.dto.other.CursorMapper;
 import com.decoaromas.decoaromaspos.dto.other.PaginacionMapper;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.enums.EstadoCotizacion;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
@@ -13,7 +16,9 @@ import com.decoaromas.decoaromaspos.mapper.CotizacionMapper;
 import com.decoaromas.decoaromaspos.model.*;
 import com.decoaromas.decoaromaspos.repository.CotizacionRepository;
 import com.decoaromas.decoaromaspos.utils.CotizacionSpecification;
+import com.decoaromas.decoaromaspos.utils.CursorUtils;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -104,14 +109,19 @@ public class CotizacionService {
     }
 
     /**
-     * Obtiene una lista de todas las cotizaciones sin paginación ni filtros.
+     * Obtiene las cotizaciones con paginación keyset (más recientes primero), solo cabeceras.
      *
-     * @return Lista de CotizacionResponse.
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de CotizacionResumenResponse.
      */
-    public List<CotizacionResponse> listarCotizaciones() {
-        return cotizacionRepository.findAll().stream()
-                .map(cotizacionMapper::toResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorResponse<CotizacionResumenResponse> listarCotizaciones(String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        List<CotizacionResumenResponse> filas = cotizacionRepository.findResumenAntesDe(
+                desde.fecha(), desde.id(), CursorUtils.limiteConSiguiente(tamanio));
+        return CursorMapper.mapToResponse(filas, tamanio, c -> CursorUtils.codificar(c.getFechaEmision(), c.getCotizacionId()));
     }
 
     /**
@@ -197,18 +207,19 @@ public class CotizacionService {
      * @param cotizacion La cotización que se está procesando (debe tener TotalBruto ya calculado).
      */
     private void calcularTotalesGlobales(Cotizacion cotizacion) {
+        long totalBruto = Dinero.centavos(cotizacion.getTotalBruto());
         // Delega el cálculo del monto al servicio experto
-        double montoDescuentoGlobal = calculoPrecioService.calcularMontoDescuento(
-                cotizacion.getTotalBruto(),
+        long montoDescuentoGlobal = calculoPrecioService.calcularDescuentoCentavos(
+                totalBruto,
                 cotizacion.getValorDescuentoGlobal(),
                 cotizacion.getTipoDescuentoGlobal()
         );
         // Delega la validación
-        calculoPrecioService.validarDescuento(montoDescuentoGlobal, cotizacion.getTotalBruto(),
+        calculoPrecioService.validarDescuentoCentavos(montoDescuentoGlobal, totalBruto,
                 "El descuento global no puede ser mayor al total bruto.");
 
-        cotizacion.setMontoDescuentoGlobalCalculado(montoDescuentoGlobal);
-        cotizacion.setTotalNeto(cotizacion.getTotalBruto() - montoDescuentoGlobal);
+        cotizacion.setMontoDescuentoGlobalCalculado(Dinero.monto(montoDescuentoGlobal));
+        cotizacion.setTotalNeto(Dinero.monto(totalBruto - montoDescuentoGlobal));
     }
 
     /**
@@ -221,25 +232,25 @@ public class CotizacionService {
      * @param tipoCliente     El tipo de cliente para determinar el precio.
      */
     private void procesarDetalles(Cotizacion cotizacion, List<DetalleCotizacionRequest> detallesRequest, TipoCliente tipoCliente) {
-        double totalBruto = 0.0;
-        double costoGeneral = 0.0;
+        long totalBruto = 0;
+        long costoGeneral = 0;
 
         for (DetalleCotizacionRequest d : detallesRequest) {
             Producto producto = productoService.obtenerProductoRealPorId(d.getProductoId());
-            costoGeneral += (producto.getCosto() != null) ? (d.getCantidad() * producto.getCosto()) : 0;
+            costoGeneral += Dinero.multiplicar(Dinero.centavos(producto.getCosto()), d.getCantidad());
 
             // Determinar precio según tipo de cliente (MAYORISTA O DETALLE)
             Double precioUnitario = calculoPrecioService.determinarPrecioUnitario(producto, tipoCliente);
+            long precio = Dinero.centavos(precioUnitario);
 
             // Lógica delegada de cálculo de descuentos unitario
-            double montoDescuentoUnitario = calculoPrecioService.calcularMontoDescuento(
-                    precioUnitario, d.getValorDescuentoUnitario(), d.getTipoDescuentoUnitario());
+            long montoDescuentoUnitario = calculoPrecioService.calcularDescuentoCentavos(
+                    precio, d.getValorDescuentoUnitario(), d.getTipoDescuentoUnitario());
 
-            calculoPrecioService.validarDescuento(montoDescuentoUnitario, precioUnitario,
+            calculoPrecioService.validarDescuentoCentavos(montoDescuentoUnitario, precio,
                     "El descuento no puede ser mayor al precio del producto.");
 
-            double precioFinalUnitario = precioUnitario - montoDescuentoUnitario;
-            double subtotal = precioFinalUnitario * d.getCantidad();
+            long subtotal = Dinero.multiplicar(precio - montoDescuentoUnitario, d.getCantidad());
 
             DetalleCotizacion detalle = DetalleCotizacion.builder()
                     .producto(producto)
@@ -248,14 +259,14 @@ public class CotizacionService {
                     .precioUnitario(precioUnitario)
                     .valorDescuentoUnitario(d.getValorDescuentoUnitario())
                     .tipoDescuentoUnitario(d.getTipoDescuentoUnitario())
-                    .subtotal(subtotal)
+                    .subtotal(Dinero.monto(subtotal))
                     .build();
 
             cotizacion.addDetalle(detalle); // Asocia el detalle con la cotización
             totalBruto += subtotal;
         }
 
-        cotizacion.setTotalBruto(totalBruto);
-        cotizacion.setCostoGeneral(costoGeneral);
+        cotizacion.setTotalBruto(Dinero.monto(totalBruto));
+        cotizacion.setCostoGeneral(Dinero.monto(costoGeneral));
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.model.EstadisticaCliente;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.repository.EstadisticaClienteRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio que mantiene las estadísticas de compra por cliente ({@link EstadisticaCliente}).
+ * - Se actualiza de forma incremental dentro de la transacción de creación/eliminación de ventas.
+ * - Se reconstruye completa cada noche (y bajo demanda) desde la tabla de ventas.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EstadisticaClienteService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticaClienteService.class);
+
+    private final EstadisticaClienteRepository estadisticaClienteRepository;
+
+    /**
+     * Suma una venta recién creada a las estadísticas de su cliente.
+     * Las ventas sin cliente no se registran.
+     * @param venta La venta ya persistida.
+     */
+    public void registrarCompra(Venta venta) {
+        if (venta.getCliente() == null) {
+            return;
+        }
+        estadisticaClienteRepository.registrarCompra(
+                venta.getCliente().getClienteId(), venta.getFecha(), totalVenta(venta));
+    }
+
+    /**
+     * Resta una venta de las estadísticas de su cliente (eliminación o cambio de cliente).
+     * Debe llamarse mientras la venta aún apunta al cliente original.
+     * @param venta La venta a descontar.
+     */
+    public void descontarCompra(Venta venta) {
+        if (venta.getCliente() == null) {
+            return;
+        }
+        estadisticaClienteRepository.descontarCompra(
+                venta.getCliente().getClienteId(), venta.getVentaId(), totalVenta(venta));
+    }
+
+    /**
+     * Recalcula las estadísticas de todos los clientes desde la tabla de ventas.
+     * Se ejecuta cada noche para corregir diferencias y sirve como carga inicial del histórico.
+     * Las ventas de clientes que se confirman mientras tanto esperan a que termine.
+     * @return Cantidad de clientes con estadísticas recalculadas.
+     */
+    @Scheduled(cron = "${app.clientes.estadisticas.cron:0 30 3 * * *}", zone = "America/Santiago")
+    public int reconstruir() {
+        estadisticaClienteRepository.bloquearParaReconstruir();
+        int actualizados = estadisticaClienteRepository.reconstruirDesdeVentas();
+        int eliminados = estadisticaClienteRepository.eliminarSinVentas();
+        log.info("Estadísticas de clientes reconstruidas: {} actualizadas, {} eliminadas", actualizados, eliminados);
+        return actualizados;
+    }
+
+    private double totalVenta(Venta venta) {
+        return venta.getTotalNeto() != null ? venta.getTotalNeto() : 0.0;
+    }
+}
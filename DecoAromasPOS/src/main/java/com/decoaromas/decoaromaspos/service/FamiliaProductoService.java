@@ -63,6 +63,7 @@ public class FamiliaProductoService {
 
         FamiliaProducto familiaProducto = FamiliaProducto.builder()
                 .nombre(cleanedNombre)
+                .stockMinimo(familiaRequest.getStockMinimo())
                 .isDeleted(Boolean.FALSE)
                 .build();
 
@@ -71,9 +72,9 @@ public class FamiliaProductoService {
     }
 
     /**
-     * Actualiza el nombre de una familia existente.
+     * Actualiza el nombre y el stock mínimo de una familia existente.
      * @param id             ID de la familia a actualizar.
-     * @param familiaRequest DTO con el nuevo nombre.
+     * @param familiaRequest DTO con el nuevo nombre y stock mínimo (opcional, null conserva el actual).
      * @return FamiliaResponse actualizada.
      * @throws ExistsRegisterException si el nuevo nombre ya está en uso por OTRA familia.
      */
@@ -86,6 +87,10 @@ public class FamiliaProductoService {
         }
 
         existente.setNombre(cleanedNombre);
+        // El formulario de edición no envía el umbral: sin valor se conserva el actual
+        if (familiaRequest.getStockMinimo() != null) {
+            existente.setStockMinimo(familiaRequest.getStockMinimo());
+        }
         familiaProductoRepository.save(existente);
         return familiaMapper.toResponse(existente);
     }
@@ -1,33 +1,53 @@
 package com.decoaromas.decoaromaspos.service;
 
+import com.decoaromas.decoaromaspos.dto.producto.ConteoStockItem;
+import com.decoaromas.decoaromaspos.dto.producto.ConteoStockResponse;
+import com.decoaromas.decoaromaspos.dto.producto.ErrorConteoStock;
+import com.decoaromas.decoaromaspos.dto.evento.StockEvento;
 import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
 import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
 import com.decoaromas.decoaromaspos.enums.TipoMovimiento;
 import com.decoaromas.decoaromaspos.exception.BusinessException;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
+import com.decoaromas.decoaromaspos.model.EventoOutbox;
 import com.decoaromas.decoaromaspos.model.MovimientoInventario;
 import com.decoaromas.decoaromaspos.model.Producto;
 import com.decoaromas.decoaromaspos.model.Usuario;
+import com.decoaromas.decoaromaspos.repository.InventarioLoteRepository;
 import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio experto en la gestión de inventario y stock.
  * Es el ÚNICO responsable de modificar el stock de un producto
  * y de registrar el {@link MovimientoInventario} correspondiente.
+ * Cada cambio de stock pasa por {@link AlertaStockService} para detectar cruces del stock mínimo
+ * y queda como evento STOCK_ACTUALIZADO en la bandeja de salida ({@link EventoOutboxService}).
+ * Cada llamada desde otro servicio queda como span y timer {@code decoaromas.inventario}.
  */
 @Service
+@Observed(name = "decoaromas.inventario")
 @RequiredArgsConstructor
 public class GestorInventarioService {
 
     private final ProductoRepository productoRepository;
     private final MovimientoInventarioService movimientoService;
     private final UsuarioService usuarioService;
+    private final InventarioLoteRepository inventarioLoteRepository;
+    private final AlertaStockService alertaStockService;
+    private final EventoOutboxService eventoOutboxService;
 
     /**
      * Valida si hay stock disponible para una lista de productos y cantidades.
@@ -69,6 +89,8 @@ public class GestorInventarioService {
                 TipoMovimiento.ENTRADA,
                 MotivoMovimiento.PRODUCCION
         );
+        eventoOutboxService.registrar(TipoAgregado.PRODUCTO, producto.getProductoId(), TipoEvento.STOCK_ACTUALIZADO,
+                new StockEvento(producto.getProductoId(), 0, cantidad, MotivoMovimiento.PRODUCCION));
     }
 
 
@@ -87,6 +109,7 @@ public class GestorInventarioService {
             throw new BusinessException("Stock insuficiente para " + producto.getNombre());
         }
         producto.setStock(stockAnterior - cantidad); // El producto se guarda por la transacción de VentaService
+        notificarCambioStock(producto, stockAnterior, stockAnterior - cantidad, MotivoMovimiento.VENTA);
 
         // Crea el movimiento para ser guardado después (por VentaService en batch)
         return MovimientoInventario.builder()
@@ -119,6 +142,7 @@ public class GestorInventarioService {
         }
 
         producto.setStock(nuevaCantidad);
+        notificarCambioStock(producto, stockAnterior, nuevaCantidad, MotivoMovimiento.CORRECCION);
 
         // Llamar al servicio de movimiento con las entidades resueltas
         movimientoService.crearMovimientoInventario(
@@ -134,6 +158,102 @@ public class GestorInventarioService {
     }
 
 
+    /**
+     * Aplica un conteo físico de inventario completo en una transacción: fija el stock de cada producto
+     * contado y registra un movimiento de CORRECCION por cada diferencia.
+     * Los productos se resuelven y bloquean con una consulta (por SKU y otra por código de barras), las
+     * diferencias se calculan en memoria y se aplican con un solo UPDATE y un solo batch de movimientos.
+     * Los ítems inválidos (producto inexistente, repetido o sin código) se informan y no se aplican;
+     * el resto del conteo sí.
+     * @param items     Cantidades contadas.
+     * @param usuarioId ID del usuario que realiza el conteo.
+     * @return Resumen del conteo aplicado.
+     */
+    @Transactional
+    public ConteoStockResponse aplicarConteo(List<ConteoStockItem> items, Long usuarioId) {
+        long inicio = System.currentTimeMillis();
+        Usuario usuario = usuarioService.obtenerUsuarioRealPorId(usuarioId);
+        ConteoStockResponse response = ConteoStockResponse.builder().itemsRecibidos(items.size()).build();
+
+        Set<String> skus = new HashSet<>();
+        Set<String> codigos = new HashSet<>();
+        items.forEach(i -> {
+            if (tieneTexto(i.getSku())) skus.add(i.getSku().trim());
+            else if (tieneTexto(i.getCodigoBarras())) codigos.add(i.getCodigoBarras().trim());
+        });
+        Map<String, Producto> porSku = skus.isEmpty() ? Map.of() : productoRepository.findBySkuInParaActualizar(skus)
+                .stream().collect(Collectors.toMap(Producto::getSku, Function.identity()));
+        Map<String, Producto> porCodigo = codigos.isEmpty() ? Map.of() : productoRepository.findByCodigoBarrasInParaActualizar(codigos)
+                .stream().collect(Collectors.toMap(Producto::getCodigoBarras, Function.identity()));
+
+        // Stock contado por ID de producto (en el orden del conteo)
+        Map<Long, Integer> contados = new LinkedHashMap<>();
+        Map<Long, Producto> productos = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            ConteoStockItem item = items.get(i);
+            String codigo = tieneTexto(item.getSku()) ? item.getSku().trim()
+                    : tieneTexto(item.getCodigoBarras()) ? item.getCodigoBarras().trim() : null;
+            Producto producto = codigo == null ? null
+                    : tieneTexto(item.getSku()) ? porSku.get(codigo) : porCodigo.get(codigo);
+            String error = null;
+            if (codigo == null) {
+                error = "Debe indicar el SKU o el código de barras.";
+            } else if (item.getCantidad() == null || item.getCantidad() < 0) {
+                error = "La cantidad contada debe ser 0 o mayor.";
+            } else if (producto == null) {
+                error = "No existe producto con código " + codigo;
+            } else if (contados.containsKey(producto.getProductoId())) {
+                error = "El producto " + producto.getNombre() + " aparece más de una vez en el conteo.";
+            }
+            if (error != null) {
+                response.getErrores().add(new ErrorConteoStock(i + 1, codigo, error));
+                continue;
+            }
+            contados.put(producto.getProductoId(), item.getCantidad());
+            productos.put(producto.getProductoId(), producto);
+        }
+
+        ZonedDateTime fecha = DateUtils.obtenerFechaHoraActual();
+        Map<Long, Integer> stockNuevo = new LinkedHashMap<>();
+        List<MovimientoInventario> movimientos = new ArrayList<>();
+        List<EventoOutbox> eventos = new ArrayList<>();
+        contados.forEach((productoId, cantidad) -> {
+            Producto producto = productos.get(productoId);
+            int stockAnterior = producto.getStock() != null ? producto.getStock() : 0;
+            int diferencia = cantidad - stockAnterior;
+            if (diferencia == 0) {
+                response.setProductosSinCambios(response.getProductosSinCambios() + 1);
+                return;
+            }
+            if (diferencia > 0) {
+                response.setUnidadesEntrada(response.getUnidadesEntrada() + diferencia);
+            } else {
+                response.setUnidadesSalida(response.getUnidadesSalida() - diferencia);
+            }
+            stockNuevo.put(productoId, cantidad);
+            alertaStockService.evaluar(producto, stockAnterior, cantidad);
+            eventos.add(eventoOutboxService.crear(TipoAgregado.PRODUCTO, productoId, TipoEvento.STOCK_ACTUALIZADO,
+                    new StockEvento(productoId, stockAnterior, cantidad, MotivoMovimiento.CORRECCION)));
+            movimientos.add(MovimientoInventario.builder()
+                    .fecha(fecha)
+                    .tipo(diferencia > 0 ? TipoMovimiento.ENTRADA : TipoMovimiento.SALIDA)
+                    .motivo(MotivoMovimiento.CORRECCION)
+                    .cantidad(Math.abs(diferencia))
+                    .producto(producto)
+                    .usuario(usuario)
+                    .build());
+        });
+
+        if (!stockNuevo.isEmpty()) {
+            response.setProductosActualizados(inventarioLoteRepository.actualizarStock(stockNuevo));
+            inventarioLoteRepository.insertarMovimientos(movimientos);
+            eventoOutboxService.registrarTodos(eventos);
+        }
+        response.setDuracionMs(System.currentTimeMillis() - inicio);
+        return response;
+    }
+
+
     /**
      * Registra un movimiento de stock manual (ENTRADA o SALIDA) por motivos
      * como VENTA, AJUSTE_VENTA, PRODUCCION, NUEVO_STOCK, CORRECCION.
@@ -157,6 +277,7 @@ public class GestorInventarioService {
 
         int nuevoStock = (tipo == TipoMovimiento.ENTRADA) ? stockActual + cantidad : stockActual - cantidad;
         producto.setStock(nuevoStock);
+        notificarCambioStock(producto, stockActual, nuevoStock, motivo);
 
         // Llamar al servicio de movimiento con las entidades resueltas
         movimientoService.crearMovimientoInventario(
@@ -181,6 +302,18 @@ public class GestorInventarioService {
 
 
     // --- HELPER INTERNO ---
+
+    // Alerta de stock mínimo y evento de dominio del cambio, en la transacción del cambio
+    private void notificarCambioStock(Producto producto, int stockAnterior, int stockNuevo, MotivoMovimiento motivo) {
+        alertaStockService.evaluar(producto, stockAnterior, stockNuevo);
+        eventoOutboxService.registrar(TipoAgregado.PRODUCTO, producto.getProductoId(), TipoEvento.STOCK_ACTUALIZADO,
+                new StockEvento(producto.getProductoId(), stockAnterior, stockNuevo, motivo));
+    }
+
+    private static boolean tieneTexto(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+
     /**
      * Helper privado para obtener la entidad Producto directamente desde el repositorio.
      * @param id El ID del producto.
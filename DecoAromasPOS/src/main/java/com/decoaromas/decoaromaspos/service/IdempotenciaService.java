@@ -0,0 +1,136 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.exception.IdempotenciaException;
+import com.decoaromas.decoaromaspos.model.SolicitudIdempotente;
+import com.decoaromas.decoaromaspos.repository.SolicitudIdempotenteRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Soporte del header Idempotency-Key en operaciones de escritura (ventas, caja, stock, cotizaciones).
+ * <p>
+ * La clave se reserva en la misma transacción que la operación: si la operación falla, la reserva se
+ * deshace y un reintento vuelve a ejecutarla; si termina bien, la respuesta queda guardada junto con el
+ * hash de la solicitud, y los reintentos con la misma clave reciben esa respuesta sin ejecutar nada.
+ * Un duplicado que llega mientras la primera solicitud sigue en curso espera a que ésta termine.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IdempotenciaService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+    private static final int LARGO_MAXIMO_CLAVE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaService.class);
+
+    private final SolicitudIdempotenteRepository solicitudRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotencia.ttl-horas:24}")
+    private long ttlHoras;
+
+    /**
+     * Ejecuta la operación una sola vez por clave.
+     * @param clave         Valor del header Idempotency-Key (sin clave, la operación se ejecuta normalmente).
+     * @param operacion     Método y ruta de la operación (ej.: "POST /api/ventas").
+     * @param solicitud     Cuerpo de la solicitud (puede ser null), para detectar una clave reutilizada con otros datos.
+     * @param tipoRespuesta Clase del cuerpo de la respuesta, para reconstruir la respuesta guardada.
+     * @param accion        Operación a ejecutar.
+     * @return La respuesta de la operación, o la guardada si la clave ya se usó.
+     * @throws IdempotenciaException si la clave ya se usó con otra operación u otros datos.
+     */
+    public <T> ResponseEntity<T> ejecutar(String clave, String operacion, Object solicitud,
+                                          Class<T> tipoRespuesta, Supplier<ResponseEntity<T>> accion) {
+        if (clave == null || clave.isBlank()) {
+            return accion.get();
+        }
+        if (clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw new IllegalArgumentException("El header " + HEADER + " no puede superar " + LARGO_MAXIMO_CLAVE + " caracteres.");
+        }
+
+        String hash = calcularHash(operacion, solicitud);
+        ZonedDateTime ahora = DateUtils.obtenerFechaHoraActual();
+        if (solicitudRepository.reservar(clave, operacion, hash, ahora, ahora.plusHours(ttlHoras)) == 0) {
+            return repetirRespuesta(clave, operacion, hash, tipoRespuesta);
+        }
+
+        ResponseEntity<T> respuesta = accion.get();
+        solicitudRepository.guardarRespuesta(clave, respuesta.getStatusCode().value(), serializar(respuesta.getBody()));
+        return respuesta;
+    }
+
+    /**
+     * Elimina las claves vencidas (por defecto cada hora).
+     */
+    @Scheduled(cron = "${app.idempotencia.limpieza.cron:0 15 * * * *}", zone = "America/Santiago")
+    public void eliminarVencidas() {
+        int eliminadas = solicitudRepository.eliminarVencidas(DateUtils.obtenerFechaHoraActual());
+        if (eliminadas > 0) {
+            log.info("Claves de idempotencia vencidas eliminadas: {}", eliminadas);
+        }
+    }
+
+    private <T> ResponseEntity<T> repetirRespuesta(String clave, String operacion, String hash, Class<T> tipoRespuesta) {
+        SolicitudIdempotente guardada = solicitudRepository.findById(clave).orElseThrow(() ->
+                new IdempotenciaException("La clave " + clave + " venció mientras se procesaba. Reintente la solicitud."));
+
+        if (!guardada.getOperacion().equals(operacion) || !guardada.getHashSolicitud().equals(hash)) {
+            throw new IdempotenciaException("El " + HEADER + " " + clave + " ya se usó con otra solicitud.");
+        }
+        if (guardada.getCodigoHttp() == null) {
+            throw new IdempotenciaException("La solicitud con clave " + clave + " sigue en proceso.");
+        }
+
+        T cuerpo = deserializar(guardada.getRespuesta(), tipoRespuesta);
+        return ResponseEntity.status(guardada.getCodigoHttp())
+                .header(HEADER_REPETIDA, "true")
+                .body(cuerpo);
+    }
+
+    private String calcularHash(String operacion, Object solicitud) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operacion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(serializar(solicitud).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private String serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("No se pudo serializar la solicitud idempotente: " + e.getOriginalMessage());
+        }
+    }
+
+    private <T> T deserializar(String json, Class<T> tipo) {
+        try {
+            return objectMapper.readValue(json, tipo);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("No se pudo leer la respuesta guardada: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.model.DetalleVenta;
+import com.decoaromas.decoaromaspos.model.Venta;
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Métricas y trazas del cobro. Las fases de {@link VentaService#crearVenta} son observaciones de Micrometer:
+ * cada una es un span de OpenTelemetry (hijo del span del cobro, con los spans JDBC e inventario adentro) y
+ * un timer en {@code /actuator/prometheus}.
+ * <ul>
+ *   <li>{@code decoaromas.ventas.cobro}: la venta completa; el span lleva {@code venta.lineas},
+ *       {@code venta.pagos} y {@code venta.id} para relacionar un ticket lento con su forma.</li>
+ *   <li>{@code decoaromas.ventas.creacion} (tag {@code fase}): cada fase del cobro.</li>
+ *   <li>{@code decoaromas.ventas.creadas}, {@code decoaromas.ventas.items} y {@code decoaromas.ventas.monto}
+ *       (contadores): ventas, unidades vendidas y total neto; por minuto con {@code rate(...[1m]) * 60}.</li>
+ * </ul>
+ */
+@Service
+public class MetricasVentaService {
+
+    static final String OBSERVACION_COBRO = "decoaromas.ventas.cobro";
+    static final String OBSERVACION_FASE = "decoaromas.ventas.creacion";
+    static final String CONTADOR_VENTAS = "decoaromas.ventas.creadas";
+    static final String CONTADOR_ITEMS = "decoaromas.ventas.items";
+    static final String CONTADOR_MONTO = "decoaromas.ventas.monto";
+
+    /** Fases de la creación de una venta, en orden. */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Fase {
+        VALIDACION("validacion"),     // caja abierta, stock, usuario y cliente
+        DETALLES("detalles"),         // precios, descuentos, salida de stock y totales
+        PAGO("pago"),
+        GUARDADO("guardado"),         // ventaRepository.save (cabecera, detalles y pagos)
+        MOVIMIENTOS("movimientos"),   // movimientos de inventario
+        REGISTROS("registros"),       // resumen horario, estadísticas del cliente y evento
+        COTIZACION("cotizacion");
+
+        private final String tag;
+    }
+
+    private final ObservationRegistry observationRegistry;
+    private final Counter ventas;
+    private final Counter items;
+    private final Counter monto;
+
+    public MetricasVentaService(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.ventas = Counter.builder(CONTADOR_VENTAS)
+                .description("Ventas creadas")
+                .register(meterRegistry);
+        this.items = Counter.builder(CONTADOR_ITEMS)
+                .description("Unidades vendidas")
+                .baseUnit("unidades")
+                .register(meterRegistry);
+        this.monto = Counter.builder(CONTADOR_MONTO)
+                .description("Total neto vendido")
+                .baseUnit("pesos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre la observación del cobro de una venta. Quien la abre debe llamar a {@link Seguimiento#terminar()}
+     * en un finally, y a {@link Seguimiento#error(Throwable)} si el cobro falla.
+     * @param request Venta a cobrar (se usan solo la cantidad de líneas y de pagos).
+     */
+    public Seguimiento iniciarVenta(VentaRequest request) {
+        Observation cobro = Observation.createNotStarted(OBSERVACION_COBRO, observationRegistry)
+                .contextualName("cobro venta")
+                .lowCardinalityKeyValue("tipo.cliente", String.valueOf(request.getTipoCliente()))
+                .highCardinalityKeyValue("venta.lineas", String.valueOf(tamanio(request.getDetalles())))
+                .highCardinalityKeyValue("venta.pagos", String.valueOf(tamanio(request.getPagos())))
+                .start();
+        return new Seguimiento(cobro);
+    }
+
+    /**
+     * Cobro en curso: la observación de la venta y la de la fase actual, cada una con su scope abierto en el
+     * hilo para que los spans de JDBC y de inventario queden como hijos. No es seguro entre hilos.
+     */
+    public final class Seguimiento {
+
+        private final Observation cobro;
+        private final Observation.Scope scopeCobro;
+        private Observation fase;
+        private Observation.Scope scopeFase;
+
+        private Seguimiento(Observation cobro) {
+            this.cobro = cobro;
+            this.scopeCobro = cobro.openScope();
+        }
+
+        /** Termina la fase actual (si hay) y comienza la indicada. */
+        public void fase(Fase siguiente) {
+            terminarFase();
+            fase = Observation.createNotStarted(OBSERVACION_FASE, observationRegistry)
+                    .contextualName("venta " + siguiente.getTag())
+                    .lowCardinalityKeyValue(KeyValue.of("fase", siguiente.getTag()))
+                    .parentObservation(cobro)
+                    .start();
+            scopeFase = fase.openScope();
+        }
+
+        /** Registra la venta guardada: su ID en el span y los contadores de ventas, unidades y monto. */
+        public void ventaCreada(Venta venta) {
+            cobro.highCardinalityKeyValue("venta.id", String.valueOf(venta.getVentaId()));
+            ventas.increment();
+            items.increment(venta.getDetalles().stream().mapToInt(DetalleVenta::getCantidad).sum());
+            if (venta.getTotalNeto() != null) {
+                monto.increment(venta.getTotalNeto());
+            }
+        }
+
+        /** Marca con error la fase actual y el cobro. */
+        public void error(Throwable error) {
+            if (fase != null) {
+                fase.error(error);
+            }
+            cobro.error(error);
+        }
+
+        /** Cierra la fase actual y el cobro. */
+        public void terminar() {
+            terminarFase();
+            scopeCobro.close();
+            cobro.stop();
+        }
+
+        private void terminarFase() {
+            if (fase != null) {
+                scopeFase.close();
+                fase.stop();
+                fase = null;
+            }
+        }
+    }
+
+    private static int tamanio(List<?> lista) {
+        return lista != null ? lista.size() : 0;
+    }
+}
@@ -2,7 +2,9 @@ package com.decoaromas.decoaromaspos.service;
 
 import com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoFilterDTO;
 import com.decoaromas.decoaromaspos.dto.movimiento_inventario.MovimientoInventarioResponse;
+import com.decoaromas.decoaromaspos.dto.other.CursorMapper;
 import com.decoaromas.decoaromaspos.dto.other.PaginacionMapper;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
 import com.decoaromas.decoaromaspos.enums.TipoMovimiento;
@@ -12,6 +14,7 @@ import com.decoaromas.decoaromaspos.model.MovimientoInventario;
 import com.decoaromas.decoaromaspos.model.Producto;
 import com.decoaromas.decoaromaspos.model.Usuario;
 import com.decoaromas.decoaromaspos.repository.MovimientoInventarioRepository;
+import com.decoaromas.decoaromaspos.utils.CursorUtils;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
 import com.decoaromas.decoaromaspos.utils.MovimientoSpecification;
 import lombok.RequiredArgsConstructor;
@@ -41,12 +44,17 @@ public class MovimientoInventarioService {
     private final MovimientoInventarioMapper movMapper;
 
     /**
-     * Obtiene una lista de todos los movimientos de inventario.
-     * @return Lista de MovimientoInventarioResponse.
+     * Obtiene los movimientos de inventario con paginación keyset (más recientes primero).
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de MovimientoInventarioResponse.
      */
     @Transactional(readOnly = true)
-    public List<MovimientoInventarioResponse> listarMovimientos() {
-        return mapToList(movRepository.findAll());
+    public CursorResponse<MovimientoInventarioResponse> listarMovimientos(String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        return mapToCursor(movRepository.findResumenAntesDe(
+                desde.fecha(), desde.id(), CursorUtils.limiteConSiguiente(tamanio)), tamanio);
     }
 
     /**
@@ -94,6 +102,39 @@ public class MovimientoInventarioService {
     }
 
 
+    /**
+     * Versión keyset de {@link #getMovimientosFiltrados}: mismas especificaciones de filtro, pero cada página
+     * busca desde la posición (fecha, id) del cursor en lugar de usar OFFSET, y el total del filtro
+     * se calcula solo en la primera página (las siguientes no repiten el COUNT).
+     * @param cursor      Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size        Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @param fechaInicio Fecha de inicio del rango (opcional).
+     * @param fechaFin    Fecha de fin del rango (opcional).
+     * @param dto         DTO para filtros de movimientos.
+     * @return CursorResponse con los movimientos filtrados (más recientes primero).
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<MovimientoInventarioResponse> getMovimientosFiltradosCursor(
+            String cursor, Integer size,
+            LocalDate fechaInicio, LocalDate fechaFin, MovimientoFilterDTO dto) {
+
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+
+        Specification<MovimientoInventario> filtros = MovimientoSpecification.conFiltros(
+                DateUtils.obtenerInicioDiaSegunFecha(fechaInicio), DateUtils.obtenerFinDiaSegunFecha(fechaFin), dto);
+        Specification<MovimientoInventario> pagina = filtros.and(MovimientoSpecification.antesDe(desde.fecha(), desde.id()));
+
+        List<MovimientoInventario> movimientos = movRepository.findBy(pagina, q -> q
+                .sortBy(CursorUtils.ordenDescendente("fecha", "movimientoId"))
+                .limit(tamanio + 1)
+                .all());
+        Long total = CursorUtils.esPrimeraPagina(cursor) ? movRepository.count(filtros) : null;
+
+        return CursorMapper.mapToResponse(mapToList(movimientos), tamanio,
+                m -> CursorUtils.codificar(m.getFecha(), m.getMovimientoId()), total);
+    }
+
     /**
      * Obtiene todos los movimientos ocurridos en una fecha específica.
      * @param fecha La fecha a consultar.
@@ -108,33 +149,48 @@ public class MovimientoInventarioService {
     }
 
     /**
-     * Obtiene todos los movimientos de un producto específico.
+     * Obtiene los movimientos de un producto específico (paginación keyset, más recientes primero).
      * @param id Id del producto.
-     * @return Lista de MovimientoInventarioResponse.
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de MovimientoInventarioResponse.
      */
     @Transactional(readOnly = true)
-    public List<MovimientoInventarioResponse> obtenerMovimientosPorProductoId(Long id) {
-        return mapToList(movRepository.findByProducto_ProductoId(id));
+    public CursorResponse<MovimientoInventarioResponse> obtenerMovimientosPorProductoId(Long id, String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        return mapToCursor(movRepository.findResumenPorProductoAntesDe(
+                id, desde.fecha(), desde.id(), CursorUtils.limiteConSiguiente(tamanio)), tamanio);
     }
 
     /**
-     * Obtiene todos los movimientos con un motivo específico.
+     * Obtiene los movimientos con un motivo específico (paginación keyset, más recientes primero).
      * @param motivo El motivo (VENTA, CORRECCION, etc.).
-     * @return Lista de MovimientoInventarioResponse.
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de MovimientoInventarioResponse.
      */
     @Transactional(readOnly = true)
-    public List<MovimientoInventarioResponse> obtenerMovimientosPorMotivo(MotivoMovimiento motivo) {
-        return mapToList(movRepository.findByMotivo(motivo));
+    public CursorResponse<MovimientoInventarioResponse> obtenerMovimientosPorMotivo(MotivoMovimiento motivo, String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        return mapToCursor(movRepository.findResumenPorMotivoAntesDe(
+                motivo, desde.fecha(), desde.id(), CursorUtils.limiteConSiguiente(tamanio)), tamanio);
     }
 
     /**
-     * Obtiene todos los movimientos realizados por un usuario específico.
+     * Obtiene los movimientos realizados por un usuario específico (paginación keyset, más recientes primero).
      * @param idUsuario ID del usuario.
-     * @return Lista de MovimientoInventarioResponse.
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de MovimientoInventarioResponse.
      */
     @Transactional(readOnly = true)
-    public List<MovimientoInventarioResponse> obtenerMovimientosPorIdUsuario(Long idUsuario) {
-        return mapToList(movRepository.findByUsuario_UsuarioId(idUsuario));
+    public CursorResponse<MovimientoInventarioResponse> obtenerMovimientosPorIdUsuario(Long idUsuario, String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        return mapToCursor(movRepository.findResumenPorUsuarioAntesDe(
+                idUsuario, desde.fecha(), desde.id(), CursorUtils.limiteConSiguiente(tamanio)), tamanio);
     }
 
     /**
@@ -207,4 +263,8 @@ public class MovimientoInventarioService {
                 .map(movMapper::toResponse)
                 .toList();
     }
+
+    private CursorResponse<MovimientoInventarioResponse> mapToCursor(List<MovimientoInventarioResponse> filas, int size) {
+        return CursorMapper.mapToResponse(filas, size, m -> CursorUtils.codificar(m.getFecha(), m.getMovimientoId()));
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
 import com.decoaromas.decoaromaspos.enums.MedioPago;
 import com.decoaromas.decoaromaspos.exception.BusinessException;
 import com.decoaromas.decoaromaspos.model.PagoVenta;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -13,11 +14,10 @@ import java.util.List;
 @Service
 public class PagoService {
 
-    private static final double TOLERANCIA_DECIMAL = 0.01;
-
     /**
      * Procesa y valida la lista de pagos de un request contra el total neto.
      * Devuelve las entidades PagoVenta listas y el vuelto calculado.
+     * Los montos se suman en centavos ({@link Dinero}), sin tolerancias de punto flotante.
      */
     public DatosPagoProcesado procesarPagos(List<PagoRequest> pagosRequest, double totalNeto) {
         // Validación: lista de pagos no vacía.
@@ -25,37 +25,38 @@ public class PagoService {
             throw new BusinessException("Debe proporcionar al menos un método de pago.");
         }
 
-        double totalPagadoEfectivo = 0.0;
-        double totalPagadoOtrosMedios = 0.0;
+        long totalNetoCentavos = Dinero.centavos(totalNeto);
+        long totalPagadoEfectivo = 0;
+        long totalPagadoOtrosMedios = 0;
 
         // Clasificar y sumar los pagos recibidos según efectivo u otros
         for (PagoRequest pagoDto : pagosRequest) {
             if (pagoDto.getMedioPago() == MedioPago.EFECTIVO) {
-                totalPagadoEfectivo += pagoDto.getMonto();
+                totalPagadoEfectivo += Dinero.centavos(pagoDto.getMonto());
             } else {
-                totalPagadoOtrosMedios += pagoDto.getMonto();
+                totalPagadoOtrosMedios += Dinero.centavos(pagoDto.getMonto());
             }
         }
 
         // Validar que el pago total sea suficiente para cubrir la venta.
-        double totalPagado = totalPagadoEfectivo + totalPagadoOtrosMedios;
-        if (totalPagado < totalNeto - TOLERANCIA_DECIMAL) {
-            throw new BusinessException("Pago insuficiente. Monto pagado (" + totalPagado + ") es menor que el total (" + totalNeto + ").");
+        long totalPagado = totalPagadoEfectivo + totalPagadoOtrosMedios;
+        if (totalPagado < totalNetoCentavos) {
+            throw new BusinessException("Pago insuficiente. Monto pagado (" + Dinero.formatear(totalPagado)
+                    + ") es menor que el total (" + Dinero.formatear(totalNetoCentavos) + ").");
         }
 
         // Calcular el vuelto correctamente
-        double vuelto = Math.max(0, totalPagado - totalNeto); // Asegura que el vuelto no sea negativo
-
+        long vuelto = totalPagado - totalNetoCentavos;
 
         /*
           Verificamos si el vuelto calculado es MAYOR que el efectivo recibido.
           Si lo es, significa que el "vuelto" proviene de un pago electrónico,
           lo cual no es posible. En ese caso, el vuelto real es $0.
           Ej.: Total: 29351.52, Efectivo: 0, Transferencia: 29352, Vuelto calculado: 0.48
-            (0.48 > 0 + 0.01) -> Verdadero. -> no hay vuelto real
+            (0.48 > 0) -> Verdadero. -> no hay vuelto real
          */
-        if (vuelto > totalPagadoEfectivo + TOLERANCIA_DECIMAL) {
-            vuelto = 0.0;
+        if (vuelto > totalPagadoEfectivo) {
+            vuelto = 0;
         }
 
         // Crear las entidades PagoVenta y asociarlas a la Venta.
@@ -68,6 +69,6 @@ public class PagoService {
                         .build());
         }
 
-        return new DatosPagoProcesado(pagosEntidad, vuelto);
+        return new DatosPagoProcesado(pagosEntidad, Dinero.monto(vuelto));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Mantiene las particiones mensuales de movimiento_inventario (ver db/migration/V4__movimiento_particionado.sql):
+ * crea por adelantado las de los próximos {@code app.inventario.particiones.meses-adelante} meses, para que
+ * ningún movimiento caiga en la partición DEFAULT. Si la tabla no está particionada (base sin migrar), no hace nada.
+ */
+@Service
+@RequiredArgsConstructor
+public class ParticionMovimientoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticionMovimientoService.class);
+    private static final DateTimeFormatter SUFIJO = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.inventario.particiones.meses-adelante:3}")
+    private int mesesAdelante;
+
+    /**
+     * Crea (si no existen) las particiones del mes actual y de los meses siguientes.
+     */
+    @Scheduled(cron = "${app.inventario.particiones.cron:0 0 1 * * *}", zone = "America/Santiago")
+    public void crearParticionesFuturas() {
+        if (!esParticionada()) {
+            log.debug("movimiento_inventario no está particionada, no se crean particiones");
+            return;
+        }
+        YearMonth actual = YearMonth.now(DateUtils.ZONE_ID_SANTIAGO);
+        for (int i = 0; i <= mesesAdelante; i++) {
+            crearParticion(actual.plusMonths(i));
+        }
+    }
+
+    private boolean esParticionada() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                            "WHERE c.relname = 'movimiento_inventario')", Boolean.class));
+        } catch (DataAccessException e) {
+            log.debug("No se pudo consultar el particionado de movimiento_inventario: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Rango [inicio del mes, inicio del mes siguiente) en hora de Santiago
+    private void crearParticion(YearMonth mes) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS movimiento_inventario_%s PARTITION OF movimiento_inventario " +
+                        "FOR VALUES FROM ('%s') TO ('%s')",
+                mes.format(SUFIJO),
+                mes.atDay(1).atStartOfDay(DateUtils.ZONE_ID_SANTIAGO).toOffsetDateTime(),
+                mes.plusMonths(1).atDay(1).atStartOfDay(DateUtils.ZONE_ID_SANTIAGO).toOffsetDateTime()));
+    }
+}
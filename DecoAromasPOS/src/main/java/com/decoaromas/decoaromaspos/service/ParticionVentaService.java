@@ -0,0 +1,154 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene las particiones mensuales de venta, detalle_venta y pago_venta (ver
+ * db/migration/V6__ventas_particionadas.sql):
+ * <ul>
+ *     <li>Crea por adelantado las de los próximos {@code app.ventas.particiones.meses-adelante} meses, para que
+ *     ninguna venta caiga en la partición DEFAULT.</li>
+ *     <li>Crea las de meses pasados que aún no existen cuando llegan ventas con esas fechas (importación,
+ *     datos de carga), ver {@link #crearParticiones}.</li>
+ * </ul>
+ * Los años antiguos se sacan de las tablas con
+ * {@link com.decoaromas.decoaromaspos.service.archivo.ArchivoVentasService}, que conserva sus resúmenes y
+ * estadísticas de clientes. Si la tabla venta no está particionada (base sin migrar), no hace nada.
+ */
+@Service
+@RequiredArgsConstructor
+public class ParticionVentaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticionVentaService.class);
+    private static final DateTimeFormatter SUFIJO = DateTimeFormatter.ofPattern("yyyy_MM");
+    // Las hijas se sacan de DEFAULT antes que venta: su FK impide borrar una venta con detalles o pagos
+    private static final List<String> TABLAS = List.of("detalle_venta", "pago_venta", "venta");
+    // Al crear (y llenar) las particiones de un mes, venta va primero por la misma razón
+    private static final List<String> TABLAS_CREACION = List.of("venta", "detalle_venta", "pago_venta");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.ventas.particiones.meses-adelante:3}")
+    private int mesesAdelante;
+
+    /**
+     * Crea (si no existen) las particiones del mes actual y de los meses siguientes.
+     */
+    @Scheduled(cron = "${app.ventas.particiones.cron:0 5 1 * * *}", zone = "America/Santiago")
+    public void mantenerParticiones() {
+        if (!esParticionada()) {
+            log.debug("venta no está particionada, no se mantienen particiones");
+            return;
+        }
+        YearMonth actual = YearMonth.now(DateUtils.ZONE_ID_SANTIAGO);
+        crearMeses(actual, actual.plusMonths(mesesAdelante));
+    }
+
+    /**
+     * Crea (si no existen) las particiones de los meses entre {@code desde} y {@code hasta}, ambos incluidos.
+     * La migración y {@link #mantenerParticiones} solo cubren desde la primera venta en adelante: quien inserta
+     * ventas con fecha pasada debe llamarlo antes, o esas ventas quedan en la partición DEFAULT. Las ventas de un
+     * mes que ya estaban en DEFAULT se mueven a la partición nueva.
+     */
+    public void crearParticiones(YearMonth desde, YearMonth hasta) {
+        if (esParticionada()) {
+            crearMeses(desde, hasta);
+        }
+    }
+
+    private void crearMeses(YearMonth desde, YearMonth hasta) {
+        for (YearMonth mes = desde; !mes.isAfter(hasta); mes = mes.plusMonths(1)) {
+            crearMes(mes);
+        }
+    }
+
+    private void crearMes(YearMonth mes) {
+        String sufijo = mes.format(SUFIJO);
+        if (TABLAS.stream().allMatch(tabla -> existe(tabla + "_" + sufijo))) {
+            return;
+        }
+        if (!hayFilasEnDefault(mes)) {
+            TABLAS_CREACION.forEach(tabla -> crearParticion(tabla, mes));
+            return;
+        }
+        // Postgres no crea la partición mientras DEFAULT tenga filas de su rango: se sacan, se crea y se
+        // vuelven a insertar (ahora en la partición), todo en una transacción
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integer movidas = transaccion.execute(status -> {
+            int ventas = 0;
+            for (String tabla : TABLAS) {
+                jdbcTemplate.execute(String.format("CREATE TEMP TABLE %s_mover ON COMMIT DROP AS " +
+                        "SELECT * FROM %s_default WHERE %s", tabla, tabla, rango(tabla, mes)));
+                int filas = jdbcTemplate.update(String.format("DELETE FROM %s_default WHERE %s", tabla, rango(tabla, mes)));
+                if (tabla.equals("venta")) {
+                    ventas = filas;
+                }
+            }
+            for (String tabla : TABLAS_CREACION) {
+                crearParticion(tabla, mes);
+                jdbcTemplate.execute(String.format("INSERT INTO %s SELECT * FROM %s_mover", tabla, tabla));
+            }
+            return ventas;
+        });
+        log.info("Partición de ventas {} creada; {} ventas movidas desde la partición DEFAULT", mes, movidas);
+    }
+
+    private boolean existe(String particion) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL",
+                Boolean.class, particion));
+    }
+
+    private boolean hayFilasEnDefault(YearMonth mes) {
+        String sql = TABLAS.stream()
+                .map(tabla -> String.format("EXISTS (SELECT 1 FROM %s_default WHERE %s)", tabla, rango(tabla, mes)))
+                .collect(Collectors.joining(" OR ", "SELECT ", ""));
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class));
+    }
+
+    private boolean esParticionada() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                            "WHERE c.relname = 'venta')", Boolean.class));
+        } catch (DataAccessException e) {
+            log.debug("No se pudo consultar el particionado de venta: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Rango [inicio del mes, inicio del mes siguiente) en hora de Santiago
+    private void crearParticion(String tabla, YearMonth mes) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s_%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                tabla, mes.format(SUFIJO), tabla, inicio(mes), inicio(mes.plusMonths(1))));
+    }
+
+    // El mismo rango como condición sobre la clave de partición de la tabla
+    private static String rango(String tabla, YearMonth mes) {
+        String columna = tabla.equals("venta") ? "fecha" : "fecha_venta";
+        return String.format("%s >= '%s' AND %s < '%s'", columna, inicio(mes), columna, inicio(mes.plusMonths(1)));
+    }
+
+    private static OffsetDateTime inicio(YearMonth mes) {
+        return mes.atDay(1).atStartOfDay(DateUtils.ZONE_ID_SANTIAGO).toOffsetDateTime();
+    }
+}
@@ -1,5 +1,6 @@
 package com.decoaromas.decoaromaspos.service;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -41,6 +42,7 @@ public class PrinterService {
     private static final int PRINTER_DOTS_WIDTH = 384;        // ancho en px (ej. 384)
     private static final int LOGO_MAX_HEIGHT = 80;           // altura máxima del logo en px (ajustable)
 
+    @Observed(name = "decoaromas.impresion", contextualName = "imprimir recibo")
     public void printReceipt(int port, List<String> lines) throws IOException {
         String ip = configuracionService.getIpImpresora(null);
         try (Socket socket = new Socket()) {
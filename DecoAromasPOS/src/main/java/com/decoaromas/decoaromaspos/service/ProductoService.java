@@ -12,6 +12,7 @@ import com.decoaromas.decoaromaspos.model.Aroma;
 import com.decoaromas.decoaromaspos.model.FamiliaProducto;
 import com.decoaromas.decoaromaspos.model.Producto;
 import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.service.importacion.LectorConteoStock;
 import com.decoaromas.decoaromaspos.utils.ProductoSpecification;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -40,6 +42,7 @@ public class ProductoService {
     private final FamiliaProductoService familiaService;
     private final AromaService aromaService;
     private final GestorInventarioService gestorInventarioService;
+    private final LectorConteoStock lectorConteoStock;
     private final BarcodeService barcodeService;
     // --- Mappers ---
     private final ProductoMapper productoMapper;
@@ -198,6 +201,7 @@ public class ProductoService {
                 .precioMayorista(request.getPrecioMayorista())
                 .precioDetalle(request.getPrecioDetalle())
                 .stock(request.getStock())
+                .stockMinimo(request.getStockMinimo())
                 .costo(request.getCosto())
                 .familia(familia)
                 .aroma(aroma)
@@ -278,6 +282,10 @@ public class ProductoService {
         existente.setPrecioDetalle(request.getPrecioDetalle());
         existente.setPrecioMayorista(request.getPrecioMayorista());
         existente.setCosto(request.getCosto());
+        // El formulario de edición no envía el umbral: sin valor se conserva el actual
+        if (request.getStockMinimo() != null) {
+            existente.setStockMinimo(request.getStockMinimo());
+        }
         existente.setFamilia(familia);
         existente.setAroma(aroma);
 
@@ -331,6 +339,26 @@ public class ProductoService {
         return productoMapper.toResponse(productoActualizado);
     }
 
+    /**
+     * Aplica un conteo físico de inventario de muchos productos en una sola operación.
+     * Delega a GestorInventarioService, que fija el stock y crea los movimientos de 'CORRECCION'.
+     * @param request DTO con las cantidades contadas y el usuario que realiza el conteo.
+     * @return ConteoStockResponse con el resumen y los ítems no aplicados.
+     */
+    public ConteoStockResponse aplicarConteoStock(ConteoStockRequest request) {
+        return gestorInventarioService.aplicarConteo(request.getItems(), request.getUsuarioId());
+    }
+
+    /**
+     * Lee un conteo de inventario desde un CSV (sku, codigo_barras, cantidad).
+     * @param archivo   Contenido del CSV.
+     * @param usuarioId ID del usuario que realiza el conteo.
+     * @return ConteoStockRequest listo para {@link #aplicarConteoStock}.
+     */
+    public ConteoStockRequest leerConteoStock(InputStream archivo, Long usuarioId) {
+        return new ConteoStockRequest(usuarioId, lectorConteoStock.leer(archivo));
+    }
+
     /**
      * Registra un movimiento de stock manual (ENTRADA o SALIDA) para un producto.
      * Delega a GestorInventarioService para validar, actualizar el stock y crear el movimiento.
@@ -0,0 +1,221 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.CantidadPorProductoDTO;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.DescuadreStockDTO;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.ReporteDescuadreStockResponse;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO;
+import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
+import com.decoaromas.decoaromaspos.model.Producto;
+import com.decoaromas.decoaromaspos.repository.MovimientoInventarioRepository;
+import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.repository.SnapshotStockRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Stock histórico y reconciliación del stock contra el libro de movimientos.
+ * <p>
+ * El stock de cada producto a una fecha se obtiene del último snapshot ({@link SnapshotStockService}) más los
+ * movimientos posteriores. Para el catálogo completo, los productos se dividen en bloques de IDs consecutivos
+ * que se calculan en paralelo ({@code app.inventario.reconciliacion.hilos}); cada bloque lee con tres consultas
+ * agregadas (productos, snapshots y movimientos) dentro de una transacción REPEATABLE READ, así el contador de
+ * Producto.stock y el libro se comparan sobre la misma foto de la base aunque haya ventas en curso.
+ * <p>
+ * El libro es la fuente de verdad: la reparación lleva Producto.stock al valor del libro. Para ajustar el stock
+ * a un conteo físico se usa la corrección de stock, que deja su propio movimiento.
+ * <p>
+ * Este servicio no es transaccional a propósito: cada bloque abre su propia transacción en su hilo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReconciliacionStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacionStockService.class);
+
+    private final ProductoRepository productoRepository;
+    private final SnapshotStockRepository snapshotStockRepository;
+    private final MovimientoInventarioRepository movimientoInventarioRepository;
+    private final SnapshotStockService snapshotStockService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.inventario.reconciliacion.hilos:4}")
+    private int hilos;
+
+    @Value("${app.inventario.reconciliacion.tamanio-bloque:1000}")
+    private int tamanioBloque;
+
+    @Value("${app.inventario.reconciliacion.reparar:false}")
+    private boolean repararAutomaticamente;
+
+    // Stock de un producto según su contador y según el libro
+    private record StockCalculado(StockProductoDTO producto, int stockLibro) {}
+
+    /**
+     * Stock de un producto en un instante, calculado desde el libro.
+     * @param productoId ID del producto.
+     * @param fecha      Instante a consultar.
+     * @return Stock del producto según el libro de movimientos.
+     * @throws ResourceNotFoundException si el producto no existe.
+     */
+    public StockProductoDTO stockEnFecha(Long productoId, ZonedDateTime fecha) {
+        Producto producto = productoRepository.findById(productoId)
+                .orElseThrow(() -> new ResourceNotFoundException("No existe producto con id " + productoId));
+        return new StockProductoDTO(producto.getProductoId(), producto.getSku(), producto.getNombre(),
+                snapshotStockService.stockEnFecha(productoId, fecha));
+    }
+
+    /**
+     * Stock de todos los productos en un instante, calculado desde el libro.
+     * @param fecha Instante a consultar.
+     * @return Stock de cada producto, ordenado por ID.
+     */
+    public List<StockProductoDTO> stockEnFecha(ZonedDateTime fecha) {
+        return calcularPorBloques(fecha).stream()
+                .map(s -> new StockProductoDTO(s.producto().getProductoId(), s.producto().getSku(),
+                        s.producto().getNombre(), s.stockLibro()))
+                .toList();
+    }
+
+    /**
+     * Compara Producto.stock con el libro de movimientos para todos los productos.
+     * @return Reporte con los productos descuadrados.
+     */
+    public ReporteDescuadreStockResponse reporteDescuadres() {
+        long inicio = System.currentTimeMillis();
+        ZonedDateTime ahora = DateUtils.obtenerFechaHoraActual();
+        List<StockCalculado> stocks = calcularPorBloques(ahora);
+
+        List<DescuadreStockDTO> descuadres = stocks.stream()
+                .filter(s -> stockProducto(s) != s.stockLibro())
+                .map(s -> DescuadreStockDTO.builder()
+                        .productoId(s.producto().getProductoId())
+                        .sku(s.producto().getSku())
+                        .nombre(s.producto().getNombre())
+                        .stockProducto(stockProducto(s))
+                        .stockLibro(s.stockLibro())
+                        .diferencia(stockProducto(s) - s.stockLibro())
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        return ReporteDescuadreStockResponse.builder()
+                .fecha(ahora)
+                .productosRevisados(stocks.size())
+                .productosConDescuadre(descuadres.size())
+                .duracionMs(System.currentTimeMillis() - inicio)
+                .descuadres(descuadres)
+                .build();
+    }
+
+    /**
+     * Genera el reporte de descuadres y corrige Producto.stock al valor del libro. Un producto cuyo stock
+     * cambió entre la lectura y la corrección (venta concurrente) no se modifica y queda para la próxima ejecución.
+     * @return Reporte con los descuadres encontrados y la cantidad de productos corregidos.
+     */
+    public ReporteDescuadreStockResponse repararDescuadres() {
+        ReporteDescuadreStockResponse reporte = reporteDescuadres();
+        if (reporte.getDescuadres().isEmpty()) {
+            return reporte;
+        }
+        Integer reparados = new TransactionTemplate(transactionManager).execute(status -> {
+            int total = 0;
+            for (DescuadreStockDTO d : reporte.getDescuadres()) {
+                if (productoRepository.corregirStock(d.getProductoId(), d.getStockProducto(), d.getStockLibro()) > 0) {
+                    log.warn("Stock corregido según el libro: producto {} ({}) de {} a {}",
+                            d.getProductoId(), d.getSku(), d.getStockProducto(), d.getStockLibro());
+                    total++;
+                }
+            }
+            return total;
+        });
+        reporte.setProductosReparados(reparados != null ? reparados : 0);
+        return reporte;
+    }
+
+    /**
+     * Reconciliación nocturna: registra los descuadres y, si {@code app.inventario.reconciliacion.reparar}
+     * está activo, los corrige.
+     */
+    @Scheduled(cron = "${app.inventario.reconciliacion.cron:0 45 2 * * *}", zone = "America/Santiago")
+    public void reconciliar() {
+        ReporteDescuadreStockResponse reporte = repararAutomaticamente ? repararDescuadres() : reporteDescuadres();
+        log.info("Reconciliación de stock: {} productos revisados, {} con descuadre, {} reparados en {} ms",
+                reporte.getProductosRevisados(), reporte.getProductosConDescuadre(),
+                reporte.getProductosReparados(), reporte.getDuracionMs());
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private List<StockCalculado> calcularPorBloques(ZonedDateTime fecha) {
+        ZonedDateTime corte = snapshotStockRepository.findUltimoCorteHasta(fecha);
+        List<Long> ids = productoRepository.findAllIds();
+        List<List<Long>> bloques = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += tamanioBloque) {
+            bloques.add(ids.subList(i, Math.min(i + tamanioBloque, ids.size())));
+        }
+        return enParalelo(bloques, (desdeId, hastaId) -> calcularBloque(desdeId, hastaId, corte, fecha));
+    }
+
+    private List<StockCalculado> calcularBloque(Long desdeId, Long hastaId, ZonedDateTime corte, ZonedDateTime fecha) {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        lectura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return lectura.execute(status -> {
+            Map<Long, Long> base = corte == null ? Map.of()
+                    : porProducto(snapshotStockRepository.findStockPorProducto(corte, desdeId, hastaId));
+            Map<Long, Long> movimientos = porProducto(movimientoInventarioRepository.sumarCantidadNetaPorProducto(
+                    desdeId, hastaId, corte != null ? corte : SnapshotStockService.INICIO_LIBRO, fecha));
+            return productoRepository.findStockEntreIds(desdeId, hastaId).stream()
+                    .map(p -> new StockCalculado(p, (int) (base.getOrDefault(p.getProductoId(), 0L)
+                            + movimientos.getOrDefault(p.getProductoId(), 0L))))
+                    .toList();
+        });
+    }
+
+    // Calcula cada bloque (rango de IDs) en el pool y junta los resultados en el orden de los bloques
+    private <T> List<T> enParalelo(List<List<Long>> bloques, BiFunction<Long, Long, List<T>> calculo) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(hilos, bloques.size())));
+        try {
+            List<CompletableFuture<List<T>>> futuros = bloques.stream()
+                    .map(b -> CompletableFuture.supplyAsync(() -> calculo.apply(b.get(0), b.get(b.size() - 1)), executor))
+                    .toList();
+            return futuros.stream().flatMap(f -> f.join().stream()).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Map<Long, Long> porProducto(List<CantidadPorProductoDTO> cantidades) {
+        return cantidades.stream()
+                .filter(c -> c.getCantidad() != null)
+                .collect(Collectors.toMap(CantidadPorProductoDTO::getProductoId, CantidadPorProductoDTO::getCantidad));
+    }
+
+    private static int stockProducto(StockCalculado s) {
+        return Objects.requireNonNullElse(s.producto().getStock(), 0);
+    }
+}
@@ -9,7 +9,9 @@ import com.decoaromas.decoaromaspos.dto.reportes.*;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.model.VentaOnlineMensual;
 import com.decoaromas.decoaromaspos.repository.*;
+import com.decoaromas.decoaromaspos.service.archivo.ConsultaHistorica;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -26,7 +28,10 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// Los reportes de un periodo con años archivados los leen desde el archivo
 @Service
+@Timed("decoaromas.reportes")
+@ConsultaHistorica
 @RequiredArgsConstructor
 public class ReporteService {
 
@@ -36,10 +41,19 @@ public class ReporteService {
     private final PagoVentaRepository pagoVentaRepository;
     private final CajaRepository cajaRepository;
     private final ClienteRepository clienteRepository;
+    private final EstadisticaClienteRepository estadisticaClienteRepository;
+    private final EstadisticaClienteService estadisticaClienteService;
+    private final ResumenVentaHorariaService resumenVentaHorariaService;
 
     private static final String CANTIDAD_VENDIDA_STRING = "Cantidad Vendida";
     private static final String VENTAS_DIARIAS_STRING = "Ventas Diarias";
     private static final String VENTAS_TOTALES_STRING = "Ventas Totales";
+    private static final String TOTAL_VENDIDO_STRING = "Total Vendido";
+
+    // Índice 0=Domingo ... 6=Sábado (igual que date_part('dow') y CuboVentaHorariaDTO)
+    private static final String[] NOMBRES_DIAS = {"Domingo", "Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado"};
+    // Orden de la semana para el gráfico por día (Lunes primero)
+    private static final int[] ORDEN_DIAS_SEMANA = {1, 2, 3, 4, 5, 6, 0};
 
     // Gráfico de barras ventas mensuales según año, tipo de venta (TIENDA, ONLINE) y tipo de cliente (MAYORISTA, DETALLE)
     public ChartDataDTO getReporteVentasTotalesPorMes(Integer anio, String tipoVenta, TipoCliente tipoCliente) {
@@ -144,17 +158,20 @@ public class ReporteService {
     }
 
 
-    // Gráfico de barras de ventas por día de la semana
+    // Gráfico de barras de ventas por día de la semana. Se calcula desde el cubo horario pre-agregado.
     public ChartDataDTO getReporteVentasTiendaPorDiaSemana(LocalDate fechaInicio, LocalDate fechaFin, TipoCliente tipoCliente) {
-        ZonedDateTime inicioZoned = DateUtils.obtenerInicioDiaSegunFecha(fechaInicio);
-        ZonedDateTime finZoned = DateUtils.obtenerFinDiaSegunFecha(fechaFin);
-
-        List<VentaAgrupadaPorNombreDTO> resultados = ventaRepository.findVentasPorDiaDeLaSemana(inicioZoned, finZoned, tipoCliente);
+        CuboVentaHorariaDTO cubo = resumenVentaHorariaService.obtenerCubo(fechaInicio, fechaFin, tipoCliente);
 
-        // Mapear a ChartDataDTO
-        List<String> labels = resultados.stream().map(VentaAgrupadaPorNombreDTO::getNombre).toList();
-        List<Double> data = resultados.stream().map(VentaAgrupadaPorNombreDTO::getTotal).toList();
-        SeriesItemDTO series = new SeriesItemDTO("Total Vendido", data);
+        // Solo se incluyen los días con ventas, de Lunes a Domingo
+        List<String> labels = new ArrayList<>();
+        List<Double> data = new ArrayList<>();
+        for (int dia : ORDEN_DIAS_SEMANA) {
+            if (cubo.ticketsDia(dia) > 0) {
+                labels.add(NOMBRES_DIAS[dia]);
+                data.add(cubo.totalDia(dia));
+            }
+        }
+        SeriesItemDTO series = new SeriesItemDTO(TOTAL_VENDIDO_STRING, data);
 
         return new ChartDataDTO(List.of(series), labels);
     }
@@ -175,28 +192,22 @@ public class ReporteService {
     }
 
 
-    // Prepara los datos para el gráfico de ventas por hora.
+    // Prepara los datos para el gráfico de ventas por hora. Se calcula desde el cubo horario pre-agregado.
     public ChartDataDTO getReporteVentasPorHora(LocalDate fechaInicio, LocalDate fechaFin, TipoCliente tipoCliente) {
-        ZonedDateTime inicioZoned = DateUtils.obtenerInicioDiaSegunFecha(fechaInicio);
-        ZonedDateTime finZoned = DateUtils.obtenerFinDiaSegunFecha(fechaFin);
-
-        List<VentaAgrupadaPorNombreDTO> resultados = ventaRepository.findVentasPorHora(inicioZoned, finZoned, tipoCliente);
-
-        // Mapear resultados para búsqueda rápida (Llave "00", "01", ..., "23")
-        Map<String, Double> ventasPorHoraMap = resultados.stream()
-                .collect(Collectors.toMap(VentaAgrupadaPorNombreDTO::getNombre, VentaAgrupadaPorNombreDTO::getTotal));
+        double[] totalesPorHora = resumenVentaHorariaService
+                .obtenerCubo(fechaInicio, fechaFin, tipoCliente)
+                .totalesPorHora();
 
         // Rellenar las 24 horas del día
         List<String> labels = new ArrayList<>();
         List<Double> data = new ArrayList<>();
 
         for (int i = 0; i < 24; i++) {
-            String horaFormateada = String.format("%02d", i); // Formato "00", "01", etc.
-            labels.add(horaFormateada + ":00"); // Etiqueta "00:00", "01:00", etc.
-            data.add(ventasPorHoraMap.getOrDefault(horaFormateada, 0.0));
+            labels.add(String.format("%02d:00", i)); // Etiqueta "00:00", "01:00", etc.
+            data.add(totalesPorHora[i]);
         }
 
-        SeriesItemDTO series = new SeriesItemDTO("Total Vendido", data);
+        SeriesItemDTO series = new SeriesItemDTO(TOTAL_VENDIDO_STRING, data);
         return new ChartDataDTO(List.of(series), labels);
     }
 
@@ -796,7 +807,8 @@ public class ReporteService {
         return procesarVentasAgrupadas(resultados, CANTIDAD_VENDIDA_STRING);
     }
 
-    // Obtener reporte de mapa de calor de ventas según periodo y filtros
+    // Obtener reporte de mapa de calor de ventas según periodo y filtros.
+    // Sin filtros de producto se usa el cubo horario pre-agregado; con familia/aroma se agrega sobre las ventas.
     public ChartDataDTO getReporteMapaCalorVentas(
             LocalDate fechaInicio,
             LocalDate fechaFin,
@@ -804,47 +816,65 @@ public class ReporteService {
             Long familiaId,
             Long aromaId) {
 
-        ZonedDateTime inicioZoned = DateUtils.obtenerInicioDiaSegunFecha(fechaInicio);
-        ZonedDateTime finZoned = DateUtils.obtenerFinDiaSegunFecha(fechaFin);
-
-        List<VentaPorHoraDiaDTO> ventasAgrupadas = ventaRepository.findVentasPorHoraYDiaSemana(
-                inicioZoned, finZoned, tipoCliente, familiaId, aromaId);
-
         // Preparar los "labels" del eje X (00:00 a 23:00)
         List<String> labels = new ArrayList<>();
         for (int i = 0; i < 24; i++) {
             labels.add(String.format("%02d:00", i));
         }
 
-        // Preparar la estructura de datos. Nombres de las series (eje Y)
-        String[] nombresDias = {"Domingo", "Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado"};
+        // Preparar la matriz 7x24 (día de la semana x hora)
+        double[][] matriz;
+        if (familiaId == null && aromaId == null) {
+            matriz = resumenVentaHorariaService.obtenerCubo(fechaInicio, fechaFin, tipoCliente).getTotales();
+        } else {
+            matriz = obtenerMatrizCalorPorProducto(fechaInicio, fechaFin, tipoCliente, familiaId, aromaId);
+        }
+
+        // Una serie por día (eje Y)
+        List<SeriesItemDTO> series = new ArrayList<>();
+        for (int dia = 0; dia < NOMBRES_DIAS.length; dia++) {
+            List<Double> horas = Arrays.stream(matriz[dia]).boxed().toList();
+            series.add(new SeriesItemDTO(NOMBRES_DIAS[dia], horas));
+        }
+
+        return new ChartDataDTO(series, labels);
+    }
 
-        Map<String, List<Double>> seriesDataMap = new LinkedHashMap<>();
-        for (String dia : nombresDias) {
-            List<Double> horas = new ArrayList<>(Collections.nCopies(24, 0.0));
-            seriesDataMap.put(dia, horas);
+    /**
+     * Reconstruye el cubo horario (ResumenVentaHoraria) de un rango a partir de las ventas.
+     * La carga inicial del histórico la hace la migración V9; esto sirve para corregir el cubo.
+     * @return Cantidad de resúmenes diarios generados.
+     */
+    public int reconstruirResumenVentaHoraria(LocalDate fechaInicio, LocalDate fechaFin) {
+        if (fechaInicio == null || fechaFin == null || fechaInicio.isAfter(fechaFin)) {
+            throw new IllegalArgumentException("Debe indicar un rango de fechas válido para reconstruir el resumen horario.");
         }
+        return resumenVentaHorariaService.reconstruir(fechaInicio, fechaFin);
+    }
 
-        // Llenar la matriz con los datos de la consulta
+    // Matriz del mapa de calor filtrada por familia/aroma (no disponible en el cubo horario)
+    private double[][] obtenerMatrizCalorPorProducto(
+            LocalDate fechaInicio,
+            LocalDate fechaFin,
+            TipoCliente tipoCliente,
+            Long familiaId,
+            Long aromaId) {
+
+        ZonedDateTime inicioZoned = DateUtils.obtenerInicioDiaSegunFecha(fechaInicio);
+        ZonedDateTime finZoned = DateUtils.obtenerFinDiaSegunFecha(fechaFin);
+
+        List<VentaPorHoraDiaDTO> ventasAgrupadas = ventaRepository.findVentasPorHoraYDiaSemana(
+                inicioZoned, finZoned, tipoCliente, familiaId, aromaId);
+
+        double[][] matriz = new double[NOMBRES_DIAS.length][24];
         for (VentaPorHoraDiaDTO venta : ventasAgrupadas) {
             Integer diaSemanaDb = venta.getDiaSemana(); // 0-6
             Integer horaDb = venta.getHora();           // 0-23
-            Double total = venta.getTotal();
-
-            // Mapear el índice de la BD al nombre del día
-            if (diaSemanaDb >= 0 && diaSemanaDb <= 6) {
-                String nombreDia = nombresDias[diaSemanaDb];
-                if (horaDb >= 0 && horaDb < 24) {
-                    seriesDataMap.get(nombreDia).set(horaDb, total);
-                }
+            if (diaSemanaDb >= 0 && diaSemanaDb <= 6 && horaDb >= 0 && horaDb < 24) {
+                matriz[diaSemanaDb][horaDb] = venta.getTotal();
             }
         }
-
-        List<SeriesItemDTO> series = seriesDataMap.entrySet().stream()
-                .map(entry -> new SeriesItemDTO(entry.getKey(), entry.getValue()))
-                .toList();
-
-        return new ChartDataDTO(series, labels);
+        return matriz;
     }
 
 
@@ -907,12 +937,10 @@ public class ReporteService {
         // Creamos Pageable solo para el límite (limit), no necesitamos el Sort si ya está en el @Query
         Pageable topPageable = PageRequest.of(0, topN);
 
-        List<ClienteAgregadoDTO> resultados = ventaRepository.findTopClientesByTotalVenta(
-                anio,
-                mes,
-                tipoCliente,
-                topPageable
-        );
+        // Sin filtros, el gasto histórico ya está acumulado en estadistica_cliente (índice por gasto_total)
+        List<ClienteAgregadoDTO> resultados = (anio == null && mes == null && tipoCliente == null)
+                ? estadisticaClienteRepository.findTopClientesPorGastoTotal(topPageable)
+                : ventaRepository.findTopClientesByTotalVenta(anio, mes, tipoCliente, topPageable);
 
         return procesarClientesAgrupados(resultados, "Total Gastado ($)");
     }
@@ -933,15 +961,11 @@ public class ReporteService {
 
         ZonedDateTime fechaLimite = DateUtils.obtenerFechaHoraActual().minusDays(diasInactividad);
 
-        // 1. Obtener los IDs de clientes (de un TIPO específico, si se filtra) que NO han comprado desde la fecha límite
-        // (Necesitaremos un método en VentaRepository para filtrar la subquery por tipoCliente)
-
-        // Asumiremos que VentaRepository ya fue modificado para manejar esto en el WHERE clause
-        List<Long> idsClientesInactivos = clienteRepository.findClientesActivosInactivosDesde(fechaLimite, tipoCliente); // <-- Necesita nuevo método en ClienteRepository
-        long countClientesInactivos = idsClientesInactivos.size();
+        // 1. Clientes activos (del TIPO filtrado) sin compras desde la fecha límite, según su última compra registrada
+        long countClientesInactivos = estadisticaClienteRepository.countClientesInactivosDesde(fechaLimite, tipoCliente);
 
         // 2. Obtener el total de clientes activos (de ese TIPO específico)
-        long countTotalClientesActivos = clienteRepository.countByActivoAndTipoOpcional(true, tipoCliente); // <-- Necesita nuevo método en ClienteRepository
+        long countTotalClientesActivos = clienteRepository.countByActivoAndTipoOpcional(true, tipoCliente);
 
         long countClientesActivos = countTotalClientesActivos - countClientesInactivos;
 
@@ -979,26 +1003,45 @@ public class ReporteService {
      * @return Lista de ClienteInactivoDTO ordenados por la mayor inactividad.
      */
     public List<ClienteInactivoDTO> getReporteClientesInactivosDetalle(Integer diasInactividad, TipoCliente tipoCliente) {
-        // 1. Definir el valor final para la lambda
-        final long finalDiasInactividad = (diasInactividad == null || diasInactividad <= 0) ? 90 : diasInactividad;
+        return getReporteClientesInactivosDetallePaginado(diasInactividad, tipoCliente, Pageable.unpaged()).getContent();
+    }
+
+    /**
+     * Lista paginada de clientes inactivos (última compra supera el límite de diasInactividad).
+     * @param diasInactividad - Límite de días para considerar inactivo.
+     * @param tipoCliente - Filtro opcional por tipo de cliente.
+     * @param page - Número de página.
+     * @param size - Tamaño de página.
+     * @return PaginacionResponse de ClienteInactivoDTO ordenados por la mayor inactividad.
+     */
+    public PaginacionResponse<ClienteInactivoDTO> getReporteClientesInactivosDetallePaginado(
+            Integer diasInactividad, TipoCliente tipoCliente, int page, int size) {
+        return PaginacionMapper.mapToResponse(
+                getReporteClientesInactivosDetallePaginado(diasInactividad, tipoCliente, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Reconstruye las estadísticas de compra de todos los clientes desde la tabla de ventas.
+     * @return Cantidad de clientes con estadísticas recalculadas.
+     */
+    public int reconstruirEstadisticasClientes() {
+        return estadisticaClienteService.reconstruir();
+    }
+
+    private Page<ClienteInactivoDTO> getReporteClientesInactivosDetallePaginado(
+            Integer diasInactividad, TipoCliente tipoCliente, Pageable pageable) {
+        long dias = (diasInactividad == null || diasInactividad <= 0) ? 90 : diasInactividad;
         ZonedDateTime ahora = DateUtils.obtenerFechaHoraActual();
 
-        // 2. Calcular los días inactivos y filtrar
-        return ventaRepository.findClientesLastPurchaseDate(tipoCliente).stream()
-                .map(dto -> {
-                    // Si nunca ha comprado, asumimos que su inactividad es máxima
-                    // (ej. 9999 días) para que siempre supere el umbral.
-                    long dias = (dto.getUltimaCompra() == null)
-                            ? 9999L
-                            : ChronoUnit.DAYS.between(dto.getUltimaCompra(), ahora);
-                    dto.setDiasInactivo(dias);
-                    return dto;
-                })
-                // 3. Usamos la variable final en la expresión lambda
-                .filter(dto -> dto.getDiasInactivo() >= finalDiasInactividad)
-                // 4. Ordenar por el cliente con MAYOR inactividad
-                .sorted(Comparator.comparing(ClienteInactivoDTO::getDiasInactivo).reversed())
-                .toList();
+        // El filtro y el orden (mayor inactividad primero) se resuelven en la consulta indexada
+        Page<ClienteInactivoDTO> pagina = estadisticaClienteRepository.findClientesInactivos(
+                ahora.minusDays(dias), tipoCliente, pageable);
+
+        // Si nunca ha comprado, asumimos que su inactividad es máxima (9999 días)
+        pagina.forEach(dto -> dto.setDiasInactivo(dto.getUltimaCompra() == null
+                ? 9999L
+                : ChronoUnit.DAYS.between(dto.getUltimaCompra(), ahora)));
+        return pagina;
     }
 
 
@@ -0,0 +1,129 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.reportes.CuboVentaHorariaDTO;
+import com.decoaromas.decoaromaspos.dto.reportes.ResumenVentaHorariaProjection;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.model.ResumenVentaHoraria;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.repository.ResumenVentaHorariaRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.decoaromas.decoaromaspos.utils.Dinero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio que mantiene el cubo pre-agregado de ventas por día y hora ({@link ResumenVentaHoraria}).
+ * - Se actualiza de forma incremental dentro de la transacción de creación/eliminación de ventas.
+ * - Permite armar el mapa de calor y los reportes por hora/día sumando arreglos en memoria.
+ * - Permite reconstruir un rango desde la tabla de ventas (corrección o ventas importadas).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ResumenVentaHorariaService {
+
+    private final ResumenVentaHorariaRepository resumenRepository;
+
+    /**
+     * Suma una venta recién creada a su bucket (fecha, hora, tipoCliente).
+     * @param venta La venta ya persistida.
+     */
+    public void registrarVenta(Venta venta) {
+        acumular(venta, 1);
+    }
+
+    /**
+     * Resta una venta eliminada de su bucket.
+     * @param venta La venta a eliminar.
+     */
+    public void descontarVenta(Venta venta) {
+        acumular(venta, -1);
+    }
+
+    /**
+     * Suma los resúmenes diarios de un rango en un cubo 7x24.
+     * @param fechaInicio Fecha de inicio (opcional, inclusiva).
+     * @param fechaFin    Fecha de fin (opcional, inclusiva).
+     * @param tipoCliente Filtro opcional por tipo de cliente.
+     * @return CuboVentaHorariaDTO con tickets y totales por día de la semana y hora.
+     */
+    @Transactional(readOnly = true)
+    public CuboVentaHorariaDTO obtenerCubo(LocalDate fechaInicio, LocalDate fechaFin, TipoCliente tipoCliente) {
+        CuboVentaHorariaDTO cubo = new CuboVentaHorariaDTO();
+        for (ResumenVentaHoraria resumen : resumenRepository.findByRango(fechaInicio, fechaFin, tipoCliente)) {
+            cubo.acumular(diaSemana(resumen.getFecha()), resumen.getTickets(), resumen.getTotales());
+        }
+        return cubo;
+    }
+
+    /**
+     * Reconstruye los resúmenes de un rango de fechas a partir de la tabla de ventas.
+     * La carga inicial la hace V9__resumen_venta_horaria_centavos.sql; esto queda para corregir diferencias
+     * y para las ventas importadas.
+     * @param fechaInicio Fecha de inicio (inclusiva).
+     * @param fechaFin    Fecha de fin (inclusiva).
+     * @return Cantidad de resúmenes diarios generados.
+     */
+    public int reconstruir(LocalDate fechaInicio, LocalDate fechaFin) {
+        ZonedDateTime inicio = DateUtils.obtenerInicioDiaSegunFecha(fechaInicio);
+        ZonedDateTime finExclusivo = DateUtils.obtenerInicioDiaSegunFecha(fechaFin.plusDays(1));
+
+        // Agrupar las filas (fecha, hora, tipo) en un resumen por (fecha, tipo)
+        Map<String, ResumenVentaHoraria> resumenes = new HashMap<>();
+        for (ResumenVentaHorariaProjection fila : resumenRepository.agregarVentasPorHora(inicio, finExclusivo)) {
+            TipoCliente tipo = TipoCliente.valueOf(fila.getTipoCliente());
+            ResumenVentaHoraria resumen = resumenes.computeIfAbsent(
+                    fila.getFecha() + "|" + tipo, k -> nuevoResumen(fila.getFecha(), tipo));
+            resumen.getTickets()[fila.getHora()] += fila.getTickets().intValue();
+            resumen.getTotales()[fila.getHora()] += fila.getCentavos();
+        }
+
+        resumenRepository.deleteByRango(fechaInicio, fechaFin);
+        resumenRepository.flush();
+        resumenRepository.saveAll(resumenes.values());
+        return resumenes.size();
+    }
+
+
+    // --- Lógica interna ---
+
+    private void acumular(Venta venta, int signo) {
+        if (venta.getFecha() == null) {
+            return;
+        }
+        ZonedDateTime fechaLocal = venta.getFecha().withZoneSameInstant(DateUtils.ZONE_ID_SANTIAGO);
+        LocalDate fecha = fechaLocal.toLocalDate();
+        String tipo = tipoClienteBucket(venta.getTipoCliente()).name();
+        long centavos = Dinero.centavos(venta.getTotalNeto());
+
+        resumenRepository.inicializarDia(fecha, tipo);
+        // Los arreglos de PostgreSQL son base 1
+        resumenRepository.acumularEnHora(fecha, tipo, fechaLocal.getHour() + 1, signo, signo * centavos);
+    }
+
+    // Una venta sin tipo de cliente se cobra a precio detalle (ver CalculoPrecioService)
+    private static TipoCliente tipoClienteBucket(TipoCliente tipoCliente) {
+        return tipoCliente != null ? tipoCliente : TipoCliente.DETALLE;
+    }
+
+    // Día de la semana con 0=Domingo ... 6=Sábado (igual que date_part('dow'))
+    private static int diaSemana(LocalDate fecha) {
+        return fecha.getDayOfWeek().getValue() % 7;
+    }
+
+    private static ResumenVentaHoraria nuevoResumen(LocalDate fecha, TipoCliente tipo) {
+        return ResumenVentaHoraria.builder()
+                .fecha(fecha)
+                .tipoCliente(tipo)
+                .tickets(new int[ResumenVentaHoraria.HORAS_DIA])
+                .totales(new long[ResumenVentaHoraria.HORAS_DIA])
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.model.SnapshotStock;
+import com.decoaromas.decoaromaspos.repository.MovimientoInventarioRepository;
+import com.decoaromas.decoaromaspos.repository.SnapshotStockRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Snapshots mensuales de stock por producto calculados desde el libro de movimientos ({@link SnapshotStock}).
+ * - El corte es el inicio de cada mes (hora de Santiago), igual que las particiones de movimiento_inventario:
+ *   el stock a una fecha lee un snapshot y, como máximo, los movimientos de un mes.
+ * - Cada corte se calcula desde el anterior en una sola sentencia (no se recorre todo el libro).
+ * - Si se registran movimientos con fecha anterior al último corte (importación de histórico),
+ *   los snapshots afectados se invalidan con {@link #invalidarDesde} y se regeneran.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SnapshotStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotStockService.class);
+
+    // Anterior a cualquier movimiento: punto de partida cuando aún no hay snapshots
+    static final ZonedDateTime INICIO_LIBRO = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+
+    private final SnapshotStockRepository snapshotStockRepository;
+    private final MovimientoInventarioRepository movimientoInventarioRepository;
+
+    /**
+     * Genera los snapshots pendientes hasta el inicio del mes actual.
+     * @return Cantidad de snapshots generados.
+     */
+    @Scheduled(cron = "${app.inventario.snapshot.cron:0 0 2 1 * *}", zone = "America/Santiago")
+    public int generarSnapshots() {
+        return generarSnapshotsHasta(inicioDeMes(DateUtils.obtenerFechaHoraActual()));
+    }
+
+    /**
+     * Genera un snapshot por mes desde el último corte existente hasta el corte indicado.
+     * Sin snapshots previos se genera directamente el corte indicado sumando todo el libro.
+     * @param corte Inicio de mes hasta el que generar.
+     * @return Cantidad de snapshots generados.
+     */
+    public int generarSnapshotsHasta(ZonedDateTime corte) {
+        ZonedDateTime desde = snapshotStockRepository.findUltimoCorte();
+        int generados = 0;
+        if (desde == null) {
+            generados = snapshotStockRepository.generarDesde(INICIO_LIBRO, corte);
+            desde = corte;
+        }
+        while (desde.isBefore(corte)) {
+            ZonedDateTime siguiente = inicioDeMes(desde.withZoneSameInstant(DateUtils.ZONE_ID_SANTIAGO)).plusMonths(1);
+            generados += snapshotStockRepository.generarDesde(desde, siguiente);
+            desde = siguiente;
+        }
+        if (generados > 0) {
+            log.info("Snapshots de stock generados hasta {}: {}", corte.toLocalDate(), generados);
+        }
+        return generados;
+    }
+
+    /**
+     * Elimina los snapshots con corte posterior a la fecha (quedaron desactualizados por movimientos
+     * registrados con esa fecha) y los regenera.
+     * @param fecha Fecha del movimiento más antiguo registrado con retraso.
+     */
+    public void invalidarDesde(ZonedDateTime fecha) {
+        ZonedDateTime ultimoCorte = snapshotStockRepository.findUltimoCorte();
+        if (ultimoCorte == null || !fecha.isBefore(ultimoCorte)) {
+            return;
+        }
+        int eliminados = snapshotStockRepository.deleteByFechaAfter(fecha);
+        log.info("Snapshots de stock posteriores a {} invalidados: {}", fecha, eliminados);
+        generarSnapshotsHasta(ultimoCorte);
+    }
+
+    /**
+     * Stock de un producto en un instante según el libro de movimientos: último snapshot anterior
+     * más los movimientos desde su corte hasta la fecha (incluida).
+     * @param productoId ID del producto.
+     * @param fecha      Instante a consultar.
+     * @return Stock del producto en esa fecha.
+     */
+    @Transactional(readOnly = true)
+    public int stockEnFecha(Long productoId, ZonedDateTime fecha) {
+        Optional<SnapshotStock> snapshot = snapshotStockRepository
+                .findFirstByProductoIdAndFechaLessThanEqualOrderByFechaDesc(productoId, fecha);
+        ZonedDateTime desde = snapshot.map(SnapshotStock::getFecha).orElse(INICIO_LIBRO);
+        int base = snapshot.map(SnapshotStock::getStock).orElse(0);
+        return base + (int) movimientoInventarioRepository.sumarCantidadNeta(productoId, desde, fecha);
+    }
+
+    private static ZonedDateTime inicioDeMes(ZonedDateTime fecha) {
+        return fecha.toLocalDate().withDayOfMonth(1).atStartOfDay(DateUtils.ZONE_ID_SANTIAGO);
+    }
+}
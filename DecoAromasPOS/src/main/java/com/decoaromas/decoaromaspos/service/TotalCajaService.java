@@ -0,0 +1,94 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.model.PagoVenta;
+import com.decoaromas.decoaromaspos.model.TotalCaja;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.repository.TotalCajaRepository;
+import com.decoaromas.decoaromaspos.utils.Dinero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio que mantiene los totales acumulados por caja ({@link TotalCaja}).
+ * - Se actualiza de forma incremental dentro de la transacción de creación/eliminación de ventas.
+ * - CajaService lee el resumen de la caja desde aquí y lo verifica contra la suma de los pagos al cerrarla.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TotalCajaService {
+
+    // Posición del vuelto después de los medios de pago en el arreglo de centavos
+    private static final int VUELTO = MedioPago.values().length;
+
+    private final TotalCajaRepository totalCajaRepository;
+
+    /**
+     * Crea los totales en cero de una caja recién abierta.
+     * @param cajaId Id de la caja.
+     */
+    public void inicializar(Long cajaId) {
+        totalCajaRepository.acumular(cajaId, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Suma los pagos y el vuelto de una venta recién creada a los totales de su caja.
+     * @param venta La venta ya persistida.
+     */
+    public void registrarVenta(Venta venta) {
+        acumular(List.of(venta), 1);
+    }
+
+    /**
+     * Suma un lote de ventas con una sentencia por caja (importación masiva).
+     * @param ventas Las ventas ya persistidas.
+     */
+    public void registrarVentas(Collection<Venta> ventas) {
+        acumular(ventas, 1);
+    }
+
+    /**
+     * Resta los pagos y el vuelto de una venta eliminada de los totales de su caja.
+     * @param venta La venta a eliminar.
+     */
+    public void descontarVenta(Venta venta) {
+        acumular(List.of(venta), -1);
+    }
+
+
+    // --- Lógica interna ---
+
+    private void acumular(Collection<Venta> ventas, int signo) {
+        // Centavos por caja: uno por medio de pago (en orden del enum) y el vuelto al final
+        Map<Long, long[]> porCaja = new LinkedHashMap<>();
+        for (Venta venta : ventas) {
+            if (venta.getCaja() == null) {
+                continue;
+            }
+            long[] centavos = porCaja.computeIfAbsent(venta.getCaja().getCajaId(), id -> new long[VUELTO + 1]);
+            for (PagoVenta pago : venta.getPagos()) {
+                centavos[pago.getMedioPago().ordinal()] += Dinero.centavos(pago.getMonto());
+            }
+            centavos[VUELTO] += Dinero.centavos(venta.getVuelto());
+        }
+        porCaja.forEach((cajaId, centavos) -> totalCajaRepository.acumular(cajaId,
+                monto(centavos, MedioPago.EFECTIVO.ordinal(), signo),
+                monto(centavos, MedioPago.MERCADO_PAGO.ordinal(), signo),
+                monto(centavos, MedioPago.BCI.ordinal(), signo),
+                monto(centavos, MedioPago.BOTON_DE_PAGO.ordinal(), signo),
+                monto(centavos, MedioPago.TRANSFERENCIA.ordinal(), signo),
+                monto(centavos, MedioPago.POST.ordinal(), signo),
+                monto(centavos, VUELTO, signo)));
+    }
+
+    private static double monto(long[] centavos, int posicion, int signo) {
+        return Dinero.monto(signo * centavos[posicion]);
+    }
+}
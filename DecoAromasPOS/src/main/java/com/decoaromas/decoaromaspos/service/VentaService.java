@@ -1,6 +1,8 @@
 package com.decoaromas.decoaromaspos.service;
 
+import com.decoaromas.decoaromaspos.dto.other.CursorMapper;
 import com.decoaromas.decoaromaspos.dto.other.PaginacionMapper;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.AvailabilityResponse;
 import com.decoaromas.decoaromaspos.dto.venta.*;
@@ -12,9 +14,13 @@ import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.mapper.VentaMapper;
 import com.decoaromas.decoaromaspos.model.*;
 import com.decoaromas.decoaromaspos.repository.*;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
 import com.decoaromas.decoaromaspos.utils.AvailabilityChecker;
+import com.decoaromas.decoaromaspos.utils.CursorUtils;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import com.decoaromas.decoaromaspos.utils.VentaSpecification;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -30,6 +36,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Servicio principal para la orquestación y gestión de Ventas.
@@ -57,6 +64,11 @@ public class VentaService {
     private final CalculoPrecioService calculoPrecioService;
     private final PagoService pagoService;
     private final ReceiptBuilderService receiptBuilderService;
+    private final ResumenVentaHorariaService resumenVentaHorariaService;
+    private final EstadisticaClienteService estadisticaClienteService;
+    private final TotalCajaService totalCajaService;
+    private final EventoOutboxService eventoOutboxService;
+    private final MetricasVentaService metricasVentaService;
 
     // --- Mappers y Utilidades ---
     private final VentaMapper ventaMapper;
@@ -70,7 +82,7 @@ public class VentaService {
      * 3. Procesa detalles (cálculos) y genera movimientos de inventario.
      * 4. Calcula totales globales.
      * 5. Procesa y valida los pagos.
-     * 6. Guarda la venta y los movimientos.
+     * 6. Guarda la venta, los movimientos y actualiza el resumen horario y las estadísticas del cliente.
      * 7. Actualiza el estado de la cotización si aplica.
      * @param request DTO con todos los datos para la venta.
      * @return VentaResponse con la venta creada.
@@ -78,46 +90,126 @@ public class VentaService {
      * @throws BusinessException si el stock es insuficiente o el pago es inválido.
      */
     public VentaResponse crearVenta(VentaRequest request) {
-        // 1. Validaciones previas (fail-fast)
-        Caja caja = cajaRepository.findByEstado(EstadoCaja.ABIERTA)
-                .orElseThrow(() -> new CajaCerradaException("No hay ninguna caja abierta."));
-        // Validar stock de todos los productos antes de ejecutar lógica
-        gestorInventarioService.validarStockDisponible(request.getDetalles());
-
-        // 2. Obtener entidades principales
-        Usuario usuario = usuarioService.obtenerUsuarioRealPorId(request.getUsuarioId());
-        Cliente cliente = (request.getClienteId() != null)
-                ? clienteService.obtenerClienteRealPorId(request.getClienteId())
-                : null;
-
-        // 3. Construir la cabecera de la Venta
-        Venta venta = buildVentaCabecera(request, usuario, caja, cliente);
-
-        // 4. Procesar detalles (Cálculos, Costos). Crea movimientos de inventario
-        List<MovimientoInventario> movimientos = new ArrayList<>();
-        procesarDetallesVenta(venta, request.getDetalles(), usuario, movimientos);
+        return crearVenta(request, DateUtils.obtenerFechaHoraActual());
+    }
 
-        // 5. Calcular totales globales
-        calcularTotalesGlobales(venta);
+    /**
+     * Igual que {@link #crearVenta(VentaRequest)}, pero con la fecha indicada (ventas registradas
+     * sin conexión se sincronizan con la fecha en que se hicieron). Si el request trae un uuid ya
+     * registrado, devuelve esa venta sin volver a crearla, así el reintento es idempotente.
+     * @param request DTO con todos los datos para la venta.
+     * @param fecha   Fecha de la venta.
+     * @return VentaResponse con la venta creada (o la existente con el mismo uuid).
+     */
+    public VentaResponse crearVenta(VentaRequest request, ZonedDateTime fecha) {
+        if (request.getUuid() != null) {
+            Optional<Venta> existente = ventaRepository.findByUuid(request.getUuid());
+            if (existente.isPresent()) {
+                return ventaMapper.toResponse(existente.get());
+            }
+        }
 
-        // 6. Procesamiento y validación de pagos mixtos
-        DatosPagoProcesado datosPago = pagoService.procesarPagos(
-                request.getPagos(),
-                venta.getTotalNeto()
-        );
-        venta.setVuelto(datosPago.getVuelto());
-        datosPago.getPagosEntidad().forEach(venta::addPago); // Asocia los pagos a la venta
+        // Cada fase queda como span y timer en MetricasVentaService
+        MetricasVentaService.Seguimiento seguimiento = metricasVentaService.iniciarVenta(request);
+        try {
+            // 1. Validaciones previas (fail-fast)
+            seguimiento.fase(MetricasVentaService.Fase.VALIDACION);
+            Caja caja = cajaRepository.findByEstado(EstadoCaja.ABIERTA)
+                    .orElseThrow(() -> new CajaCerradaException("No hay ninguna caja abierta."));
+            // Validar stock de todos los productos antes de ejecutar lógica
+            gestorInventarioService.validarStockDisponible(request.getDetalles());
+
+            // 2. Obtener entidades principales
+            Usuario usuario = usuarioService.obtenerUsuarioRealPorId(request.getUsuarioId());
+            Cliente cliente = (request.getClienteId() != null)
+                    ? clienteService.obtenerClienteRealPorId(request.getClienteId())
+                    : null;
+
+            // 3. Construir la cabecera de la Venta
+            Venta venta = buildVentaCabecera(request, usuario, caja, cliente);
+            venta.setFecha(fecha);
+            venta.setUuid(request.getUuid());
+
+            // 4. Procesar detalles (Cálculos, Costos). Crea movimientos de inventario
+            seguimiento.fase(MetricasVentaService.Fase.DETALLES);
+            List<MovimientoInventario> movimientos = new ArrayList<>();
+            procesarDetallesVenta(venta, request.getDetalles(), usuario, movimientos);
+
+            // 5. Calcular totales globales
+            calcularTotalesGlobales(venta);
+
+            // 6. Procesamiento y validación de pagos mixtos
+            seguimiento.fase(MetricasVentaService.Fase.PAGO);
+            DatosPagoProcesado datosPago = pagoService.procesarPagos(
+                    request.getPagos(),
+                    venta.getTotalNeto()
+            );
+            venta.setVuelto(datosPago.getVuelto());
+            datosPago.getPagosEntidad().forEach(venta::addPago); // Asocia los pagos a la venta
+
+            // 7. Guardar venta
+            seguimiento.fase(MetricasVentaService.Fase.GUARDADO);
+            Venta savedVenta = ventaRepository.save(venta);
+            seguimiento.fase(MetricasVentaService.Fase.MOVIMIENTOS);
+            gestorInventarioService.guardarMovimientos(movimientos); // Delega el guardado
+            seguimiento.fase(MetricasVentaService.Fase.REGISTROS);
+            resumenVentaHorariaService.registrarVenta(savedVenta); // Cubo horario de reportes (misma transacción)
+            estadisticaClienteService.registrarCompra(savedVenta); // Recencia/gasto del cliente
+            totalCajaService.registrarVenta(savedVenta); // Totales de la caja por medio de pago
+            eventoOutboxService.registrar(TipoAgregado.VENTA, savedVenta.getVentaId(), TipoEvento.VENTA_CREADA,
+                    ventaMapper.toEvento(savedVenta));
+
+            // 8. Verificar si venta estaba asociada a cotización
+            if (request.getCotizacionId() != null) {
+                seguimiento.fase(MetricasVentaService.Fase.COTIZACION);
+                actualizarEstadoCotizacion(request.getCotizacionId());
+            }
+            seguimiento.ventaCreada(savedVenta);
+
+            return ventaMapper.toResponse(savedVenta);
+        } catch (RuntimeException e) {
+            seguimiento.error(e);
+            throw e;
+        } finally {
+            seguimiento.terminar();
+        }
+    }
 
-        // 7. Guardar venta
-        Venta savedVenta = ventaRepository.save(venta);
-        gestorInventarioService.guardarMovimientos(movimientos); // Delega el guardado
+    /**
+     * Calcula detalles, totales y vuelto de una venta sin acceder a la base de datos, con los
+     * productos del catálogo local. Usado por la caja en modo offline para cobrar antes de sincronizar;
+     * no guarda nada ni genera movimientos de inventario.
+     * @param request   DTO con los datos de la venta.
+     * @param catalogo  Productos del catálogo local por id.
+     * @return Venta en memoria (sin usuario, caja ni cliente) con totales y pagos calculados.
+     * @throws BusinessException si un descuento o el pago es inválido.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Venta calcularVentaSinConexion(VentaRequest request, Function<Long, Producto> catalogo) {
+        return calcularVenta(request, catalogo);
+    }
 
-        // 8. Verificar si venta estaba asociada a cotización
-        if (request.getCotizacionId() != null) {
-            actualizarEstadoCotizacion(request.getCotizacionId());
+    /**
+     * Calcula detalles, totales y pagos de una venta con los productos entregados, sin consultar ni
+     * guardar nada (tampoco descuenta stock). Lo usan la caja offline y la importación masiva de ventas,
+     * que resuelven los productos por su cuenta.
+     * @param request   DTO con los datos de la venta.
+     * @param catalogo  Productos por id.
+     * @return Venta en memoria (sin usuario, caja ni cliente) con totales y pagos calculados.
+     * @throws BusinessException si un descuento o el pago es inválido.
+     */
+    public Venta calcularVenta(VentaRequest request, Function<Long, Producto> catalogo) {
+        Venta venta = buildVentaCabecera(request, null, null, null);
+        for (DetalleVentaRequest d : request.getDetalles()) {
+            agregarDetalle(venta, catalogo.apply(d.getProductoId()), d);
         }
+        acumularTotalesDetalles(venta);
+        calcularTotalesGlobales(venta);
 
-        return ventaMapper.toResponse(savedVenta);
+        DatosPagoProcesado datosPago = pagoService.procesarPagos(request.getPagos(), venta.getTotalNeto());
+        venta.setVuelto(datosPago.getVuelto());
+        datosPago.getPagosEntidad().forEach(venta::addPago);
+        return venta;
     }
 
     /**
@@ -155,6 +247,8 @@ public class VentaService {
         venta.setNumeroDocumento(numDocLimpio);
 
         Venta ventaGuardada = ventaRepository.save(venta);
+        eventoOutboxService.registrar(TipoAgregado.VENTA, ventaId, TipoEvento.VENTA_ACTUALIZADA,
+                ventaMapper.toEvento(ventaGuardada));
         return ventaMapper.toResponse(ventaGuardada);
     }
 
@@ -171,9 +265,15 @@ public class VentaService {
         Cliente nuevoCliente = (request.getClienteId() != null)
                 ? clienteService.obtenerClienteRealPorId(request.getClienteId())
                 : null;
+
+        // Mover la compra desde las estadísticas del cliente anterior al nuevo
+        estadisticaClienteService.descontarCompra(venta);
         venta.setCliente(nuevoCliente);
+        estadisticaClienteService.registrarCompra(venta);
 
         Venta ventaGuardada = ventaRepository.save(venta);
+        eventoOutboxService.registrar(TipoAgregado.VENTA, ventaId, TipoEvento.VENTA_ACTUALIZADA,
+                ventaMapper.toEvento(ventaGuardada));
         return ventaMapper.toResponse(ventaGuardada);
     }
 
@@ -190,14 +290,18 @@ public class VentaService {
     }
 
     /**
-     * Lista todas las ventas sin paginación.
-     * @return Lista de VentaResponse.
+     * Lista las ventas con paginación keyset (más recientes primero), solo cabeceras.
+     * @param cursor Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size   Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @return CursorResponse de VentaResumenResponse.
      */
     @Transactional(readOnly = true)
-    public List<VentaResponse> listarVentas() {
-        return ventaRepository.findAll().stream()
-                .map(ventaMapper::toResponse)
-                .toList();
+    public CursorResponse<VentaResumenResponse> listarVentas(String cursor, Integer size) {
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+        List<VentaResumenResponse> filas = ventaRepository.findResumenAntesDe(
+                desde.fecha(), desde.id(), CursorUtils.limiteConSiguiente(tamanio));
+        return CursorMapper.mapToResponse(filas, tamanio, v -> CursorUtils.codificar(v.getFecha(), v.getVentaId()));
     }
 
     /**
@@ -222,11 +326,43 @@ public class VentaService {
         Specification<Venta> filtros = VentaSpecification.conFiltros(startOfDay, endOfDay, dto);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).descending());
 
-        Page<Venta> ventasPage = ventaRepository.findAll(filtros, pageable);
-        Page<VentaResponse> responsePage = ventasPage.map(ventaMapper::toResponse);
+        // Modelo de lectura: cabeceras proyectadas + detalles y pagos por lote (consultas constantes por página)
+        Page<VentaResponse> responsePage = ventaRepository.findVentaResponses(filtros, pageable);
         return PaginacionMapper.mapToResponse(responsePage);
     }
 
+    /**
+     * Versión keyset de {@link #getVentasFiltradas}: mismas especificaciones de filtro, pero cada página
+     * busca desde la posición (fecha, id) del cursor en lugar de usar OFFSET, y el total del filtro
+     * se calcula solo en la primera página (las siguientes no repiten el COUNT).
+     * @param cursor      Cursor opaco de la página anterior (nextCursor); sin cursor entrega la primera página.
+     * @param size        Tamaño de página (máximo CursorUtils.TAMANIO_MAXIMO).
+     * @param fechaInicio Filtro de fecha (opcional).
+     * @param fechaFin    Filtro de fecha (opcional).
+     * @param dto         Dto con filtros para Venta.
+     * @return CursorResponse con las ventas filtradas (más recientes primero).
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<VentaResponse> getVentasFiltradasCursor(
+            String cursor, Integer size,
+            LocalDate fechaInicio, LocalDate fechaFin,
+            VentaFilterDTO dto) {
+
+        int tamanio = CursorUtils.normalizarTamanio(size);
+        CursorUtils.Posicion desde = CursorUtils.decodificar(cursor);
+
+        Specification<Venta> filtros = VentaSpecification.conFiltros(
+                DateUtils.obtenerInicioDiaSegunFecha(fechaInicio), DateUtils.obtenerFinDiaSegunFecha(fechaFin), dto);
+        Specification<Venta> pagina = filtros.and(VentaSpecification.antesDe(desde.fecha(), desde.id()));
+
+        List<VentaResponse> ventas = ventaRepository.findVentaResponses(
+                pagina, CursorUtils.ordenDescendente("fecha", "ventaId"), tamanio + 1);
+        Long total = CursorUtils.esPrimeraPagina(cursor) ? ventaRepository.count(filtros) : null;
+
+        return CursorMapper.mapToResponse(
+                ventas, tamanio, v -> CursorUtils.codificar(v.getFecha(), v.getVentaId()), total);
+    }
+
     /**
      * Elimina una venta y revierte el stock asociado.
      * Delega la lógica de reposición de stock a {@link GestorInventarioService}.
@@ -249,6 +385,10 @@ public class VentaService {
         }
         // No es necesario guardar movimientos manualmente, GestorInventarioService lo hace.
 
+        resumenVentaHorariaService.descontarVenta(venta);
+        estadisticaClienteService.descontarCompra(venta);
+        totalCajaService.descontarVenta(venta);
+        eventoOutboxService.registrar(TipoAgregado.VENTA, id, TipoEvento.VENTA_ELIMINADA, ventaMapper.toEvento(venta));
         ventaRepository.delete(venta);
     }
 
@@ -361,39 +501,36 @@ public class VentaService {
 
     /**
      * Helper privado para calcular los descuentos globales y el total neto.
-     * Lógica secuencial de descuentos y redondeo (Math.ceil) del total neto.
+     * Lógica secuencial de descuentos y redondeo hacia arriba del total neto, en centavos ({@link Dinero}).
      * Modifica la entidad Venta por referencia.
      */
     private void calcularTotalesGlobales(Venta venta) {
         // 1. Obtener el subtotal DESPUÉS de descuentos unitarios.
-        double totalDescuentosUnitarios = (venta.getTotalDescuentosUnitarios() != null) ? venta.getTotalDescuentosUnitarios() : 0.0;
-        double subtotalNetoUnitario = venta.getTotalBruto() - totalDescuentosUnitarios;
+        long totalBruto = Dinero.centavos(venta.getTotalBruto());
+        long totalDescuentosUnitarios = Dinero.centavos(venta.getTotalDescuentosUnitarios());
+        long subtotalNetoUnitario = totalBruto - totalDescuentosUnitarios;
         // Ejemplo: $7900 - $79 = $7821
 
         // 2. Calcular el descuento global sobre ESE subtotal (lógica secuencial).
-        double montoDescuentoGlobal = calculoPrecioService.calcularMontoDescuento(
-                subtotalNetoUnitario, // <-- BASE CORREGIDA
+        long montoDescuentoGlobal = calculoPrecioService.calcularDescuentoCentavos(
+                subtotalNetoUnitario,
                 venta.getValorDescuentoGlobal(),
                 venta.getTipoDescuentoGlobal()
         );
 
-        calculoPrecioService.validarDescuento(montoDescuentoGlobal, subtotalNetoUnitario,
+        calculoPrecioService.validarDescuentoCentavos(montoDescuentoGlobal, subtotalNetoUnitario,
                 "El descuento global no puede ser mayor al total después de descuentos unitarios.");
 
-        // 4. Guardar los totales (todavía con decimales)
-        venta.setMontoDescuentoGlobalCalculado(montoDescuentoGlobal); // Ej.: 234.63
-
-        double totalDescuentoTotal = totalDescuentosUnitarios + montoDescuentoGlobal; // Ej.: 79 + 234.63 = 313.63
-        venta.setTotalDescuentoTotal(totalDescuentoTotal);
+        // 3. Guardar los totales (todavía con centavos)
+        venta.setMontoDescuentoGlobalCalculado(Dinero.monto(montoDescuentoGlobal)); // Ej.: 234.63
 
-        // 5. Calcular el Neto Final (con decimales)
-        double totalNetoConDecimales = venta.getTotalBruto() - totalDescuentoTotal; // Ej.: 7900 - 313.63 = 7586.37
+        long totalDescuentoTotal = totalDescuentosUnitarios + montoDescuentoGlobal; // Ej.: 79 + 234.63 = 313.63
+        venta.setTotalDescuentoTotal(Dinero.monto(totalDescuentoTotal));
 
-        // 6. REDONDEAR el total neto final (CLP no tiene decimales)
-        // Usamos Math.ceil() para (redondeo hacia arriba).
-        double totalNetoRedondeado = Math.ceil(totalNetoConDecimales); // Ej.: 7587.0
+        // 4. REDONDEAR el total neto final hacia arriba (CLP no tiene decimales)
+        long totalNeto = Dinero.redondearPesoArriba(totalBruto - totalDescuentoTotal); // Ej.: 7586.37 -> 7587
 
-        venta.setTotalNeto(totalNetoRedondeado);
+        venta.setTotalNeto(Dinero.monto(totalNeto));
     }
 
     /**
@@ -402,48 +539,10 @@ public class VentaService {
      * y la lista de Movimientos por referencia.
      */
     private void procesarDetallesVenta(Venta venta, List<DetalleVentaRequest> detallesRequest, Usuario usuario, List<MovimientoInventario> movimientos) {
-        double totalBrutoAcumulado = 0.0;
-        double costoGeneralAcumulado = 0.0;
-        double totalDescuentosUnitariosAcumulado = 0.0;
-
         for (DetalleVentaRequest d : detallesRequest) {
             // La validación de stock ya se hizo. Aquí solo procesamos.
             Producto producto = productoService.obtenerProductoRealPorId(d.getProductoId());
-
-            costoGeneralAcumulado += (producto.getCosto() != null) ? (d.getCantidad() * producto.getCosto()) : 0;
-
-            Double precioUnitario = calculoPrecioService.determinarPrecioUnitario(producto, venta.getTipoCliente());
-
-            // Lógica de cálculo de descuentos unitarios
-            double montoDescuentoPorUnidad = calculoPrecioService.calcularMontoDescuento(
-                    precioUnitario, d.getValorDescuentoUnitario(), d.getTipoDescuentoUnitario());
-
-            // Validación para que el descuento no supere el precio
-            calculoPrecioService.validarDescuento(montoDescuentoPorUnidad, precioUnitario,
-                    "El descuento no puede ser mayor al precio del producto.");
-
-            // 2. Calcular totales de la LÍNEA
-            double subtotalBrutoLinea = precioUnitario * d.getCantidad();
-            double montoDescuentoTotalLinea = montoDescuentoPorUnidad * d.getCantidad();
-            double subtotalNetoLinea = subtotalBrutoLinea - montoDescuentoTotalLinea; // Este es el valor que antes llamabas "subtotal"
-
-            DetalleVenta detalle = DetalleVenta.builder()
-                    .producto(producto)
-                    .codigoBarras(producto.getCodigoBarras())
-                    .cantidad(d.getCantidad())
-                    .precioUnitario(precioUnitario)
-                    .valorDescuentoUnitario(d.getValorDescuentoUnitario())
-                    .tipoDescuentoUnitario(d.getTipoDescuentoUnitario())
-                    .subtotalBruto(subtotalBrutoLinea)                  // (precio * cant)
-                    .montoDescuentoUnitarioCalculado(montoDescuentoTotalLinea) // (descuento * cant)
-                    .subtotal(subtotalNetoLinea)                        // (bruto - descuento)
-                    .build();
-
-            venta.addDetalle(detalle);
-
-            // 4. Acumular totales para la Venta
-            totalBrutoAcumulado += subtotalBrutoLinea; // Se suma el bruto
-            totalDescuentosUnitariosAcumulado += montoDescuentoTotalLinea;
+            agregarDetalle(venta, producto, d);
 
             // Lógica de inventario. Registrar movimiento y restar stock
             MovimientoInventario mov = gestorInventarioService
@@ -451,10 +550,62 @@ public class VentaService {
             movimientos.add(mov);
         }
 
-        // 5. Asignar los totales acumulados a la Venta
-        venta.setTotalBruto(totalBrutoAcumulado);
-        venta.setTotalDescuentosUnitarios(totalDescuentosUnitariosAcumulado);
-        venta.setCostoGeneral(costoGeneralAcumulado);
+        acumularTotalesDetalles(venta);
+    }
+
+    /**
+     * Helper privado que calcula precio y descuentos de una línea y la agrega a la Venta.
+     */
+    private void agregarDetalle(Venta venta, Producto producto, DetalleVentaRequest d) {
+        Double precioUnitario = calculoPrecioService.determinarPrecioUnitario(producto, venta.getTipoCliente());
+        long precio = Dinero.centavos(precioUnitario);
+
+        // Lógica de cálculo de descuentos unitarios
+        long montoDescuentoPorUnidad = calculoPrecioService.calcularDescuentoCentavos(
+                precio, d.getValorDescuentoUnitario(), d.getTipoDescuentoUnitario());
+
+        // Validación para que el descuento no supere el precio
+        calculoPrecioService.validarDescuentoCentavos(montoDescuentoPorUnidad, precio,
+                "El descuento no puede ser mayor al precio del producto.");
+
+        // Calcular totales de la LÍNEA
+        long subtotalBrutoLinea = Dinero.multiplicar(precio, d.getCantidad());
+        long montoDescuentoTotalLinea = Dinero.multiplicar(montoDescuentoPorUnidad, d.getCantidad());
+        long subtotalNetoLinea = subtotalBrutoLinea - montoDescuentoTotalLinea;
+
+        DetalleVenta detalle = DetalleVenta.builder()
+                .producto(producto)
+                .codigoBarras(producto.getCodigoBarras())
+                .cantidad(d.getCantidad())
+                .precioUnitario(precioUnitario)
+                .valorDescuentoUnitario(d.getValorDescuentoUnitario())
+                .tipoDescuentoUnitario(d.getTipoDescuentoUnitario())
+                .subtotalBruto(Dinero.monto(subtotalBrutoLinea))                  // (precio * cant)
+                .montoDescuentoUnitarioCalculado(Dinero.monto(montoDescuentoTotalLinea)) // (descuento * cant)
+                .subtotal(Dinero.monto(subtotalNetoLinea))                        // (bruto - descuento)
+                .build();
+
+        venta.addDetalle(detalle);
+    }
+
+    /**
+     * Helper privado que asigna a la Venta los totales acumulados de sus detalles (bruto, descuentos unitarios y costo).
+     */
+    private void acumularTotalesDetalles(Venta venta) {
+        long totalBrutoAcumulado = 0;
+        long costoGeneralAcumulado = 0;
+        long totalDescuentosUnitariosAcumulado = 0;
+
+        for (DetalleVenta detalle : venta.getDetalles()) {
+            Producto producto = detalle.getProducto();
+            costoGeneralAcumulado += Dinero.multiplicar(Dinero.centavos(producto.getCosto()), detalle.getCantidad());
+            totalBrutoAcumulado += Dinero.centavos(detalle.getSubtotalBruto()); // Se suma el bruto
+            totalDescuentosUnitariosAcumulado += Dinero.centavos(detalle.getMontoDescuentoUnitarioCalculado());
+        }
+
+        venta.setTotalBruto(Dinero.monto(totalBrutoAcumulado));
+        venta.setTotalDescuentosUnitarios(Dinero.monto(totalDescuentosUnitariosAcumulado));
+        venta.setCostoGeneral(Dinero.monto(costoGeneralAcumulado));
     }
 
     /**
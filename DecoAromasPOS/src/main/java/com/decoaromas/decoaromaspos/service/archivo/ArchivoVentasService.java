@@ -0,0 +1,399 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.model.AnioArchivado;
+import com.decoaromas.decoaromaspos.repository.AnioArchivadoRepository;
+import com.decoaromas.decoaromaspos.repository.SnapshotStockRepository;
+import com.decoaromas.decoaromaspos.service.SnapshotStockService;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Archivo en frío de años cerrados. Las ventas, detalles, pagos y movimientos de inventario de un año se exportan
+ * a archivos columnares comprimidos ({@link EscritorColumnar}) en {@code app.archivo.dir}/{@code anio} y se
+ * eliminan de las tablas: sus particiones mensuales se borran completas, sin reescribir nada.
+ * <ul>
+ *     <li>Se conservan los resúmenes: resumen_venta_horaria, venta_online_mensual, los snapshots de stock (el
+ *     stock posterior al año se calcula desde el snapshot de enero siguiente) y, por cliente, las compras del año
+ *     en estadistica_cliente_archivada, que la reconstrucción de estadísticas suma a las ventas en línea.</li>
+ *     <li>Los uuid y números de documento del año siguen registrados en venta_uuid y venta_numero_documento, así
+ *     no pueden reutilizarse.</li>
+ *     <li>Los reportes y la exportación CSV consultan los años archivados cargándolos bajo demanda
+ *     ({@link ConsultaArchivoService}).</li>
+ * </ul>
+ * Se ejecuta a pedido o, si {@code app.archivo.habilitado}, para los años anteriores a los
+ * {@code app.archivo.anios-en-linea} más recientes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArchivoVentasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoVentasService.class);
+    static final String MANIFIESTO = "manifiesto.json";
+    private static final int FILAS_POR_LECTURA = 5_000;
+
+    /** Tablas archivadas, en el orden en que se eliminan (las hijas antes que venta). */
+    static final List<TablaArchivo> TABLAS = List.of(
+            new TablaArchivo("detalle_venta", "fecha_venta", "detalle_id"),
+            new TablaArchivo("pago_venta", "fecha_venta", "pago_id"),
+            new TablaArchivo("venta", "fecha", "venta_id"),
+            new TablaArchivo("movimiento_inventario", "fecha", "movimiento_id"));
+    private static final TablaArchivo VENTA = TABLAS.get(2);
+
+    private static final String SQL_PARTICIONES = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = ? AND p.relnamespace = current_schema()::regnamespace ORDER BY c.relname";
+    private static final String SQL_PRIMER_ANIO = "SELECT EXTRACT(YEAR FROM LEAST(" +
+            "(SELECT MIN(fecha) FROM venta), (SELECT MIN(fecha) FROM movimiento_inventario)) " +
+            "AT TIME ZONE 'America/Santiago')::int";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AnioArchivadoRepository anioArchivadoRepository;
+    private final SnapshotStockService snapshotStockService;
+    private final SnapshotStockRepository snapshotStockRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.archivo.dir:/app/archivo}")
+    private String directorio;
+
+    @Value("${app.archivo.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${app.archivo.anios-en-linea:3}")
+    private int aniosEnLinea;
+
+    record TablaArchivo(String nombre, String columnaFecha, String columnaId) {
+        String archivo() {
+            return nombre + ".dcol";
+        }
+    }
+
+    /**
+     * Archiva, si está habilitado, los años con datos anteriores a los años en línea (el actual cuenta como uno).
+     * Se detiene en el primer año que no pueda archivarse.
+     */
+    @Scheduled(cron = "${app.archivo.cron:0 30 3 * * *}", zone = "America/Santiago")
+    public void archivarAniosAntiguos() {
+        if (!habilitado) {
+            return;
+        }
+        int primerAnioEnLinea = Year.now(DateUtils.ZONE_ID_SANTIAGO).getValue() - Math.max(aniosEnLinea, 1) + 1;
+        Integer primerAnio = jdbcTemplate.queryForObject(SQL_PRIMER_ANIO, Integer.class);
+        if (primerAnio == null) {
+            return;
+        }
+        Set<Integer> archivados = new HashSet<>(anioArchivadoRepository.findAnios());
+        for (int anio = primerAnio; anio < primerAnioEnLinea; anio++) {
+            if (archivados.contains(anio)) {
+                continue;
+            }
+            try {
+                archivarAnio(anio);
+            } catch (BusinessException e) {
+                log.error("No se pudo archivar el año {}: {}", anio, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Exporta el año a archivos columnares, verifica lo escrito leyéndolo de vuelta y, en una transacción,
+     * guarda los agregados por cliente, registra el año y elimina sus filas de las tablas. Si algo falla antes
+     * de confirmar, los archivos se eliminan y las tablas quedan como estaban.
+     * @param anio Año cerrado (anterior al actual) sin archivar.
+     * @return Registro del año archivado.
+     */
+    public synchronized AnioArchivado archivarAnio(int anio) {
+        if (anio >= Year.now(DateUtils.ZONE_ID_SANTIAGO).getValue()) {
+            throw new BusinessException("Solo se pueden archivar años cerrados: " + anio);
+        }
+        if (anioArchivadoRepository.existsById(anio)) {
+            throw new BusinessException("El año " + anio + " ya está archivado.");
+        }
+        ZonedDateTime inicio = Year.of(anio).atDay(1).atStartOfDay(DateUtils.ZONE_ID_SANTIAGO);
+        ZonedDateTime fin = inicio.plusYears(1);
+
+        // El stock posterior al año debe poder calcularse sin sus movimientos
+        snapshotStockService.generarSnapshots();
+        ZonedDateTime ultimoCorte = snapshotStockRepository.findUltimoCorte();
+        if ((ultimoCorte == null || ultimoCorte.isBefore(fin)) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM movimiento_inventario WHERE fecha < ?)", Boolean.class,
+                fin.toOffsetDateTime()))) {
+            throw new BusinessException("No hay snapshot de stock posterior al año " + anio + ".");
+        }
+
+        Path base = Paths.get(directorio);
+        Path temporal = base.resolve(anio + ".tmp");
+        Path destino = base.resolve(String.valueOf(anio));
+        ManifiestoArchivo manifiesto;
+        try {
+            eliminarDirectorio(temporal);
+            if (Files.exists(destino)) {
+                // Exportación previa interrumpida antes de eliminar las filas: las tablas siguen completas
+                log.warn("El directorio {} no corresponde a un año archivado, se reemplaza", destino);
+                eliminarDirectorio(destino);
+            }
+            Files.createDirectories(temporal);
+            manifiesto = exportar(anio, inicio, fin, temporal);
+            verificar(temporal, manifiesto);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temporal.resolve(MANIFIESTO).toFile(), manifiesto);
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            eliminarSinFallar(temporal);
+            throw new BusinessException("No se pudo exportar el año " + anio + ": " + e.getMessage());
+        } catch (RuntimeException e) {
+            eliminarSinFallar(temporal);
+            throw e;
+        }
+
+        try {
+            AnioArchivado archivado = new TransactionTemplate(transactionManager)
+                    .execute(status -> eliminarDeTablas(anio, inicio, fin, manifiesto, destino));
+            log.info("Año {} archivado en {}: {} ventas, {} detalles, {} pagos, {} movimientos", anio, destino,
+                    archivado.getVentas(), archivado.getDetalles(), archivado.getPagos(), archivado.getMovimientos());
+            return archivado;
+        } catch (RuntimeException e) {
+            eliminarSinFallar(destino);
+            throw e;
+        }
+    }
+
+    /**
+     * Años archivados, del más antiguo al más reciente.
+     */
+    public List<AnioArchivado> listar() {
+        return anioArchivadoRepository.findAllByOrderByAnioAsc();
+    }
+
+    /**
+     * Manifiesto de un año archivado.
+     * @param archivado Registro del año.
+     */
+    public ManifiestoArchivo leerManifiesto(AnioArchivado archivado) {
+        Path manifiesto = Paths.get(archivado.getDirectorio()).resolve(MANIFIESTO);
+        try {
+            return objectMapper.readValue(manifiesto.toFile(), ManifiestoArchivo.class);
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el archivo del año " + archivado.getAnio() + ": " + e.getMessage());
+        }
+    }
+
+    // --- Exportación ---
+
+    // Una sola transacción REPEATABLE READ: las cuatro tablas y el total salen de la misma foto
+    private ManifiestoArchivo exportar(int anio, ZonedDateTime inicio, ZonedDateTime fin, Path carpeta) {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        lectura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return lectura.execute(status -> {
+            Map<String, ManifiestoArchivo.ArchivoTabla> archivos = new LinkedHashMap<>();
+            for (TablaArchivo tabla : TABLAS) {
+                archivos.put(tabla.nombre(), exportarTabla(tabla, inicio, fin, carpeta));
+            }
+            return new ManifiestoArchivo(anio, OffsetDateTime.now(DateUtils.ZONE_ID_SANTIAGO), EscritorColumnar.VERSION,
+                    archivos, totalNeto(inicio, fin));
+        });
+    }
+
+    private ManifiestoArchivo.ArchivoTabla exportarTabla(TablaArchivo tabla, ZonedDateTime inicio, ZonedDateTime fin,
+                                                         Path carpeta) {
+        Path archivo = carpeta.resolve(tabla.archivo());
+        String sql = sqlFilas(tabla) + " ORDER BY " + tabla.columnaId();
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            // Con la transacción abierta el driver lee por bloques en lugar de cargar todo el año
+            ps.setFetchSize(FILAS_POR_LECTURA);
+            ps.setObject(1, inicio.toOffsetDateTime());
+            ps.setObject(2, fin.toOffsetDateTime());
+            return ps;
+        }, rs -> {
+            try (EscritorColumnar escritor = new EscritorColumnar(archivo, ColumnaArchivo.desde(rs.getMetaData()))) {
+                while (rs.next()) {
+                    escritor.agregar(rs);
+                }
+                escritor.close();
+                return new ManifiestoArchivo.ArchivoTabla(tabla.archivo(), escritor.getFilas(), Files.size(archivo),
+                        escritor.getCrc32());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Lee de vuelta cada archivo completo: filas, CRC y, para venta, el total neto
+    static void verificar(Path carpeta, ManifiestoArchivo manifiesto) throws IOException {
+        for (Map.Entry<String, ManifiestoArchivo.ArchivoTabla> entrada : manifiesto.tablas().entrySet()) {
+            ManifiestoArchivo.ArchivoTabla esperado = entrada.getValue();
+            boolean esVenta = VENTA.nombre().equals(entrada.getKey());
+            BigDecimal[] total = {BigDecimal.ZERO};
+            try (LectorColumnar lector = new LectorColumnar(carpeta.resolve(esperado.archivo()))) {
+                int columnaTotal = esVenta ? indice(lector.getColumnas(), "total_neto") : -1;
+                long filas = lector.leer(esVenta ? Set.of("total_neto") : Set.of(), fila -> {
+                    if (columnaTotal >= 0 && fila[columnaTotal] != null) {
+                        total[0] = total[0].add((BigDecimal) fila[columnaTotal]);
+                    }
+                });
+                if (filas != esperado.filas() || lector.getCrc32() != esperado.crc32()) {
+                    throw new IOException("El archivo " + esperado.archivo() + " no coincide con lo exportado");
+                }
+            }
+            if (esVenta && total[0].compareTo(manifiesto.totalNeto()) != 0) {
+                throw new IOException("El total neto de " + esperado.archivo() + " no coincide con lo exportado");
+            }
+        }
+    }
+
+    // --- Eliminación ---
+
+    private AnioArchivado eliminarDeTablas(int anio, ZonedDateTime inicio, ZonedDateTime fin,
+                                           ManifiestoArchivo manifiesto, Path destino) {
+        // Sin ventas ni movimientos nuevos hasta confirmar; lo exportado debe seguir siendo todo el año
+        jdbcTemplate.execute("LOCK TABLE venta, detalle_venta, pago_venta, movimiento_inventario " +
+                "IN SHARE ROW EXCLUSIVE MODE");
+        Map<String, Long> filas = new LinkedHashMap<>();
+        for (TablaArchivo tabla : TABLAS) {
+            long actuales = contar(tabla, inicio, fin);
+            if (actuales != manifiesto.tablas().get(tabla.nombre()).filas()) {
+                throw new BusinessException("Las filas de " + tabla.nombre() + " del año " + anio +
+                        " cambiaron durante la exportación, reintente.");
+            }
+            filas.put(tabla.nombre(), actuales);
+        }
+        BigDecimal total = totalNeto(inicio, fin);
+        if (total.compareTo(manifiesto.totalNeto()) != 0) {
+            throw new BusinessException("Las ventas del año " + anio + " cambiaron durante la exportación, reintente.");
+        }
+
+        jdbcTemplate.update("INSERT INTO estadistica_cliente_archivada " +
+                        "(anio, cliente_id, cantidad_compras, gasto_total, ultima_compra) " +
+                        "SELECT ?, v.cliente_id, COUNT(*), COALESCE(SUM(v.total_neto), 0), MAX(v.fecha) " +
+                        "FROM (" + sqlFilas(VENTA) + ") v WHERE v.cliente_id IS NOT NULL GROUP BY v.cliente_id",
+                anio, inicio.toOffsetDateTime(), fin.toOffsetDateTime());
+        for (TablaArchivo tabla : TABLAS) {
+            eliminarFilas(tabla, anio, inicio, fin);
+        }
+
+        return anioArchivadoRepository.save(AnioArchivado.builder()
+                .anio(anio)
+                .fechaArchivo(DateUtils.obtenerFechaHoraActual())
+                .ventas(filas.get("venta"))
+                .detalles(filas.get("detalle_venta"))
+                .pagos(filas.get("pago_venta"))
+                .movimientos(filas.get("movimiento_inventario"))
+                .totalNeto(total.doubleValue())
+                .directorio(destino.toAbsolutePath().toString())
+                .build());
+    }
+
+    private void eliminarFilas(TablaArchivo tabla, int anio, ZonedDateTime inicio, ZonedDateTime fin) {
+        String mensual = tabla.nombre() + "_" + anio + "_\\d{2}";
+        for (String particion : jdbcTemplate.queryForList(SQL_PARTICIONES, String.class, tabla.nombre())) {
+            if (particion.matches(mensual)) {
+                // Las particiones de venta son referenciadas por las FK de las hijas: se separan antes de borrarlas
+                if (tabla == VENTA) {
+                    jdbcTemplate.execute("ALTER TABLE venta DETACH PARTITION " + particion);
+                }
+                jdbcTemplate.execute("DROP TABLE " + particion);
+            } else if (!particion.matches(tabla.nombre() + "_\\d{4}_\\d{2}")) {
+                // Partición DEFAULT: solo sus filas del año. Se borra en la partición porque movimiento_inventario
+                // rechaza DELETE sobre la tabla, y para venta sin el trigger que liberaría uuid y número de documento
+                eliminarRestantes(tabla, particion, inicio, fin);
+            }
+        }
+    }
+
+    private void eliminarRestantes(TablaArchivo tabla, String particion, ZonedDateTime inicio, ZonedDateTime fin) {
+        String condicion = " WHERE " + tabla.columnaFecha() + " >= ? AND " + tabla.columnaFecha() + " < ?";
+        Long restantes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + particion + condicion, Long.class,
+                inicio.toOffsetDateTime(), fin.toOffsetDateTime());
+        if (restantes == null || restantes == 0) {
+            return;
+        }
+        if (tabla == VENTA) {
+            jdbcTemplate.execute("ALTER TABLE venta DISABLE TRIGGER trg_venta_claves_unicas");
+        }
+        jdbcTemplate.update("DELETE FROM " + particion + condicion, inicio.toOffsetDateTime(), fin.toOffsetDateTime());
+        if (tabla == VENTA) {
+            jdbcTemplate.execute("ALTER TABLE venta ENABLE TRIGGER trg_venta_claves_unicas");
+        }
+    }
+
+    // --- Consultas ---
+
+    // Filas del año en la tabla (parámetros: inicio y fin)
+    private static String sqlFilas(TablaArchivo tabla) {
+        return "SELECT * FROM " + tabla.nombre() + " WHERE " + tabla.columnaFecha() + " >= ? AND " +
+                tabla.columnaFecha() + " < ?";
+    }
+
+    private long contar(TablaArchivo tabla, ZonedDateTime inicio, ZonedDateTime fin) {
+        Long filas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + sqlFilas(tabla) + ") t",
+                Long.class, inicio.toOffsetDateTime(), fin.toOffsetDateTime());
+        return filas != null ? filas : 0;
+    }
+
+    private BigDecimal totalNeto(ZonedDateTime inicio, ZonedDateTime fin) {
+        BigDecimal total = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(total_neto), 0) FROM (" + sqlFilas(VENTA) + ") v", BigDecimal.class,
+                inicio.toOffsetDateTime(), fin.toOffsetDateTime());
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    private static int indice(List<ColumnaArchivo> columnas, String nombre) throws IOException {
+        for (int i = 0; i < columnas.size(); i++) {
+            if (columnas.get(i).nombre().equals(nombre)) {
+                return i;
+            }
+        }
+        throw new IOException("El archivo no tiene la columna " + nombre);
+    }
+
+    private static void eliminarDirectorio(Path carpeta) throws IOException {
+        if (!Files.exists(carpeta)) {
+            return;
+        }
+        try (Stream<Path> archivos = Files.walk(carpeta)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+
+    private static void eliminarSinFallar(Path carpeta) {
+        try {
+            eliminarDirectorio(carpeta);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar {}: {}", carpeta, e.getMessage());
+        }
+    }
+}
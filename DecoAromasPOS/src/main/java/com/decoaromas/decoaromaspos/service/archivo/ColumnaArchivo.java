@@ -0,0 +1,25 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columna de un archivo columnar: nombre, tipo y, para {@link TipoColumna#DECIMAL}, la escala.
+ */
+public record ColumnaArchivo(String nombre, TipoColumna tipo, int escala) {
+
+    /**
+     * Columnas de un resultado JDBC, en el mismo orden.
+     */
+    public static List<ColumnaArchivo> desde(ResultSetMetaData metaData) throws SQLException {
+        List<ColumnaArchivo> columnas = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            TipoColumna tipo = TipoColumna.desde(metaData, i);
+            columnas.add(new ColumnaArchivo(metaData.getColumnLabel(i), tipo,
+                    tipo == TipoColumna.DECIMAL ? metaData.getScale(i) : 0));
+        }
+        return columnas;
+    }
+}
@@ -0,0 +1,278 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.model.AnioArchivado;
+import com.decoaromas.decoaromaspos.repository.AnioArchivadoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Lectura de los años archivados por {@link ArchivoVentasService}. Para consultar un año, sus archivos de venta,
+ * detalle_venta y pago_venta se cargan en tablas de un esquema propio ({@code archivo_lectura_<anio>}) y las
+ * vistas del esquema {@code archivo_consulta} (mismos nombres) unen las tablas en línea con los años cargados.
+ * Las consultas se ejecutan con {@code search_path = archivo_consulta, public}: las mismas consultas JPQL y
+ * nativas leen ventas en línea y archivadas sin cambios.
+ * <ul>
+ *     <li>Un año cargado se reutiliza mientras se consulte; tras {@code app.archivo.lectura.minutos-inactivo}
+ *     sin uso se elimina. Las consultas en curso impiden eliminarlo (lock de lectura).</li>
+ *     <li>Los movimientos de inventario archivados no se cargan: el stock histórico sale de los snapshots.</li>
+ *     <li>Las tablas cargadas viven en la base: con varias instancias cada una carga y elimina las suyas con el
+ *     mismo nombre, por lo que el archivo supone una sola instancia de la aplicación.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class ConsultaArchivoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultaArchivoService.class);
+    static final String ESQUEMA_CONSULTA = "archivo_consulta";
+    private static final String PREFIJO_LECTURA = "archivo_lectura_";
+    private static final List<String> TABLAS = List.of("venta", "detalle_venta", "pago_venta");
+    private static final int FILAS_POR_LOTE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AnioArchivadoRepository anioArchivadoRepository;
+    private final ArchivoVentasService archivoVentasService;
+
+    // Años cargados y su último uso
+    private final Map<Integer, Instant> cargados = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${app.archivo.lectura.minutos-inactivo:30}")
+    private long minutosInactivo;
+
+    /**
+     * Ejecuta una consulta incluyendo los años archivados del periodo. Sin años archivados en el periodo se
+     * ejecuta tal cual, sin costo adicional más allá de leer los años archivados.
+     * @param anios    Años que abarca la consulta.
+     * @param consulta Consulta a ejecutar (reportes, exportación).
+     */
+    public <T> T consultar(Collection<Integer> anios, Supplier<T> consulta) {
+        if (anios.isEmpty()) {
+            return consulta.get();
+        }
+        List<Integer> archivados = anioArchivadoRepository.findAnios();
+        Set<Integer> incluidos = anios.stream().filter(archivados::contains).collect(Collectors.toCollection(TreeSet::new));
+        if (incluidos.isEmpty()) {
+            return consulta.get();
+        }
+
+        lock.readLock().lock();
+        try {
+            while (!cargados.keySet().containsAll(incluidos)) {
+                // Cargar requiere el lock de escritura; se recupera el de lectura antes de soltarlo (downgrade)
+                lock.readLock().unlock();
+                lock.writeLock().lock();
+                try {
+                    for (Integer anio : incluidos) {
+                        if (!cargados.containsKey(anio)) {
+                            cargar(anio);
+                        }
+                    }
+                } finally {
+                    lock.readLock().lock();
+                    lock.writeLock().unlock();
+                }
+            }
+            Instant ahora = Instant.now();
+            incluidos.forEach(anio -> cargados.put(anio, ahora));
+
+            // Transacción propia (o la del llamador) con las vistas delante de las tablas
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.execute("SET LOCAL search_path TO " + ESQUEMA_CONSULTA + ", public");
+                return consulta.get();
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina los años cargados sin uso reciente y, al primer paso, los que quedaron de una ejecución anterior.
+     * No espera a las consultas en curso: si hay alguna, lo intenta en el siguiente paso.
+     */
+    @Scheduled(fixedDelayString = "${app.archivo.lectura.limpieza-ms:300000}",
+            initialDelayString = "${app.archivo.lectura.limpieza-ms:300000}")
+    public void liberarInactivos() {
+        if (!lock.writeLock().tryLock()) {
+            return;
+        }
+        try {
+            Instant limite = Instant.now().minus(Duration.ofMinutes(minutosInactivo));
+            List<String> eliminar = new ArrayList<>();
+            for (String esquema : jdbcTemplate.queryForList(
+                    "SELECT nspname FROM pg_namespace WHERE nspname LIKE 'archivo\\_lectura\\_%'", String.class)) {
+                Integer anio = Integer.valueOf(esquema.substring(PREFIJO_LECTURA.length()));
+                Instant uso = cargados.get(anio);
+                if (uso == null || uso.isBefore(limite)) {
+                    eliminar.add(esquema);
+                    cargados.remove(anio);
+                }
+            }
+            if (eliminar.isEmpty()) {
+                return;
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // CASCADE elimina también las vistas que las usan; se recrean con los años que quedan
+                eliminar.forEach(esquema -> jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + esquema + " CASCADE"));
+                recrearVistas();
+            });
+            log.info("Años archivados liberados: {}", eliminar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina los años cargados al detener la aplicación: las vistas dependen de las tablas en línea y
+     * bloquearían una migración que modifique sus columnas.
+     */
+    @PreDestroy
+    public void liberarTodos() {
+        lock.writeLock().lock();
+        try {
+            if (cargados.isEmpty()) {
+                return;
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                cargados.keySet().forEach(anio ->
+                        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + PREFIJO_LECTURA + anio + " CASCADE"));
+                cargados.clear();
+                recrearVistas();
+            });
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron liberar los años archivados cargados: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Con el lock de escritura
+    private void cargar(int anio) {
+        AnioArchivado archivado = anioArchivadoRepository.findById(anio)
+                .orElseThrow(() -> new BusinessException("El año " + anio + " no está archivado."));
+        ManifiestoArchivo manifiesto = archivoVentasService.leerManifiesto(archivado);
+        Path carpeta = Paths.get(archivado.getDirectorio());
+        String esquema = PREFIJO_LECTURA + anio;
+        long inicio = System.nanoTime();
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + esquema + " CASCADE");
+                jdbcTemplate.execute("CREATE SCHEMA " + esquema);
+                for (String tabla : TABLAS) {
+                    ManifiestoArchivo.ArchivoTabla archivo = manifiesto.tablas().get(tabla);
+                    jdbcTemplate.execute("CREATE TABLE " + esquema + "." + tabla + " (LIKE public." + tabla + ")");
+                    if (archivo != null) {
+                        cargarTabla(esquema, tabla, carpeta.resolve(archivo.archivo()), archivo);
+                    }
+                }
+                // Los mismos accesos que usan los reportes sobre las tablas en línea
+                jdbcTemplate.execute("CREATE INDEX ON " + esquema + ".venta (fecha, venta_id)");
+                jdbcTemplate.execute("CREATE INDEX ON " + esquema + ".venta (venta_id)");
+                jdbcTemplate.execute("CREATE INDEX ON " + esquema + ".detalle_venta (venta_id)");
+                jdbcTemplate.execute("CREATE INDEX ON " + esquema + ".pago_venta (venta_id)");
+                jdbcTemplate.execute("ANALYZE " + esquema + ".venta, " + esquema + ".detalle_venta, " +
+                        esquema + ".pago_venta");
+                cargados.put(anio, Instant.now());
+                recrearVistas();
+            });
+        } catch (RuntimeException e) {
+            cargados.remove(anio);
+            throw e;
+        }
+        log.info("Año archivado {} cargado para consulta en {} ms", anio, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // Inserta las filas del archivo, verificando filas y CRC contra el manifiesto (un error revierte la carga)
+    private void cargarTabla(String esquema, String tabla, Path archivo, ManifiestoArchivo.ArchivoTabla esperado) {
+        Map<String, String> tipos = jdbcTemplate.query(
+                "SELECT a.attname, format_type(a.atttypid, a.atttypmod) FROM pg_attribute a " +
+                        "WHERE a.attrelid = to_regclass(?) AND a.attnum > 0 AND NOT a.attisdropped",
+                rs -> {
+                    Map<String, String> resultado = new HashMap<>();
+                    while (rs.next()) {
+                        resultado.put(rs.getString(1), rs.getString(2));
+                    }
+                    return resultado;
+                }, "public." + tabla);
+        try (LectorColumnar lector = new LectorColumnar(archivo)) {
+            // Solo las columnas que siguen existiendo en la tabla; las nuevas quedan en null
+            List<ColumnaArchivo> columnas = lector.getColumnas();
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < columnas.size(); i++) {
+                if (tipos != null && tipos.containsKey(columnas.get(i).nombre())) {
+                    indices.add(i);
+                }
+            }
+            String sql = "INSERT INTO " + esquema + "." + tabla + " ("
+                    + indices.stream().map(i -> columnas.get(i).nombre()).collect(Collectors.joining(", "))
+                    + ") VALUES ("
+                    + indices.stream().map(i -> "CAST(? AS " + tipos.get(columnas.get(i).nombre()) + ")")
+                    .collect(Collectors.joining(", "))
+                    + ")";
+            List<Object[]> lote = new ArrayList<>(FILAS_POR_LOTE);
+            long filas = lector.leer(null, fila -> {
+                Object[] valores = new Object[indices.size()];
+                for (int i = 0; i < valores.length; i++) {
+                    valores[i] = fila[indices.get(i)];
+                }
+                lote.add(valores);
+                if (lote.size() == FILAS_POR_LOTE) {
+                    jdbcTemplate.batchUpdate(sql, lote);
+                    lote.clear();
+                }
+            });
+            if (!lote.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, lote);
+            }
+            if (filas != esperado.filas() || lector.getCrc32() != esperado.crc32()) {
+                throw new BusinessException("El archivo " + archivo + " no coincide con su manifiesto.");
+            }
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el archivo " + archivo + ": " + e.getMessage());
+        }
+    }
+
+    private void recrearVistas() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ESQUEMA_CONSULTA);
+        for (String tabla : TABLAS) {
+            jdbcTemplate.execute("DROP VIEW IF EXISTS " + ESQUEMA_CONSULTA + "." + tabla);
+            if (cargados.isEmpty()) {
+                continue;
+            }
+            StringBuilder sql = new StringBuilder("CREATE VIEW ").append(ESQUEMA_CONSULTA).append('.').append(tabla)
+                    .append(" AS SELECT * FROM public.").append(tabla);
+            for (Integer anio : new TreeSet<>(cargados.keySet())) {
+                sql.append(" UNION ALL SELECT * FROM ").append(PREFIJO_LECTURA).append(anio).append('.').append(tabla);
+            }
+            jdbcTemplate.execute(sql.toString());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca consultas (métodos, o todos los métodos públicos de una clase) que deben incluir los años archivados de
+ * su periodo ({@link ConsultaHistoricaAspect}). El periodo se toma de los parámetros {@code anio}, o
+ * {@code fechaInicio}/{@code fechaFin} (LocalDate), o {@code inicio}/{@code fin} (ZonedDateTime); sin periodo la
+ * consulta solo lee las tablas en línea.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConsultaHistorica {
+}
@@ -0,0 +1,100 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Ejecuta las consultas {@link ConsultaHistorica} a través de {@link ConsultaArchivoService} cuando su periodo
+ * incluye años archivados. Va antes que las transacciones del método, para que estas usen la del archivo.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ConsultaHistoricaAspect {
+
+    private final ConsultaArchivoService consultaArchivoService;
+
+    @Around("(@within(com.decoaromas.decoaromaspos.service.archivo.ConsultaHistorica) && execution(public * *(..)))"
+            + " || @annotation(com.decoaromas.decoaromaspos.service.archivo.ConsultaHistorica)")
+    public Object consultar(ProceedingJoinPoint punto) throws Throwable {
+        Set<Integer> anios = aniosConsultados(((MethodSignature) punto.getSignature()).getParameterNames(),
+                punto.getArgs());
+        if (anios.isEmpty()) {
+            return punto.proceed();
+        }
+        try {
+            return consultaArchivoService.consultar(anios, () -> {
+                try {
+                    return punto.proceed();
+                } catch (Throwable e) {
+                    throw new ExcepcionConsulta(e);
+                }
+            });
+        } catch (ExcepcionConsulta e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Años del periodo de una consulta según los nombres de sus parámetros (vacío si no tiene periodo completo).
+     */
+    static Set<Integer> aniosConsultados(String[] nombres, Object[] valores) {
+        Set<Integer> anios = new TreeSet<>();
+        if (nombres == null) {
+            return anios;
+        }
+        Integer inicio = null;
+        Integer fin = null;
+        for (int i = 0; i < nombres.length; i++) {
+            Object valor = valores[i];
+            switch (nombres[i]) {
+                case "anio" -> {
+                    if (valor instanceof Integer anio) {
+                        anios.add(anio);
+                    }
+                }
+                case "fechaInicio", "inicio" -> inicio = anio(valor);
+                case "fechaFin", "fin" -> fin = anio(valor);
+                default -> {
+                    // No define el periodo
+                }
+            }
+        }
+        if (anios.isEmpty() && inicio != null && fin != null) {
+            for (int anio = inicio; anio <= fin; anio++) {
+                anios.add(anio);
+            }
+        }
+        return anios;
+    }
+
+    private static Integer anio(Object valor) {
+        if (valor instanceof LocalDate fecha) {
+            return fecha.getYear();
+        }
+        if (valor instanceof ZonedDateTime fecha) {
+            return fecha.withZoneSameInstant(DateUtils.ZONE_ID_SANTIAGO).getYear();
+        }
+        return null;
+    }
+
+    // Lleva las excepciones del método (incluidas las verificadas) a través del Supplier
+    private static final class ExcepcionConsulta extends RuntimeException {
+        ExcepcionConsulta(Throwable causa) {
+            super(causa);
+        }
+    }
+}
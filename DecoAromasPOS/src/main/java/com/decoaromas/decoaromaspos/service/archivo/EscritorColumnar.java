@@ -0,0 +1,235 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Escribe filas en un archivo columnar comprimido (extensión {@code .dcol}), leído por {@link LectorColumnar}.
+ * <pre>
+ * "DCOL" | versión (1 byte)
+ * columnas: n | por columna: nombre (largo + UTF-8) | tipo (1 byte) | escala
+ * grupos de hasta {@value #FILAS_POR_GRUPO} filas: filas | por columna: largo sin comprimir | largo comprimido | bloque
+ * fin: 0
+ * </pre>
+ * Los números son varint. Cada bloque (una columna de un grupo) va comprimido con Deflate y contiene el mapa de
+ * nulos (un bit por fila, 1 = presente) seguido de los valores presentes: los tipos numéricos como diferencia con
+ * el valor anterior (zigzag + varint) y el texto como diccionario del grupo más un índice por valor. El largo
+ * permite saltar los bloques de las columnas que no se leen.
+ */
+public class EscritorColumnar implements Closeable {
+
+    static final byte[] FIRMA = {'D', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+    static final int FILAS_POR_GRUPO = 65_536;
+
+    private final List<ColumnaArchivo> columnas;
+    private final FileChannel canal;
+    private final CheckedOutputStream salida;
+    private final Object[][] grupo;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private int filasGrupo;
+    private long filas;
+    private boolean cerrado;
+
+    /**
+     * Crea el archivo (no debe existir) y escribe el encabezado.
+     */
+    public EscritorColumnar(Path archivo, List<ColumnaArchivo> columnas) throws IOException {
+        this.columnas = List.copyOf(columnas);
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.salida = new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(canal), 1 << 16), new CRC32());
+        this.grupo = new Object[columnas.size()][FILAS_POR_GRUPO];
+        try {
+            salida.write(FIRMA);
+            salida.write(VERSION);
+            escribirVarint(salida, columnas.size());
+            for (ColumnaArchivo columna : columnas) {
+                escribirTexto(salida, columna.nombre());
+                salida.write(columna.tipo().ordinal());
+                escribirVarint(salida, columna.escala());
+            }
+        } catch (IOException e) {
+            canal.close();
+            deflater.end();
+            throw e;
+        }
+    }
+
+    /**
+     * Agrega la fila actual del resultado (mismas columnas con que se creó el archivo).
+     */
+    public void agregar(ResultSet resultado) throws SQLException, IOException {
+        Object[] fila = new Object[columnas.size()];
+        for (int i = 0; i < fila.length; i++) {
+            fila[i] = switch (columnas.get(i).tipo()) {
+                case ENTERO -> {
+                    long valor = resultado.getLong(i + 1);
+                    yield resultado.wasNull() ? null : valor;
+                }
+                case DECIMAL -> resultado.getBigDecimal(i + 1);
+                case FECHA_HORA -> resultado.getObject(i + 1, OffsetDateTime.class);
+                case TEXTO -> resultado.getString(i + 1);
+            };
+        }
+        agregar(fila);
+    }
+
+    /**
+     * Agrega una fila: Number para ENTERO, BigDecimal para DECIMAL, OffsetDateTime para FECHA_HORA y
+     * cualquier objeto (su toString) para TEXTO; null en cualquier columna.
+     */
+    public void agregar(Object[] fila) throws IOException {
+        for (int i = 0; i < columnas.size(); i++) {
+            grupo[i][filasGrupo] = fila[i];
+        }
+        filas++;
+        if (++filasGrupo == FILAS_POR_GRUPO) {
+            escribirGrupo();
+        }
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    /**
+     * CRC32 del archivo completo; definitivo después de {@link #close()}.
+     */
+    public long getCrc32() {
+        return salida.getChecksum().getValue();
+    }
+
+    /**
+     * Escribe el último grupo y el fin de archivo, y lo fuerza a disco.
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        try (canal) {
+            if (filasGrupo > 0) {
+                escribirGrupo();
+            }
+            escribirVarint(salida, 0);
+            salida.flush();
+            canal.force(true);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void escribirGrupo() throws IOException {
+        escribirVarint(salida, filasGrupo);
+        ByteArrayOutputStream bloque = new ByteArrayOutputStream(filasGrupo * 2);
+        byte[] comprimido = new byte[1024];
+        for (int c = 0; c < columnas.size(); c++) {
+            bloque.reset();
+            codificar(columnas.get(c), grupo[c], bloque);
+            byte[] crudo = bloque.toByteArray();
+
+            deflater.reset();
+            deflater.setInput(crudo);
+            deflater.finish();
+            ByteArrayOutputStream salidaBloque = new ByteArrayOutputStream(crudo.length / 2 + 16);
+            while (!deflater.finished()) {
+                salidaBloque.write(comprimido, 0, deflater.deflate(comprimido));
+            }
+            escribirVarint(salida, crudo.length);
+            escribirVarint(salida, salidaBloque.size());
+            salidaBloque.writeTo(salida);
+            Arrays.fill(grupo[c], 0, filasGrupo, null);
+        }
+        filasGrupo = 0;
+    }
+
+    private void codificar(ColumnaArchivo columna, Object[] valores, ByteArrayOutputStream bloque) throws IOException {
+        byte[] nulos = new byte[(filasGrupo + 7) / 8];
+        for (int f = 0; f < filasGrupo; f++) {
+            if (valores[f] != null) {
+                nulos[f >> 3] |= (byte) (1 << (f & 7));
+            }
+        }
+        bloque.writeBytes(nulos);
+
+        if (columna.tipo() == TipoColumna.TEXTO) {
+            Map<String, Integer> diccionario = new LinkedHashMap<>();
+            for (int f = 0; f < filasGrupo; f++) {
+                if (valores[f] != null) {
+                    diccionario.putIfAbsent(valores[f].toString(), diccionario.size());
+                }
+            }
+            escribirVarint(bloque, diccionario.size());
+            for (String texto : diccionario.keySet()) {
+                escribirTexto(bloque, texto);
+            }
+            for (int f = 0; f < filasGrupo; f++) {
+                if (valores[f] != null) {
+                    escribirVarint(bloque, diccionario.get(valores[f].toString()));
+                }
+            }
+            return;
+        }
+
+        long anterior = 0;
+        for (int f = 0; f < filasGrupo; f++) {
+            if (valores[f] == null) {
+                continue;
+            }
+            long valor = aEntero(columna, valores[f]);
+            long diferencia = valor - anterior;
+            escribirVarint(bloque, (diferencia << 1) ^ (diferencia >> 63));
+            anterior = valor;
+        }
+    }
+
+    private static long aEntero(ColumnaArchivo columna, Object valor) {
+        return switch (columna.tipo()) {
+            case ENTERO -> ((Number) valor).longValue();
+            // Sin redondeo: un valor con más decimales que la columna es un error de lectura
+            case DECIMAL -> ((BigDecimal) valor).setScale(columna.escala(), RoundingMode.UNNECESSARY)
+                    .unscaledValue().longValueExact();
+            case FECHA_HORA -> {
+                OffsetDateTime fecha = (OffsetDateTime) valor;
+                yield Math.addExact(Math.multiplyExact(fecha.toEpochSecond(), 1_000_000L), fecha.getNano() / 1_000L);
+            }
+            case TEXTO -> throw new IllegalStateException("TEXTO no se codifica como entero");
+        };
+    }
+
+    static void escribirVarint(OutputStream salida, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            salida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.write((int) valor);
+    }
+
+    private static void escribirTexto(OutputStream salida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escribirVarint(salida, bytes.length);
+        salida.write(bytes);
+    }
+}
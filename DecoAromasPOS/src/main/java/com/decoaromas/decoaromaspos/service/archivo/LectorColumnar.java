@@ -0,0 +1,242 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lee un archivo escrito por {@link EscritorColumnar}. Los valores se entregan como Long (ENTERO),
+ * BigDecimal (DECIMAL), OffsetDateTime en UTC (FECHA_HORA) y String (TEXTO).
+ */
+public class LectorColumnar implements Closeable {
+
+    private final CheckedInputStream entrada;
+    private final List<ColumnaArchivo> columnas;
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * Abre el archivo y lee su encabezado.
+     */
+    public LectorColumnar(Path archivo) throws IOException {
+        this.entrada = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(archivo), 1 << 16), new CRC32());
+        try {
+            byte[] firma = entrada.readNBytes(EscritorColumnar.FIRMA.length);
+            if (!Arrays.equals(firma, EscritorColumnar.FIRMA)) {
+                throw new IOException("No es un archivo columnar: " + archivo);
+            }
+            int version = entrada.read();
+            if (version != EscritorColumnar.VERSION) {
+                throw new IOException("Versión de archivo columnar no soportada: " + version);
+            }
+            int cantidad = (int) leerVarint(entrada);
+            List<ColumnaArchivo> leidas = new ArrayList<>(cantidad);
+            TipoColumna[] tipos = TipoColumna.values();
+            for (int i = 0; i < cantidad; i++) {
+                String nombre = leerTexto(entrada);
+                int tipo = entrada.read();
+                if (tipo < 0 || tipo >= tipos.length) {
+                    throw new IOException("Tipo de columna inválido en " + archivo + ": " + tipo);
+                }
+                leidas.add(new ColumnaArchivo(nombre, tipos[tipo], (int) leerVarint(entrada)));
+            }
+            this.columnas = Collections.unmodifiableList(leidas);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public List<ColumnaArchivo> getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Recorre todas las filas del archivo en orden.
+     * @param proyeccion Columnas a leer (null = todas); las demás quedan en null y sus bloques no se descomprimen.
+     * @param consumidor Recibe cada fila, en el orden de {@link #getColumnas()}. El arreglo se reutiliza.
+     * @return Cantidad de filas leídas.
+     */
+    public long leer(Set<String> proyeccion, Consumer<Object[]> consumidor) throws IOException {
+        long total = 0;
+        Object[][] valores = new Object[columnas.size()][];
+        Object[] fila = new Object[columnas.size()];
+        int filas;
+        while ((filas = (int) leerVarint(entrada)) > 0) {
+            for (int c = 0; c < columnas.size(); c++) {
+                int largoCrudo = (int) leerVarint(entrada);
+                int largoComprimido = (int) leerVarint(entrada);
+                ColumnaArchivo columna = columnas.get(c);
+                if (proyeccion != null && !proyeccion.contains(columna.nombre())) {
+                    // Se lee igual (sin descomprimir) para que el CRC cubra todo el archivo
+                    entrada.skipNBytes(largoComprimido);
+                    valores[c] = null;
+                    continue;
+                }
+                byte[] crudo = descomprimir(entrada.readNBytes(largoComprimido), largoCrudo);
+                valores[c] = decodificar(columna, crudo, filas);
+            }
+            for (int f = 0; f < filas; f++) {
+                for (int c = 0; c < fila.length; c++) {
+                    fila[c] = valores[c] != null ? valores[c][f] : null;
+                }
+                consumidor.accept(fila);
+            }
+            total += filas;
+        }
+        return total;
+    }
+
+    /**
+     * CRC32 de lo leído; después de {@link #leer} es el del archivo completo.
+     */
+    public long getCrc32() {
+        return entrada.getChecksum().getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        entrada.close();
+    }
+
+    private byte[] descomprimir(byte[] comprimido, int largoCrudo) throws IOException {
+        inflater.reset();
+        inflater.setInput(comprimido);
+        byte[] crudo = new byte[largoCrudo];
+        try {
+            int leidos = 0;
+            while (leidos < largoCrudo && !inflater.finished()) {
+                int n = inflater.inflate(crudo, leidos, largoCrudo - leidos);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                leidos += n;
+            }
+            if (leidos != largoCrudo) {
+                throw new IOException("Bloque columnar truncado");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloque columnar corrupto: " + e.getMessage(), e);
+        }
+        return crudo;
+    }
+
+    private static Object[] decodificar(ColumnaArchivo columna, byte[] crudo, int filas) throws IOException {
+        Bloque bloque = new Bloque(crudo);
+        int inicioValores = (filas + 7) / 8;
+        bloque.posicion = inicioValores;
+        Object[] valores = new Object[filas];
+
+        if (columna.tipo() == TipoColumna.TEXTO) {
+            String[] diccionario = new String[(int) bloque.varint()];
+            for (int i = 0; i < diccionario.length; i++) {
+                int largo = (int) bloque.varint();
+                diccionario[i] = new String(crudo, bloque.avanzar(largo), largo, StandardCharsets.UTF_8);
+            }
+            for (int f = 0; f < filas; f++) {
+                if (presente(crudo, f)) {
+                    valores[f] = diccionario[(int) bloque.varint()];
+                }
+            }
+            return valores;
+        }
+
+        long anterior = 0;
+        for (int f = 0; f < filas; f++) {
+            if (!presente(crudo, f)) {
+                continue;
+            }
+            long zigzag = bloque.varint();
+            anterior += (zigzag >>> 1) ^ -(zigzag & 1);
+            valores[f] = switch (columna.tipo()) {
+                case ENTERO -> anterior;
+                case DECIMAL -> BigDecimal.valueOf(anterior, columna.escala());
+                case FECHA_HORA -> OffsetDateTime.ofInstant(Instant.ofEpochSecond(
+                        Math.floorDiv(anterior, 1_000_000L), Math.floorMod(anterior, 1_000_000L) * 1_000L), ZoneOffset.UTC);
+                case TEXTO -> throw new IllegalStateException();
+            };
+        }
+        return valores;
+    }
+
+    private static boolean presente(byte[] crudo, int fila) {
+        return (crudo[fila >> 3] & (1 << (fila & 7))) != 0;
+    }
+
+    static long leerVarint(InputStream entrada) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = entrada.read();
+            if (b < 0) {
+                throw new EOFException("Archivo columnar truncado");
+            }
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint inválido en archivo columnar");
+    }
+
+    private static String leerTexto(InputStream entrada) throws IOException {
+        int largo = (int) leerVarint(entrada);
+        byte[] bytes = entrada.readNBytes(largo);
+        if (bytes.length != largo) {
+            throw new EOFException("Archivo columnar truncado");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Cursor sobre un bloque descomprimido
+    private static final class Bloque {
+        private final byte[] datos;
+        private int posicion;
+
+        Bloque(byte[] datos) {
+            this.datos = datos;
+        }
+
+        long varint() throws IOException {
+            long valor = 0;
+            for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+                if (posicion >= datos.length) {
+                    throw new EOFException("Bloque columnar truncado");
+                }
+                int b = datos[posicion++] & 0xFF;
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                if ((b & 0x80) == 0) {
+                    return valor;
+                }
+            }
+            throw new IOException("Varint inválido en bloque columnar");
+        }
+
+        int avanzar(int largo) throws IOException {
+            if (posicion + largo > datos.length) {
+                throw new EOFException("Bloque columnar truncado");
+            }
+            int inicio = posicion;
+            posicion += largo;
+            return inicio;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Contenido de {@code manifiesto.json} en el directorio de un año archivado: un archivo columnar por tabla con
+ * su cantidad de filas y CRC32, y el total neto de las ventas del año para verificar la lectura.
+ */
+public record ManifiestoArchivo(int anio, OffsetDateTime fechaArchivo, int version,
+                                Map<String, ArchivoTabla> tablas, BigDecimal totalNeto) {
+
+    public record ArchivoTabla(String archivo, long filas, long bytes, long crc32) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Tipo de una columna de un archivo columnar. Los tres primeros se guardan como enteros de 64 bits codificados
+ * como diferencia con el valor anterior (zigzag + varint), así las columnas ordenadas (ids, fechas) y las de
+ * valores parecidos (montos) ocupan uno o dos bytes por fila antes de comprimir.
+ */
+public enum TipoColumna {
+    /** smallint, integer, bigint. */
+    ENTERO,
+    /** numeric con escala fija: se guarda el valor sin escala (ej.: 1990.50 con escala 2 → 199050). */
+    DECIMAL,
+    /** timestamptz: microsegundos desde la época (la precisión de Postgres). */
+    FECHA_HORA,
+    /** Cualquier otro tipo, como texto (varchar, uuid, boolean): diccionario por grupo de filas. */
+    TEXTO;
+
+    /**
+     * Tipo con que se archiva una columna de un resultado JDBC.
+     */
+    static TipoColumna desde(ResultSetMetaData metaData, int columna) throws SQLException {
+        return switch (metaData.getColumnType(columna)) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> ENTERO;
+            // numeric sin precisión declarada no tiene escala fija
+            case Types.NUMERIC, Types.DECIMAL -> metaData.getPrecision(columna) > 0
+                    && metaData.getPrecision(columna) <= 18 ? DECIMAL : TEXTO;
+            case Types.TIMESTAMP_WITH_TIMEZONE -> FECHA_HORA;
+            // El driver de Postgres informa timestamptz como TIMESTAMP
+            case Types.TIMESTAMP -> "timestamptz".equals(metaData.getColumnTypeName(columna)) ? FECHA_HORA : TEXTO;
+            default -> TEXTO;
+        };
+    }
+}
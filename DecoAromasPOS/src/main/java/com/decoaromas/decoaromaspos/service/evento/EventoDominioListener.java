@@ -0,0 +1,22 @@
+package com.decoaromas.decoaromaspos.service.evento;
+
+import com.decoaromas.decoaromaspos.dto.evento.EventoDominio;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+
+/**
+ * Suscriptor en proceso de los eventos de dominio. Todo bean que implemente esta interfaz recibe los
+ * eventos de {@link EventoOutboxPublicador}, en orden por agregado y al menos una vez: si el listener (u
+ * otro listener del mismo evento) lanza una excepción, el evento se reintenta, por lo que el manejo debe
+ * ser idempotente (ej.: usar {@link EventoDominio#getEventoId()} para descartar repetidos).
+ * <p>
+ * El listener se invoca fuera de la transacción del publicador: si escribe en la base, abre la suya.
+ */
+public interface EventoDominioListener {
+
+    /** Tipos de evento que le interesan; por defecto, todos. */
+    default boolean acepta(TipoEvento tipo) {
+        return true;
+    }
+
+    void manejar(EventoDominio evento);
+}
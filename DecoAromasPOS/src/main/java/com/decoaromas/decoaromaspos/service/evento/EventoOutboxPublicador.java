@@ -0,0 +1,136 @@
+package com.decoaromas.decoaromaspos.service.evento;
+
+import com.decoaromas.decoaromaspos.dto.evento.EventoDominio;
+import com.decoaromas.decoaromaspos.model.EventoOutbox;
+import com.decoaromas.decoaromaspos.repository.EventoOutboxRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entrega los eventos de la bandeja de salida a los {@link EventoDominioListener} en proceso.
+ * <p>
+ * Cada pocos segundos toma un lote de eventos pendientes (FOR UPDATE SKIP LOCKED, así varias instancias
+ * reparten el trabajo), los entrega en orden de ID y los marca como procesados en la misma transacción.
+ * Si un listener falla, el evento queda pendiente con su error y los siguientes eventos del mismo agregado
+ * esperan al próximo intento, para no entregarlos desordenados. Tras {@code app.eventos.max-intentos}
+ * fallos el evento se descarta (queda procesado con su último error) para no bloquear al agregado.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventoOutboxPublicador {
+
+    private static final Logger log = LoggerFactory.getLogger(EventoOutboxPublicador.class);
+    private static final int LARGO_MAXIMO_ERROR = 500;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectProvider<EventoDominioListener> listeners;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.eventos.tamanio-lote:200}")
+    private int tamanioLote;
+
+    @Value("${app.eventos.max-intentos:10}")
+    private int maxIntentos;
+
+    @Value("${app.eventos.retencion-dias:7}")
+    private int retencionDias;
+
+    /**
+     * Entrega un lote de eventos pendientes.
+     * @return Cantidad de eventos entregados.
+     */
+    @Scheduled(fixedDelayString = "${app.eventos.publicacion-ms:1000}")
+    @Transactional
+    public int publicarPendientes() {
+        List<EventoOutbox> lote = eventoOutboxRepository.findPendientesParaPublicar(tamanioLote);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        // Los listeners corren fuera de esta transacción: su fallo no la marca para rollback
+        TransactionTemplate sinTransaccion = new TransactionTemplate(transactionManager);
+        sinTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+
+        Set<String> agregadosConFallo = new HashSet<>();
+        int entregados = 0;
+        for (EventoOutbox evento : lote) {
+            String agregado = evento.getTipoAgregado() + ":" + evento.getAgregadoId();
+            if (agregadosConFallo.contains(agregado)) {
+                continue;
+            }
+            ZonedDateTime ahora = DateUtils.obtenerFechaHoraActual();
+            try {
+                EventoDominio dominio = aDominio(evento);
+                sinTransaccion.executeWithoutResult(status -> entregar(dominio));
+                evento.setProcesado(Boolean.TRUE);
+                evento.setProcesadoEn(ahora);
+                entregados++;
+            } catch (RuntimeException e) {
+                evento.setIntentos(evento.getIntentos() + 1);
+                evento.setUltimoError(recortar(e.getMessage()));
+                if (evento.getIntentos() >= maxIntentos) {
+                    log.error("Evento {} ({} {}) descartado tras {} intentos: {}", evento.getEventoId(),
+                            evento.getTipo(), agregado, evento.getIntentos(), e.getMessage());
+                    evento.setProcesado(Boolean.TRUE);
+                    evento.setProcesadoEn(ahora);
+                } else {
+                    log.warn("Fallo al entregar el evento {} ({} {}), intento {}: {}", evento.getEventoId(),
+                            evento.getTipo(), agregado, evento.getIntentos(), e.getMessage());
+                    agregadosConFallo.add(agregado);
+                }
+            }
+        }
+        return entregados;
+    }
+
+    /** Elimina los eventos procesados hace más de {@code app.eventos.retencion-dias} días. */
+    @Scheduled(cron = "${app.eventos.limpieza.cron:0 0 5 * * *}", zone = "America/Santiago")
+    @Transactional
+    public void eliminarProcesados() {
+        int eliminados = eventoOutboxRepository.eliminarProcesadosAntesDe(
+                DateUtils.obtenerFechaHoraActual().minusDays(retencionDias));
+        if (eliminados > 0) {
+            log.info("Eventos procesados eliminados de la bandeja de salida: {}", eliminados);
+        }
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private void entregar(EventoDominio evento) {
+        listeners.orderedStream()
+                .filter(listener -> listener.acepta(evento.getTipo()))
+                .forEach(listener -> listener.manejar(evento));
+    }
+
+    private static EventoDominio aDominio(EventoOutbox evento) {
+        return EventoDominio.builder()
+                .eventoId(evento.getEventoId())
+                .tipoAgregado(evento.getTipoAgregado())
+                .agregadoId(evento.getAgregadoId())
+                .tipo(evento.getTipo())
+                .payload(evento.getPayload())
+                .fecha(evento.getFecha())
+                .build();
+    }
+
+    private static String recortar(String mensaje) {
+        if (mensaje == null) {
+            return null;
+        }
+        return mensaje.length() <= LARGO_MAXIMO_ERROR ? mensaje : mensaje.substring(0, LARGO_MAXIMO_ERROR);
+    }
+}
@@ -0,0 +1,71 @@
+package com.decoaromas.decoaromaspos.service.evento;
+
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.model.EventoOutbox;
+import com.decoaromas.decoaromaspos.repository.EventoOutboxLoteRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Registro de eventos de dominio en la bandeja de salida (tabla evento_outbox).
+ * Exige una transacción en curso: el evento se confirma o se descarta junto con el cambio que describe.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class EventoOutboxService {
+
+    private final EventoOutboxLoteRepository eventoOutboxLoteRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Registra un evento.
+     * @param tipoAgregado Tipo de la entidad que cambió.
+     * @param agregadoId   ID de la entidad que cambió.
+     * @param tipo         Tipo de evento.
+     * @param payload      Datos del evento (se guardan como JSON).
+     */
+    public void registrar(TipoAgregado tipoAgregado, Long agregadoId, TipoEvento tipo, Object payload) {
+        registrarTodos(List.of(crear(tipoAgregado, agregadoId, tipo, payload)));
+    }
+
+    /**
+     * Registra varios eventos con un solo batch, en el orden de la lista.
+     * @param eventos Eventos creados con {@link #crear}.
+     */
+    public void registrarTodos(List<EventoOutbox> eventos) {
+        if (!eventos.isEmpty()) {
+            eventoOutboxLoteRepository.insertar(eventos);
+        }
+    }
+
+    /**
+     * Crea (sin guardar) un evento, para registrarlo en lote con {@link #registrarTodos}.
+     * @throws BusinessException si el payload no se puede serializar.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public EventoOutbox crear(TipoAgregado tipoAgregado, Long agregadoId, TipoEvento tipo, Object payload) {
+        try {
+            return EventoOutbox.builder()
+                    .tipoAgregado(tipoAgregado)
+                    .agregadoId(agregadoId)
+                    .tipo(tipo)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .fecha(DateUtils.obtenerFechaHoraActual())
+                    .procesado(Boolean.FALSE)
+                    .intentos(0)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("No se pudo serializar el evento " + tipo + ": " + e.getOriginalMessage());
+        }
+    }
+}
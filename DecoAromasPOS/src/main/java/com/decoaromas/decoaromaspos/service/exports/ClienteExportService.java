@@ -3,6 +3,7 @@ package com.decoaromas.decoaromaspos.service.exports;
 import com.decoaromas.decoaromaspos.exception.ExportException;
 import com.decoaromas.decoaromaspos.model.Cliente;
 import com.decoaromas.decoaromaspos.repository.ClienteRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
@@ -13,6 +14,7 @@ import java.io.PrintWriter;
 import java.util.List;
 
 @Service
+@Timed("decoaromas.exportaciones")
 @RequiredArgsConstructor
 public class ClienteExportService {
 
@@ -4,6 +4,7 @@ import com.decoaromas.decoaromaspos.exception.ExportException;
 import com.decoaromas.decoaromaspos.model.Producto;
 import com.decoaromas.decoaromaspos.repository.ProductoRepository;
 import com.decoaromas.decoaromaspos.utils.ProductoSpecification;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
@@ -15,6 +16,7 @@ import java.io.PrintWriter;
 import java.util.List;
 
 @Service
+@Timed("decoaromas.exportaciones")
 @RequiredArgsConstructor
 public class ProductoExportService {
 
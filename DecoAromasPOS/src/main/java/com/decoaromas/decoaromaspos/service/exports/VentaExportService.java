@@ -6,8 +6,10 @@ import com.decoaromas.decoaromaspos.model.DetalleVenta;
 import com.decoaromas.decoaromaspos.model.PagoVenta;
 import com.decoaromas.decoaromaspos.model.Venta;
 import com.decoaromas.decoaromaspos.repository.VentaRepository;
+import com.decoaromas.decoaromaspos.service.archivo.ConsultaHistorica;
 import com.decoaromas.decoaromaspos.utils.DateUtils;
 import com.decoaromas.decoaromaspos.utils.VentaSpecification;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
@@ -24,11 +26,14 @@ import java.util.Comparator;
 import java.util.List;
 
 @Service
+@Timed("decoaromas.exportaciones")
 @RequiredArgsConstructor
 public class VentaExportService {
 
     private final VentaRepository ventaRepository;
 
+    // Incluye las ventas de los años archivados del periodo
+    @ConsultaHistorica
     @Transactional(readOnly = true)
     public void escribirVentasACsv(PrintWriter writer, ZonedDateTime inicio, ZonedDateTime fin, VentaFilterDTO filtros) {
         writer.write('\ufeff');
@@ -0,0 +1,58 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.producto.ConteoStockItem;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee el archivo CSV de un conteo de inventario (con encabezado): {@code sku, codigo_barras, cantidad}.
+ * Cada fila identifica el producto por SKU o, si viene vacío, por código de barras.
+ */
+@Component
+public class LectorConteoStock {
+
+    /**
+     * @param archivo Contenido del CSV.
+     * @return Ítems del conteo, en el orden del archivo.
+     * @throws IllegalArgumentException si una cantidad no es un número entero.
+     */
+    public List<ConteoStockItem> leer(InputStream archivo) {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+
+        List<ConteoStockItem> items = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(new BufferedReader(new InputStreamReader(archivo, StandardCharsets.UTF_8)), format)) {
+            for (CSVRecord fila : parser) {
+                String cantidad = valor(fila, "cantidad");
+                try {
+                    items.add(ConteoStockItem.builder()
+                            .sku(valor(fila, "sku"))
+                            .codigoBarras(valor(fila, "codigo_barras"))
+                            .cantidad(cantidad.isEmpty() ? null : Integer.valueOf(cantidad))
+                            .build());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Línea " + (fila.getRecordNumber() + 1) + ": cantidad inválida '" + cantidad + "'");
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new BusinessException("No se pudo leer el archivo de conteo: " + e.getMessage());
+        }
+        return items;
+    }
+
+    private static String valor(CSVRecord fila, String columna) {
+        return fila.isMapped(columna) && fila.isSet(columna) ? fila.get(columna) : "";
+    }
+}
@@ -0,0 +1,175 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.enums.FormatoImportacion;
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.enums.TipoDocumento;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Lee el archivo de importación de ventas de a una venta por vez (sin cargarlo completo en memoria).
+ * <p>
+ * JSONL: una línea por venta, {@code {"fecha": "2024-05-01T12:30:00-04:00", "venta": {VentaRequest}}}.
+ * La fecha es opcional (por defecto, ahora).
+ * <p>
+ * CSV (con encabezado): {@code ticket, fecha, usuario_id, tipo_cliente, cliente_id, tipo_documento,
+ * producto_id, cantidad, medio_pago, monto_pago}. Cada fila aporta un producto, un pago o ambos; las filas
+ * de una misma boleta van seguidas y comparten ticket. Los datos de cabecera se toman de la primera fila.
+ * El uuid de la venta se deriva del ticket, así reimportar el mismo archivo no duplica ventas.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectorVentasImportacion {
+
+    private static final DateTimeFormatter FECHA_LOCAL = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm[:ss]");
+
+    private final ObjectMapper objectMapper;
+
+    /** Formato de cada línea JSONL. */
+    record LineaJson(ZonedDateTime fecha, VentaRequest venta) {}
+
+    /**
+     * Lee el archivo y entrega cada venta (o su error de lectura) al destino, en orden.
+     */
+    public void leer(InputStream archivo, FormatoImportacion formato, Consumer<VentaImportada> destino) {
+        Reader reader = new BufferedReader(new InputStreamReader(archivo, StandardCharsets.UTF_8));
+        try {
+            if (formato == FormatoImportacion.CSV) {
+                leerCsv(reader, destino);
+            } else {
+                leerJsonl((BufferedReader) reader, destino);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new BusinessException("No se pudo leer el archivo de importación: " + e.getMessage());
+        }
+    }
+
+    private void leerJsonl(BufferedReader reader, Consumer<VentaImportada> destino) throws IOException {
+        String linea;
+        int numero = 0;
+        while ((linea = reader.readLine()) != null) {
+            numero++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            try {
+                LineaJson json = objectMapper.readValue(linea, LineaJson.class);
+                if (json.venta() == null) {
+                    destino.accept(VentaImportada.conError(numero, null, "La línea no trae el campo 'venta'."));
+                    continue;
+                }
+                String referencia = json.venta().getUuid() != null ? json.venta().getUuid().toString() : null;
+                destino.accept(new VentaImportada(numero, referencia,
+                        json.fecha() != null ? json.fecha() : DateUtils.obtenerFechaHoraActual(), json.venta(), null));
+            } catch (JsonProcessingException e) {
+                destino.accept(VentaImportada.conError(numero, null, "JSON inválido: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private void leerCsv(Reader reader, Consumer<VentaImportada> destino) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+
+        try (CSVParser parser = new CSVParser(reader, format)) {
+            List<CSVRecord> ticket = new ArrayList<>();
+            for (CSVRecord fila : parser) {
+                if (!ticket.isEmpty() && !valor(fila, "ticket").equals(valor(ticket.get(0), "ticket"))) {
+                    destino.accept(armarVentaCsv(ticket));
+                    ticket.clear();
+                }
+                ticket.add(fila);
+            }
+            if (!ticket.isEmpty()) {
+                destino.accept(armarVentaCsv(ticket));
+            }
+        }
+    }
+
+    private VentaImportada armarVentaCsv(List<CSVRecord> filas) {
+        CSVRecord cabecera = filas.get(0);
+        // Número de línea del archivo (la 1 es el encabezado)
+        int linea = (int) cabecera.getRecordNumber() + 1;
+        String ticket = valor(cabecera, "ticket");
+        if (ticket.isEmpty()) {
+            return VentaImportada.conError(linea, null, "La fila no trae ticket.");
+        }
+
+        try {
+            List<DetalleVentaRequest> detalles = new ArrayList<>();
+            List<PagoRequest> pagos = new ArrayList<>();
+            for (CSVRecord fila : filas) {
+                if (!valor(fila, "producto_id").isEmpty()) {
+                    detalles.add(DetalleVentaRequest.builder()
+                            .productoId(Long.valueOf(valor(fila, "producto_id")))
+                            .cantidad(Integer.valueOf(valor(fila, "cantidad")))
+                            .build());
+                }
+                if (!valor(fila, "medio_pago").isEmpty()) {
+                    PagoRequest pago = new PagoRequest();
+                    pago.setMedioPago(MedioPago.valueOf(valor(fila, "medio_pago").toUpperCase()));
+                    pago.setMonto(Double.valueOf(valor(fila, "monto_pago")));
+                    pagos.add(pago);
+                }
+            }
+
+            String clienteId = valor(cabecera, "cliente_id");
+            String tipoCliente = valor(cabecera, "tipo_cliente");
+            String tipoDocumento = valor(cabecera, "tipo_documento");
+            VentaRequest venta = VentaRequest.builder()
+                    .uuid(UUID.nameUUIDFromBytes(("venta-importada:" + ticket).getBytes(StandardCharsets.UTF_8)))
+                    .usuarioId(Long.valueOf(valor(cabecera, "usuario_id")))
+                    .clienteId(clienteId.isEmpty() ? null : Long.valueOf(clienteId))
+                    .tipoCliente(tipoCliente.isEmpty() ? TipoCliente.DETALLE : TipoCliente.valueOf(tipoCliente.toUpperCase()))
+                    .tipoDocumento(tipoDocumento.isEmpty() ? null : TipoDocumento.valueOf(tipoDocumento.toUpperCase()))
+                    .detalles(detalles)
+                    .pagos(pagos)
+                    .build();
+            return new VentaImportada(linea, ticket, parsearFecha(valor(cabecera, "fecha")), venta, null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return VentaImportada.conError(linea, ticket, "Valor inválido: " + e.getMessage());
+        }
+    }
+
+    // Fecha ISO con zona (2024-05-01T12:30:00-04:00) o local de Santiago (2024-05-01 12:30)
+    private ZonedDateTime parsearFecha(String texto) {
+        if (texto.isEmpty()) {
+            return DateUtils.obtenerFechaHoraActual();
+        }
+        try {
+            return ZonedDateTime.parse(texto);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(texto, FECHA_LOCAL).atZone(DateUtils.ZONE_ID_SANTIAGO);
+        }
+    }
+
+    private static String valor(CSVRecord fila, String columna) {
+        return fila.isMapped(columna) && fila.isSet(columna) ? fila.get(columna) : "";
+    }
+}
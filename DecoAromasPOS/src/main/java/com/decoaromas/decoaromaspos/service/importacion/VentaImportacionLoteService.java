@@ -0,0 +1,197 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.dto.evento.StockEvento;
+import com.decoaromas.decoaromaspos.dto.venta.importacion.ErrorImportacionVenta;
+import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+import com.decoaromas.decoaromaspos.enums.TipoMovimiento;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.mapper.VentaMapper;
+import com.decoaromas.decoaromaspos.model.*;
+import com.decoaromas.decoaromaspos.repository.*;
+import com.decoaromas.decoaromaspos.service.AlertaStockService;
+import com.decoaromas.decoaromaspos.service.TotalCajaService;
+import com.decoaromas.decoaromaspos.service.VentaService;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Procesa un lote de la importación masiva de ventas en su propia transacción.
+ * <p>
+ * Por lote: los productos se bloquean una sola vez (en orden de id), usuarios y clientes se cargan con
+ * una consulta cada uno, cada venta se valida y calcula en memoria contra el stock restante del lote, y al
+ * final el stock de cada producto se actualiza una vez con la suma de sus salidas. Ventas, detalles, pagos
+ * y movimientos se insertan en batch ({@link VentaLoteRepository}). Una venta inválida se reporta y se
+ * omite sin afectar a las demás del lote. Los eventos de cada venta creada y de cada producto con stock
+ * modificado se registran en la bandeja de salida con un solo batch, y los totales de la caja se acumulan
+ * con una sentencia por lote.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class VentaImportacionLoteService {
+
+    private final VentaRepository ventaRepository;
+    private final ProductoRepository productoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final ClienteRepository clienteRepository;
+    private final VentaLoteRepository ventaLoteRepository;
+    private final VentaService ventaService;
+    private final AlertaStockService alertaStockService;
+    private final EventoOutboxService eventoOutboxService;
+    private final VentaMapper ventaMapper;
+    private final TotalCajaService totalCajaService;
+
+    /** Resultado de un lote: ventas insertadas, omitidas por uuid ya existente y errores por venta. */
+    public record ResultadoLote(List<Venta> creadas, int omitidas, List<ErrorImportacionVenta> errores) {}
+
+    /**
+     * @param caja  Caja a la que se asignan las ventas.
+     * @param lote  Ventas leídas del archivo (sin errores de lectura).
+     */
+    public ResultadoLote procesarLote(Caja caja, List<VentaImportada> lote) {
+        List<ErrorImportacionVenta> errores = new ArrayList<>();
+
+        // 1. Omitir las ventas ya importadas (mismo uuid)
+        Set<UUID> existentes = new HashSet<>(ventaRepository.findUuidsExistentes(lote.stream()
+                .map(v -> v.venta().getUuid()).filter(Objects::nonNull).toList()));
+        List<VentaImportada> pendientes = lote.stream()
+                .filter(v -> v.venta().getUuid() == null || !existentes.contains(v.venta().getUuid()))
+                .toList();
+        int omitidas = lote.size() - pendientes.size();
+
+        // 2. Cargar y bloquear lo que usa el lote, con una consulta por tabla
+        Set<Long> productoIds = idsDe(pendientes, v -> v.getDetalles() == null ? List.of()
+                : v.getDetalles().stream().map(DetalleVentaRequest::getProductoId).toList());
+        Map<Long, Producto> productos = productoIds.isEmpty() ? Map.of()
+                : porId(productoRepository.findAllByIdParaActualizar(productoIds), Producto::getProductoId);
+        Map<Long, Usuario> usuarios = porId(usuarioRepository.findAllById(idsDe(pendientes,
+                v -> Collections.singletonList(v.getUsuarioId()))), Usuario::getUsuarioId);
+        Map<Long, Cliente> clientes = porId(clienteRepository.findAllById(idsDe(pendientes,
+                v -> Collections.singletonList(v.getClienteId()))), Cliente::getClienteId);
+
+        // 3. Validar y calcular cada venta contra el stock restante del lote
+        Map<Long, Integer> stockRestante = new HashMap<>();
+        productos.values().forEach(p -> stockRestante.put(p.getProductoId(), p.getStock() != null ? p.getStock() : 0));
+        Set<UUID> uuidsDelLote = new HashSet<>();
+        List<Venta> ventas = new ArrayList<>();
+        List<MovimientoInventario> movimientos = new ArrayList<>();
+
+        for (VentaImportada importada : pendientes) {
+            try {
+                Venta venta = construirVenta(importada, caja, productos, usuarios, clientes, stockRestante);
+                if (venta.getUuid() != null && !uuidsDelLote.add(venta.getUuid())) {
+                    omitidas++; // Repetida dentro del mismo archivo
+                    continue;
+                }
+                for (DetalleVenta d : venta.getDetalles()) {
+                    stockRestante.merge(d.getProducto().getProductoId(), -d.getCantidad(), Integer::sum);
+                    movimientos.add(MovimientoInventario.builder()
+                            .fecha(venta.getFecha())
+                            .tipo(TipoMovimiento.SALIDA)
+                            .motivo(MotivoMovimiento.VENTA)
+                            .cantidad(d.getCantidad())
+                            .producto(d.getProducto())
+                            .usuario(venta.getUsuario())
+                            .build());
+                }
+                ventas.add(venta);
+            } catch (RuntimeException e) {
+                errores.add(new ErrorImportacionVenta(importada.linea(), importada.referencia(), e.getMessage()));
+            }
+        }
+
+        // 4. Un UPDATE de stock por producto (dirty checking) y los INSERT en batch
+        List<EventoOutbox> eventos = new ArrayList<>();
+        productos.values().forEach(p -> {
+            int stockAnterior = p.getStock() != null ? p.getStock() : 0;
+            p.setStock(stockRestante.get(p.getProductoId()));
+            alertaStockService.evaluar(p, stockAnterior, p.getStock());
+            if (stockAnterior != p.getStock()) {
+                eventos.add(eventoOutboxService.crear(TipoAgregado.PRODUCTO, p.getProductoId(),
+                        TipoEvento.STOCK_ACTUALIZADO, StockEvento.builder()
+                                .productoId(p.getProductoId())
+                                .stockAnterior(stockAnterior)
+                                .stockNuevo(p.getStock())
+                                .motivo(MotivoMovimiento.VENTA)
+                                .build()));
+            }
+        });
+        if (!ventas.isEmpty()) {
+            ventaLoteRepository.insertar(ventas, movimientos);
+            totalCajaService.registrarVentas(ventas);
+            // Los IDs de venta se asignan en el insert
+            ventas.forEach(v -> eventos.add(eventoOutboxService.crear(TipoAgregado.VENTA, v.getVentaId(),
+                    TipoEvento.VENTA_CREADA, ventaMapper.toEvento(v))));
+        }
+        eventoOutboxService.registrarTodos(eventos);
+        return new ResultadoLote(ventas, omitidas, errores);
+    }
+
+    private Venta construirVenta(VentaImportada importada, Caja caja, Map<Long, Producto> productos,
+                                 Map<Long, Usuario> usuarios, Map<Long, Cliente> clientes, Map<Long, Integer> stockRestante) {
+        VentaRequest request = importada.venta();
+        if (request.getDetalles() == null || request.getDetalles().isEmpty()) {
+            throw new BusinessException("La venta no tiene productos.");
+        }
+        if (request.getCotizacionId() != null) {
+            throw new BusinessException("La importación no admite ventas asociadas a cotizaciones.");
+        }
+        Usuario usuario = Optional.ofNullable(request.getUsuarioId()).map(usuarios::get)
+                .orElseThrow(() -> new BusinessException("No existe usuario con id " + request.getUsuarioId()));
+        Cliente cliente = null;
+        if (request.getClienteId() != null) {
+            cliente = Optional.ofNullable(clientes.get(request.getClienteId()))
+                    .orElseThrow(() -> new BusinessException("No existe cliente con id " + request.getClienteId()));
+        }
+
+        // Stock: se suman las cantidades por producto por si la venta repite un producto en varias líneas
+        Map<Long, Integer> cantidades = new HashMap<>();
+        for (DetalleVentaRequest d : request.getDetalles()) {
+            if (d.getCantidad() == null || d.getCantidad() <= 0) {
+                throw new BusinessException("La cantidad debe ser mayor a cero.");
+            }
+            cantidades.merge(d.getProductoId(), d.getCantidad(), Integer::sum);
+        }
+        cantidades.forEach((productoId, cantidad) -> {
+            Producto producto = productos.get(productoId);
+            if (producto == null) {
+                throw new BusinessException("No existe producto con id " + productoId);
+            }
+            if (stockRestante.get(productoId) < cantidad) {
+                throw new BusinessException("Stock insuficiente para producto " + producto.getNombre());
+            }
+        });
+
+        Venta venta = ventaService.calcularVenta(request, productos::get);
+        ZonedDateTime fecha = importada.fecha();
+        venta.setFecha(fecha);
+        venta.setUuid(request.getUuid());
+        venta.setUsuario(usuario);
+        venta.setCliente(cliente);
+        venta.setCaja(caja);
+        return venta;
+    }
+
+    private static Set<Long> idsDe(List<VentaImportada> ventas, Function<VentaRequest, List<Long>> ids) {
+        return ventas.stream()
+                .flatMap(v -> ids.apply(v.venta()).stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static <T> Map<Long, T> porId(List<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,187 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.venta.importacion.ErrorImportacionVenta;
+import com.decoaromas.decoaromaspos.dto.venta.importacion.ImportacionVentasResponse;
+import com.decoaromas.decoaromaspos.enums.FormatoImportacion;
+import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
+import com.decoaromas.decoaromaspos.model.Caja;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.repository.AnioArchivadoRepository;
+import com.decoaromas.decoaromaspos.service.CajaService;
+import com.decoaromas.decoaromaspos.service.EstadisticaClienteService;
+import com.decoaromas.decoaromaspos.service.ParticionVentaService;
+import com.decoaromas.decoaromaspos.service.ResumenVentaHorariaService;
+import com.decoaromas.decoaromaspos.service.SnapshotStockService;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Importación masiva de ventas (histórico del sistema anterior, consolidación de ventas de feria).
+ * <p>
+ * El archivo se lee en streaming ({@link LectorVentasImportacion}) y se procesa en lotes de
+ * {@code app.ventas.importacion.tamanio-lote} ventas, cada uno en su propia transacción
+ * ({@link VentaImportacionLoteService}). Si un lote falla completo (ej.: error de base de datos), sus ventas
+ * se reportan con ese error y la importación sigue con el siguiente. Al terminar se reconstruyen el resumen
+ * horario de las fechas importadas y las estadísticas de clientes, en lugar de actualizarlos venta por venta,
+ * y se regeneran los snapshots de stock que las ventas importadas (con fecha pasada) dejaron desactualizados.
+ * <p>
+ * Las ventas de cada importación van a una caja propia ({@link CajaService#crearCajaImportacion(Long)}), que nace
+ * cerrada y se cierra con sus totales al terminar: el histórico no suma al efectivo de la caja abierta ni
+ * descuadra su cierre.
+ * <p>
+ * Este servicio no es transaccional a propósito: cada lote confirma por separado.
+ */
+@Service
+@RequiredArgsConstructor
+public class VentaImportacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(VentaImportacionService.class);
+
+    private final LectorVentasImportacion lector;
+    private final VentaImportacionLoteService loteService;
+    private final CajaService cajaService;
+    private final ResumenVentaHorariaService resumenVentaHorariaService;
+    private final EstadisticaClienteService estadisticaClienteService;
+    private final SnapshotStockService snapshotStockService;
+    private final AnioArchivadoRepository anioArchivadoRepository;
+    private final ParticionVentaService particionVentaService;
+
+    @Value("${app.ventas.importacion.tamanio-lote:500}")
+    private int tamanioLote;
+
+    /**
+     * Importa las ventas del archivo.
+     * @param archivo Contenido del archivo (JSONL o CSV).
+     * @param formato Formato del archivo.
+     * @param usuarioId Usuario a cargo de la caja de la importación.
+     * @return Resumen con la caja creada, las ventas creadas, omitidas y los errores por venta.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    public ImportacionVentasResponse importar(InputStream archivo, FormatoImportacion formato, Long usuarioId) {
+        long inicio = System.currentTimeMillis();
+        Caja caja = cajaService.crearCajaImportacion(usuarioId);
+
+        Importacion importacion = new Importacion(caja);
+        try {
+            lector.leer(archivo, formato, importacion::agregar);
+            importacion.procesarLote();
+        } finally {
+            // Con los totales de los lotes ya confirmados, aunque la lectura se haya interrumpido
+            cajaService.cerrarCajaImportacion(caja.getCajaId());
+        }
+
+        actualizarResumenes(importacion);
+
+        ImportacionVentasResponse response = importacion.response;
+        response.setCajaId(caja.getCajaId());
+        response.setDuracionMs(System.currentTimeMillis() - inicio);
+        log.info("Importación de ventas a la caja {}: {} leídas, {} creadas, {} omitidas, {} con error en {} ms",
+                caja.getCajaId(), response.getVentasLeidas(), response.getVentasCreadas(), response.getVentasOmitidas(),
+                response.getErrores().size(), response.getDuracionMs());
+        return response;
+    }
+
+    // Reconstruye los agregados una vez por importación (no venta por venta)
+    private void actualizarResumenes(Importacion importacion) {
+        if (importacion.fechaMinima == null) {
+            return;
+        }
+        resumenVentaHorariaService.reconstruir(importacion.fechaMinima, importacion.fechaMaxima);
+        snapshotStockService.invalidarDesde(DateUtils.obtenerInicioDiaSegunFecha(importacion.fechaMinima));
+        if (importacion.conClientes) {
+            estadisticaClienteService.reconstruir();
+        }
+    }
+
+    // Estado de una importación en curso: el lote que se está llenando y los totales
+    private class Importacion {
+        private final Caja caja;
+        private final List<VentaImportada> lote = new ArrayList<>();
+        private final ImportacionVentasResponse response = ImportacionVentasResponse.builder().build();
+        // Sus ventas ya no están en las tablas: una venta nueva en ellos no quedaría en el archivo
+        private final Set<Integer> aniosArchivados = new HashSet<>(anioArchivadoRepository.findAnios());
+        private LocalDate fechaMinima;
+        private LocalDate fechaMaxima;
+        private boolean conClientes;
+
+        Importacion(Caja caja) {
+            this.caja = caja;
+        }
+
+        void agregar(VentaImportada venta) {
+            response.setVentasLeidas(response.getVentasLeidas() + 1);
+            if (venta.error() != null) {
+                response.getErrores().add(new ErrorImportacionVenta(venta.linea(), venta.referencia(), venta.error()));
+                return;
+            }
+            if (venta.fecha() != null
+                    && aniosArchivados.contains(venta.fecha().withZoneSameInstant(DateUtils.ZONE_ID_SANTIAGO).getYear())) {
+                response.getErrores().add(new ErrorImportacionVenta(venta.linea(), venta.referencia(),
+                        "La fecha corresponde a un año archivado."));
+                return;
+            }
+            lote.add(venta);
+            if (lote.size() >= tamanioLote) {
+                procesarLote();
+            }
+        }
+
+        void procesarLote() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            response.setLotes(response.getLotes() + 1);
+            try {
+                crearParticiones();
+                VentaImportacionLoteService.ResultadoLote resultado = loteService.procesarLote(caja, lote);
+                response.setVentasCreadas(response.getVentasCreadas() + resultado.creadas().size());
+                response.setVentasOmitidas(response.getVentasOmitidas() + resultado.omitidas());
+                response.getErrores().addAll(resultado.errores());
+                resultado.creadas().forEach(this::registrarFecha);
+            } catch (RuntimeException e) {
+                log.warn("Lote de importación de ventas rechazado: {}", e.getMessage());
+                lote.forEach(v -> response.getErrores().add(new ErrorImportacionVenta(v.linea(), v.referencia(),
+                        "Lote rechazado: " + e.getMessage())));
+            }
+            lote.clear();
+        }
+
+        // Las particiones se crean fuera de la transacción del lote: el histórico suele ser anterior a la
+        // primera venta del sistema y sin ellas sus ventas quedarían en la partición DEFAULT
+        private void crearParticiones() {
+            List<YearMonth> meses = lote.stream()
+                    .map(VentaImportada::fecha)
+                    .filter(Objects::nonNull)
+                    .map(fecha -> YearMonth.from(fecha.withZoneSameInstant(DateUtils.ZONE_ID_SANTIAGO)))
+                    .sorted()
+                    .toList();
+            if (!meses.isEmpty()) {
+                particionVentaService.crearParticiones(meses.get(0), meses.get(meses.size() - 1));
+            }
+        }
+
+        private void registrarFecha(Venta venta) {
+            LocalDate fecha = venta.getFecha().withZoneSameInstant(DateUtils.ZONE_ID_SANTIAGO).toLocalDate();
+            if (fechaMinima == null || fecha.isBefore(fechaMinima)) {
+                fechaMinima = fecha;
+            }
+            if (fechaMaxima == null || fecha.isAfter(fechaMaxima)) {
+                fechaMaxima = fecha;
+            }
+            conClientes |= venta.getCliente() != null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Venta leída del archivo de importación, o el error que impidió leerla (venta null).
+ * @param linea      Línea del archivo donde empieza la venta.
+ * @param referencia Ticket (CSV) o uuid de la venta, para el reporte de errores.
+ */
+public record VentaImportada(int linea, String referencia, ZonedDateTime fecha, VentaRequest venta, String error) {
+
+    static VentaImportada conError(int linea, String referencia, String error) {
+        return new VentaImportada(linea, referencia, null, null, error);
+    }
+}
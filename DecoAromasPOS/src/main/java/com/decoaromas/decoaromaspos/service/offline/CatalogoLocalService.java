@@ -0,0 +1,138 @@
+package com.decoaromas.decoaromaspos.service.offline;
+
+import com.decoaromas.decoaromaspos.dto.producto.ProductoSnapshot;
+import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
+import com.decoaromas.decoaromaspos.model.Producto;
+import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Copia local de precios y stock de los productos activos, para que la caja pueda cobrar
+ * cuando la base de datos no responde. Se refresca periódicamente mientras hay conexión y se
+ * guarda en disco, así sobrevive a un reinicio sin base de datos.
+ */
+@Service
+public class CatalogoLocalService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoLocalService.class);
+    private static final String ARCHIVO_CATALOGO = "catalogo.json";
+
+    private final ProductoRepository productoRepository;
+    private final ObjectMapper objectMapper;
+    private final Path directorio;
+
+    private volatile Copia copia = new Copia(null, List.of());
+    private volatile Map<Long, ProductoSnapshot> porId = Map.of();
+
+    // Formato del archivo en disco
+    record Copia(ZonedDateTime actualizadoEn, List<ProductoSnapshot> productos) {}
+
+    public CatalogoLocalService(ProductoRepository productoRepository, ObjectMapper objectMapper,
+                                @Value("${app.offline.dir:/app/offline}") String directorio) {
+        this.productoRepository = productoRepository;
+        this.objectMapper = objectMapper;
+        this.directorio = Paths.get(directorio);
+    }
+
+    /**
+     * Carga la última copia guardada en disco (si existe), antes del primer refresco.
+     */
+    @PostConstruct
+    public void cargar() {
+        Path archivo = directorio.resolve(ARCHIVO_CATALOGO);
+        if (!Files.exists(archivo)) {
+            return;
+        }
+        try {
+            reemplazar(objectMapper.readValue(archivo.toFile(), Copia.class));
+        } catch (IOException e) {
+            log.warn("No se pudo leer el catálogo local {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    /**
+     * Refresca la copia desde la base de datos. Si no hay conexión se mantiene la copia anterior.
+     */
+    @Scheduled(fixedDelayString = "${app.offline.catalogo.refresco-ms:300000}")
+    public void refrescar() {
+        Copia nueva;
+        try {
+            nueva = new Copia(DateUtils.obtenerFechaHoraActual(), productoRepository.findSnapshotCatalogo());
+        } catch (DataAccessException e) {
+            log.warn("No se pudo refrescar el catálogo local, se mantiene la copia del {}: {}", copia.actualizadoEn(), e.getMessage());
+            return;
+        }
+        reemplazar(nueva);
+        guardar(nueva);
+    }
+
+    public Optional<ProductoSnapshot> buscar(Long productoId) {
+        return Optional.ofNullable(porId.get(productoId));
+    }
+
+    /**
+     * Producto en memoria (no administrado por JPA) con los datos de la copia local, para el cálculo de precios.
+     * @throws ResourceNotFoundException si el producto no está en la copia local.
+     */
+    public Producto obtenerProducto(Long productoId) {
+        ProductoSnapshot p = buscar(productoId).orElseThrow(() ->
+                new ResourceNotFoundException("Producto con id " + productoId + " no está en el catálogo local."));
+        return Producto.builder()
+                .productoId(p.getProductoId())
+                .nombre(p.getNombre())
+                .codigoBarras(p.getCodigoBarras())
+                .precioDetalle(p.getPrecioDetalle())
+                .precioMayorista(p.getPrecioMayorista())
+                .costo(p.getCosto())
+                .stock(p.getStock())
+                .activo(true)
+                .build();
+    }
+
+    public int cantidadProductos() {
+        return porId.size();
+    }
+
+    public ZonedDateTime getActualizadoEn() {
+        return copia.actualizadoEn();
+    }
+
+    private void reemplazar(Copia nueva) {
+        this.porId = nueva.productos().stream()
+                .collect(Collectors.toUnmodifiableMap(ProductoSnapshot::getProductoId, Function.identity()));
+        this.copia = nueva;
+    }
+
+    // Escribe en un temporal y lo reemplaza, para no dejar un catálogo a medio escribir
+    private void guardar(Copia nueva) {
+        try {
+            Files.createDirectories(directorio);
+            Path temporal = directorio.resolve(ARCHIVO_CATALOGO + ".tmp");
+            objectMapper.writeValue(temporal.toFile(), nueva);
+            Files.move(temporal, directorio.resolve(ARCHIVO_CATALOGO),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el catálogo local en {}: {}", directorio, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.decoaromas.decoaromaspos.service.offline;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.enums.EstadoSincronizacion;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Journal local (solo anexar) de las ventas registradas sin conexión.
+ * <p>
+ * Usa dos archivos de una línea JSON por registro: {@code ventas.journal} con cada venta y
+ * {@code ventas-sync.journal} con el resultado de cada sincronización. Cada escritura se fuerza
+ * a disco (fsync) antes de responder, así una venta confirmada a la caja no se pierde si el equipo se apaga.
+ * Una venta está pendiente mientras no tenga marca en el archivo de sincronización.
+ */
+@Component
+public class VentaJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(VentaJournal.class);
+    private static final String ARCHIVO_VENTAS = "ventas.journal";
+    private static final String ARCHIVO_MARCAS = "ventas-sync.journal";
+    private static final String DIRECTORIO_HISTORIAL = "historial";
+
+    private final ObjectMapper objectMapper;
+    private final Path directorio;
+
+    /** Venta registrada sin conexión, con la fecha en que se hizo. */
+    public record Entrada(UUID uuid, ZonedDateTime fecha, VentaRequest request) {}
+
+    /** Resultado de sincronizar una entrada. */
+    public record Marca(UUID uuid, EstadoSincronizacion estado, Long ventaId, String mensaje, ZonedDateTime fecha) {}
+
+    public VentaJournal(ObjectMapper objectMapper, @Value("${app.offline.dir:/app/offline}") String directorio) {
+        this.objectMapper = objectMapper;
+        this.directorio = Paths.get(directorio);
+    }
+
+    public synchronized void registrar(Entrada entrada) {
+        anexar(ARCHIVO_VENTAS, entrada);
+    }
+
+    public synchronized void marcar(Marca marca) {
+        anexar(ARCHIVO_MARCAS, marca);
+    }
+
+    /**
+     * Entradas sin marca de sincronización, en el orden en que se registraron.
+     */
+    public synchronized List<Entrada> pendientes() {
+        Map<UUID, Marca> marcas = ultimasMarcas();
+        return leer(ARCHIVO_VENTAS, Entrada.class).registros().stream()
+                .filter(e -> !marcas.containsKey(e.uuid()))
+                .toList();
+    }
+
+    /**
+     * Entradas cuya sincronización terminó en CONFLICTO, junto con su marca.
+     */
+    public synchronized Map<Entrada, Marca> conflictos() {
+        Map<UUID, Marca> marcas = ultimasMarcas();
+        Map<Entrada, Marca> conflictos = new LinkedHashMap<>();
+        for (Entrada e : leer(ARCHIVO_VENTAS, Entrada.class).registros()) {
+            Marca m = marcas.get(e.uuid());
+            if (m != null && m.estado() == EstadoSincronizacion.CONFLICTO) {
+                conflictos.put(e, m);
+            }
+        }
+        return conflictos;
+    }
+
+    /**
+     * Si todas las entradas quedaron SINCRONIZADAS, mueve ambos archivos al historial para
+     * que el journal vuelva a empezar vacío. Con pendientes, conflictos o líneas ilegibles no hace nada.
+     * @return true si se archivó.
+     */
+    public synchronized boolean archivarSiSincronizado() {
+        Path ventas = directorio.resolve(ARCHIVO_VENTAS);
+        if (!Files.exists(ventas)) {
+            return false;
+        }
+        Lectura<Entrada> entradas = leer(ARCHIVO_VENTAS, Entrada.class);
+        Lectura<Marca> lecturaMarcas = leer(ARCHIVO_MARCAS, Marca.class);
+        if (entradas.ilegibles() > 0 || lecturaMarcas.ilegibles() > 0) {
+            log.warn("El journal de ventas offline tiene líneas ilegibles ({} en ventas, {} en marcas); no se archiva",
+                    entradas.ilegibles(), lecturaMarcas.ilegibles());
+            return false;
+        }
+        Map<UUID, Marca> marcas = porUuid(lecturaMarcas);
+        boolean completo = entradas.registros().stream()
+                .allMatch(e -> marcas.containsKey(e.uuid()) && marcas.get(e.uuid()).estado() == EstadoSincronizacion.SINCRONIZADA);
+        if (!completo) {
+            return false;
+        }
+        String sufijo = DateUtils.obtenerFechaHoraActual().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        try {
+            Path historial = Files.createDirectories(directorio.resolve(DIRECTORIO_HISTORIAL));
+            Files.move(ventas, historial.resolve(ARCHIVO_VENTAS + "." + sufijo));
+            Path marcasArchivo = directorio.resolve(ARCHIVO_MARCAS);
+            if (Files.exists(marcasArchivo)) {
+                Files.move(marcasArchivo, historial.resolve(ARCHIVO_MARCAS + "." + sufijo));
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("No se pudo archivar el journal de ventas offline: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private Map<UUID, Marca> ultimasMarcas() {
+        return porUuid(leer(ARCHIVO_MARCAS, Marca.class));
+    }
+
+    private static Map<UUID, Marca> porUuid(Lectura<Marca> lectura) {
+        Map<UUID, Marca> marcas = new HashMap<>();
+        lectura.registros().forEach(m -> marcas.put(m.uuid(), m));
+        return marcas;
+    }
+
+    private void anexar(String nombreArchivo, Object registro) {
+        byte[] linea;
+        try {
+            linea = (objectMapper.writeValueAsString(registro) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("No se pudo serializar el registro del journal: " + e.getOriginalMessage());
+        }
+
+        try {
+            Files.createDirectories(directorio);
+            try (FileChannel canal = FileChannel.open(directorio.resolve(nombreArchivo),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long fin = canal.size();
+                ByteBuffer buffer = terminaEnLineaIncompleta(canal, fin)
+                        ? ByteBuffer.allocate(linea.length + 1).put((byte) '\n').put(linea).flip()
+                        : ByteBuffer.wrap(linea);
+                while (buffer.hasRemaining()) {
+                    fin += canal.write(buffer, fin);
+                }
+                canal.force(true);
+            }
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo escribir en el journal local de ventas: " + e.getMessage());
+        }
+    }
+
+    // Un corte de energía a mitad de escritura deja la última línea sin su salto. La siguiente línea empieza en una
+    // nueva, para no pegarse al fragmento y volverse ilegible junto con él.
+    private static boolean terminaEnLineaIncompleta(FileChannel canal, long fin) throws IOException {
+        if (fin == 0) {
+            return false;
+        }
+        ByteBuffer ultimo = ByteBuffer.allocate(1);
+        canal.read(ultimo, fin - 1);
+        return ultimo.get(0) != '\n';
+    }
+
+    /** Registros legibles de un archivo y cuántas líneas no se pudieron leer. */
+    private record Lectura<T>(List<T> registros, int ilegibles) {}
+
+    // Una línea incompleta (corte de energía a mitad de escritura) se ignora: nunca se confirmó a la caja. Se
+    // decodifica sin fallar ante bytes UTF-8 inválidos (un corte dentro de un carácter), que solo invalidan su línea.
+    private <T> Lectura<T> leer(String nombreArchivo, Class<T> tipo) {
+        Path archivo = directorio.resolve(nombreArchivo);
+        if (!Files.exists(archivo)) {
+            return new Lectura<>(List.of(), 0);
+        }
+        String contenido;
+        try {
+            contenido = new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el journal local de ventas: " + e.getMessage());
+        }
+
+        List<T> registros = new ArrayList<>();
+        int ilegibles = 0;
+        for (String linea : contenido.split("\n")) {
+            if (linea.isBlank()) {
+                continue;
+            }
+            try {
+                registros.add(objectMapper.readValue(linea, tipo));
+            } catch (JsonProcessingException e) {
+                ilegibles++;
+                log.warn("Línea ilegible en {}, se ignora: {}", archivo, e.getOriginalMessage());
+            }
+        }
+        return new Lectura<>(registros, ilegibles);
+    }
+}
@@ -0,0 +1,241 @@
+package com.decoaromas.decoaromaspos.service.offline;
+
+import com.decoaromas.decoaromaspos.dto.producto.ProductoSnapshot;
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.dto.venta.offline.ConflictoVentaOfflineResponse;
+import com.decoaromas.decoaromaspos.dto.venta.offline.EstadoOfflineResponse;
+import com.decoaromas.decoaromaspos.dto.venta.offline.VentaOfflineResponse;
+import com.decoaromas.decoaromaspos.enums.EstadoSincronizacion;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.service.VentaService;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.JDBCConnectionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.net.ConnectException;
+import java.sql.SQLTransientConnectionException;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Modo offline de la caja.
+ * <p>
+ * Las ventas se intentan guardar con el flujo normal ({@link VentaService#crearVenta}). Si la base de
+ * datos no responde, la caja pasa a modo offline: las ventas se validan contra el {@link CatalogoLocalService}
+ * y se escriben en el {@link VentaJournal}, sin esperar a la base de datos. Un proceso periódico las
+ * sincroniza por el mismo flujo normal (idempotente por uuid) cuando la conexión vuelve, y deja en
+ * CONFLICTO las que la base de datos rechace (ej.: stock insuficiente).
+ * <p>
+ * Este servicio no es transaccional a propósito: cada venta abre su propia transacción dentro de VentaService.
+ */
+@Service
+@RequiredArgsConstructor
+public class VentaOfflineService {
+
+    private static final Logger log = LoggerFactory.getLogger(VentaOfflineService.class);
+
+    private final VentaService ventaService;
+    private final CatalogoLocalService catalogoLocalService;
+    private final VentaJournal ventaJournal;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicBoolean modoOffline = new AtomicBoolean(false);
+    private final ReentrantLock sincronizacion = new ReentrantLock();
+
+    /**
+     * Registra una venta desde la caja: en línea si la base de datos responde; si no, en el journal local.
+     * @param request DTO de la venta. Si no trae uuid se genera uno.
+     * @return VentaOfflineResponse SINCRONIZADA (con la venta guardada) o PENDIENTE.
+     * @throws BusinessException si la venta es inválida (stock, pagos, descuentos).
+     */
+    public VentaOfflineResponse registrarVenta(VentaRequest request) {
+        if (request.getUuid() == null) {
+            request.setUuid(UUID.randomUUID());
+        }
+
+        if (!modoOffline.get()) {
+            try {
+                VentaResponse venta = ventaService.crearVenta(request);
+                return VentaOfflineResponse.builder()
+                        .uuid(request.getUuid())
+                        .estado(EstadoSincronizacion.SINCRONIZADA)
+                        .fecha(venta.getFecha())
+                        .totalNeto(venta.getTotalNeto())
+                        .vuelto(venta.getVuelto())
+                        .venta(venta)
+                        .build();
+            } catch (RuntimeException e) {
+                if (!esFallaDeConexion(e)) {
+                    throw e;
+                }
+                log.warn("Base de datos no disponible, la caja pasa a modo offline: {}", e.getMessage());
+                modoOffline.set(true);
+            }
+        }
+        return registrarEnJournal(request);
+    }
+
+    /**
+     * Sincroniza las ventas pendientes del journal, en orden. Se detiene en la primera falla de conexión
+     * (las restantes siguen pendientes). Con el journal vacío, solo comprueba si la base de datos volvió.
+     */
+    @Scheduled(fixedDelayString = "${app.offline.sincronizacion-ms:15000}")
+    public void sincronizar() {
+        if (!sincronizacion.tryLock()) {
+            return; // Ya hay una sincronización en curso
+        }
+        try {
+            List<VentaJournal.Entrada> pendientes = ventaJournal.pendientes();
+            if (pendientes.isEmpty()) {
+                if (modoOffline.get() && baseDisponible()) {
+                    log.info("Base de datos disponible, la caja vuelve a modo en línea.");
+                    modoOffline.set(false);
+                }
+                return;
+            }
+
+            for (VentaJournal.Entrada entrada : pendientes) {
+                if (!sincronizarEntrada(entrada)) {
+                    modoOffline.set(true);
+                    return;
+                }
+            }
+            modoOffline.set(false);
+            ventaJournal.archivarSiSincronizado();
+        } finally {
+            sincronizacion.unlock();
+        }
+    }
+
+    public EstadoOfflineResponse obtenerEstado() {
+        return EstadoOfflineResponse.builder()
+                .modoOffline(modoOffline.get())
+                .pendientes(ventaJournal.pendientes().size())
+                .conflictos(ventaJournal.conflictos().size())
+                .productosEnCatalogo(catalogoLocalService.cantidadProductos())
+                .catalogoActualizadoEn(catalogoLocalService.getActualizadoEn())
+                .build();
+    }
+
+    public List<ConflictoVentaOfflineResponse> listarConflictos() {
+        return ventaJournal.conflictos().entrySet().stream()
+                .map(c -> ConflictoVentaOfflineResponse.builder()
+                        .uuid(c.getKey().uuid())
+                        .fechaVenta(c.getKey().fecha())
+                        .fechaIntento(c.getValue().fecha())
+                        .mensaje(c.getValue().mensaje())
+                        .request(c.getKey().request())
+                        .build())
+                .toList();
+    }
+
+    public boolean isModoOffline() {
+        return modoOffline.get();
+    }
+
+    // Valida stock y calcula totales con el catálogo local, y escribe la venta en el journal.
+    // Sincronizado para que dos ventas simultáneas no reserven el mismo stock local.
+    private synchronized VentaOfflineResponse registrarEnJournal(VentaRequest request) {
+        List<VentaJournal.Entrada> pendientes = ventaJournal.pendientes();
+        // Reintento de la caja de una venta que ya está en el journal
+        boolean yaRegistrada = pendientes.stream().anyMatch(e -> e.uuid().equals(request.getUuid()));
+        validarStockLocal(request, pendientes, yaRegistrada ? request.getUuid() : null);
+        Venta calculada = ventaService.calcularVentaSinConexion(request, catalogoLocalService::obtenerProducto);
+
+        ZonedDateTime fecha = DateUtils.obtenerFechaHoraActual();
+        if (!yaRegistrada) {
+            ventaJournal.registrar(new VentaJournal.Entrada(request.getUuid(), fecha, request));
+        }
+
+        return VentaOfflineResponse.builder()
+                .uuid(request.getUuid())
+                .estado(EstadoSincronizacion.PENDIENTE)
+                .fecha(fecha)
+                .totalNeto(calculada.getTotalNeto())
+                .vuelto(calculada.getVuelto())
+                .build();
+    }
+
+    // Stock de la copia local menos lo ya vendido en ventas pendientes de sincronizar (salvo la propia venta, si es un reintento).
+    private void validarStockLocal(VentaRequest request, List<VentaJournal.Entrada> pendientes, UUID excluir) {
+        Map<Long, Integer> reservado = new HashMap<>();
+        for (VentaJournal.Entrada e : pendientes) {
+            if (e.uuid().equals(excluir)) {
+                continue;
+            }
+            for (DetalleVentaRequest d : e.request().getDetalles()) {
+                reservado.merge(d.getProductoId(), d.getCantidad(), Integer::sum);
+            }
+        }
+
+        for (DetalleVentaRequest d : request.getDetalles()) {
+            ProductoSnapshot producto = catalogoLocalService.buscar(d.getProductoId()).orElseThrow(() ->
+                    new ResourceNotFoundException("Producto con id " + d.getProductoId() + " no está en el catálogo local."));
+            int disponible = (producto.getStock() != null ? producto.getStock() : 0) - reservado.getOrDefault(d.getProductoId(), 0);
+            if (disponible < d.getCantidad()) {
+                throw new BusinessException("Stock insuficiente para producto " + producto.getNombre());
+            }
+        }
+    }
+
+    /**
+     * @return false si la base de datos no respondió (la entrada sigue pendiente).
+     */
+    private boolean sincronizarEntrada(VentaJournal.Entrada entrada) {
+        try {
+            VentaResponse venta = ventaService.crearVenta(entrada.request(), entrada.fecha());
+            ventaJournal.marcar(new VentaJournal.Marca(entrada.uuid(), EstadoSincronizacion.SINCRONIZADA,
+                    venta.getVentaId(), null, DateUtils.obtenerFechaHoraActual()));
+            return true;
+        } catch (RuntimeException e) {
+            if (esFallaDeConexion(e)) {
+                log.warn("Sincronización de ventas offline interrumpida, base de datos no disponible: {}", e.getMessage());
+                return false;
+            }
+            log.warn("Venta offline {} en conflicto: {}", entrada.uuid(), e.getMessage());
+            ventaJournal.marcar(new VentaJournal.Marca(entrada.uuid(), EstadoSincronizacion.CONFLICTO,
+                    null, e.getMessage(), DateUtils.obtenerFechaHoraActual()));
+            return true;
+        }
+    }
+
+    private boolean baseDisponible() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    // Errores de conexión (no de negocio): sin conexión al abrir la transacción o durante la consulta.
+    static boolean esFallaDeConexion(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CannotCreateTransactionException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof JDBCConnectionException
+                    || t instanceof SQLTransientConnectionException
+                    || t instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,224 @@
+package com.decoaromas.decoaromaspos.service.pronostico;
+
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO;
+import com.decoaromas.decoaromaspos.dto.other.PaginacionMapper;
+import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
+import com.decoaromas.decoaromaspos.dto.reportes.PronosticoDemandaDTO;
+import com.decoaromas.decoaromaspos.dto.reportes.ResumenPronosticoDTO;
+import com.decoaromas.decoaromaspos.model.PronosticoDemanda;
+import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.repository.PronosticoDemandaLoteRepository;
+import com.decoaromas.decoaromaspos.repository.PronosticoDemandaRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Pronóstico de demanda y reposición sugerida por producto.
+ * <p>
+ * La venta diaria de cada producto ({@code app.pronostico.historia-dias} días hacia atrás) se lee agregada y
+ * ordenada por producto con un cursor; cada vez que termina la serie de un producto se envía a un
+ * {@link ForkJoinPool} que la ajusta ({@link SuavizamientoExponencial}, estacionalidad semanal) mientras se
+ * sigue leyendo la del siguiente. Así nunca está en memoria más que un puñado de series.
+ * <p>
+ * La reposición se sugiere con punto de reorden: demanda pronosticada durante el plazo de reposición
+ * ({@code dias-reposicion}) más un stock de seguridad (factor × error típico × √plazo). Si el stock actual
+ * está en o bajo ese punto, se sugiere reponer hasta cubrir el plazo más {@code dias-cobertura} días.
+ * Solo se pronostican productos activos con ventas en el período.
+ */
+@Service
+@RequiredArgsConstructor
+public class PronosticoDemandaService {
+
+    private static final Logger log = LoggerFactory.getLogger(PronosticoDemandaService.class);
+    private static final int PERIODO_SEMANAL = 7;
+
+    private final PronosticoDemandaLoteRepository pronosticoDemandaLoteRepository;
+    private final PronosticoDemandaRepository pronosticoDemandaRepository;
+    private final ProductoRepository productoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.pronostico.historia-dias:1095}")
+    private int historiaDias;
+
+    @Value("${app.pronostico.dias-reposicion:14}")
+    private int diasReposicion;
+
+    @Value("${app.pronostico.dias-cobertura:14}")
+    private int diasCobertura;
+
+    @Value("${app.pronostico.factor-seguridad:1.65}")
+    private double factorSeguridad;
+
+    @Value("${app.pronostico.alfa:0.2}")
+    private double alfa;
+
+    @Value("${app.pronostico.gamma:0.1}")
+    private double gamma;
+
+    // 0 = un hilo por núcleo disponible
+    @Value("${app.pronostico.paralelismo:0}")
+    private int paralelismo;
+
+    /** Cálculo nocturno de los pronósticos. */
+    @Scheduled(cron = "${app.pronostico.cron:0 0 4 * * *}", zone = "America/Santiago")
+    public void pronosticoNocturno() {
+        ResumenPronosticoDTO resumen = calcularPronosticos();
+        log.info("Pronóstico de demanda: {} productos, {} a reponer en {} ms",
+                resumen.getProductosPronosticados(), resumen.getProductosAReponer(), resumen.getDuracionMs());
+    }
+
+    /**
+     * Recalcula el pronóstico de todos los productos con ventas y reemplaza los guardados.
+     * @return Resumen de la ejecución.
+     */
+    public ResumenPronosticoDTO calcularPronosticos() {
+        long inicio = System.currentTimeMillis();
+        ZonedDateTime ahora = DateUtils.obtenerFechaHoraActual();
+        LocalDate hasta = ahora.toLocalDate(); // El día en curso está incompleto: no entra en la serie
+        LocalDate desde = hasta.minusDays(historiaDias);
+
+        Map<Long, Integer> stocks = productoRepository.findStockActivos().stream()
+                .collect(Collectors.toMap(StockProductoDTO::getProductoId,
+                        p -> Math.max(0, Objects.requireNonNullElse(p.getStock(), 0))));
+
+        ForkJoinPool pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        List<PronosticoDemanda> pronosticos;
+        try {
+            LectorSeries lector = new LectorSeries(desde, stocks, ahora, pool);
+            TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+            lectura.setReadOnly(true);
+            lectura.executeWithoutResult(status -> pronosticoDemandaLoteRepository.recorrerDemandaDiaria(desde, hasta, lector));
+            lector.terminarSerie();
+            pronosticos = lector.tareas.stream().map(ForkJoinTask::join).toList();
+        } finally {
+            pool.shutdown();
+        }
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> pronosticoDemandaLoteRepository.reemplazarPronosticos(pronosticos));
+
+        return ResumenPronosticoDTO.builder()
+                .fechaCalculo(ahora)
+                .historiaDesde(desde)
+                .historiaHasta(hasta.minusDays(1))
+                .productosPronosticados(pronosticos.size())
+                .productosAReponer((int) pronosticos.stream().filter(p -> p.getCantidadSugerida() > 0).count())
+                .duracionMs(System.currentTimeMillis() - inicio)
+                .build();
+    }
+
+    /**
+     * Reposición sugerida según el último pronóstico calculado, mayores cantidades primero.
+     * @param soloReponer true para listar solo los productos con cantidad sugerida.
+     * @param familiaId   Filtra por familia (opcional).
+     * @param page        Número de página (0..N).
+     * @param size        Tamaño de página.
+     * @return PaginacionResponse de pronósticos.
+     */
+    @Transactional(readOnly = true)
+    public PaginacionResponse<PronosticoDemandaDTO> obtenerReposicionSugerida(boolean soloReponer, Long familiaId, int page, int size) {
+        return PaginacionMapper.mapToResponse(
+                pronosticoDemandaRepository.findReposicionSugerida(soloReponer, familiaId, PageRequest.of(page, size)));
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private PronosticoDemanda pronosticar(long productoId, int[] serie, int stock, ZonedDateTime fecha) {
+        int horizonte = diasReposicion + diasCobertura;
+        SuavizamientoExponencial.Ajuste ajuste = SuavizamientoExponencial.ajustar(serie, PERIODO_SEMANAL, alfa, gamma, horizonte);
+
+        double demandaReposicion = ajuste.total(diasReposicion);
+        double demandaHorizonte = ajuste.total(horizonte);
+        double demandaDiaria = demandaHorizonte / horizonte;
+        // Se redondea antes de ceil para que el error de punto flotante no sume una unidad
+        int stockSeguridad = (int) Math.ceil(redondear(factorSeguridad * ajuste.desviacion() * Math.sqrt(diasReposicion)));
+        int puntoReorden = (int) Math.ceil(redondear(demandaReposicion)) + stockSeguridad;
+        int cantidadSugerida = (stock <= puntoReorden && demandaHorizonte > 0)
+                ? Math.max(0, (int) Math.ceil(redondear(demandaHorizonte)) + stockSeguridad - stock)
+                : 0;
+
+        return PronosticoDemanda.builder()
+                .productoId(productoId)
+                .fechaCalculo(fecha)
+                .diasHistoria(serie.length)
+                .demandaDiaria(redondear(demandaDiaria))
+                .demandaReposicion(redondear(demandaReposicion))
+                .desviacionDiaria(redondear(ajuste.desviacion()))
+                .stockActual(stock)
+                .stockSeguridad(stockSeguridad)
+                .puntoReorden(puntoReorden)
+                .cantidadSugerida(cantidadSugerida)
+                .diasCobertura(demandaDiaria > 0 ? redondear(stock / demandaDiaria) : null)
+                .build();
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    // Arma la serie diaria de cada producto a medida que llegan las filas (ordenadas por producto y día)
+    // y la envía al pool apenas termina
+    private class LectorSeries implements PronosticoDemandaLoteRepository.DemandaDiariaHandler {
+        private final LocalDate desde;
+        private final Map<Long, Integer> stocks;
+        private final ZonedDateTime fecha;
+        private final ForkJoinPool pool;
+        private final List<ForkJoinTask<PronosticoDemanda>> tareas = new ArrayList<>();
+        private long productoId = -1;
+        private int[] demanda;
+        private int primerDia;
+
+        LectorSeries(LocalDate desde, Map<Long, Integer> stocks, ZonedDateTime fecha, ForkJoinPool pool) {
+            this.desde = desde;
+            this.stocks = stocks;
+            this.fecha = fecha;
+            this.pool = pool;
+        }
+
+        @Override
+        public void procesar(long productoId, LocalDate dia, int cantidad) {
+            if (productoId != this.productoId) {
+                terminarSerie();
+                this.productoId = productoId;
+                this.demanda = new int[historiaDias];
+                this.primerDia = -1;
+            }
+            int indice = (int) ChronoUnit.DAYS.between(desde, dia);
+            if (indice < 0 || indice >= historiaDias) {
+                return;
+            }
+            if (primerDia < 0) {
+                primerDia = indice;
+            }
+            demanda[indice] += cantidad;
+        }
+
+        void terminarSerie() {
+            if (demanda == null || primerDia < 0 || !stocks.containsKey(productoId)) {
+                return;
+            }
+            long id = productoId;
+            int[] serie = Arrays.copyOfRange(demanda, primerDia, historiaDias);
+            int stock = stocks.get(id);
+            tareas.add(pool.submit(() -> pronosticar(id, serie, stock, fecha)));
+            demanda = null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.decoaromas.decoaromaspos.service.pronostico;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+
+/**
+ * Suavizamiento exponencial con estacionalidad aditiva (Holt-Winters sin tendencia), apropiado para la
+ * demanda diaria de un producto con patrón semanal. El nivel se actualiza con {@code alfa} y el componente
+ * estacional de cada día del período con {@code gamma}; los pronósticos negativos se truncan a cero.
+ */
+@UtilityClass
+public class SuavizamientoExponencial {
+
+    /**
+     * @param pronostico Demanda pronosticada para cada día siguiente a la serie.
+     * @param desviacion Error típico de los pronósticos a un día sobre la serie (RMSE).
+     */
+    public record Ajuste(double[] pronostico, double desviacion) {
+
+        /** Suma del pronóstico de los primeros {@code dias} días. */
+        public double total(int dias) {
+            double total = 0;
+            for (int i = 0; i < Math.min(dias, pronostico.length); i++) {
+                total += pronostico[i];
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Ajusta el modelo a la serie y pronostica los días siguientes.
+     * Con menos de dos períodos de historia usa el promedio de la serie, sin estacionalidad.
+     * @param serie     Demanda por día, del más antiguo al más reciente.
+     * @param periodo   Largo de la estacionalidad en días (7 para semanal).
+     * @param alfa      Suavizamiento del nivel (0..1).
+     * @param gamma     Suavizamiento de la estacionalidad (0..1).
+     * @param horizonte Días a pronosticar.
+     * @return Pronóstico y error típico del ajuste.
+     */
+    public static Ajuste ajustar(int[] serie, int periodo, double alfa, double gamma, int horizonte) {
+        int n = serie.length;
+        double[] pronostico = new double[horizonte];
+        if (n < 2 * periodo) {
+            double promedio = promedio(serie, 0, n);
+            double suma2 = 0;
+            for (int valor : serie) {
+                suma2 += (valor - promedio) * (valor - promedio);
+            }
+            Arrays.fill(pronostico, Math.max(0, promedio));
+            return new Ajuste(pronostico, n > 1 ? Math.sqrt(suma2 / (n - 1)) : 0);
+        }
+
+        // Inicialización con las dos primeras semanas (períodos)
+        double nivel = promedio(serie, 0, 2 * periodo);
+        double[] estacional = new double[periodo];
+        for (int i = 0; i < periodo; i++) {
+            estacional[i] = (serie[i] + serie[i + periodo]) / 2.0 - nivel;
+        }
+
+        double sumaErrores2 = 0;
+        int errores = 0;
+        for (int t = 0; t < n; t++) {
+            int s = t % periodo;
+            double error = serie[t] - (nivel + estacional[s]);
+            if (t >= 2 * periodo) {
+                sumaErrores2 += error * error;
+                errores++;
+            }
+            double nivelNuevo = alfa * (serie[t] - estacional[s]) + (1 - alfa) * nivel;
+            estacional[s] = gamma * (serie[t] - nivelNuevo) + (1 - gamma) * estacional[s];
+            nivel = nivelNuevo;
+        }
+
+        for (int h = 0; h < horizonte; h++) {
+            pronostico[h] = Math.max(0, nivel + estacional[(n + h) % periodo]);
+        }
+        return new Ajuste(pronostico, errores > 0 ? Math.sqrt(sumaErrores2 / errores) : 0);
+    }
+
+    private static double promedio(int[] serie, int desde, int hasta) {
+        if (hasta <= desde) {
+            return 0;
+        }
+        long suma = 0;
+        for (int i = desde; i < hasta; i++) {
+            suma += serie[i];
+        }
+        return (double) suma / (hasta - desde);
+    }
+}
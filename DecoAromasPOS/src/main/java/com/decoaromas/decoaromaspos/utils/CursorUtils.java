@@ -0,0 +1,94 @@
+package com.decoaromas.decoaromaspos.utils;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codificación de cursores opacos para paginación keyset sobre (fecha, id).
+ * El cursor es la posición de la última fila entregada; la página siguiente se
+ * obtiene con {@code WHERE (fecha, id) < (:fecha, :id)}, por lo que una página
+ * profunda cuesta lo mismo que la primera.
+ */
+@UtilityClass
+public class CursorUtils {
+
+    public static final int TAMANIO_POR_DEFECTO = 20;
+    public static final int TAMANIO_MAXIMO = 100;
+
+    // Posición inicial: mayor que cualquier (fecha, id) real, así la primera página usa la misma consulta
+    public static final ZonedDateTime FECHA_INICIAL = ZonedDateTime.of(9999, 12, 31, 0, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+    public static final Long ID_INICIAL = Long.MAX_VALUE;
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Posición (fecha, id) decodificada de un cursor.
+     * @param fecha Fecha de la última fila entregada (null en cursores solo por id).
+     * @param id    Id de la última fila entregada.
+     */
+    public record Posicion(ZonedDateTime fecha, Long id) {
+    }
+
+    // Limita el tamaño de página al rango permitido (1..TAMANIO_MAXIMO)
+    public static int normalizarTamanio(Integer size) {
+        if (size == null || size <= 0) {
+            return TAMANIO_POR_DEFECTO;
+        }
+        return Math.min(size, TAMANIO_MAXIMO);
+    }
+
+    // Límite de lectura: una fila extra para saber si existe página siguiente
+    public static Pageable limiteConSiguiente(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    // Orden de las páginas keyset: (fecha, id) descendente
+    public static Sort ordenDescendente(String campoFecha, String campoId) {
+        return Sort.by(Sort.Order.desc(campoFecha), Sort.Order.desc(campoId));
+    }
+
+    // Indica si se pide la primera página (único momento en que se calcula el total del filtro)
+    public static boolean esPrimeraPagina(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public static String codificar(ZonedDateTime fecha, Long id) {
+        String valor = (fecha != null ? fecha.toInstant().toString() : "") + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String codificar(Long id) {
+        return codificar(null, id);
+    }
+
+    /**
+     * Decodifica un cursor. Sin cursor devuelve la posición inicial.
+     * @param cursor Cursor opaco entregado en nextCursor (opcional).
+     * @return Posicion desde donde continuar.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    public static Posicion decodificar(String cursor) {
+        if (esPrimeraPagina(cursor)) {
+            return new Posicion(FECHA_INICIAL, ID_INICIAL);
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            String fecha = valor.substring(0, separador);
+            Long id = Long.valueOf(valor.substring(separador + 1));
+            return new Posicion(
+                    fecha.isEmpty() ? null : Instant.parse(fecha).atZone(DateUtils.ZONE_ID_SANTIAGO),
+                    id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido.");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.decoaromas.decoaromaspos.utils;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Aritmética de dinero en punto fijo: los montos se operan como {@code long} en centavos de peso (escala 100),
+ * sin decimales binarios ni objetos intermedios. Así los descuentos, pagos y cuadres de caja son exactos y no
+ * necesitan tolerancias.
+ * <p>
+ * Las entidades y DTOs siguen exponiendo {@code Double}; la conversión se hace solo en los bordes
+ * ({@link #centavos(Double)} al leer y {@link #monto(long)} al guardar), y en la base de datos las
+ * columnas de dinero son {@value #COLUMNA}.
+ */
+@UtilityClass
+public class Dinero {
+
+    /** Tipo SQL de las columnas de dinero: exacto, con dos decimales (los descuentos porcentuales pueden dejar centavos). */
+    public static final String COLUMNA = "numeric(14,2)";
+
+    public static final long ESCALA = 100;
+
+    // Puntos básicos por 100%: un porcentaje con dos decimales (ej.: 12.5%) se opera como 1250 / 10000
+    private static final long PUNTOS_BASICOS = 10_000;
+
+    /**
+     * Convierte un monto a centavos, redondeando al centavo más cercano. Null cuenta como cero.
+     */
+    public static long centavos(Double monto) {
+        return monto == null ? 0 : Math.round(monto * ESCALA);
+    }
+
+    /**
+     * Convierte centavos al monto con el que se guardan las entidades.
+     */
+    public static double monto(long centavos) {
+        return (double) centavos / ESCALA;
+    }
+
+    /**
+     * Porcentaje de un monto, redondeado al centavo (mitad hacia arriba).
+     * @param centavos   Monto base en centavos.
+     * @param porcentaje Porcentaje entre 0 y 100, con hasta dos decimales.
+     */
+    public static long porcentaje(long centavos, double porcentaje) {
+        long puntos = Math.round(porcentaje * ESCALA);
+        long producto = Math.multiplyExact(centavos, puntos);
+        return Math.floorDiv(producto + PUNTOS_BASICOS / 2, PUNTOS_BASICOS);
+    }
+
+    public static long multiplicar(long centavos, int cantidad) {
+        return Math.multiplyExact(centavos, (long) cantidad);
+    }
+
+    /**
+     * Redondea hacia arriba al peso entero (CLP no tiene decimales). Ej.: 758637 -> 758700.
+     */
+    public static long redondearPesoArriba(long centavos) {
+        return -Math.floorDiv(-centavos, ESCALA) * ESCALA;
+    }
+
+    /**
+     * Formato legible para mensajes (ej.: "29351.52", "7587").
+     */
+    public static String formatear(long centavos) {
+        long resto = Math.abs(centavos % ESCALA);
+        String pesos = (centavos < 0 ? "-" : "") + Math.abs(centavos / ESCALA);
+        return resto == 0 ? pesos : pesos + "." + (resto < 10 ? "0" : "") + resto;
+    }
+}
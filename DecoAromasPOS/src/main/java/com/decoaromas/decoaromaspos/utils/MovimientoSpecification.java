@@ -39,6 +39,20 @@ public class MovimientoSpecification {
         };
     }
 
+    /**
+     * Predicado keyset: movimientos anteriores a la posición (fecha, id) del cursor.
+     * Equivale a (fecha, movimientoId) < (:fecha, :id); la condición fecha <= :fecha permite usar el índice.
+     */
+    public static Specification<MovimientoInventario> antesDe(ZonedDateTime fecha, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("fecha"), fecha),
+                cb.or(
+                        cb.lessThan(root.get("fecha"), fecha),
+                        cb.lessThan(root.get("movimientoId"), id)
+                )
+        );
+    }
+
     // Métodos helpers para filtrado
 
     private static void agregarFiltroUsuarioId(List<Predicate> predicates, CriteriaBuilder cb, Root<MovimientoInventario> root, Long usuarioId) {
@@ -46,6 +46,21 @@ public class VentaSpecification {
     }
 
 
+    /**
+     * Predicado keyset: ventas anteriores a la posición (fecha, id) del cursor.
+     * Equivale a (fecha, ventaId) < (:fecha, :id); la condición fecha <= :fecha permite usar el índice.
+     */
+    public static Specification<Venta> antesDe(ZonedDateTime fecha, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("fecha"), fecha),
+                cb.or(
+                        cb.lessThan(root.get("fecha"), fecha),
+                        cb.lessThan(root.get("ventaId"), id)
+                )
+        );
+    }
+
+
     // FILTRO POR TIPO (BOLETA o FACTURA)
     // Esto se aplica si el usuario seleccionó un tipo, independiente si está pendiente o emitido.
     private static void agregarFiltroTipoDocumento(List<Predicate> predicates, CriteriaBuilder cb, Root<Venta> root, TipoDocumento tipoDocumento) {
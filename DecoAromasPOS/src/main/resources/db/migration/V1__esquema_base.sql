@@ -0,0 +1,207 @@
+-- Esquema base: las tablas y claves foráneas que generaba Hibernate (ddl-auto=update) antes de las migraciones,
+-- que es lo que tienen las bases existentes. Solo se ejecuta sobre una base vacía; una existente se marca en la
+-- versión 1 sin ejecutarlo (spring.flyway.baseline-on-migrate) y ambas llegan al mismo esquema con V2 en adelante.
+
+create table aroma (
+    is_deleted boolean,
+    aroma_id bigint generated by default as identity,
+    nombre varchar(255) not null,
+    primary key (aroma_id)
+);
+
+create table caja (
+    bci_cierre float(53),
+    boton_de_pago_cierre float(53),
+    diferencia_real float(53),
+    efectivo_apertura float(53),
+    efectivo_cierre float(53),
+    mercado_pago_cierre float(53),
+    post_cierre float(53),
+    transferencia_cierre float(53),
+    caja_id bigint generated by default as identity,
+    fecha_apertura timestamp(6) with time zone,
+    fecha_cierre timestamp(6) with time zone,
+    usuario_id bigint,
+    estado varchar(255) check (estado in ('ABIERTA','CERRADA')),
+    primary key (caja_id)
+);
+
+create table cliente (
+    activo boolean,
+    cliente_id bigint generated by default as identity,
+    apellido varchar(255),
+    ciudad varchar(255),
+    correo varchar(255),
+    nombre varchar(255) not null,
+    rut varchar(255) not null,
+    telefono varchar(255),
+    tipo varchar(255) not null check (tipo in ('MAYORISTA','DETALLE')),
+    primary key (cliente_id)
+);
+
+create table configuracion (
+    id bigint generated by default as identity,
+    clave varchar(100) not null,
+    valor varchar(500),
+    descripcion varchar(255),
+    primary key (id)
+);
+
+create table cotizacion (
+    costo_general float(53),
+    monto_descuento_global_calculado float(53),
+    total_bruto float(53),
+    total_neto float(53),
+    valor_descuento_global float(53),
+    cliente_id bigint,
+    cotizacion_id bigint generated by default as identity,
+    fecha_emision timestamp(6) with time zone,
+    usuario_id bigint not null,
+    estado varchar(255) check (estado in ('PENDIENTE','RECHAZADA','CONVERTIDA')),
+    tipo_cliente varchar(255) check (tipo_cliente in ('MAYORISTA','DETALLE')),
+    tipo_descuento_global varchar(255) check (tipo_descuento_global in ('VALOR','PORCENTAJE')),
+    primary key (cotizacion_id)
+);
+
+create table detalle_cotizacion (
+    cantidad integer,
+    precio_unitario float(53),
+    subtotal float(53),
+    valor_descuento_unitario float(53),
+    cotizacion_id bigint not null,
+    detalle_cotizacion_id bigint generated by default as identity,
+    producto_id bigint not null,
+    codigo_barras varchar(255),
+    tipo_descuento_unitario varchar(255) check (tipo_descuento_unitario in ('VALOR','PORCENTAJE')),
+    primary key (detalle_cotizacion_id)
+);
+
+create table detalle_venta (
+    cantidad integer,
+    monto_descuento_unitario_calculado float(53),
+    precio_unitario float(53),
+    subtotal float(53),
+    subtotal_bruto float(53),
+    valor_descuento_unitario float(53),
+    detalle_id bigint generated by default as identity,
+    producto_id bigint not null,
+    venta_id bigint not null,
+    codigo_barras varchar(255),
+    tipo_descuento_unitario varchar(255) check (tipo_descuento_unitario in ('VALOR','PORCENTAJE')),
+    primary key (detalle_id)
+);
+
+create table familia_producto (
+    is_deleted boolean,
+    familia_id bigint generated by default as identity,
+    nombre varchar(255) not null,
+    primary key (familia_id)
+);
+
+create table movimiento_inventario (
+    cantidad integer,
+    fecha timestamp(6) with time zone,
+    movimiento_id bigint generated by default as identity,
+    producto_id bigint,
+    usuario_id bigint,
+    motivo varchar(255) check (motivo in ('VENTA','AJUSTE_VENTA','PRODUCCION','NUEVO_STOCK','CORRECCION')),
+    tipo varchar(255) check (tipo in ('ENTRADA','SALIDA')),
+    primary key (movimiento_id)
+);
+
+create table pago_venta (
+    monto float(53) not null,
+    pago_id bigint generated by default as identity,
+    venta_id bigint not null,
+    medio_pago varchar(255) not null check (medio_pago in ('MERCADO_PAGO','BCI','TRANSFERENCIA','EFECTIVO','BOTON_DE_PAGO','POST')),
+    primary key (pago_id)
+);
+
+create table producto (
+    activo boolean,
+    costo float(53),
+    precio_detalle float(53),
+    precio_mayorista float(53),
+    stock integer,
+    aroma_id bigint,
+    familia_id bigint,
+    producto_id bigint generated by default as identity,
+    codigo_barras varchar(255),
+    descripcion varchar(255),
+    nombre varchar(255) not null,
+    sku varchar(255) not null,
+    primary key (producto_id)
+);
+
+create table usuario (
+    activo boolean,
+    usuario_id bigint generated by default as identity,
+    apellido varchar(255),
+    correo varchar(255) not null,
+    nombre varchar(255),
+    password varchar(255) not null,
+    rol varchar(255) check (rol in ('SUPER_ADMIN','ADMIN','VENDEDOR')),
+    username varchar(255) not null,
+    primary key (usuario_id)
+);
+
+create table venta (
+    costo_general float(53),
+    monto_descuento_global_calculado float(53),
+    tipo_documento smallint check (tipo_documento between 0 and 1),
+    total_bruto float(53),
+    total_descuento_total float(53),
+    total_descuentos_unitarios float(53),
+    total_neto float(53),
+    valor_descuento_global float(53),
+    vuelto float(53),
+    caja_id bigint not null,
+    cliente_id bigint,
+    fecha timestamp(6) with time zone,
+    usuario_id bigint not null,
+    venta_id bigint generated by default as identity,
+    numero_documento varchar(30),
+    tipo_cliente varchar(255) check (tipo_cliente in ('MAYORISTA','DETALLE')),
+    tipo_descuento_global varchar(255) check (tipo_descuento_global in ('VALOR','PORCENTAJE')),
+    primary key (venta_id)
+);
+
+create table venta_online_mensual (
+    anio integer,
+    mes integer,
+    total_detalle float(53),
+    total_mayorista float(53),
+    fecha_ingreso timestamp(6) with time zone,
+    venta_online_mensual_id bigint generated by default as identity,
+    primary key (venta_online_mensual_id)
+);
+
+-- Con los nombres que les daba Hibernate
+alter table aroma add constraint UK71cluk2ey1bh45gbcxnynmnel unique (nombre);
+alter table cliente add constraint UK4q3018p4i2lt8h9fel9h8r8xp unique (rut);
+alter table cliente add constraint UKk6i2j3upwar1uora4mgiol6b unique (correo);
+alter table cliente add constraint UKtk9b57e4h18v9aaf5poja1owu unique (telefono);
+alter table configuracion add constraint UKqp93r367kr62916jo5j26668m unique (clave);
+alter table familia_producto add constraint UK3keqhoeholpm62fxji1o4v8qx unique (nombre);
+alter table producto add constraint UKclpng6f2m2r9i1y5g2yxajyuq unique (sku);
+alter table producto add constraint UKnrobij4fg0dpdfcro7t2ystd1 unique (codigo_barras);
+alter table usuario add constraint UK2mlfr087gb1ce55f2j87o74t unique (correo);
+alter table usuario add constraint UK863n1y3x0jalatoir4325ehal unique (username);
+alter table venta add constraint UK8sres09l7i02vai671hfekda4 unique (numero_documento);
+alter table venta_online_mensual add constraint UKkrmbb518fp9eqfw6akjyxjqbl unique (mes, anio);
+
+alter table caja add constraint FKg3ny2u8nmhcymb0nl7uabcvrf foreign key (usuario_id) references usuario;
+alter table cotizacion add constraint FKjm3xw2ma78h5q5lbrr2li9l9c foreign key (cliente_id) references cliente;
+alter table cotizacion add constraint FKf88wq2s5c34i4qnhjywppg1u5 foreign key (usuario_id) references usuario;
+alter table detalle_cotizacion add constraint FKbck7k8xp8ptdfcp26ntex3cv4 foreign key (cotizacion_id) references cotizacion;
+alter table detalle_cotizacion add constraint FK1kld0nf4c6gwvr846wb47tb07 foreign key (producto_id) references producto;
+alter table detalle_venta add constraint FKmi06vmeg5th7wdow1mxcqg78e foreign key (producto_id) references producto;
+alter table detalle_venta add constraint FKhj0bf0515yg7equ11ab4xgq3f foreign key (venta_id) references venta;
+alter table movimiento_inventario add constraint FKd6bavqmj4o0mvn82ve46jac9v foreign key (producto_id) references producto;
+alter table movimiento_inventario add constraint FKt6p6ejpbblav1phv0lgjpeg4r foreign key (usuario_id) references usuario;
+alter table pago_venta add constraint FKtco5oi63labu0urmfec5ogowd foreign key (venta_id) references venta;
+alter table producto add constraint FKm1rpenmccwl94f7231op2e9mt foreign key (aroma_id) references aroma;
+alter table producto add constraint FKmragsx4joppjoteopqkq1iucc foreign key (familia_id) references familia_producto;
+alter table venta add constraint FKly0l9xxhiwbnq4l33coa2wq30 foreign key (caja_id) references caja;
+alter table venta add constraint FKa7yaj59nfh3gft0h38o5bv472 foreign key (cliente_id) references cliente;
+alter table venta add constraint FKb28d98ltkhb0f8g3qypy8q2tl foreign key (usuario_id) references usuario;
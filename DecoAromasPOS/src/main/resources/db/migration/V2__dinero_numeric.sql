@@ -0,0 +1,49 @@
+-- Columnas de dinero de double precision a numeric(14,2) (ver utils/Dinero). Los valores se redondean al
+-- centavo, que es la precisión con la que la aplicación los calcula.
+
+alter table venta
+    alter column total_bruto type numeric(14,2) using round(total_bruto::numeric, 2),
+    alter column valor_descuento_global type numeric(14,2) using round(valor_descuento_global::numeric, 2),
+    alter column monto_descuento_global_calculado type numeric(14,2) using round(monto_descuento_global_calculado::numeric, 2),
+    alter column total_descuentos_unitarios type numeric(14,2) using round(total_descuentos_unitarios::numeric, 2),
+    alter column total_descuento_total type numeric(14,2) using round(total_descuento_total::numeric, 2),
+    alter column total_neto type numeric(14,2) using round(total_neto::numeric, 2),
+    alter column costo_general type numeric(14,2) using round(costo_general::numeric, 2),
+    alter column vuelto type numeric(14,2) using round(vuelto::numeric, 2);
+
+alter table detalle_venta
+    alter column precio_unitario type numeric(14,2) using round(precio_unitario::numeric, 2),
+    alter column valor_descuento_unitario type numeric(14,2) using round(valor_descuento_unitario::numeric, 2),
+    alter column subtotal_bruto type numeric(14,2) using round(subtotal_bruto::numeric, 2),
+    alter column monto_descuento_unitario_calculado type numeric(14,2) using round(monto_descuento_unitario_calculado::numeric, 2),
+    alter column subtotal type numeric(14,2) using round(subtotal::numeric, 2);
+
+alter table pago_venta
+    alter column monto type numeric(14,2) using round(monto::numeric, 2);
+
+alter table caja
+    alter column efectivo_apertura type numeric(14,2) using round(efectivo_apertura::numeric, 2),
+    alter column efectivo_cierre type numeric(14,2) using round(efectivo_cierre::numeric, 2),
+    alter column mercado_pago_cierre type numeric(14,2) using round(mercado_pago_cierre::numeric, 2),
+    alter column bci_cierre type numeric(14,2) using round(bci_cierre::numeric, 2),
+    alter column boton_de_pago_cierre type numeric(14,2) using round(boton_de_pago_cierre::numeric, 2),
+    alter column transferencia_cierre type numeric(14,2) using round(transferencia_cierre::numeric, 2),
+    alter column post_cierre type numeric(14,2) using round(post_cierre::numeric, 2),
+    alter column diferencia_real type numeric(14,2) using round(diferencia_real::numeric, 2);
+
+alter table cotizacion
+    alter column total_bruto type numeric(14,2) using round(total_bruto::numeric, 2),
+    alter column valor_descuento_global type numeric(14,2) using round(valor_descuento_global::numeric, 2),
+    alter column monto_descuento_global_calculado type numeric(14,2) using round(monto_descuento_global_calculado::numeric, 2),
+    alter column total_neto type numeric(14,2) using round(total_neto::numeric, 2),
+    alter column costo_general type numeric(14,2) using round(costo_general::numeric, 2);
+
+alter table detalle_cotizacion
+    alter column precio_unitario type numeric(14,2) using round(precio_unitario::numeric, 2),
+    alter column valor_descuento_unitario type numeric(14,2) using round(valor_descuento_unitario::numeric, 2),
+    alter column subtotal type numeric(14,2) using round(subtotal::numeric, 2);
+
+alter table producto
+    alter column precio_detalle type numeric(14,2) using round(precio_detalle::numeric, 2),
+    alter column precio_mayorista type numeric(14,2) using round(precio_mayorista::numeric, 2),
+    alter column costo type numeric(14,2) using round(costo::numeric, 2);
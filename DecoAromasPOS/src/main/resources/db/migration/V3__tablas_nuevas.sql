@@ -0,0 +1,110 @@
+-- Columnas, tablas e índices que las entidades agregaron después del esquema base.
+
+-- Clave de idempotencia de las ventas offline (VentaJournal) y umbral de bajo stock por producto o familia
+alter table venta add column uuid uuid unique;
+alter table producto add column stock_minimo integer;
+alter table familia_producto add column stock_minimo integer;
+
+-- Alertas de bajo stock pendientes de publicar por SSE (AlertaStockPublicador)
+create table alerta_stock (
+    publicada boolean not null,
+    stock_actual integer,
+    stock_anterior integer,
+    stock_minimo integer,
+    alerta_id bigint generated by default as identity,
+    fecha timestamp(6) with time zone not null,
+    producto_id bigint not null,
+    nombre varchar(255),
+    sku varchar(255),
+    tipo varchar(255) not null check (tipo in ('BAJO_STOCK','SIN_STOCK','REPUESTO')),
+    primary key (alerta_id)
+);
+
+-- Compras acumuladas por cliente (EstadisticaClienteService)
+create table estadistica_cliente (
+    gasto_total float(53) not null,
+    cantidad_compras bigint not null,
+    cliente_id bigint not null,
+    ultima_compra timestamp(6) with time zone,
+    primary key (cliente_id)
+);
+
+-- Eventos de dominio escritos en la misma transacción que los cambios (EventoOutboxPublicador)
+create table evento_outbox (
+    intentos integer not null,
+    procesado boolean not null,
+    agregado_id bigint not null,
+    evento_id bigint generated by default as identity,
+    fecha timestamp(6) with time zone not null,
+    procesado_en timestamp(6) with time zone,
+    ultimo_error varchar(500),
+    payload text,
+    tipo varchar(255) not null check (tipo in ('VENTA_CREADA','VENTA_ACTUALIZADA','VENTA_ELIMINADA','CAJA_ABIERTA','CAJA_CERRADA','CAJA_ELIMINADA','STOCK_ACTUALIZADO')),
+    tipo_agregado varchar(255) not null check (tipo_agregado in ('VENTA','CAJA','PRODUCTO')),
+    primary key (evento_id)
+);
+
+-- Último pronóstico de demanda y punto de reorden por producto
+create table pronostico_demanda (
+    cantidad_sugerida integer,
+    demanda_diaria float(53),
+    demanda_reposicion float(53),
+    desviacion_diaria float(53),
+    dias_cobertura float(53),
+    dias_historia integer,
+    punto_reorden integer,
+    stock_actual integer,
+    stock_seguridad integer,
+    fecha_calculo timestamp(6) with time zone not null,
+    producto_id bigint not null unique,
+    pronostico_id bigint generated by default as identity,
+    primary key (pronostico_id)
+);
+
+-- Tickets y totales por hora de cada día y tipo de cliente (mapa de calor y ventas por día y hora)
+create table resumen_venta_horaria (
+    fecha date not null,
+    resumen_id bigint generated by default as identity,
+    tipo_cliente varchar(255) not null check (tipo_cliente in ('MAYORISTA','DETALLE')),
+    tickets integer array not null,
+    totales float(53) array not null,
+    primary key (resumen_id),
+    unique (fecha, tipo_cliente)
+);
+
+-- Stock de cada producto a una fecha de corte, punto de partida para reconstruir el stock desde el libro
+create table snapshot_stock (
+    stock integer not null,
+    fecha timestamp(6) with time zone not null,
+    producto_id bigint not null,
+    snapshot_id bigint generated by default as identity,
+    primary key (snapshot_id),
+    constraint uk_snapshot_stock_producto_fecha unique (producto_id, fecha)
+);
+
+-- Respuestas guardadas de las solicitudes con Idempotency-Key
+create table solicitud_idempotente (
+    codigo_http integer,
+    creada_en timestamp(6) with time zone not null,
+    expira_en timestamp(6) with time zone not null,
+    hash_solicitud varchar(64) not null,
+    clave varchar(100) not null,
+    operacion varchar(120) not null,
+    respuesta text,
+    primary key (clave)
+);
+
+create index idx_alerta_stock_publicada_id on alerta_stock (publicada, alerta_id);
+create index idx_alerta_stock_fecha on alerta_stock (fecha);
+create index idx_estadistica_cliente_ultima_compra on estadistica_cliente (ultima_compra);
+create index idx_estadistica_cliente_gasto_total on estadistica_cliente (gasto_total);
+create index idx_evento_outbox_procesado_id on evento_outbox (procesado, evento_id);
+create index idx_evento_outbox_agregado_id on evento_outbox (tipo_agregado, agregado_id, evento_id);
+create index idx_snapshot_stock_fecha on snapshot_stock (fecha);
+create index idx_solicitud_idempotente_expira_en on solicitud_idempotente (expira_en);
+
+-- Listados keyset por fecha e historial de compras de un cliente
+create index idx_caja_fecha_apertura_id on caja (fecha_apertura, caja_id);
+create index idx_cotizacion_fecha_emision_id on cotizacion (fecha_emision, cotizacion_id);
+create index idx_venta_cliente_fecha on venta (cliente_id, fecha);
+create index idx_venta_fecha_id on venta (fecha, venta_id);
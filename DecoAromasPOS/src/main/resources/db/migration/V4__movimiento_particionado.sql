@@ -0,0 +1,69 @@
+-- movimiento_inventario como tabla append-only particionada por mes (rango sobre fecha). Las particiones de los
+-- meses siguientes las crea ParticionMovimientoService; la partición DEFAULT solo recibe filas fuera de rango
+-- (debe quedar vacía).
+
+alter table movimiento_inventario rename to movimiento_inventario_anterior;
+alter table movimiento_inventario_anterior drop constraint if exists fkd6bavqmj4o0mvn82ve46jac9v;
+alter table movimiento_inventario_anterior drop constraint if exists fkt6p6ejpbblav1phv0lgjpeg4r;
+alter index if exists idx_movimiento_fecha_id rename to idx_movimiento_anterior_fecha_id;
+alter index if exists idx_movimiento_producto_fecha_id rename to idx_movimiento_anterior_producto_fecha_id;
+alter index if exists idx_movimiento_usuario_fecha_id rename to idx_movimiento_anterior_usuario_fecha_id;
+alter index if exists idx_movimiento_motivo_fecha_id rename to idx_movimiento_anterior_motivo_fecha_id;
+alter index if exists movimiento_inventario_pkey rename to movimiento_inventario_anterior_pkey;
+alter sequence if exists movimiento_inventario_movimiento_id_seq rename to movimiento_inventario_anterior_movimiento_id_seq;
+
+-- La clave de partición debe ser parte de la clave primaria
+create table movimiento_inventario (
+    movimiento_id bigserial not null,
+    fecha timestamp(6) with time zone not null,
+    tipo varchar(255) check (tipo in ('ENTRADA', 'SALIDA')),
+    motivo varchar(255) check (motivo in ('VENTA', 'AJUSTE_VENTA', 'PRODUCCION', 'NUEVO_STOCK', 'CORRECCION')),
+    cantidad integer,
+    producto_id bigint constraint fkd6bavqmj4o0mvn82ve46jac9v references producto,
+    usuario_id bigint constraint fkt6p6ejpbblav1phv0lgjpeg4r references usuario,
+    primary key (movimiento_id, fecha)
+) partition by range (fecha);
+
+create table movimiento_inventario_default partition of movimiento_inventario default;
+
+-- Una partición por mes (hora de Santiago) desde el primer movimiento hasta tres meses adelante
+do $$
+declare
+    mes timestamp;
+    fin timestamp := date_trunc('month', now() at time zone 'America/Santiago') + interval '3 months';
+begin
+    select date_trunc('month', coalesce(min(fecha), now()) at time zone 'America/Santiago')
+    into mes from movimiento_inventario_anterior;
+    while mes <= fin loop
+        execute format('create table %I partition of movimiento_inventario for values from (%L) to (%L)',
+                       'movimiento_inventario_' || to_char(mes, 'YYYY_MM'),
+                       mes at time zone 'America/Santiago',
+                       (mes + interval '1 month') at time zone 'America/Santiago');
+        mes := mes + interval '1 month';
+    end loop;
+end $$;
+
+insert into movimiento_inventario (movimiento_id, fecha, tipo, motivo, cantidad, producto_id, usuario_id)
+select movimiento_id, coalesce(fecha, now()), tipo, motivo, cantidad, producto_id, usuario_id
+from movimiento_inventario_anterior;
+
+select setval(pg_get_serial_sequence('movimiento_inventario', 'movimiento_id'),
+              coalesce((select max(movimiento_id) from movimiento_inventario), 0) + 1, false);
+
+-- Índices del listado keyset y de las consultas por producto y por motivo (se propagan a cada partición)
+create index idx_movimiento_fecha_id on movimiento_inventario (fecha, movimiento_id);
+create index idx_movimiento_producto_fecha_id on movimiento_inventario (producto_id, fecha, movimiento_id);
+create index idx_movimiento_usuario_fecha_id on movimiento_inventario (usuario_id, fecha, movimiento_id);
+create index idx_movimiento_motivo_fecha_id on movimiento_inventario (motivo, fecha, movimiento_id);
+
+-- Libro append-only: las correcciones se registran como nuevos movimientos, nunca editando los existentes
+create or replace function movimiento_inventario_solo_insercion() returns trigger as $$
+begin
+    raise exception 'movimiento_inventario es de solo inserción (% no permitido)', TG_OP;
+end $$ language plpgsql;
+
+create trigger trg_movimiento_inventario_solo_insercion
+    before update or delete on movimiento_inventario
+    for each statement execute function movimiento_inventario_solo_insercion();
+
+drop table movimiento_inventario_anterior;
@@ -0,0 +1,28 @@
+-- Índices de las claves foráneas y columnas de filtro de los caminos calientes, que ddl-auto=update nunca creó
+-- (PostgreSQL no indexa las claves foráneas por sí solo). "if not exists" por si alguno ya se creó a mano.
+-- Ya cubiertos por V3 y V4: venta(fecha) con idx_venta_fecha_id, venta(cliente_id) con
+-- idx_venta_cliente_fecha y movimiento_inventario(producto_id, fecha) con idx_movimiento_producto_fecha_id.
+
+-- Ventas de una caja (cierre, vueltos, totales por medio de pago) y de un vendedor por periodo
+create index if not exists idx_venta_caja on venta (caja_id);
+create index if not exists idx_venta_usuario_fecha on venta (usuario_id, fecha);
+
+-- Carga de los detalles de una venta y reportes por producto, aroma y familia
+create index if not exists idx_detalle_venta_venta on detalle_venta (venta_id);
+create index if not exists idx_detalle_venta_producto on detalle_venta (producto_id);
+
+-- Pagos de una venta y totales por medio de pago: el monto incluido permite sumar sin leer la tabla
+create index if not exists idx_pago_venta_venta_medio on pago_venta (venta_id, medio_pago) include (monto);
+
+-- Detalles de una cotización
+create index if not exists idx_detalle_cotizacion_cotizacion on detalle_cotizacion (cotizacion_id);
+
+-- Descuadres y KPIs de cajas cerradas por fecha de cierre
+create index if not exists idx_caja_estado_fecha_cierre on caja (estado, fecha_cierre);
+-- Caja abierta (findByEstado / existsByEstado en cada venta): parcial, queda con una sola fila
+create index if not exists idx_caja_abierta on caja (estado) where estado = 'ABIERTA';
+
+-- Cotizaciones por estado en orden de emisión
+create index if not exists idx_cotizacion_estado_fecha_emision on cotizacion (estado, fecha_emision);
+
+analyze venta, detalle_venta, pago_venta, detalle_cotizacion, caja, cotizacion;
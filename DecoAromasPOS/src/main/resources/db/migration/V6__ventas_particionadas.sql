@@ -0,0 +1,216 @@
+-- venta, detalle_venta y pago_venta particionadas por mes (rango, hora de Santiago), como movimiento_inventario:
+-- los reportes y listados filtrados por fecha leen solo las particiones del periodo (ParticionVentaService las crea
+-- por adelantado) y el archivo anual borra las particiones completas de un año (ArchivoVentasService).
+--
+-- La clave de partición debe ser parte de toda clave primaria o única:
+--   * venta: PK (venta_id, fecha); fecha pasa a ser obligatoria.
+--   * detalle_venta y pago_venta: se particionan por fecha_venta, copia de venta.fecha que las entidades llenan
+--     al insertar. La FK (venta_id, fecha_venta) → venta (venta_id, fecha) la mantiene al día (ON UPDATE CASCADE)
+--     y hace que un detalle y su venta queden siempre en el mismo mes.
+--   * uuid y numero_documento siguen siendo únicos en todas las particiones mediante las tablas venta_uuid y
+--     venta_numero_documento, que mantiene un trigger.
+-- Las filas existentes se copian a las nuevas tablas; los ids y sus secuencias se conservan.
+
+-- Tablas anteriores: se renombran junto con sus índices y secuencias para liberar los nombres
+alter table pago_venta rename to pago_venta_anterior;
+alter table detalle_venta rename to detalle_venta_anterior;
+alter table venta rename to venta_anterior;
+alter table pago_venta_anterior drop constraint if exists FKtco5oi63labu0urmfec5ogowd;
+alter table detalle_venta_anterior drop constraint if exists FKhj0bf0515yg7equ11ab4xgq3f;
+alter table detalle_venta_anterior drop constraint if exists FKmi06vmeg5th7wdow1mxcqg78e;
+alter table venta_anterior drop constraint if exists FKly0l9xxhiwbnq4l33coa2wq30;
+alter table venta_anterior drop constraint if exists FKa7yaj59nfh3gft0h38o5bv472;
+alter table venta_anterior drop constraint if exists FKb28d98ltkhb0f8g3qypy8q2tl;
+alter sequence if exists venta_venta_id_seq rename to venta_anterior_venta_id_seq;
+alter sequence if exists detalle_venta_detalle_id_seq rename to detalle_venta_anterior_detalle_id_seq;
+alter sequence if exists pago_venta_pago_id_seq rename to pago_venta_anterior_pago_id_seq;
+
+-- Incluye los índices de las claves primarias y únicas (renombrar el índice renombra la restricción)
+do $$
+declare
+    indice record;
+begin
+    for indice in
+        select i.relname as nombre
+        from pg_index x
+        join pg_class i on i.oid = x.indexrelid
+        join pg_class t on t.oid = x.indrelid
+        where t.relname in ('venta_anterior', 'detalle_venta_anterior', 'pago_venta_anterior')
+          and t.relnamespace = current_schema()::regnamespace
+    loop
+        execute format('alter index %I rename to %I', indice.nombre, left(indice.nombre, 50) || '_anterior');
+    end loop;
+end $$;
+
+create table venta (
+    costo_general numeric(14,2),
+    monto_descuento_global_calculado numeric(14,2),
+    tipo_documento smallint check (tipo_documento between 0 and 1),
+    total_bruto numeric(14,2),
+    total_descuento_total numeric(14,2),
+    total_descuentos_unitarios numeric(14,2),
+    total_neto numeric(14,2),
+    valor_descuento_global numeric(14,2),
+    vuelto numeric(14,2),
+    caja_id bigint not null constraint FKly0l9xxhiwbnq4l33coa2wq30 references caja,
+    cliente_id bigint constraint FKa7yaj59nfh3gft0h38o5bv472 references cliente,
+    fecha timestamp(6) with time zone not null,
+    usuario_id bigint not null constraint FKb28d98ltkhb0f8g3qypy8q2tl references usuario,
+    venta_id bigserial not null,
+    uuid uuid,
+    numero_documento varchar(30),
+    tipo_cliente varchar(255) check (tipo_cliente in ('MAYORISTA','DETALLE')),
+    tipo_descuento_global varchar(255) check (tipo_descuento_global in ('VALOR','PORCENTAJE')),
+    primary key (venta_id, fecha)
+) partition by range (fecha);
+
+create table detalle_venta (
+    cantidad integer,
+    monto_descuento_unitario_calculado numeric(14,2),
+    precio_unitario numeric(14,2),
+    subtotal numeric(14,2),
+    subtotal_bruto numeric(14,2),
+    valor_descuento_unitario numeric(14,2),
+    detalle_id bigserial not null,
+    producto_id bigint not null constraint FKmi06vmeg5th7wdow1mxcqg78e references producto,
+    venta_id bigint not null,
+    fecha_venta timestamp(6) with time zone not null,
+    codigo_barras varchar(255),
+    tipo_descuento_unitario varchar(255) check (tipo_descuento_unitario in ('VALOR','PORCENTAJE')),
+    primary key (detalle_id, fecha_venta),
+    constraint FKhj0bf0515yg7equ11ab4xgq3f foreign key (venta_id, fecha_venta)
+        references venta (venta_id, fecha) on update cascade
+) partition by range (fecha_venta);
+
+create table pago_venta (
+    monto numeric(14,2) not null,
+    pago_id bigserial not null,
+    venta_id bigint not null,
+    fecha_venta timestamp(6) with time zone not null,
+    medio_pago varchar(255) not null check (medio_pago in ('MERCADO_PAGO','BCI','TRANSFERENCIA','EFECTIVO','BOTON_DE_PAGO','POST')),
+    primary key (pago_id, fecha_venta),
+    constraint FKtco5oi63labu0urmfec5ogowd foreign key (venta_id, fecha_venta)
+        references venta (venta_id, fecha) on update cascade
+) partition by range (fecha_venta);
+
+-- La partición DEFAULT solo recibe filas fuera de rango (debe quedar vacía)
+create table venta_default partition of venta default;
+create table detalle_venta_default partition of detalle_venta default;
+create table pago_venta_default partition of pago_venta default;
+
+-- Una partición por mes y tabla desde la primera venta hasta tres meses adelante; las siguientes las crea
+-- ParticionVentaService
+do $$
+declare
+    mes timestamp;
+    fin timestamp := date_trunc('month', now() at time zone 'America/Santiago') + interval '3 months';
+    tabla text;
+begin
+    select date_trunc('month', coalesce(min(fecha), now()) at time zone 'America/Santiago')
+    into mes from venta_anterior;
+    while mes <= fin loop
+        foreach tabla in array array['venta', 'detalle_venta', 'pago_venta'] loop
+            execute format('create table %I partition of %I for values from (%L) to (%L)',
+                           tabla || '_' || to_char(mes, 'YYYY_MM'), tabla,
+                           mes at time zone 'America/Santiago',
+                           (mes + interval '1 month') at time zone 'America/Santiago');
+        end loop;
+        mes := mes + interval '1 month';
+    end loop;
+end $$;
+
+insert into venta (costo_general, monto_descuento_global_calculado, tipo_documento, total_bruto,
+                   total_descuento_total, total_descuentos_unitarios, total_neto, valor_descuento_global, vuelto,
+                   caja_id, cliente_id, fecha, usuario_id, venta_id, uuid, numero_documento, tipo_cliente,
+                   tipo_descuento_global)
+select costo_general, monto_descuento_global_calculado, tipo_documento, total_bruto,
+       total_descuento_total, total_descuentos_unitarios, total_neto, valor_descuento_global, vuelto,
+       caja_id, cliente_id, coalesce(fecha, now()), usuario_id, venta_id, uuid, numero_documento, tipo_cliente,
+       tipo_descuento_global
+from venta_anterior;
+
+insert into detalle_venta (cantidad, monto_descuento_unitario_calculado, precio_unitario, subtotal, subtotal_bruto,
+                           valor_descuento_unitario, detalle_id, producto_id, venta_id, fecha_venta, codigo_barras,
+                           tipo_descuento_unitario)
+select d.cantidad, d.monto_descuento_unitario_calculado, d.precio_unitario, d.subtotal, d.subtotal_bruto,
+       d.valor_descuento_unitario, d.detalle_id, d.producto_id, d.venta_id, v.fecha, d.codigo_barras,
+       d.tipo_descuento_unitario
+from detalle_venta_anterior d
+join venta v on v.venta_id = d.venta_id;
+
+insert into pago_venta (monto, pago_id, venta_id, fecha_venta, medio_pago)
+select p.monto, p.pago_id, p.venta_id, v.fecha, p.medio_pago
+from pago_venta_anterior p
+join venta v on v.venta_id = p.venta_id;
+
+select setval(pg_get_serial_sequence('venta', 'venta_id'),
+              coalesce((select max(venta_id) from venta), 0) + 1, false);
+select setval(pg_get_serial_sequence('detalle_venta', 'detalle_id'),
+              coalesce((select max(detalle_id) from detalle_venta), 0) + 1, false);
+select setval(pg_get_serial_sequence('pago_venta', 'pago_id'),
+              coalesce((select max(pago_id) from pago_venta), 0) + 1, false);
+
+drop table pago_venta_anterior;
+drop table detalle_venta_anterior;
+drop table venta_anterior;
+
+-- Índices de V3 y V5 (se propagan a cada partición). Buscar por uuid o número de documento, o por
+-- venta_id sin fecha, recorre el índice de cada partición
+create index idx_venta_fecha_id on venta (fecha, venta_id);
+create index idx_venta_cliente_fecha on venta (cliente_id, fecha);
+create index idx_venta_caja on venta (caja_id);
+create index idx_venta_usuario_fecha on venta (usuario_id, fecha);
+create index idx_venta_uuid on venta (uuid);
+create index idx_venta_numero_documento on venta (numero_documento);
+-- También cubre la FK compuesta (actualización en cascada de fecha_venta)
+create index idx_detalle_venta_venta on detalle_venta (venta_id, fecha_venta);
+create index idx_detalle_venta_producto on detalle_venta (producto_id);
+create index idx_pago_venta_venta_medio on pago_venta (venta_id, medio_pago) include (monto);
+
+-- Unicidad global de uuid (idempotencia de ventas offline) y de numero_documento
+create table venta_uuid (
+    uuid uuid primary key,
+    venta_id bigint not null
+);
+
+create table venta_numero_documento (
+    numero_documento varchar(30) primary key,
+    venta_id bigint not null
+);
+
+insert into venta_uuid (uuid, venta_id)
+select uuid, venta_id from venta where uuid is not null;
+insert into venta_numero_documento (numero_documento, venta_id)
+select numero_documento, venta_id from venta where numero_documento is not null;
+
+-- Un duplicado falla con unique_violation, igual que con la restricción única sobre venta
+create or replace function venta_claves_unicas() returns trigger as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        if old.uuid is not null and (tg_op = 'DELETE' or new.uuid is distinct from old.uuid) then
+            delete from venta_uuid where uuid = old.uuid;
+        end if;
+        if old.numero_documento is not null
+                and (tg_op = 'DELETE' or new.numero_documento is distinct from old.numero_documento) then
+            delete from venta_numero_documento where numero_documento = old.numero_documento;
+        end if;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        if new.uuid is not null and (tg_op = 'INSERT' or new.uuid is distinct from old.uuid) then
+            insert into venta_uuid (uuid, venta_id) values (new.uuid, new.venta_id);
+        end if;
+        if new.numero_documento is not null
+                and (tg_op = 'INSERT' or new.numero_documento is distinct from old.numero_documento) then
+            insert into venta_numero_documento (numero_documento, venta_id)
+            values (new.numero_documento, new.venta_id);
+        end if;
+    end if;
+    return null;
+end $$ language plpgsql;
+
+-- Un UPDATE que mueve la venta de partición (cambio de mes) se ejecuta como DELETE + INSERT y dispara esos eventos
+create trigger trg_venta_claves_unicas
+    after insert or update of uuid, numero_documento or delete on venta
+    for each row execute function venta_claves_unicas();
+
+analyze venta, detalle_venta, pago_venta, venta_uuid, venta_numero_documento;
@@ -0,0 +1,25 @@
+-- Archivo en frío de años cerrados (ArchivoVentasService): las ventas, detalles, pagos y movimientos de un año se
+-- exportan a archivos columnares comprimidos y se eliminan de las tablas. Aquí quedan el registro de cada año
+-- archivado y los agregados por cliente que las estadísticas ya no pueden recalcular desde venta.
+
+create table anio_archivado (
+    anio integer not null,
+    fecha_archivo timestamp(6) with time zone not null,
+    ventas bigint not null,
+    detalles bigint not null,
+    pagos bigint not null,
+    movimientos bigint not null,
+    total_neto numeric(14,2) not null,
+    directorio varchar(500) not null,
+    primary key (anio)
+);
+
+-- Un registro por cliente y año archivado, con sus ventas de ese año
+create table estadistica_cliente_archivada (
+    anio integer not null,
+    cliente_id bigint not null,
+    cantidad_compras bigint not null,
+    gasto_total numeric(14,2) not null,
+    ultima_compra timestamp(6) with time zone not null,
+    primary key (cliente_id, anio)
+);
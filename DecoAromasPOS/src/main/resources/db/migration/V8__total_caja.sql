@@ -0,0 +1,38 @@
+-- Totales acumulados por caja (TotalCajaService): una fila por caja con lo cobrado en cada medio de pago y el
+-- vuelto entregado, actualizada en la misma transacción que crea o elimina cada venta. El resumen de caja la
+-- lee directamente en vez de sumar todos los pagos de la caja.
+
+create table total_caja (
+    caja_id bigint not null references caja on delete cascade,
+    efectivo numeric(14,2) not null default 0,
+    mercado_pago numeric(14,2) not null default 0,
+    bci numeric(14,2) not null default 0,
+    boton_de_pago numeric(14,2) not null default 0,
+    transferencia numeric(14,2) not null default 0,
+    post numeric(14,2) not null default 0,
+    vuelto numeric(14,2) not null default 0,
+    primary key (caja_id)
+);
+
+-- Carga inicial desde las ventas existentes (la caja abierta sigue acumulando desde aquí)
+insert into total_caja (caja_id, efectivo, mercado_pago, bci, boton_de_pago, transferencia, post, vuelto)
+select c.caja_id,
+       coalesce(p.efectivo, 0), coalesce(p.mercado_pago, 0), coalesce(p.bci, 0),
+       coalesce(p.boton_de_pago, 0), coalesce(p.transferencia, 0), coalesce(p.post, 0),
+       coalesce(v.vuelto, 0)
+from caja c
+left join (
+    select v.caja_id,
+           sum(p.monto) filter (where p.medio_pago = 'EFECTIVO') as efectivo,
+           sum(p.monto) filter (where p.medio_pago = 'MERCADO_PAGO') as mercado_pago,
+           sum(p.monto) filter (where p.medio_pago = 'BCI') as bci,
+           sum(p.monto) filter (where p.medio_pago = 'BOTON_DE_PAGO') as boton_de_pago,
+           sum(p.monto) filter (where p.medio_pago = 'TRANSFERENCIA') as transferencia,
+           sum(p.monto) filter (where p.medio_pago = 'POST') as post
+    from pago_venta p
+    join venta v on v.venta_id = p.venta_id and v.fecha = p.fecha_venta
+    group by v.caja_id
+) p on p.caja_id = c.caja_id
+left join (
+    select caja_id, sum(vuelto) as vuelto from venta group by caja_id
+) v on v.caja_id = c.caja_id;
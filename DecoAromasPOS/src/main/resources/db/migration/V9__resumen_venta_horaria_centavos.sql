@@ -0,0 +1,28 @@
+-- Resumen horario de ventas (ResumenVentaHorariaService): los totales pasan a centavos exactos (bigint) como el
+-- resto del dinero, y la tabla se carga desde las ventas existentes. Sin esta carga el mapa de calor y las ventas
+-- por día y hora solo verían las ventas posteriores al despliegue.
+
+delete from resumen_venta_horaria;
+
+alter table resumen_venta_horaria alter column totales type bigint array using cast(totales as bigint array);
+
+-- Misma agregación que ResumenVentaHorariaRepository.agregarVentasPorHora: día y hora locales de Santiago, y una
+-- venta sin tipo de cliente cuenta como DETALLE. Cada día lleva sus 24 horas, con cero en las horas sin ventas.
+with por_hora as (
+    select cast(v.fecha at time zone 'America/Santiago' as date) as fecha,
+           cast(extract(hour from v.fecha at time zone 'America/Santiago') as integer) as hora,
+           coalesce(v.tipo_cliente, 'DETALLE') as tipo_cliente,
+           cast(count(*) as integer) as tickets,
+           cast(coalesce(sum(v.total_neto), 0) * 100 as bigint) as centavos
+    from venta v
+    where v.fecha is not null
+    group by 1, 2, 3
+)
+insert into resumen_venta_horaria (fecha, tipo_cliente, tickets, totales)
+select d.fecha, d.tipo_cliente,
+       array_agg(coalesce(p.tickets, 0) order by h.hora),
+       array_agg(coalesce(p.centavos, 0) order by h.hora)
+from (select distinct fecha, tipo_cliente from por_hora) d
+cross join generate_series(0, 23) as h(hora)
+left join por_hora p on p.fecha = d.fecha and p.tipo_cliente = d.tipo_cliente and p.hora = h.hora
+group by d.fecha, d.tipo_cliente;
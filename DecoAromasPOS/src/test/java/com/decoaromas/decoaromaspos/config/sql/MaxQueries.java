@@ -0,0 +1,27 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Falla la prueba si el método de prueba ejecuta más de {@code value} sentencias SQL. Cuenta solo lo que corre
+ * dentro del método (no el {@code @BeforeEach}), así que los datos se preparan antes y el método llama al
+ * servicio y hace {@code flush()} para incluir los INSERT/UPDATE pendientes.
+ * <p>
+ * Requiere que el DataSource de la prueba pase por {@link ProxyDataSourceConfig} (con {@code @Import}).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(PresupuestoSqlExtension.class)
+public @interface MaxQueries {
+
+    /** Máximo de sentencias SQL permitidas. */
+    int value();
+
+    /** Repeticiones de una misma sentencia que se informan como posible N+1 al fallar. */
+    int umbralRepeticiones() default 3;
+}
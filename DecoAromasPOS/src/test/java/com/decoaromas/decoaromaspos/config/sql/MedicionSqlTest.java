@@ -0,0 +1,55 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MedicionSqlTest {
+
+    @Test
+    @DisplayName("Test para registrar sentencias, debe sumar cantidad y tiempo")
+    void registrar_deberiaSumarCantidadYTiempo() {
+        MedicionSql medicion = new MedicionSql();
+
+        medicion.registrar("select 1", 2_000_000);
+        medicion.registrar("select 2", 3_000_000);
+
+        assertEquals(2, medicion.getSentencias());
+        assertEquals(5, medicion.getMilisegundos());
+    }
+
+    @Test
+    @DisplayName("Test para agrupar repetidas, debe ignorar espacios y el largo de las listas IN")
+    void repetidas_deberiaAgruparSentenciasEquivalentes() {
+        MedicionSql medicion = new MedicionSql();
+        medicion.registrar("select * from producto where producto_id in (?, ?)", 0);
+        medicion.registrar("select *  from producto\n where producto_id in (?,?,?)", 0);
+        medicion.registrar("select * from producto where producto_id in (?)", 0);
+        medicion.registrar("select * from cliente where cliente_id=?", 0);
+
+        List<MedicionSql.SentenciaRepetida> repetidas = medicion.repetidas(2);
+
+        assertEquals(1, repetidas.size());
+        assertEquals(3, repetidas.get(0).veces());
+        assertEquals("select * from producto where producto_id in (?...)", repetidas.get(0).sql());
+    }
+
+    @Test
+    @DisplayName("Test para el resumen, debe listar solo las sentencias sobre el umbral")
+    void resumen_deberiaListarRepetidasSobreUmbral() {
+        MedicionSql medicion = new MedicionSql();
+        for (int i = 0; i < 3; i++) {
+            medicion.registrar("select * from familia where familia_id=?", 0);
+        }
+        medicion.registrar("select * from caja where estado=?", 0);
+
+        String resumen = medicion.resumen(3);
+
+        assertTrue(resumen.startsWith("4 sentencias en 0 ms"));
+        assertTrue(resumen.contains("3x select * from familia where familia_id=?"));
+        assertFalse(resumen.contains("caja"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.decoaromas.decoaromaspos.config.sql;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+/** Extensión de {@link MaxQueries}: abre una medición SQL alrededor del método de prueba y verifica el máximo. */
+public class PresupuestoSqlExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        ContextoSql.iniciar();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        MedicionSql medicion = ContextoSql.terminar();
+        MaxQueries maxQueries = context.getRequiredTestMethod().getAnnotation(MaxQueries.class);
+        if (medicion == null || maxQueries == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        if (medicion.getSentencias() > maxQueries.value()) {
+            throw new AssertionFailedError(String.format("Se esperaban como máximo %d sentencias SQL y hubo %s",
+                    maxQueries.value(), medicion.resumen(maxQueries.umbralRepeticiones())));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.enums.Rol;
+import com.decoaromas.decoaromaspos.model.Aroma;
+import com.decoaromas.decoaromaspos.model.FamiliaProducto;
+import com.decoaromas.decoaromaspos.model.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache de segundo nivel con la configuración de la aplicación (JCache/Caffeine, caffeine-l2.conf). Sin
+ * transacción de prueba: cada llamada al repositorio confirma la suya, como en producción, para que la cache
+ * de consultas vea las invalidaciones.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelTest {
+
+    @Autowired private AromaRepository aromaRepository;
+    @Autowired private FamiliaProductoRepository familiaProductoRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        aromaRepository.saveAll(List.of(
+                Aroma.builder().nombre("Lavanda").isDeleted(false).build(),
+                Aroma.builder().nombre("Vainilla").isDeleted(false).build(),
+                Aroma.builder().nombre("Canela").isDeleted(true).build()));
+        familiaProductoRepository.save(FamiliaProducto.builder().nombre("Velas").isDeleted(false).build());
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void limpiar() {
+        aromaRepository.deleteAll();
+        familiaProductoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Un aroma leído por ID se sirve desde la cache en la segunda lectura, sin consultar la BD")
+    void findById_segundaLectura_deberiaSalirDeLaCache() {
+        Long id = aromaRepository.findAllByIsDeletedIsFalse().get(0).getAromaId();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        aromaRepository.findById(id).orElseThrow();
+        aromaRepository.findById(id).orElseThrow();
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics("aroma").getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("aroma").getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Listar aromas activos usa la cache de consultas y se invalida al guardar un aroma")
+    void findAllByIsDeletedIsFalse_deberiaCachearseEInvalidarseAlGuardar() {
+        assertEquals(2, aromaRepository.findAllByIsDeletedIsFalse().size());
+        assertEquals(2, aromaRepository.findAllByIsDeletedIsFalse().size());
+        assertEquals(1, statistics.getQueryRegionStatistics("consultas-catalogo").getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        aromaRepository.save(Aroma.builder().nombre("Sándalo").isDeleted(false).build());
+
+        assertEquals(3, aromaRepository.findAllByIsDeletedIsFalse().size());
+        assertEquals(2, statistics.getQueryRegionStatistics("consultas-catalogo").getMissCount());
+    }
+
+    @Test
+    @DisplayName("Las consultas de aromas y familias comparten la región pero no sus resultados")
+    void catalogo_aromasYFamilias_deberianCachearsePorSeparado() {
+        aromaRepository.findAllByIsDeletedIsFalse();
+        assertEquals(1, familiaProductoRepository.findAllByIsDeletedIsFalse().size());
+        assertEquals(1, familiaProductoRepository.findAllByIsDeletedIsFalse().size());
+
+        assertEquals(2, statistics.getQueryRegionStatistics("consultas-catalogo").getPutCount());
+        assertEquals(1, statistics.getQueryRegionStatistics("consultas-catalogo").getHitCount());
+    }
+
+    @Test
+    @DisplayName("Buscar el usuario por correo (cada solicitud autenticada) no vuelve a la BD")
+    void findByCorreo_deberiaSalirDeLaCache() {
+        usuarioRepository.save(Usuario.builder().nombre("Juan").correo("juan@test.cl").username("juanp")
+                .password("x").rol(Rol.VENDEDOR).activo(true).build());
+        statistics.clear();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("juanp", usuarioRepository.findByCorreo("juan@test.cl").orElseThrow().getUsername());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryRegionStatistics("consultas-usuario").getHitCount());
+    }
+}
@@ -0,0 +1,123 @@
+package com.decoaromas.decoaromaspos.repository;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaResponse;
+import com.decoaromas.decoaromaspos.dto.venta.VentaFilterDTO;
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.enums.*;
+import com.decoaromas.decoaromaspos.model.*;
+import com.decoaromas.decoaromaspos.utils.VentaSpecification;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Las migraciones son de PostgreSQL: en H2 el esquema lo genera Hibernate
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class VentaConsultaRepositoryTest {
+
+    private static final int VENTAS = 12;
+
+    @Autowired private VentaRepository ventaRepository;
+    @Autowired private TestEntityManager tem;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        Usuario usuario = tem.persist(Usuario.builder()
+                .nombre("Juan").apellido("Perez").correo("juan@test.cl").username("juanp")
+                .password("x").rol(Rol.VENDEDOR).activo(true).build());
+        Cliente cliente = tem.persist(Cliente.builder()
+                .nombre("Ana").rut("11111111-1").tipo(TipoCliente.DETALLE).activo(true).build());
+        Caja caja = tem.persist(Caja.builder()
+                .fechaApertura(ZonedDateTime.now().minusDays(1)).estado(EstadoCaja.ABIERTA).usuario(usuario).build());
+        Producto vela = tem.persist(Producto.builder().nombre("Vela").sku("V-1").stock(10).activo(true).build());
+        Producto difusor = tem.persist(Producto.builder().nombre("Difusor").sku("D-1").stock(10).activo(true).build());
+
+        ZonedDateTime base = ZonedDateTime.now().minusHours(VENTAS);
+        for (int i = 0; i < VENTAS; i++) {
+            Venta venta = Venta.builder()
+                    .fecha(base.plusHours(i))
+                    .tipoCliente(TipoCliente.DETALLE)
+                    .tipoDocumento(TipoDocumento.BOLETA)
+                    .totalBruto(3000.0).totalNeto(3000.0).vuelto(0.0)
+                    .usuario(usuario).caja(caja)
+                    .cliente(i % 2 == 0 ? cliente : null)
+                    .detalles(new ArrayList<>()).pagos(new ArrayList<>())
+                    .build();
+            venta.addDetalle(DetalleVenta.builder().producto(vela).cantidad(1).precioUnitario(1000.0).subtotal(1000.0).build());
+            venta.addDetalle(DetalleVenta.builder().producto(difusor).cantidad(1).precioUnitario(2000.0).subtotal(2000.0).build());
+            venta.addPago(PagoVenta.builder().medioPago(MedioPago.EFECTIVO).monto(3000.0).build());
+            tem.persist(venta);
+        }
+        tem.flush();
+        tem.clear();
+
+        statistics = tem.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Specification<Venta> sinFiltros() {
+        return VentaSpecification.conFiltros(null, null, new VentaFilterDTO());
+    }
+
+    @Test
+    @DisplayName("La página se arma con un número constante de consultas, sin importar su tamaño")
+    void findVentaResponses_deberiaEjecutarConsultasConstantes() {
+        Sort orden = Sort.by("fecha").descending();
+
+        Page<VentaResponse> chica = ventaRepository.findVentaResponses(sinFiltros(), PageRequest.of(0, 2, orden));
+        long consultasChica = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        Page<VentaResponse> grande = ventaRepository.findVentaResponses(sinFiltros(), PageRequest.of(0, 10, orden));
+        long consultasGrande = statistics.getPrepareStatementCount();
+
+        // cabeceras + detalles + pagos + count
+        assertEquals(4, consultasChica);
+        assertEquals(consultasChica, consultasGrande);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(VENTAS, grande.getTotalElements());
+        assertEquals(2, chica.getContent().size());
+        assertEquals(10, grande.getContent().size());
+    }
+
+    @Test
+    @DisplayName("La respuesta proyectada incluye detalles, pagos y nombres como VentaMapper")
+    void findVentaResponses_deberiaArmarRespuestaCompleta() {
+        List<VentaResponse> ventas = ventaRepository.findVentaResponses(
+                sinFiltros(), Sort.by(Sort.Order.desc("fecha"), Sort.Order.desc("ventaId")), 3);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(3, ventas.size());
+        assertTrue(ventas.get(0).getFecha().isAfter(ventas.get(1).getFecha()));
+
+        VentaResponse conCliente = ventas.stream().filter(v -> v.getClienteId() != null).findFirst().orElseThrow();
+        assertEquals("Ana", conCliente.getClienteNombre());
+        assertEquals("Juan Perez", conCliente.getUsuarioNombre());
+        assertNotNull(conCliente.getCajaId());
+        assertEquals(List.of("Vela", "Difusor"),
+                conCliente.getDetalles().stream().map(DetalleVentaResponse::getProductoNombre).toList());
+        assertEquals(1, conCliente.getPagos().size());
+        assertEquals(MedioPago.EFECTIVO, conCliente.getPagos().get(0).getMedioPago());
+    }
+}
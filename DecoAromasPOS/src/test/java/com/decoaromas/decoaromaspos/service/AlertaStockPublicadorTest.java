@@ -0,0 +1,82 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.alerta_stock.AlertaStockResponse;
+import com.decoaromas.decoaromaspos.mapper.AlertaStockMapper;
+import com.decoaromas.decoaromaspos.model.AlertaStock;
+import com.decoaromas.decoaromaspos.repository.AlertaStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertaStockPublicadorTest {
+
+    @Mock private AlertaStockRepository alertaStockRepository;
+    @Mock private AlertaStockMapper alertaStockMapper;
+    @InjectMocks
+    private AlertaStockPublicador alertaStockPublicador;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(alertaStockPublicador, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(alertaStockPublicador, "tamanioLote", 100);
+    }
+
+    @Test
+    @DisplayName("Test para publicar pendientes, debe enviarlas y marcarlas como publicadas")
+    void publicarPendientes_conPendientes_deberiaMarcarPublicadas() {
+        alertaStockPublicador.suscribir(null);
+        AlertaStock alerta = AlertaStock.builder().alertaId(7L).productoId(1L).build();
+        when(alertaStockRepository.findPendientesParaPublicar(100)).thenReturn(List.of(alerta));
+        when(alertaStockMapper.toResponse(alerta)).thenReturn(AlertaStockResponse.builder().alertaId(7L).build());
+
+        alertaStockPublicador.publicarPendientes();
+
+        verify(alertaStockRepository).marcarPublicadas(List.of(7L));
+        assertThat(alertaStockPublicador.cantidadSuscriptores()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test para publicar pendientes, sin pendientes no debe marcar nada")
+    void publicarPendientes_sinPendientes_noDeberiaMarcar() {
+        alertaStockPublicador.suscribir(null);
+        when(alertaStockRepository.findPendientesParaPublicar(100)).thenReturn(List.of());
+
+        alertaStockPublicador.publicarPendientes();
+
+        verify(alertaStockRepository, never()).marcarPublicadas(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Test para publicar pendientes sin suscriptores, debe dejarlas pendientes")
+    void publicarPendientes_sinSuscriptores_noDeberiaConsultarNiMarcar() {
+        alertaStockPublicador.publicarPendientes();
+
+        verifyNoInteractions(alertaStockRepository);
+    }
+
+    @Test
+    @DisplayName("Test para suscribir con Last-Event-ID, debe reenviar las alertas posteriores")
+    void suscribir_conUltimoId_deberiaReenviarAlertas() {
+        AlertaStock alerta = AlertaStock.builder().alertaId(8L).productoId(1L).build();
+        when(alertaStockRepository.findTop100ByAlertaIdGreaterThanAndPublicadaTrueOrderByAlertaIdAsc(5L))
+                .thenReturn(List.of(alerta));
+        when(alertaStockMapper.toResponse(alerta)).thenReturn(AlertaStockResponse.builder().alertaId(8L).build());
+
+        alertaStockPublicador.suscribir(5L);
+
+        verify(alertaStockMapper).toResponse(alerta);
+        assertThat(alertaStockPublicador.cantidadSuscriptores()).isEqualTo(1);
+    }
+}
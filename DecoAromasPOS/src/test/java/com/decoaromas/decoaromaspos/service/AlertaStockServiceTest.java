@@ -0,0 +1,91 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.enums.TipoAlertaStock;
+import com.decoaromas.decoaromaspos.mapper.AlertaStockMapper;
+import com.decoaromas.decoaromaspos.model.AlertaStock;
+import com.decoaromas.decoaromaspos.model.FamiliaProducto;
+import com.decoaromas.decoaromaspos.model.Producto;
+import com.decoaromas.decoaromaspos.repository.AlertaStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertaStockServiceTest {
+
+    @Mock private AlertaStockRepository alertaStockRepository;
+    @Mock private AlertaStockMapper alertaStockMapper;
+    @InjectMocks
+    private AlertaStockService alertaStockService;
+    private Producto producto;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(alertaStockService, "stockMinimoPorDefecto", 0);
+        producto = Producto.builder().productoId(1L).sku("VELA-01").nombre("Vela lavanda").stockMinimo(5).build();
+    }
+
+    @Test
+    @DisplayName("Test para evaluar, bajar del stock mínimo debe registrar BAJO_STOCK")
+    void evaluar_cruzaStockMinimo_deberiaRegistrarBajoStock() {
+        when(alertaStockRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        Optional<AlertaStock> alerta = alertaStockService.evaluar(producto, 8, 5);
+
+        assertThat(alerta).isPresent();
+        assertThat(alerta.get().getTipo()).isEqualTo(TipoAlertaStock.BAJO_STOCK);
+        assertThat(alerta.get().getStockMinimo()).isEqualTo(5);
+        assertThat(alerta.get().getPublicada()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test para evaluar, agotarse debe registrar SIN_STOCK")
+    void evaluar_agotado_deberiaRegistrarSinStock() {
+        when(alertaStockRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(alertaStockService.evaluar(producto, 8, 0)).get()
+                .extracting(AlertaStock::getTipo).isEqualTo(TipoAlertaStock.SIN_STOCK);
+    }
+
+    @Test
+    @DisplayName("Test para evaluar, volver sobre el stock mínimo debe registrar REPUESTO")
+    void evaluar_repuesto_deberiaRegistrarRepuesto() {
+        when(alertaStockRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(alertaStockService.evaluar(producto, 0, 20)).get()
+                .extracting(AlertaStock::getTipo).isEqualTo(TipoAlertaStock.REPUESTO);
+    }
+
+    @Test
+    @DisplayName("Test para evaluar, cambios dentro del mismo nivel o reposición parcial no deben registrar alerta")
+    void evaluar_sinCruce_noDeberiaRegistrar() {
+        assertThat(alertaStockService.evaluar(producto, 20, 10)).isEmpty();
+        assertThat(alertaStockService.evaluar(producto, 4, 2)).isEmpty();
+        assertThat(alertaStockService.evaluar(producto, 0, 3)).isEmpty();
+
+        verify(alertaStockRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Test para stock mínimo, debe usar el del producto, luego el de la familia y luego el por defecto")
+    void stockMinimo_deberiaResolverEnOrden() {
+        FamiliaProducto familia = FamiliaProducto.builder().familiaId(1L).stockMinimo(12).build();
+        Producto sinUmbral = Producto.builder().productoId(2L).familia(familia).build();
+        Producto sinFamilia = Producto.builder().productoId(3L).build();
+
+        assertThat(alertaStockService.stockMinimo(producto)).isEqualTo(5);
+        assertThat(alertaStockService.stockMinimo(sinUmbral)).isEqualTo(12);
+        assertThat(alertaStockService.stockMinimo(sinFamilia)).isZero();
+    }
+}
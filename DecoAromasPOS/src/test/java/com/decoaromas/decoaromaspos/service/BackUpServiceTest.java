@@ -1,5 +1,6 @@
 package com.decoaromas.decoaromaspos.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +36,9 @@ class BackUpServiceTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
     // Ruta temporal segura para Windows
     private Path tempBackupDir;
 
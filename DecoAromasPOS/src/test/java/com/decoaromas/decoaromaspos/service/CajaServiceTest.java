@@ -3,20 +3,26 @@ package com.decoaromas.decoaromaspos.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import com.decoaromas.decoaromaspos.dto.caja.*;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.enums.EstadoCaja;
 import com.decoaromas.decoaromaspos.enums.MedioPago;
 import com.decoaromas.decoaromaspos.enums.Rol;
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
 import com.decoaromas.decoaromaspos.exception.BusinessException;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.mapper.CajaMapper;
 import com.decoaromas.decoaromaspos.mapper.UsuarioMapper;
 import com.decoaromas.decoaromaspos.model.Caja;
+import com.decoaromas.decoaromaspos.model.TotalCaja;
 import com.decoaromas.decoaromaspos.model.Usuario;
 import com.decoaromas.decoaromaspos.repository.CajaRepository;
 import com.decoaromas.decoaromaspos.repository.PagoVentaRepository;
+import com.decoaromas.decoaromaspos.repository.TotalCajaRepository;
 import com.decoaromas.decoaromaspos.repository.UsuarioRepository;
 import com.decoaromas.decoaromaspos.repository.VentaRepository;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
 import com.decoaromas.decoaromaspos.utils.AvailabilityChecker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -54,6 +60,15 @@ class CajaServiceTest {
     @Mock
     private CajaMapper cajaMapper;
 
+    @Mock
+    private EventoOutboxService eventoOutboxService;
+
+    @Mock
+    private TotalCajaRepository totalCajaRepository;
+
+    @Mock
+    private TotalCajaService totalCajaService;
+
     @InjectMocks
     private CajaService cajaService;
 
@@ -80,22 +95,20 @@ class CajaServiceTest {
     }
 
     @Test
-    @DisplayName("Test para listar cajas, debe retornar una lista de cajas")
-    void listarCajas_deberiaRetornarListaDeCajaResponse() {
-        List<Caja> cajas = Arrays.asList(cajaAbierta, cajaCerrada);
-
+    @DisplayName("Test para listar cajas, debe retornar la página keyset sin cargar entidades")
+    void listarCajas_deberiaRetornarPaginaKeyset() {
         CajaResponse responseAbierta = mockCajaResponseFromCaja(cajaAbierta);
         CajaResponse responseCerrada = mockCajaResponseFromCaja(cajaCerrada);
 
-        when(cajaRepository.findAll()).thenReturn(cajas);
-        when(cajaMapper.toResponse(cajaAbierta)).thenReturn(responseAbierta);
-        when(cajaMapper.toResponse(cajaCerrada)).thenReturn(responseCerrada);
+        when(cajaRepository.findResumenAntesDe(any(), any(), eq(PageRequest.of(0, 11))))
+                .thenReturn(List.of(responseAbierta, responseCerrada));
 
-        List<CajaResponse> resultado = cajaService.listarCajas();
+        CursorResponse<CajaResponse> resultado = cajaService.listarCajas(null, 10);
 
-        assertEquals(2, resultado.size());
-        verify(cajaRepository).findAll();
-        verify(cajaMapper, times(2)).toResponse(any());
+        assertEquals(2, resultado.getContent().size());
+        assertFalse(resultado.isHasNext());
+        verify(cajaRepository, never()).findAll();
+        verifyNoInteractions(cajaMapper);
     }
 
     @Test
@@ -164,6 +177,102 @@ class CajaServiceTest {
         assertEquals(0.0, resumen.getTotalTransferencia());
     }
 
+    @Test
+    @DisplayName("Test para calcular un resumen de caja con totales acumulados, no debe sumar los pagos")
+    void calcularResumenCaja_conTotalesAcumulados_deberiaLeerlos() {
+        when(totalCajaRepository.findById(1L)).thenReturn(Optional.of(totalCaja(1L, 1000.0, 150.5)));
+
+        CajaResumenResponse resumen = cajaService.calcularResumenCaja(cajaAbierta);
+
+        assertEquals(849.5, resumen.getTotalEfectivo());
+        assertEquals(300.0, resumen.getTotalBCI());
+        assertEquals(75.0, resumen.getTotalPost());
+        verifyNoInteractions(pagoVentaRepository, ventaRepository);
+    }
+
+    @Test
+    @DisplayName("Test para cerrar caja, si los totales acumulados coinciden con los pagos, debe cerrar con ellos")
+    void cerrarCaja_totalesCoinciden_deberiaCerrarConAcumulado() {
+        TotalCaja acumulado = totalCaja(1L, 1000.0, 150.5);
+        when(cajaRepository.findByEstado(EstadoCaja.ABIERTA)).thenReturn(Optional.of(cajaAbierta));
+        when(totalCajaRepository.findParaCierre(1L)).thenReturn(Optional.of(acumulado));
+        when(pagoVentaRepository.sumTotalesByCajaId(1L)).thenReturn(List.of(
+                new PagoPorMedioDTO(MedioPago.EFECTIVO, 1000.0),
+                new PagoPorMedioDTO(MedioPago.BCI, 300.0),
+                new PagoPorMedioDTO(MedioPago.POST, 75.0)));
+        when(ventaRepository.sumVueltoByCajaIdCoalesce(1L)).thenReturn(150.5);
+        when(cajaRepository.save(any(Caja.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        cajaService.cerrarCaja(949.5);
+
+        assertEquals(EstadoCaja.CERRADA, cajaAbierta.getEstado());
+        assertEquals(300.0, cajaAbierta.getBciCierre());
+        assertEquals(75.0, cajaAbierta.getPostCierre());
+        // Apertura 100 + efectivo neto 849.5 = 949.5 esperado
+        assertEquals(0.0, cajaAbierta.getDiferenciaReal());
+        verify(totalCajaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Test para cerrar caja, si los totales acumulados difieren de los pagos, debe corregirlos y cerrar con los pagos")
+    void cerrarCaja_totalesDifieren_deberiaCorregirConLosPagos() {
+        when(cajaRepository.findByEstado(EstadoCaja.ABIERTA)).thenReturn(Optional.of(cajaAbierta));
+        when(totalCajaRepository.findParaCierre(1L)).thenReturn(Optional.of(totalCaja(1L, 900.0, 0.0)));
+        when(pagoVentaRepository.sumTotalesByCajaId(1L)).thenReturn(List.of(
+                new PagoPorMedioDTO(MedioPago.EFECTIVO, 1000.0)));
+        when(ventaRepository.sumVueltoByCajaIdCoalesce(1L)).thenReturn(0.0);
+        when(totalCajaRepository.save(any(TotalCaja.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cajaRepository.save(any(Caja.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        cajaService.cerrarCaja(1100.0);
+
+        verify(totalCajaRepository).save(argThat(t -> t.getCajaId() == 1L && t.getEfectivo() == 1000.0
+                && t.getBci() == 0.0));
+        assertEquals(0.0, cajaAbierta.getBciCierre());
+        assertEquals(0.0, cajaAbierta.getDiferenciaReal());
+    }
+
+
+    @Test
+    @DisplayName("Test para crear la caja de una importación, debe nacer cerrada para no ser la caja abierta")
+    void crearCajaImportacion_deberiaGuardarCajaCerrada() {
+        when(usuarioService.obtenerUsuarioRealPorId(1L)).thenReturn(mockUser());
+        when(cajaRepository.save(any(Caja.class))).thenAnswer(invocation -> {
+            Caja cajaGuardada = invocation.getArgument(0);
+            cajaGuardada.setCajaId(9L);
+            return cajaGuardada;
+        });
+
+        Caja caja = cajaService.crearCajaImportacion(1L);
+
+        assertEquals(EstadoCaja.CERRADA, caja.getEstado());
+        assertEquals(0.0, caja.getEfectivoApertura());
+        verify(totalCajaService).inicializar(9L);
+        verify(cajaRepository, never()).existsByEstado(any());
+    }
+
+    @Test
+    @DisplayName("Test para cerrar la caja de una importación, debe registrar sus totales sin diferencia")
+    void cerrarCajaImportacion_deberiaRegistrarTotalesSinDiferencia() {
+        Caja cajaImportacion = Caja.builder().cajaId(9L).estado(EstadoCaja.CERRADA).efectivoApertura(0.0).build();
+        when(cajaRepository.findById(9L)).thenReturn(Optional.of(cajaImportacion));
+        when(totalCajaRepository.findParaCierre(9L)).thenReturn(Optional.of(totalCaja(9L, 5000.0, 250.0)));
+        when(pagoVentaRepository.sumTotalesByCajaId(9L)).thenReturn(List.of(
+                new PagoPorMedioDTO(MedioPago.EFECTIVO, 5000.0),
+                new PagoPorMedioDTO(MedioPago.BCI, 300.0),
+                new PagoPorMedioDTO(MedioPago.POST, 75.0)));
+        when(ventaRepository.sumVueltoByCajaIdCoalesce(9L)).thenReturn(250.0);
+        when(cajaRepository.save(any(Caja.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        cajaService.cerrarCajaImportacion(9L);
+
+        assertEquals(EstadoCaja.CERRADA, cajaImportacion.getEstado());
+        assertEquals(4750.0, cajaImportacion.getEfectivoCierre());
+        assertEquals(300.0, cajaImportacion.getBciCierre());
+        assertEquals(0.0, cajaImportacion.getDiferenciaReal());
+        assertNotNull(cajaImportacion.getFechaCierre());
+        verify(eventoOutboxService).registrar(eq(TipoAgregado.CAJA), eq(9L), eq(TipoEvento.CAJA_CERRADA), any());
+    }
 
     @Test
     @DisplayName("Test para obtener caja existente por ID")
@@ -220,6 +329,7 @@ class CajaServiceTest {
         verify(cajaRepository).existsByEstado(EstadoCaja.ABIERTA);
         verify(usuarioService).obtenerUsuarioRealPorId(1L);
         verify(cajaRepository).save(any(Caja.class));
+        verify(totalCajaService).inicializar(1L);
         verify(cajaMapper).toResponse(any(Caja.class));
     }
 
@@ -351,6 +461,19 @@ class CajaServiceTest {
                 .build();
     }
 
+    private TotalCaja totalCaja(Long cajaId, double efectivo, double vuelto) {
+        return TotalCaja.builder()
+                .cajaId(cajaId)
+                .efectivo(efectivo)
+                .mercadoPago(0.0)
+                .bci(300.0)
+                .botonDePago(0.0)
+                .transferencia(0.0)
+                .post(75.0)
+                .vuelto(vuelto)
+                .build();
+    }
+
     private Usuario mockUser() {
         return mock(Usuario.class);
     }
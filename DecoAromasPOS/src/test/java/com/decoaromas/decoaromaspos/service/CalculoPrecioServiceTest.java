@@ -116,4 +116,24 @@ class CalculoPrecioServiceTest {
         ).isInstanceOf(BusinessException.class)
                 .hasMessage("Error: descuento mayor");
     }
+
+    @Test
+    @DisplayName("Test para calcular descuento porcentual en centavos, debe ser exacto")
+    void calcularDescuentoCentavos_Porcentaje_DeberiaSerExacto() {
+        // 3% de $7821 = $234.63 (en double: 234.63000000000002)
+        long descuento = calculoPrecioService.calcularDescuentoCentavos(782100, 3.0, TipoDescuento.PORCENTAJE);
+        assertThat(descuento).isEqualTo(23463);
+
+        // 12.5% de $0.99 = 0.12375 -> se redondea al centavo
+        assertThat(calculoPrecioService.calcularDescuentoCentavos(99, 12.5, TipoDescuento.PORCENTAJE)).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Test para validar descuento, un centavo sobre la base debe lanzar excepción")
+    void validarDescuento_UnCentavoMayor_LanzaExcepcion() {
+        assertThatThrownBy(() ->
+                calculoPrecioService.validarDescuento(100.01, 100.0, "Error: descuento mayor")
+        ).isInstanceOf(BusinessException.class)
+                .hasMessage("Error: descuento mayor");
+    }
 }
@@ -8,6 +8,7 @@ import com.decoaromas.decoaromaspos.dto.cliente.ClienteResponse;
 import com.decoaromas.decoaromaspos.dto.other.request.EmailRequest;
 import com.decoaromas.decoaromaspos.dto.other.request.RutRequest;
 import com.decoaromas.decoaromaspos.dto.other.response.AvailabilityResponse;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.exception.ExistsRegisterException;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.mapper.ClienteMapper;
@@ -72,16 +73,19 @@ class ClienteServiceTest {
     }
 
     @Test
-    @DisplayName("Test para listar clientes, devuelve lista")
-    void listarClientes_deberiaRetornarListaDeClientes() {
-        when(clienteRepository.findAll()).thenReturn(List.of(cliente));
-        when(clienteMapper.toResponse(cliente)).thenReturn(clienteResponse);
-        List<ClienteResponse> result = clienteService.listarClientes();
+    @DisplayName("Test para listar clientes, devuelve página keyset con cursor por id")
+    void listarClientes_deberiaRetornarPaginaKeyset() {
+        ClienteResponse otro = new ClienteResponse();
+        otro.setClienteId(0L);
+        when(clienteRepository.findResumenAntesDe(eq(Long.MAX_VALUE), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(clienteResponse, otro));
+        CursorResponse<ClienteResponse> result = clienteService.listarClientes(null, 1);
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("12345678-9", result.get(0).getRut());
-        verify(clienteRepository).findAll();
-        verify(clienteMapper).toResponse(cliente);
+        assertEquals(1, result.getContent().size());
+        assertEquals("12345678-9", result.getContent().get(0).getRut());
+        assertTrue(result.isHasNext());
+        assertNotNull(result.getNextCursor());
+        verify(clienteRepository, never()).findAll();
     }
 
     @Test
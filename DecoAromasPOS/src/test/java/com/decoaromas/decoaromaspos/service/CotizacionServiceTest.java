@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import com.decoaromas.decoaromaspos.dto.cotizacion.*;
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.enums.*;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
@@ -76,9 +77,8 @@ class CotizacionServiceTest {
         when(clienteService.obtenerClienteRealPorId(cliente.getClienteId())).thenReturn(cliente);
         when(productoService.obtenerProductoRealPorId(producto.getProductoId())).thenReturn(producto);
         when(calculoPrecioService.determinarPrecioUnitario(any(), eq(TipoCliente.DETALLE))).thenReturn(20.0);
-        when(calculoPrecioService.calcularMontoDescuento(anyDouble(), anyDouble(), any())).thenReturn(0.0);
-        doNothing().when(calculoPrecioService).validarDescuento(anyDouble(), anyDouble(), anyString());
-        when(calculoPrecioService.calcularMontoDescuento(anyDouble(), anyDouble(), any())).thenReturn(0.0);
+        when(calculoPrecioService.calcularDescuentoCentavos(anyLong(), any(), any())).thenReturn(0L);
+        doNothing().when(calculoPrecioService).validarDescuentoCentavos(anyLong(), anyLong(), anyString());
         Cotizacion cotizacionGuardada = Cotizacion.builder()
                 .cotizacionId(1L)
                 .fechaEmision(DateUtils.obtenerFechaHoraActual())
@@ -103,7 +103,7 @@ class CotizacionServiceTest {
         verify(usuarioService).obtenerUsuarioRealPorId(usuario.getUsuarioId());
         verify(clienteService).obtenerClienteRealPorId(cliente.getClienteId());
         verify(productoService).obtenerProductoRealPorId(producto.getProductoId());
-        verify(calculoPrecioService, atLeastOnce()).calcularMontoDescuento(anyDouble(), anyDouble(), any());
+        verify(calculoPrecioService, atLeastOnce()).calcularDescuentoCentavos(anyLong(), any(), any());
         verify(cotizacionRepository).save(any(Cotizacion.class));
         verify(cotizacionMapper).toResponse(any(Cotizacion.class));
     }
@@ -161,16 +161,16 @@ class CotizacionServiceTest {
     }
 
     @Test
-    @DisplayName("Test para listar cotizaciones, debe retornar una lista")
-    void listarCotizaciones_deberiaDevolverLista() {
-        Cotizacion cot1 = Cotizacion.builder().cotizacionId(1L).build();
-        Cotizacion cot2 = Cotizacion.builder().cotizacionId(2L).build();
-        when(cotizacionRepository.findAll()).thenReturn(List.of(cot1, cot2));
-        when(cotizacionMapper.toResponse(any())).thenReturn(new CotizacionResponse());
-        List<CotizacionResponse> resultado = cotizacionService.listarCotizaciones();
-        assertEquals(2, resultado.size());
-        verify(cotizacionRepository).findAll();
-        verify(cotizacionMapper, times(2)).toResponse(any());
+    @DisplayName("Test para listar cotizaciones, debe retornar la página keyset de cabeceras")
+    void listarCotizaciones_deberiaDevolverPaginaKeyset() {
+        CotizacionResumenResponse cot1 = CotizacionResumenResponse.builder().cotizacionId(2L).build();
+        CotizacionResumenResponse cot2 = CotizacionResumenResponse.builder().cotizacionId(1L).build();
+        when(cotizacionRepository.findResumenAntesDe(any(), any(), any(Pageable.class))).thenReturn(List.of(cot1, cot2));
+        CursorResponse<CotizacionResumenResponse> resultado = cotizacionService.listarCotizaciones(null, null);
+        assertEquals(2, resultado.getContent().size());
+        assertFalse(resultado.isHasNext());
+        verify(cotizacionRepository).findResumenAntesDe(any(), any(), eq(PageRequest.of(0, 21)));
+        verify(cotizacionMapper, never()).toResponse(any());
     }
 
     @Test
@@ -0,0 +1,92 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.model.Cliente;
+import com.decoaromas.decoaromaspos.model.EstadisticaCliente;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.repository.EstadisticaClienteRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstadisticaClienteServiceTest {
+
+    @Mock private EstadisticaClienteRepository estadisticaClienteRepository;
+    @InjectMocks
+    private EstadisticaClienteService estadisticaClienteService;
+
+    private static final ZonedDateTime FECHA = ZonedDateTime.of(2024, 10, 19, 15, 30, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+
+    private Venta venta(Long clienteId, Double totalNeto) {
+        Venta venta = new Venta();
+        venta.setVentaId(10L);
+        venta.setFecha(FECHA);
+        venta.setTotalNeto(totalNeto);
+        if (clienteId != null) {
+            Cliente cliente = new Cliente();
+            cliente.setClienteId(clienteId);
+            venta.setCliente(cliente);
+        }
+        return venta;
+    }
+
+    @Test
+    @DisplayName("Test para registrar compra, debe sumar la venta al cliente")
+    void registrarCompra_deberiaSumarVentaAlCliente() {
+        estadisticaClienteService.registrarCompra(venta(5L, 12990.0));
+
+        verify(estadisticaClienteRepository).registrarCompra(5L, FECHA, 12990.0);
+    }
+
+    @Test
+    @DisplayName("Test para registrar compra sin cliente, no debe tocar las estadísticas")
+    void registrarCompra_sinCliente_noDebeRegistrar() {
+        estadisticaClienteService.registrarCompra(venta(null, 5000.0));
+        estadisticaClienteService.descontarCompra(venta(null, 5000.0));
+
+        verifyNoInteractions(estadisticaClienteRepository);
+    }
+
+    @Test
+    @DisplayName("Test para descontar compra, debe restar la venta excluyéndola de la última compra")
+    void descontarCompra_deberiaRestarVenta() {
+        estadisticaClienteService.descontarCompra(venta(5L, null));
+
+        verify(estadisticaClienteRepository).descontarCompra(5L, 10L, 0.0);
+    }
+
+    @Test
+    @DisplayName("Test para reconstruir, debe bloquear la tabla, recalcular y limpiar clientes sin ventas")
+    void reconstruir_deberiaRecalcularYLimpiar() {
+        when(estadisticaClienteRepository.reconstruirDesdeVentas()).thenReturn(42);
+        when(estadisticaClienteRepository.eliminarSinVentas()).thenReturn(1);
+
+        int actualizados = estadisticaClienteService.reconstruir();
+
+        assertThat(actualizados).isEqualTo(42);
+        InOrder orden = inOrder(estadisticaClienteRepository);
+        orden.verify(estadisticaClienteRepository).bloquearParaReconstruir();
+        orden.verify(estadisticaClienteRepository).reconstruirDesdeVentas();
+        orden.verify(estadisticaClienteRepository).eliminarSinVentas();
+    }
+
+    @Test
+    @DisplayName("Test para ticket promedio, debe dividir el gasto por la cantidad de compras")
+    void ticketPromedio_deberiaCalcularse() {
+        EstadisticaCliente estadistica = EstadisticaCliente.builder()
+                .clienteId(5L).cantidadCompras(4L).gastoTotal(40000.0).build();
+
+        assertThat(estadistica.getTicketPromedio()).isEqualTo(10000.0);
+        assertThat(new EstadisticaCliente(6L, null, 0L, 0.0).getTicketPromedio()).isEqualTo(0.0);
+    }
+}
@@ -40,8 +40,8 @@ class FamiliaProductoServiceTest {
     @DisplayName("Test para listar familia de productos, devuelve lista")
     void listarFamiliasProductos_deberiaRetornarLista() {
         List<FamiliaProducto> lista = List.of(
-                new FamiliaProducto(1L, "Familia1", false),
-                new FamiliaProducto(2L, "Familia2", false)
+                new FamiliaProducto(1L, "Familia1", null, false),
+                new FamiliaProducto(2L, "Familia2", null, false)
         );
 
         when(familiaProductoRepository.findAll()).thenReturn(lista);
@@ -67,8 +67,8 @@ class FamiliaProductoServiceTest {
     @DisplayName("Test para listar familia de productos activos, devuelve lista")
     void listarFamiliasProductosActivos_deberiaRetornarLista() {
         List<FamiliaProducto> lista = List.of(
-                new FamiliaProducto(1L, "Familia1", false),
-                new FamiliaProducto(2L, "Familia2", false)
+                new FamiliaProducto(1L, "Familia1", null, false),
+                new FamiliaProducto(2L, "Familia2", null, false)
         );
 
         when(familiaProductoRepository.findAllByIsDeletedIsFalse()).thenReturn(lista);
@@ -153,7 +153,7 @@ class FamiliaProductoServiceTest {
     @Test
     @DisplayName("Test para actualizar el nombre de familia de producto, debe actualizarlo")
     void actualizarFamilia_nombreNuevoDisponible_deberiaActualizar() {
-        FamiliaProducto familiaExistente = new FamiliaProducto(1L, "Viejo Nombre", false);
+        FamiliaProducto familiaExistente = new FamiliaProducto(1L, "Viejo Nombre", null, false);
 
         FamiliaRequest request = mock(FamiliaRequest.class);
         when(request.getNombre()).thenReturn("Nuevo Nombre");
@@ -177,10 +177,26 @@ class FamiliaProductoServiceTest {
         verify(familiaProductoRepository).save(familiaExistente);
     }
 
+    @Test
+    @DisplayName("Test para actualizar una familia sin stock mínimo en el request, debe conservar el umbral actual")
+    void actualizarFamilia_sinStockMinimo_deberiaConservarUmbral() {
+        FamiliaProducto familiaExistente = new FamiliaProducto(1L, "Velas", 5, false);
+        FamiliaRequest request = mock(FamiliaRequest.class);
+        when(request.getNombre()).thenReturn("Velas");
+        when(request.getStockMinimo()).thenReturn(null);
+
+        when(familiaProductoRepository.findById(1L)).thenReturn(Optional.of(familiaExistente));
+
+        familiaProductoService.actualizarFamiliaProducto(1L, request);
+
+        assertEquals(5, familiaExistente.getStockMinimo());
+        verify(familiaProductoRepository).save(familiaExistente);
+    }
+
     @Test
     @DisplayName("Test para cambiar el estado familia de producto, debe cambiar estado")
     void cambiarEstadoEliminadoFamiliaProducto_deberiaCambiarEstado() {
-        FamiliaProducto familia = new FamiliaProducto(1L, "Nombre", false);
+        FamiliaProducto familia = new FamiliaProducto(1L, "Nombre", null, false);
 
         when(familiaProductoRepository.findById(1L)).thenReturn(Optional.of(familia));
         when(familiaProductoRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
@@ -203,7 +219,7 @@ class FamiliaProductoServiceTest {
     @Test
     @DisplayName("Test para eliminar familia de producto, con productos asociados, debe lanzar excepcion")
     void eliminarFamiliaProducto_conProductosAsociados_deberiaLanzarException() {
-        lenient().when(familiaProductoRepository.findById(1L)).thenReturn(Optional.of(new FamiliaProducto(1L, "Familia", false)));
+        lenient().when(familiaProductoRepository.findById(1L)).thenReturn(Optional.of(new FamiliaProducto(1L, "Familia", null, false)));
         when(productoRepository.countByFamilia_FamiliaId(1L)).thenReturn(2);
 
         DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
@@ -216,7 +232,7 @@ class FamiliaProductoServiceTest {
     @Test
     @DisplayName("Test para eliminar familia de producto, sin productos asociados, debe eliminarse")
     void eliminarFamiliaProducto_sinProductosAsociados_deberiaEliminar() {
-        FamiliaProducto familia = new FamiliaProducto(1L, "Nombre", false);
+        FamiliaProducto familia = new FamiliaProducto(1L, "Nombre", null, false);
         when(productoRepository.countByFamilia_FamiliaId(1L)).thenReturn(0);
         when(familiaProductoRepository.findById(1L)).thenReturn(Optional.of(familia));
         familiaProductoService.eliminarFamiliaProducto(1L);
@@ -1,5 +1,7 @@
 package com.decoaromas.decoaromaspos.service;
 
+import com.decoaromas.decoaromaspos.dto.producto.ConteoStockItem;
+import com.decoaromas.decoaromaspos.dto.producto.ConteoStockResponse;
 import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
 import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
 import com.decoaromas.decoaromaspos.enums.TipoMovimiento;
@@ -8,19 +10,24 @@ import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.model.MovimientoInventario;
 import com.decoaromas.decoaromaspos.model.Producto;
 import com.decoaromas.decoaromaspos.model.Usuario;
+import com.decoaromas.decoaromaspos.repository.InventarioLoteRepository;
 import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
 import com.decoaromas.decoaromaspos.enums.TipoDescuento;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.lang.reflect.Constructor;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +39,12 @@ class GestorInventarioServiceTest {
     private MovimientoInventarioService movimientoService;
     @Mock(lenient = true)
     private UsuarioService usuarioService;
+    @Mock
+    private InventarioLoteRepository inventarioLoteRepository;
+    @Mock
+    private AlertaStockService alertaStockService;
+    @Mock
+    private EventoOutboxService eventoOutboxService;
     @InjectMocks
     private GestorInventarioService gestorInventarioService;
     private Producto producto;
@@ -93,6 +106,7 @@ class GestorInventarioServiceTest {
         assertEquals(MotivoMovimiento.VENTA, movimiento.getMotivo());
         assertEquals(usuario, movimiento.getUsuario());
         assertEquals(producto, movimiento.getProducto());
+        verify(alertaStockService).evaluar(producto, 10, 7);
     }
 
     @Test
@@ -225,4 +239,74 @@ class GestorInventarioServiceTest {
 
         assertTrue(ex.getMessage().contains("No existe producto con id"));
     }
+
+    @Test
+    @DisplayName("Test para aplicar conteo, debe actualizar con un UPDATE y un batch de movimientos solo los productos con diferencia")
+    void aplicarConteo_deberiaAplicarDiferenciasEnLote() {
+        Producto difusor = Producto.builder().productoId(2L).sku("DIF-2").codigoBarras("780002").nombre("Difusor").stock(4).build();
+        Producto jabon = Producto.builder().productoId(3L).sku("JAB-3").codigoBarras("780003").nombre("Jabón").stock(6).build();
+        producto.setSku("VEL-1");
+        when(productoRepository.findBySkuInParaActualizar(any())).thenReturn(List.of(producto, jabon));
+        when(productoRepository.findByCodigoBarrasInParaActualizar(any())).thenReturn(List.of(difusor));
+        when(inventarioLoteRepository.actualizarStock(any())).thenAnswer(inv -> ((Map<?, ?>) inv.getArgument(0)).size());
+
+        ConteoStockResponse response = gestorInventarioService.aplicarConteo(List.of(
+                ConteoStockItem.builder().sku("VEL-1").cantidad(7).build(),
+                ConteoStockItem.builder().codigoBarras("780002").cantidad(9).build(),
+                ConteoStockItem.builder().sku("JAB-3").cantidad(6).build()), 1L);
+
+        assertEquals(3, response.getItemsRecibidos());
+        assertEquals(2, response.getProductosActualizados());
+        assertEquals(1, response.getProductosSinCambios());
+        assertEquals(5, response.getUnidadesEntrada());
+        assertEquals(3, response.getUnidadesSalida());
+        assertTrue(response.getErrores().isEmpty());
+        verify(inventarioLoteRepository).actualizarStock(Map.of(1L, 7, 2L, 9));
+
+        ArgumentCaptor<List<MovimientoInventario>> movimientos = ArgumentCaptor.forClass(List.class);
+        verify(inventarioLoteRepository).insertarMovimientos(movimientos.capture());
+        assertEquals(2, movimientos.getValue().size());
+        MovimientoInventario salida = movimientos.getValue().get(0);
+        assertEquals(TipoMovimiento.SALIDA, salida.getTipo());
+        assertEquals(MotivoMovimiento.CORRECCION, salida.getMotivo());
+        assertEquals(3, salida.getCantidad());
+        assertEquals(TipoMovimiento.ENTRADA, movimientos.getValue().get(1).getTipo());
+        // El stock no se modifica en las entidades (lo actualiza el UPDATE en lote)
+        assertEquals(10, producto.getStock());
+        verify(movimientoService, never()).crearMovimientoInventario(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para aplicar conteo, ítems inválidos se informan y no se aplican")
+    void aplicarConteo_itemsInvalidos_deberiaInformarErrores() {
+        producto.setSku("VEL-1");
+        when(productoRepository.findBySkuInParaActualizar(any())).thenReturn(List.of(producto));
+
+        ConteoStockResponse response = gestorInventarioService.aplicarConteo(List.of(
+                ConteoStockItem.builder().sku("VEL-1").cantidad(12).build(),
+                ConteoStockItem.builder().sku("NO-EXISTE").cantidad(1).build(),
+                ConteoStockItem.builder().sku("VEL-1").cantidad(3).build(),
+                ConteoStockItem.builder().cantidad(3).build()), 1L);
+
+        assertEquals(3, response.getErrores().size());
+        assertEquals(2, response.getErrores().get(0).getPosicion());
+        assertEquals("No existe producto con código NO-EXISTE", response.getErrores().get(0).getMensaje());
+        assertTrue(response.getErrores().get(1).getMensaje().contains("más de una vez"));
+        assertNull(response.getErrores().get(2).getCodigo());
+        verify(productoRepository, never()).findByCodigoBarrasInParaActualizar(any());
+        verify(inventarioLoteRepository).actualizarStock(Map.of(1L, 12));
+    }
+
+    @Test
+    @DisplayName("Test para aplicar conteo sin diferencias, no debe escribir")
+    void aplicarConteo_sinDiferencias_noDeberiaEscribir() {
+        producto.setSku("VEL-1");
+        when(productoRepository.findBySkuInParaActualizar(any())).thenReturn(List.of(producto));
+
+        ConteoStockResponse response = gestorInventarioService.aplicarConteo(List.of(
+                ConteoStockItem.builder().sku("VEL-1").cantidad(10).build()), 1L);
+
+        assertEquals(1, response.getProductosSinCambios());
+        verifyNoInteractions(inventarioLoteRepository);
+    }
 }
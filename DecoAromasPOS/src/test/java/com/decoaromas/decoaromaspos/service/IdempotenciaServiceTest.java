@@ -0,0 +1,137 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.exception.IdempotenciaException;
+import com.decoaromas.decoaromaspos.model.SolicitudIdempotente;
+import com.decoaromas.decoaromaspos.repository.SolicitudIdempotenteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotenciaServiceTest {
+
+    private static final String OPERACION = "POST /api/ventas";
+
+    @Mock private SolicitudIdempotenteRepository solicitudRepository;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private IdempotenciaService service;
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        service = new IdempotenciaService(solicitudRepository, objectMapper);
+        ReflectionTestUtils.setField(service, "ttlHoras", 24L);
+    }
+
+    private ResponseEntity<VentaResponse> crearVenta() {
+        ejecuciones.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(VentaResponse.builder().ventaId(7L).totalNeto(1500.0).build());
+    }
+
+    // Ejecuta una vez con la clave y devuelve la fila tal como quedó guardada
+    private SolicitudIdempotente primeraEjecucion(String clave, Object solicitud) {
+        when(solicitudRepository.reservar(eq(clave), eq(OPERACION), anyString(), any(), any())).thenReturn(1);
+        service.ejecutar(clave, OPERACION, solicitud, VentaResponse.class, this::crearVenta);
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> respuesta = ArgumentCaptor.forClass(String.class);
+        verify(solicitudRepository).reservar(eq(clave), eq(OPERACION), hash.capture(), any(), any());
+        verify(solicitudRepository).guardarRespuesta(eq(clave), eq(201), respuesta.capture());
+        return SolicitudIdempotente.builder()
+                .clave(clave).operacion(OPERACION).hashSolicitud(hash.getValue())
+                .codigoHttp(201).respuesta(respuesta.getValue())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test para ejecutar sin clave, debe ejecutar la operación sin registrar nada")
+    void ejecutar_sinClave_deberiaEjecutarDirecto() {
+        ResponseEntity<VentaResponse> resp = service.ejecutar(null, OPERACION, Map.of("a", 1), VentaResponse.class, this::crearVenta);
+
+        assertEquals(HttpStatus.CREATED, resp.getStatusCode());
+        assertEquals(1, ejecuciones.get());
+        verifyNoInteractions(solicitudRepository);
+    }
+
+    @Test
+    @DisplayName("Test para ejecutar con clave nueva, debe guardar la respuesta")
+    void ejecutar_claveNueva_deberiaGuardarRespuesta() {
+        SolicitudIdempotente guardada = primeraEjecucion("k-1", Map.of("usuarioId", 1));
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(64, guardada.getHashSolicitud().length());
+        assertTrue(guardada.getRespuesta().contains("\"ventaId\":7"));
+    }
+
+    @Test
+    @DisplayName("Test para ejecutar con clave repetida, debe devolver la respuesta guardada sin ejecutar de nuevo")
+    void ejecutar_claveRepetida_deberiaRepetirRespuesta() {
+        SolicitudIdempotente guardada = primeraEjecucion("k-2", Map.of("usuarioId", 1));
+        when(solicitudRepository.reservar(eq("k-2"), eq(OPERACION), anyString(), any(), any())).thenReturn(0);
+        when(solicitudRepository.findById("k-2")).thenReturn(Optional.of(guardada));
+
+        ResponseEntity<VentaResponse> resp = service.ejecutar("k-2", OPERACION, Map.of("usuarioId", 1), VentaResponse.class, this::crearVenta);
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, resp.getStatusCode());
+        assertEquals("true", resp.getHeaders().getFirst(IdempotenciaService.HEADER_REPETIDA));
+        assertEquals(7L, resp.getBody().getVentaId());
+        assertEquals(1500.0, resp.getBody().getTotalNeto());
+    }
+
+    @Test
+    @DisplayName("Test para ejecutar con clave reutilizada con otros datos, debe lanzar excepción")
+    void ejecutar_claveConOtraSolicitud_deberiaLanzarExcepcion() {
+        SolicitudIdempotente guardada = primeraEjecucion("k-3", Map.of("usuarioId", 1));
+        when(solicitudRepository.reservar(eq("k-3"), eq(OPERACION), anyString(), any(), any())).thenReturn(0);
+        when(solicitudRepository.findById("k-3")).thenReturn(Optional.of(guardada));
+
+        assertThrows(IdempotenciaException.class, () ->
+                service.ejecutar("k-3", OPERACION, Map.of("usuarioId", 2), VentaResponse.class, this::crearVenta));
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Test para ejecutar con clave aún sin respuesta, debe lanzar excepción")
+    void ejecutar_claveEnProceso_deberiaLanzarExcepcion() {
+        SolicitudIdempotente guardada = primeraEjecucion("k-4", null);
+        guardada.setCodigoHttp(null);
+        guardada.setRespuesta(null);
+        when(solicitudRepository.reservar(eq("k-4"), eq(OPERACION), anyString(), any(), any())).thenReturn(0);
+        when(solicitudRepository.findById("k-4")).thenReturn(Optional.of(guardada));
+
+        IdempotenciaException ex = assertThrows(IdempotenciaException.class, () ->
+                service.ejecutar("k-4", OPERACION, null, VentaResponse.class, this::crearVenta));
+        assertTrue(ex.getMessage().contains("sigue en proceso"));
+    }
+
+    @Test
+    @DisplayName("Test para ejecutar con clave demasiado larga, debe lanzar excepción")
+    void ejecutar_claveLarga_deberiaLanzarExcepcion() {
+        String clave = "x".repeat(101);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                service.ejecutar(clave, OPERACION, null, VentaResponse.class, this::crearVenta));
+        assertEquals(0, ejecuciones.get());
+        verifyNoInteractions(solicitudRepository);
+    }
+}
@@ -0,0 +1,118 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.model.DetalleVenta;
+import com.decoaromas.decoaromaspos.model.Venta;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasVentaServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+    private final List<Observation.Context> terminadas = new ArrayList<>();
+    private MetricasVentaService metricas;
+
+    @BeforeEach
+    void setup() {
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+                .observationHandler(new ObservationHandler<>() {
+                    @Override
+                    public void onStop(Observation.Context context) {
+                        terminadas.add(context);
+                    }
+
+                    @Override
+                    public boolean supportsContext(Observation.Context context) {
+                        return true;
+                    }
+                });
+        metricas = new MetricasVentaService(meterRegistry, observationRegistry);
+    }
+
+    @Test
+    @DisplayName("Test para seguir un cobro, cada fase debe ser hija del cobro y quedar medida")
+    void seguimiento_deberiaObservarCadaFaseDentroDelCobro() {
+        MetricasVentaService.Seguimiento seguimiento = metricas.iniciarVenta(request(3, 2));
+        seguimiento.fase(MetricasVentaService.Fase.VALIDACION);
+        assertEquals("venta validacion", observationRegistry.getCurrentObservation().getContext().getContextualName());
+        seguimiento.fase(MetricasVentaService.Fase.PAGO);
+        seguimiento.terminar();
+
+        assertNull(observationRegistry.getCurrentObservation());
+        assertEquals(List.of("venta validacion", "venta pago", "cobro venta"),
+                terminadas.stream().map(Observation.Context::getContextualName).toList());
+        Observation.Context cobro = terminadas.get(2);
+        assertEquals("3", cobro.getHighCardinalityKeyValue("venta.lineas").getValue());
+        assertEquals("2", cobro.getHighCardinalityKeyValue("venta.pagos").getValue());
+        assertSame(cobro, terminadas.get(0).getParentObservation().getContextView());
+        assertEquals(1, meterRegistry.get(MetricasVentaService.OBSERVACION_FASE).tag("fase", "pago").timer().count());
+        assertEquals(1, meterRegistry.get(MetricasVentaService.OBSERVACION_COBRO).timer().count());
+    }
+
+    @Test
+    @DisplayName("Test para un cobro fallido, debe marcar el error en la fase y en el cobro")
+    void seguimiento_conError_deberiaMarcarFaseYCobro() {
+        MetricasVentaService.Seguimiento seguimiento = metricas.iniciarVenta(request(1, 1));
+        seguimiento.fase(MetricasVentaService.Fase.VALIDACION);
+        IllegalStateException error = new IllegalStateException("sin caja");
+        seguimiento.error(error);
+        seguimiento.terminar();
+
+        assertEquals(2, terminadas.size());
+        assertTrue(terminadas.stream().allMatch(c -> c.getError() == error));
+    }
+
+    @Test
+    @DisplayName("Test para una venta creada, debe sumar ventas, unidades, monto y el id en el cobro")
+    void ventaCreada_deberiaSumarContadores() {
+        Venta venta = new Venta();
+        venta.setVentaId(77L);
+        venta.setTotalNeto(15000.0);
+        venta.addDetalle(detalle(2));
+        venta.addDetalle(detalle(3));
+
+        for (int i = 0; i < 2; i++) {
+            MetricasVentaService.Seguimiento seguimiento = metricas.iniciarVenta(request(2, 1));
+            seguimiento.ventaCreada(venta);
+            seguimiento.terminar();
+        }
+
+        assertEquals(2, meterRegistry.get(MetricasVentaService.CONTADOR_VENTAS).counter().count());
+        assertEquals(10, meterRegistry.get(MetricasVentaService.CONTADOR_ITEMS).counter().count());
+        assertEquals(30000, meterRegistry.get(MetricasVentaService.CONTADOR_MONTO).counter().count());
+        assertEquals("77", terminadas.get(0).getHighCardinalityKeyValue("venta.id").getValue());
+    }
+
+    private static VentaRequest request(int lineas, int pagos) {
+        List<DetalleVentaRequest> detalles = new ArrayList<>();
+        for (int i = 0; i < lineas; i++) {
+            detalles.add(DetalleVentaRequest.builder().productoId((long) i).cantidad(1).build());
+        }
+        List<PagoRequest> listaPagos = new ArrayList<>();
+        for (int i = 0; i < pagos; i++) {
+            listaPagos.add(new PagoRequest());
+        }
+        return VentaRequest.builder().detalles(detalles).pagos(listaPagos).build();
+    }
+
+    private static DetalleVenta detalle(int cantidad) {
+        DetalleVenta detalle = new DetalleVenta();
+        detalle.setCantidad(cantidad);
+        return detalle;
+    }
+}
@@ -11,6 +11,7 @@ import com.decoaromas.decoaromaspos.model.MovimientoInventario;
 import com.decoaromas.decoaromaspos.model.Producto;
 import com.decoaromas.decoaromaspos.model.Usuario;
 import com.decoaromas.decoaromaspos.repository.MovimientoInventarioRepository;
+import com.decoaromas.decoaromaspos.utils.CursorUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -79,16 +80,16 @@ class MovimientoInventarioServiceTest {
     }
 
     @Test
-    @DisplayName("Test para listar movimientos")
-    void listarMovimientos_deberiaDevolverTodos() {
-        when(mockRepo.findAll()).thenReturn(List.of(movimiento));
-        when(movMapper.toResponse(movimiento)).thenReturn(response);
+    @DisplayName("Test para listar movimientos, debe devolver la página keyset")
+    void listarMovimientos_deberiaDevolverPaginaKeyset() {
+        when(mockRepo.findResumenAntesDe(any(), any(), any(Pageable.class))).thenReturn(List.of(response));
 
-        var result = service.listarMovimientos();
+        var result = service.listarMovimientos(null, 10);
 
-        assertEquals(1, result.size());
-        assertEquals("Juan Perez", result.get(0).getNombreCompleto());
-        verify(mockRepo).findAll();
+        assertEquals(1, result.getContent().size());
+        assertEquals("Juan Perez", result.getContent().get(0).getNombreCompleto());
+        assertFalse(result.isHasNext());
+        verify(mockRepo, never()).findAll();
     }
 
     @Test
@@ -107,40 +108,41 @@ class MovimientoInventarioServiceTest {
     @Test
     @DisplayName("Test obtener movimientos por producto ID")
     void obtenerMovimientosPorProductoId_deberiaRetornarLista() {
-        when(mockRepo.findByProducto_ProductoId(10L)).thenReturn(List.of(movimiento));
-        when(movMapper.toResponse(movimiento)).thenReturn(response);
+        when(mockRepo.findResumenPorProductoAntesDe(eq(10L), any(), any(), any(Pageable.class))).thenReturn(List.of(response));
 
-        var lista = service.obtenerMovimientosPorProductoId(10L);
+        var lista = service.obtenerMovimientosPorProductoId(10L, null, 10).getContent();
 
         assertEquals(1, lista.size());
         assertEquals("Velas Color 4x1000", lista.get(0).getProductoNombre());
-        verify(mockRepo).findByProducto_ProductoId(10L);
+        verify(mockRepo).findResumenPorProductoAntesDe(eq(10L), any(), any(), eq(PageRequest.of(0, 11)));
     }
 
     @Test
     @DisplayName("Test obtener movimientos por motivo o causal")
     void obtenerMovimientosPorMotivo_deberiaRetornarFiltrados() {
-        when(mockRepo.findByMotivo(MotivoMovimiento.AJUSTE_VENTA)).thenReturn(List.of(movimiento));
-        when(movMapper.toResponse(movimiento)).thenReturn(response);
+        when(mockRepo.findResumenPorMotivoAntesDe(eq(MotivoMovimiento.AJUSTE_VENTA), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(response));
 
-        var lista = service.obtenerMovimientosPorMotivo(MotivoMovimiento.AJUSTE_VENTA);
+        var lista = service.obtenerMovimientosPorMotivo(MotivoMovimiento.AJUSTE_VENTA, null, null).getContent();
 
         assertEquals(1, lista.size());
         assertEquals(MotivoMovimiento.AJUSTE_VENTA, lista.get(0).getMotivo());
-        verify(mockRepo).findByMotivo(MotivoMovimiento.AJUSTE_VENTA);
     }
 
     @Test
     @DisplayName("Test para obtener movimientos por ID del usuario")
     void obtenerMovimientosPorIdUsuario_deberiaRetornarCorrectos() {
-        when(mockRepo.findByUsuario_UsuarioId(1L)).thenReturn(List.of(movimiento));
-        when(movMapper.toResponse(movimiento)).thenReturn(response);
+        MovimientoInventarioResponse siguiente = MovimientoInventarioResponse.builder()
+                .movimientoId(0L).fecha(movimiento.getFecha().minusDays(1)).build();
+        when(mockRepo.findResumenPorUsuarioAntesDe(eq(1L), any(), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(response, siguiente));
 
-        var lista = service.obtenerMovimientosPorIdUsuario(1L);
+        var pagina = service.obtenerMovimientosPorIdUsuario(1L, null, 1);
 
-        assertEquals(1, lista.size());
-        assertEquals("Juan Perez", lista.get(0).getNombreCompleto());
-        verify(mockRepo).findByUsuario_UsuarioId(1L);
+        assertEquals(1, pagina.getContent().size());
+        assertEquals("Juan Perez", pagina.getContent().get(0).getNombreCompleto());
+        assertTrue(pagina.isHasNext());
+        assertNotNull(pagina.getNextCursor());
     }
 
     @Test
@@ -206,6 +208,26 @@ class MovimientoInventarioServiceTest {
         verify(mockRepo).findAll(any(Specification.class), any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("Test para obtener los movimientos filtrados por cursor")
+    void getMovimientosFiltradosCursor_deberiaBuscarDesdeCursorSinContar() {
+        when(mockRepo.findBy(any(Specification.class), any())).thenReturn(List.of(movimiento));
+        when(movMapper.toResponse(movimiento)).thenReturn(response);
+
+        MovimientoFilterDTO filterDTO = new MovimientoFilterDTO();
+        filterDTO.setMotivo(MotivoMovimiento.AJUSTE_VENTA);
+
+        var primera = service.getMovimientosFiltradosCursor(null, 10, null, null, filterDTO);
+        String cursor = CursorUtils.codificar(movimiento.getFecha(), movimiento.getMovimientoId());
+        var siguiente = service.getMovimientosFiltradosCursor(cursor, 10, null, null, filterDTO);
+
+        assertEquals(1, primera.getContent().size());
+        assertEquals(0L, primera.getTotalElements());
+        assertNull(siguiente.getTotalElements());
+        verify(mockRepo, times(1)).count(any(Specification.class));
+        verify(mockRepo, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Test para obtener los movimientos segun paginacion")
     void obtenerMovimientosPaginados_deberiaRetornarPaginaCorrecta() {
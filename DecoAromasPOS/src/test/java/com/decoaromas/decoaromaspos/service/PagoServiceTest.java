@@ -128,4 +128,34 @@ class PagoServiceTest {
 
         assertTrue(ex.getMessage().contains("al menos un método de pago"));
     }
+
+    @Test
+    @DisplayName("Test para procesar pagos con centavos, la suma debe ser exacta")
+    void procesarPagos_centavos_sumaExacta() {
+        PagoRequest pago1 = new PagoRequest();
+        pago1.setMedioPago(MedioPago.EFECTIVO);
+        pago1.setMonto(0.1);
+
+        PagoRequest pago2 = new PagoRequest();
+        pago2.setMedioPago(MedioPago.EFECTIVO);
+        pago2.setMonto(0.2);
+
+        // En double 0.1 + 0.2 = 0.30000000000000004
+        DatosPagoProcesado resultado = pagoService.procesarPagos(Arrays.asList(pago1, pago2), 0.3);
+
+        assertEquals(0.0, resultado.getVuelto());
+    }
+
+    @Test
+    @DisplayName("Test para procesar pagos, un centavo menos que el total debe lanzar excepción")
+    void procesarPagos_faltaUnCentavo_lanzaExcepcion() {
+        PagoRequest pago = new PagoRequest();
+        pago.setMedioPago(MedioPago.BCI);
+        pago.setMonto(29351.51);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> pagoService.procesarPagos(Arrays.asList(pago), 29351.52));
+
+        assertEquals("Pago insuficiente. Monto pagado (29351.51) es menor que el total (29351.52).", ex.getMessage());
+    }
 }
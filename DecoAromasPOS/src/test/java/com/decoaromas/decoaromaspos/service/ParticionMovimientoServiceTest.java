@@ -0,0 +1,72 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticionMovimientoServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private ParticionMovimientoService particionMovimientoService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(particionMovimientoService, "mesesAdelante", 2);
+    }
+
+    @Test
+    @DisplayName("Test para crear particiones, debe crear el mes actual y los siguientes")
+    void crearParticionesFuturas_tablaParticionada_deberiaCrearParticiones() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(true);
+
+        particionMovimientoService.crearParticionesFuturas();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).execute(sql.capture());
+        YearMonth actual = YearMonth.now(DateUtils.ZONE_ID_SANTIAGO);
+        assertThat(sql.getAllValues().get(0))
+                .contains("IF NOT EXISTS movimiento_inventario_" + actual.format(DateTimeFormatter.ofPattern("yyyy_MM")))
+                .contains("FROM ('" + actual.atDay(1) + "T00:00");
+        assertThat(sql.getAllValues().get(2))
+                .contains("movimiento_inventario_" + actual.plusMonths(2).format(DateTimeFormatter.ofPattern("yyyy_MM")));
+    }
+
+    @Test
+    @DisplayName("Test para crear particiones, tabla sin particionar no debe hacer nada")
+    void crearParticionesFuturas_tablaSinParticionar_noDeberiaCrear() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(false);
+
+        particionMovimientoService.crearParticionesFuturas();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Test para crear particiones, base sin catálogo de PostgreSQL no debe fallar")
+    void crearParticionesFuturas_errorDeCatalogo_noDeberiaCrear() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class)))
+                .thenThrow(new DataAccessResourceFailureException("sin pg_partitioned_table"));
+
+        particionMovimientoService.crearParticionesFuturas();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
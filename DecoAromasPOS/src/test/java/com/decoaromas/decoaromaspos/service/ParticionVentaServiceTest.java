@@ -0,0 +1,112 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticionVentaServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private ParticionVentaService particionVentaService;
+
+    private final YearMonth actual = YearMonth.now(DateUtils.ZONE_ID_SANTIAGO);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(particionVentaService, "mesesAdelante", 1);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Test para mantener particiones, debe crear el mes actual y el siguiente en las tres tablas")
+    void mantenerParticiones_tablaParticionada_deberiaCrearParticiones() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(true);
+
+        particionVentaService.mantenerParticiones();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(6)).execute(sql.capture());
+        String sufijo = actual.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        assertThat(sql.getAllValues().get(0))
+                .contains("IF NOT EXISTS venta_" + sufijo + " PARTITION OF venta")
+                .contains("FROM ('" + actual.atDay(1) + "T00:00");
+        assertThat(sql.getAllValues().get(1)).contains("detalle_venta_" + sufijo + " PARTITION OF detalle_venta");
+        assertThat(sql.getAllValues().get(5))
+                .contains("pago_venta_" + actual.plusMonths(1).format(DateTimeFormatter.ofPattern("yyyy_MM")));
+    }
+
+    @Test
+    @DisplayName("Test para mantener particiones, tabla sin particionar no debe hacer nada")
+    void mantenerParticiones_tablaSinParticionar_noDeberiaCrear() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(false);
+
+        particionVentaService.mantenerParticiones();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Test para crear particiones de meses pasados, debe omitir los meses que ya existen")
+    void crearParticiones_mesesPasados_deberiaCrearSoloLosFaltantes() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class), anyString()))
+                .thenAnswer(inv -> ((String) inv.getArgument(2)).endsWith("2019_01"));
+        when(jdbcTemplate.queryForObject(contains("_default"), eq(Boolean.class))).thenReturn(false);
+
+        particionVentaService.crearParticiones(YearMonth.of(2019, 1), YearMonth.of(2019, 2));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).execute(sql.capture());
+        assertThat(sql.getAllValues()).allMatch(s -> s.contains("_2019_02 PARTITION OF"));
+        assertThat(sql.getAllValues().get(0)).contains("FROM ('2019-02-01T00:00-03:00') TO ('2019-03-01T00:00-03:00')");
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Test para crear particiones, si DEFAULT tiene ventas del mes, debe moverlas a la partición nueva")
+    void crearParticiones_filasEnDefault_deberiaMoverlasEnUnaTransaccion() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class), anyString())).thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("_default"), eq(Boolean.class))).thenReturn(true);
+        lenient().when(jdbcTemplate.update(startsWith("DELETE FROM venta_default"))).thenReturn(4);
+
+        particionVentaService.crearParticiones(YearMonth.of(2019, 2), YearMonth.of(2019, 2));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(9)).execute(sql.capture());
+        assertThat(sql.getAllValues()).extracting(s -> s.split(" WHERE| FOR VALUES")[0]).containsExactly(
+                "CREATE TEMP TABLE detalle_venta_mover ON COMMIT DROP AS SELECT * FROM detalle_venta_default",
+                "CREATE TEMP TABLE pago_venta_mover ON COMMIT DROP AS SELECT * FROM pago_venta_default",
+                "CREATE TEMP TABLE venta_mover ON COMMIT DROP AS SELECT * FROM venta_default",
+                "CREATE TABLE IF NOT EXISTS venta_2019_02 PARTITION OF venta",
+                "INSERT INTO venta SELECT * FROM venta_mover",
+                "CREATE TABLE IF NOT EXISTS detalle_venta_2019_02 PARTITION OF detalle_venta",
+                "INSERT INTO detalle_venta SELECT * FROM detalle_venta_mover",
+                "CREATE TABLE IF NOT EXISTS pago_venta_2019_02 PARTITION OF pago_venta",
+                "INSERT INTO pago_venta SELECT * FROM pago_venta_mover");
+        assertThat(sql.getAllValues().get(0)).contains("fecha_venta >= '2019-02-01T00:00-03:00'");
+        verify(jdbcTemplate).update(startsWith("DELETE FROM detalle_venta_default WHERE fecha_venta >="));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM venta_default WHERE fecha >="));
+        verify(transactionManager).commit(any());
+    }
+}
@@ -162,6 +162,31 @@ class ProductoServiceTest {
         verify(productoRepository).save(any(Producto.class));
     }
 
+    @Test
+    @DisplayName("Test para actualizar un producto sin stock mínimo en el request, debe conservar el umbral actual")
+    void actualizarProducto_sinStockMinimo_deberiaConservarUmbral() {
+        producto.setStockMinimo(7);
+        ActualizarProductoRequest request = ActualizarProductoRequest.builder()
+                .nombre("Vela premium")
+                .sku("VELA02")
+                .precioDetalle(2500.0)
+                .precioMayorista(1800.0)
+                .costo(1000.0)
+                .familiaId(16L)
+                .aromaId(1L)
+                .build();
+
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+        when(familiaService.obtenerFamiliaRealPorId(16L)).thenReturn(familia);
+        when(aromaService.obtenerAromaRealPorId(1L)).thenReturn(aroma);
+        when(productoRepository.findBySkuIgnoreCase("VELA02")).thenReturn(Optional.of(producto));
+        when(productoRepository.save(any(Producto.class))).thenReturn(producto);
+
+        productoService.actualizarProductoNoStock(1L, request);
+
+        assertEquals(7, producto.getStockMinimo());
+    }
+
     @Test
     @DisplayName("Test para eliminar un producto existente")
     void eliminarProducto_existente_deberiaEliminar() {
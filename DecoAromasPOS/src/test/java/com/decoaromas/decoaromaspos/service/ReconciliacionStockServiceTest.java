@@ -0,0 +1,121 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.CantidadPorProductoDTO;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.ReporteDescuadreStockResponse;
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO;
+import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
+import com.decoaromas.decoaromaspos.repository.MovimientoInventarioRepository;
+import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.repository.SnapshotStockRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliacionStockServiceTest {
+
+    @Mock private ProductoRepository productoRepository;
+    @Mock private SnapshotStockRepository snapshotStockRepository;
+    @Mock private MovimientoInventarioRepository movimientoInventarioRepository;
+    @Mock private SnapshotStockService snapshotStockService;
+    @Mock private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private ReconciliacionStockService reconciliacionStockService;
+
+    private static final ZonedDateTime CORTE = ZonedDateTime.of(2024, 5, 1, 0, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(reconciliacionStockService, "hilos", 2);
+        ReflectionTestUtils.setField(reconciliacionStockService, "tamanioBloque", 2);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        lenient().when(productoRepository.findAllIds()).thenReturn(List.of(1L, 2L, 5L));
+        // Bloques: [1..2] y [5..5]
+        lenient().when(productoRepository.findStockEntreIds(1L, 2L)).thenReturn(List.of(
+                new StockProductoDTO(1L, "VEL-1", "Vela", 10),
+                new StockProductoDTO(2L, "DIF-2", "Difusor", 7)));
+        lenient().when(productoRepository.findStockEntreIds(5L, 5L)).thenReturn(List.of(
+                new StockProductoDTO(5L, "JAB-5", "Jabón", null)));
+    }
+
+    @Test
+    @DisplayName("Test para reporte de descuadres, debe comparar el stock con snapshot + movimientos por bloque")
+    void reporteDescuadres_deberiaDetectarProductosDescuadrados() {
+        when(snapshotStockRepository.findUltimoCorteHasta(any())).thenReturn(CORTE);
+        when(snapshotStockRepository.findStockPorProducto(CORTE, 1L, 2L)).thenReturn(List.of(
+                new CantidadPorProductoDTO(1L, 12L), new CantidadPorProductoDTO(2L, 4L)));
+        when(snapshotStockRepository.findStockPorProducto(CORTE, 5L, 5L)).thenReturn(List.of());
+        when(movimientoInventarioRepository.sumarCantidadNetaPorProducto(eq(1L), eq(2L), eq(CORTE), any()))
+                .thenReturn(List.of(new CantidadPorProductoDTO(1L, -2L), new CantidadPorProductoDTO(2L, 1L)));
+        when(movimientoInventarioRepository.sumarCantidadNetaPorProducto(eq(5L), eq(5L), eq(CORTE), any()))
+                .thenReturn(List.of());
+
+        ReporteDescuadreStockResponse reporte = reconciliacionStockService.reporteDescuadres();
+
+        assertThat(reporte.getProductosRevisados()).isEqualTo(3);
+        assertThat(reporte.getProductosConDescuadre()).isEqualTo(1);
+        assertThat(reporte.getDescuadres().get(0).getProductoId()).isEqualTo(2L);
+        assertThat(reporte.getDescuadres().get(0).getStockLibro()).isEqualTo(5);
+        assertThat(reporte.getDescuadres().get(0).getDiferencia()).isEqualTo(2);
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Test para stock en fecha sin snapshots, debe sumar los movimientos desde el inicio del libro")
+    void stockEnFecha_sinCorte_deberiaSumarDesdeInicio() {
+        ZonedDateTime fecha = CORTE.plusDays(10);
+        when(snapshotStockRepository.findUltimoCorteHasta(fecha)).thenReturn(null);
+        when(movimientoInventarioRepository.sumarCantidadNetaPorProducto(1L, 2L, SnapshotStockService.INICIO_LIBRO, fecha))
+                .thenReturn(List.of(new CantidadPorProductoDTO(1L, 3L)));
+        when(movimientoInventarioRepository.sumarCantidadNetaPorProducto(5L, 5L, SnapshotStockService.INICIO_LIBRO, fecha))
+                .thenReturn(List.of(new CantidadPorProductoDTO(5L, 8L)));
+
+        List<StockProductoDTO> stock = reconciliacionStockService.stockEnFecha(fecha);
+
+        assertThat(stock).extracting(StockProductoDTO::getStock).containsExactly(3, 0, 8);
+        verify(snapshotStockRepository, never()).findStockPorProducto(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para reparar descuadres, debe contar solo los productos que no cambiaron desde la lectura")
+    void repararDescuadres_deberiaCorregirAlValorDelLibro() {
+        when(snapshotStockRepository.findUltimoCorteHasta(any())).thenReturn(null);
+        when(movimientoInventarioRepository.sumarCantidadNetaPorProducto(eq(1L), eq(2L), any(), any()))
+                .thenReturn(List.of(new CantidadPorProductoDTO(1L, 9L), new CantidadPorProductoDTO(2L, 6L)));
+        when(movimientoInventarioRepository.sumarCantidadNetaPorProducto(eq(5L), eq(5L), any(), any()))
+                .thenReturn(List.of());
+        when(productoRepository.corregirStock(1L, 10, 9)).thenReturn(1);
+        when(productoRepository.corregirStock(2L, 7, 6)).thenReturn(0);
+
+        ReporteDescuadreStockResponse reporte = reconciliacionStockService.repararDescuadres();
+
+        assertThat(reporte.getProductosConDescuadre()).isEqualTo(2);
+        assertThat(reporte.getProductosReparados()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test para stock en fecha de un producto inexistente, debe lanzar ResourceNotFoundException")
+    void stockEnFecha_productoInexistente_deberiaLanzarExcepcion() {
+        when(productoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> reconciliacionStockService.stockEnFecha(99L, CORTE));
+        verifyNoInteractions(snapshotStockService);
+    }
+}
@@ -8,6 +8,7 @@ import com.decoaromas.decoaromaspos.enums.MedioPago;
 import com.decoaromas.decoaromaspos.enums.TipoCliente;
 import com.decoaromas.decoaromaspos.model.VentaOnlineMensual;
 import com.decoaromas.decoaromaspos.repository.*;
+import com.decoaromas.decoaromaspos.utils.Dinero;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +24,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +39,9 @@ class ReporteServiceTest {
     private ReporteService reporteService;
     private static final int ANIO = 2024;
     @Mock private ClienteRepository clienteRepository;
+    @Mock private ResumenVentaHorariaService resumenVentaHorariaService;
+    @Mock private EstadisticaClienteRepository estadisticaClienteRepository;
+    @Mock private EstadisticaClienteService estadisticaClienteService;
 
     // Utilidad: crear un mock o clase anónima para VentaMensualDTO
     private VentaMensualDTO mockVentaMensual(int mes, double total) {
@@ -55,6 +60,19 @@ class ReporteServiceTest {
         };
     }
 
+    // Utilidad: arreglos de 24 horas con un único bucket informado
+    private int[] ticketsEnHora(int hora, int tickets) {
+        int[] arreglo = new int[24];
+        arreglo[hora] = tickets;
+        return arreglo;
+    }
+
+    private long[] totalesEnHora(int hora, double total) {
+        long[] arreglo = new long[24];
+        arreglo[hora] = Dinero.centavos(total);
+        return arreglo;
+    }
+
     @Test
     @DisplayName("Test para obtener el reporte de ventas totales por mes, debe combinar online y tienda")
     void getReporteVentasTotalesPorMes_deberiaCombinarTiendaYOnline() {
@@ -242,6 +260,35 @@ class ReporteServiceTest {
         verify(ventaRepository).findVentasPorHoraYDiaSemana(any(), any(), eq(TipoCliente.DETALLE), eq(1L), eq(2L));
     }
 
+    @Test
+    @DisplayName("Test para mapa de calor sin filtros de producto, debe usar el cubo horario")
+    void getReporteMapaCalorVentas_sinFiltrosProducto_deberiaUsarCuboHorario() {
+        // Arrange
+        CuboVentaHorariaDTO cubo = new CuboVentaHorariaDTO();
+        cubo.acumular(6, ticketsEnHora(18, 3), totalesEnHora(18, 900.0)); // Sábado 18:00
+        when(resumenVentaHorariaService.obtenerCubo(any(), any(), isNull())).thenReturn(cubo);
+
+        // Act
+        ChartDataDTO result = reporteService.getReporteMapaCalorVentas(
+                LocalDate.now().minusDays(30), LocalDate.now(), null, null, null);
+
+        // Assert
+        assertThat(result.getSeries()).hasSize(7);
+        assertThat(result.getSeries().get(6).getName()).isEqualTo("Sábado");
+        assertThat(result.getSeries().get(6).getData().get(18)).isEqualTo(900.0);
+        assertThat(result.getSeries().get(0).getData()).hasSize(24);
+        verify(ventaRepository, never()).findVentasPorHoraYDiaSemana(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para reconstruir resumen horario con rango inválido, debe lanzar excepción")
+    void reconstruirResumenVentaHoraria_rangoInvalido_deberiaLanzarExcepcion() {
+        LocalDate hoy = LocalDate.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> reporteService.reconstruirResumenVentaHoraria(hoy, hoy.minusDays(1)));
+        verifyNoInteractions(resumenVentaHorariaService);
+    }
+
     @Test
     @DisplayName("Test para generar operaciones kpis, debe llamar repositorio con mes filtrado")
     void getOperacionesKpis_deberiaLlamarRepositorioConMesFiltrado() {
@@ -567,11 +614,12 @@ class ReporteServiceTest {
     @DisplayName("Test para obtener reporte ventas tiendas por dia de semana")
     void getReporteVentasTiendaPorDiaSemana_deberiaGenerarDatosCorrectos() {
         // Arrange
-        VentaAgrupadaPorNombreDTO dto1 = new VentaAgrupadaPorNombreDTO("Lunes", 100.0);
-        VentaAgrupadaPorNombreDTO dto2 = new VentaAgrupadaPorNombreDTO("Martes", 200.0);
+        CuboVentaHorariaDTO cubo = new CuboVentaHorariaDTO();
+        cubo.acumular(2, ticketsEnHora(10, 1), totalesEnHora(10, 200.0)); // Martes
+        cubo.acumular(1, ticketsEnHora(12, 1), totalesEnHora(12, 100.0)); // Lunes
 
-        when(ventaRepository.findVentasPorDiaDeLaSemana(any(), any(), eq(TipoCliente.DETALLE)))
-                .thenReturn(List.of(dto1, dto2));
+        when(resumenVentaHorariaService.obtenerCubo(any(), any(), eq(TipoCliente.DETALLE)))
+                .thenReturn(cubo);
 
         // Act
         ChartDataDTO result = reporteService.getReporteVentasTiendaPorDiaSemana(LocalDate.now().minusDays(7), LocalDate.now(), TipoCliente.DETALLE);
@@ -580,7 +628,7 @@ class ReporteServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getCategories()).containsExactly("Lunes", "Martes");
         assertThat(result.getSeries().get(0).getData()).containsExactly(100.0, 200.0);
-        verify(ventaRepository).findVentasPorDiaDeLaSemana(any(), any(), eq(TipoCliente.DETALLE));
+        verify(resumenVentaHorariaService).obtenerCubo(any(), any(), eq(TipoCliente.DETALLE));
     }
 
     @Test
@@ -604,9 +652,11 @@ class ReporteServiceTest {
     @DisplayName("Test para obtener reporte ventas por hora")
     void getReporteVentasPorHora_deberiaRellenarHorasFaltantesConCero() {
         // Arrange
-        VentaAgrupadaPorNombreDTO dto = new VentaAgrupadaPorNombreDTO("10", 250.0);
-        when(ventaRepository.findVentasPorHora(any(), any(), eq(TipoCliente.MAYORISTA)))
-                .thenReturn(List.of(dto));
+        CuboVentaHorariaDTO cubo = new CuboVentaHorariaDTO();
+        cubo.acumular(3, ticketsEnHora(10, 2), totalesEnHora(10, 150.0));
+        cubo.acumular(4, ticketsEnHora(10, 1), totalesEnHora(10, 100.0));
+        when(resumenVentaHorariaService.obtenerCubo(any(), any(), eq(TipoCliente.MAYORISTA)))
+                .thenReturn(cubo);
 
         // Act
         ChartDataDTO result = reporteService.getReporteVentasPorHora(LocalDate.now().minusDays(1), LocalDate.now(), TipoCliente.MAYORISTA);
@@ -615,7 +665,7 @@ class ReporteServiceTest {
         assertThat(result.getCategories()).hasSize(24);
         assertThat(result.getSeries().get(0).getData().get(10)).isEqualTo(250.0);
         assertThat(result.getSeries().get(0).getData().get(0)).isEqualTo(0.0);
-        verify(ventaRepository).findVentasPorHora(any(), any(), eq(TipoCliente.MAYORISTA));
+        verify(resumenVentaHorariaService).obtenerCubo(any(), any(), eq(TipoCliente.MAYORISTA));
     }
 
     @Test
@@ -924,17 +974,37 @@ class ReporteServiceTest {
         c2.setClienteId(2L);
         c2.setUltimaCompra(ZonedDateTime.now().minusDays(120));
 
-        when(ventaRepository.findClientesLastPurchaseDate(TipoCliente.DETALLE))
-                .thenReturn(List.of(c1, c2));
+        when(estadisticaClienteRepository.findClientesInactivos(any(), eq(TipoCliente.DETALLE), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(c1, c2)));
 
         List<ClienteInactivoDTO> resultado =
                 reporteService.getReporteClientesInactivosDetalle(90, TipoCliente.DETALLE);
 
         assertThat(resultado).hasSize(2);
-        assertThat(resultado.get(0).getDiasInactivo())
-                .isGreaterThanOrEqualTo(resultado.get(1).getDiasInactivo());
+        assertThat(resultado.get(0).getDiasInactivo()).isEqualTo(9999L);
+        assertThat(resultado.get(1).getDiasInactivo()).isBetween(119L, 120L);
 
-        verify(ventaRepository).findClientesLastPurchaseDate(TipoCliente.DETALLE);
+        verify(estadisticaClienteRepository).findClientesInactivos(any(), eq(TipoCliente.DETALLE), eq(Pageable.unpaged()));
+        verifyNoInteractions(ventaRepository);
+    }
+
+    @Test
+    @DisplayName("Test para clientes inactivos paginados, debe pedir la página solicitada a la consulta indexada")
+    void getReporteClientesInactivosDetallePaginado() {
+
+        ClienteInactivoDTO c1 = new ClienteInactivoDTO(3L, "Ana", "Rojas", ZonedDateTime.now().minusDays(200));
+        PageRequest pageRequest = PageRequest.of(1, 5);
+
+        when(estadisticaClienteRepository.findClientesInactivos(any(), eq(null), eq(pageRequest)))
+                .thenReturn(new PageImpl<>(List.of(c1), pageRequest, 6));
+
+        PaginacionResponse<ClienteInactivoDTO> resultado =
+                reporteService.getReporteClientesInactivosDetallePaginado(null, null, 1, 5);
+
+        assertThat(resultado.getContent()).hasSize(1);
+        assertThat(resultado.getContent().get(0).getNombreCompleto()).isEqualTo("Ana Rojas");
+        assertThat(resultado.getContent().get(0).getDiasInactivo()).isBetween(199L, 200L);
+        assertEquals(6, resultado.getTotalElements());
     }
 
     @Test
@@ -957,8 +1027,8 @@ class ReporteServiceTest {
     @DisplayName("Test para distribucion de clientes por actividad, calcula activos e inactivos")
     void getReporteDistribucionClientesPorActividad() {
 
-        when(clienteRepository.findClientesActivosInactivosDesde(any(), eq(TipoCliente.DETALLE)))
-                .thenReturn(List.of(1L, 2L)); // 2 inactivos
+        when(estadisticaClienteRepository.countClientesInactivosDesde(any(), eq(TipoCliente.DETALLE)))
+                .thenReturn(2L); // 2 inactivos
 
         when(clienteRepository.countByActivoAndTipoOpcional(true, TipoCliente.DETALLE))
                 .thenReturn(10L); // total activos
@@ -993,6 +1063,20 @@ class ReporteServiceTest {
         assertThat(chart.getSeries().get(0).getData()).containsExactly(50000.0, 30000.0);
     }
 
+    @Test
+    @DisplayName("Test para top de clientes sin filtros, debe usar el gasto acumulado por cliente")
+    void getReporteTopClientesPorGasto_sinFiltros_usaEstadisticas() {
+
+        when(estadisticaClienteRepository.findTopClientesPorGastoTotal(PageRequest.of(0, 10)))
+                .thenReturn(List.of(new ClienteAgregadoDTO("Juan", 90000.0)));
+
+        ChartDataDTO chart = reporteService.getReporteTopClientesPorGasto(null, null, null, null);
+
+        assertThat(chart.getCategories()).containsExactly("Juan");
+        assertThat(chart.getSeries().get(0).getData()).containsExactly(90000.0);
+        verify(ventaRepository, never()).findTopClientesByTotalVenta(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Test para descuadre de cajas, debe retornar grafico de descuadres")
     void getReporteDescuadresCaja_retornagrafico() {
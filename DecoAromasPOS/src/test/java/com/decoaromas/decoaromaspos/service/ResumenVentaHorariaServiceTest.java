@@ -0,0 +1,116 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.dto.reportes.CuboVentaHorariaDTO;
+import com.decoaromas.decoaromaspos.dto.reportes.ResumenVentaHorariaProjection;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.model.ResumenVentaHoraria;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.repository.ResumenVentaHorariaRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumenVentaHorariaServiceTest {
+
+    @Mock private ResumenVentaHorariaRepository resumenRepository;
+    @InjectMocks
+    private ResumenVentaHorariaService resumenVentaHorariaService;
+
+    // 2024-10-19 es Sábado
+    private static final LocalDate SABADO = LocalDate.of(2024, 10, 19);
+
+    private Venta venta(TipoCliente tipo, double totalNeto) {
+        Venta venta = new Venta();
+        venta.setFecha(ZonedDateTime.of(2024, 10, 19, 15, 30, 0, 0, DateUtils.ZONE_ID_SANTIAGO));
+        venta.setTipoCliente(tipo);
+        venta.setTotalNeto(totalNeto);
+        return venta;
+    }
+
+    private ResumenVentaHorariaProjection fila(LocalDate fecha, int hora, String tipo, long tickets, long centavos) {
+        return new ResumenVentaHorariaProjection() {
+            @Override public LocalDate getFecha() { return fecha; }
+            @Override public Integer getHora() { return hora; }
+            @Override public String getTipoCliente() { return tipo; }
+            @Override public Long getTickets() { return tickets; }
+            @Override public Long getCentavos() { return centavos; }
+        };
+    }
+
+    @Test
+    @DisplayName("Test para registrar venta, debe acumular un ticket en la hora local (base 1)")
+    void registrarVenta_deberiaAcumularEnHoraLocal() {
+        resumenVentaHorariaService.registrarVenta(venta(TipoCliente.MAYORISTA, 5000.0));
+
+        verify(resumenRepository).inicializarDia(SABADO, "MAYORISTA");
+        verify(resumenRepository).acumularEnHora(SABADO, "MAYORISTA", 16, 1, 500_000L);
+    }
+
+    @Test
+    @DisplayName("Test para descontar venta sin tipo de cliente, debe restar del bucket DETALLE")
+    void descontarVenta_sinTipoCliente_deberiaRestarDeDetalle() {
+        resumenVentaHorariaService.descontarVenta(venta(null, 1200.5));
+
+        verify(resumenRepository).acumularEnHora(SABADO, "DETALLE", 16, -1, -120_050L);
+    }
+
+    @Test
+    @DisplayName("Test para obtener cubo, debe sumar los días en su día de la semana")
+    void obtenerCubo_deberiaSumarPorDiaSemanaYHora() {
+        int[] tickets = new int[24];
+        long[] totales = new long[24];
+        tickets[15] = 2;
+        totales[15] = 300_010L;
+        ResumenVentaHoraria dia1 = ResumenVentaHoraria.builder().fecha(SABADO).tickets(tickets).totales(totales).build();
+        ResumenVentaHoraria dia2 = ResumenVentaHoraria.builder().fecha(SABADO.plusWeeks(1)).tickets(tickets).totales(totales).build();
+        when(resumenRepository.findByRango(any(), any(), isNull())).thenReturn(List.of(dia1, dia2));
+
+        CuboVentaHorariaDTO cubo = resumenVentaHorariaService.obtenerCubo(SABADO, SABADO.plusWeeks(1), null);
+
+        assertThat(cubo.getTickets()[6][15]).isEqualTo(4L);
+        assertThat(cubo.getTotales()[6][15]).isEqualTo(6000.2);
+        assertThat(cubo.totalesPorHora()[15]).isEqualTo(6000.2);
+        assertThat(cubo.totalDia(6)).isEqualTo(6000.2);
+        assertThat(cubo.ticketsDia(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Test para reconstruir, debe agrupar por fecha y tipo y reemplazar el rango")
+    @SuppressWarnings("unchecked")
+    void reconstruir_deberiaAgruparPorFechaYTipo() {
+        when(resumenRepository.agregarVentasPorHora(any(), any())).thenReturn(List.of(
+                fila(SABADO, 10, "DETALLE", 3, 90_000L),
+                fila(SABADO, 11, "DETALLE", 1, 10_000L),
+                fila(SABADO, 11, "MAYORISTA", 2, 500_000L)
+        ));
+
+        int generados = resumenVentaHorariaService.reconstruir(SABADO, SABADO);
+
+        assertThat(generados).isEqualTo(2);
+        verify(resumenRepository).deleteByRango(SABADO, SABADO);
+        ArgumentCaptor<Iterable<ResumenVentaHoraria>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(resumenRepository).saveAll(captor.capture());
+
+        List<ResumenVentaHoraria> guardados = new ArrayList<>();
+        captor.getValue().forEach(guardados::add);
+        ResumenVentaHoraria detalle = guardados.stream()
+                .filter(r -> r.getTipoCliente() == TipoCliente.DETALLE).findFirst().orElseThrow();
+        assertThat(detalle.getTickets()[10]).isEqualTo(3);
+        assertThat(detalle.getTotales()[11]).isEqualTo(10_000L);
+    }
+}
@@ -0,0 +1,113 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.model.SnapshotStock;
+import com.decoaromas.decoaromaspos.repository.MovimientoInventarioRepository;
+import com.decoaromas.decoaromaspos.repository.SnapshotStockRepository;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotStockServiceTest {
+
+    @Mock private SnapshotStockRepository snapshotStockRepository;
+    @Mock private MovimientoInventarioRepository movimientoInventarioRepository;
+    @InjectMocks
+    private SnapshotStockService snapshotStockService;
+
+    private static ZonedDateTime mes(int anio, int mes) {
+        return ZonedDateTime.of(anio, mes, 1, 0, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+    }
+
+    @Test
+    @DisplayName("Test para stock en fecha, debe sumar los movimientos desde el último snapshot")
+    void stockEnFecha_conSnapshot_deberiaSumarMovimientosDesdeElCorte() {
+        ZonedDateTime fecha = ZonedDateTime.of(2024, 5, 20, 12, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+        when(snapshotStockRepository.findFirstByProductoIdAndFechaLessThanEqualOrderByFechaDesc(7L, fecha))
+                .thenReturn(Optional.of(SnapshotStock.builder().productoId(7L).fecha(mes(2024, 5)).stock(40).build()));
+        when(movimientoInventarioRepository.sumarCantidadNeta(7L, mes(2024, 5), fecha)).thenReturn(-12L);
+
+        assertThat(snapshotStockService.stockEnFecha(7L, fecha)).isEqualTo(28);
+    }
+
+    @Test
+    @DisplayName("Test para stock en fecha sin snapshots, debe sumar el libro completo")
+    void stockEnFecha_sinSnapshot_deberiaSumarDesdeElInicio() {
+        ZonedDateTime fecha = mes(2024, 5);
+        when(snapshotStockRepository.findFirstByProductoIdAndFechaLessThanEqualOrderByFechaDesc(7L, fecha))
+                .thenReturn(Optional.empty());
+        when(movimientoInventarioRepository.sumarCantidadNeta(7L, SnapshotStockService.INICIO_LIBRO, fecha)).thenReturn(15L);
+
+        assertThat(snapshotStockService.stockEnFecha(7L, fecha)).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Test para generar snapshots, debe generar un corte por cada mes pendiente")
+    void generarSnapshotsHasta_deberiaGenerarUnCortePorMes() {
+        when(snapshotStockRepository.findUltimoCorte()).thenReturn(mes(2024, 2).withZoneSameInstant(ZoneOffset.UTC));
+        when(snapshotStockRepository.generarDesde(any(), any())).thenReturn(10);
+
+        int generados = snapshotStockService.generarSnapshotsHasta(mes(2024, 5));
+
+        assertThat(generados).isEqualTo(30);
+        InOrder orden = inOrder(snapshotStockRepository);
+        orden.verify(snapshotStockRepository).generarDesde(mes(2024, 2).withZoneSameInstant(ZoneOffset.UTC), mes(2024, 3));
+        orden.verify(snapshotStockRepository).generarDesde(mes(2024, 3), mes(2024, 4));
+        orden.verify(snapshotStockRepository).generarDesde(mes(2024, 4), mes(2024, 5));
+    }
+
+    @Test
+    @DisplayName("Test para generar snapshots sin cortes previos, debe generar el corte con todo el libro")
+    void generarSnapshotsHasta_sinCortes_deberiaGenerarUnSoloCorte() {
+        when(snapshotStockRepository.findUltimoCorte()).thenReturn(null);
+        when(snapshotStockRepository.generarDesde(SnapshotStockService.INICIO_LIBRO, mes(2024, 5))).thenReturn(8);
+
+        assertThat(snapshotStockService.generarSnapshotsHasta(mes(2024, 5))).isEqualTo(8);
+        verify(snapshotStockRepository, times(1)).generarDesde(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para generar snapshots al día, no debe generar nada")
+    void generarSnapshotsHasta_alDia_noDeberiaGenerar() {
+        when(snapshotStockRepository.findUltimoCorte()).thenReturn(mes(2024, 5));
+
+        assertThat(snapshotStockService.generarSnapshotsHasta(mes(2024, 5))).isZero();
+        verify(snapshotStockRepository, never()).generarDesde(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test para invalidar snapshots, debe borrar los cortes posteriores y regenerarlos")
+    void invalidarDesde_movimientoAnteriorAlCorte_deberiaRegenerar() {
+        ZonedDateTime importada = ZonedDateTime.of(2024, 3, 15, 10, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+        when(snapshotStockRepository.findUltimoCorte()).thenReturn(mes(2024, 5), mes(2024, 3));
+
+        snapshotStockService.invalidarDesde(importada);
+
+        verify(snapshotStockRepository).deleteByFechaAfter(importada);
+        verify(snapshotStockRepository).generarDesde(mes(2024, 3), mes(2024, 4));
+        verify(snapshotStockRepository).generarDesde(mes(2024, 4), mes(2024, 5));
+    }
+
+    @Test
+    @DisplayName("Test para invalidar snapshots con fecha posterior al último corte, no debe hacer nada")
+    void invalidarDesde_posteriorAlUltimoCorte_noDeberiaBorrar() {
+        when(snapshotStockRepository.findUltimoCorte()).thenReturn(mes(2024, 5));
+
+        snapshotStockService.invalidarDesde(mes(2024, 5).plusDays(3));
+
+        verify(snapshotStockRepository, never()).deleteByFechaAfter(any());
+    }
+}
@@ -0,0 +1,81 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.model.Caja;
+import com.decoaromas.decoaromaspos.model.PagoVenta;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.repository.TotalCajaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TotalCajaServiceTest {
+
+    @Mock private TotalCajaRepository totalCajaRepository;
+    @InjectMocks
+    private TotalCajaService totalCajaService;
+
+    private static Venta venta(Long cajaId, double vuelto, PagoVenta... pagos) {
+        Venta venta = new Venta();
+        venta.setCaja(cajaId != null ? Caja.builder().cajaId(cajaId).build() : null);
+        venta.setVuelto(vuelto);
+        for (PagoVenta pago : pagos) {
+            venta.addPago(pago);
+        }
+        return venta;
+    }
+
+    private static PagoVenta pago(MedioPago medio, double monto) {
+        return PagoVenta.builder().medioPago(medio).monto(monto).build();
+    }
+
+    @Test
+    @DisplayName("Test para registrar una venta, debe sumar cada medio de pago y el vuelto a su caja")
+    void registrarVenta_deberiaAcumularPorMedioDePago() {
+        totalCajaService.registrarVenta(venta(1L, 0.3,
+                pago(MedioPago.EFECTIVO, 10.1), pago(MedioPago.EFECTIVO, 0.2), pago(MedioPago.POST, 5.0)));
+
+        // 10.1 + 0.2 en centavos es exactamente 10.3
+        verify(totalCajaRepository).acumular(1L, 10.3, 0.0, 0.0, 0.0, 0.0, 5.0, 0.3);
+    }
+
+    @Test
+    @DisplayName("Test para descontar una venta, debe restar sus pagos y vuelto")
+    void descontarVenta_deberiaRestarLosTotales() {
+        totalCajaService.descontarVenta(venta(1L, 500.0,
+                pago(MedioPago.EFECTIVO, 2000.0), pago(MedioPago.TRANSFERENCIA, 1500.0)));
+
+        verify(totalCajaRepository).acumular(1L, -2000.0, 0.0, 0.0, 0.0, -1500.0, 0.0, -500.0);
+    }
+
+    @Test
+    @DisplayName("Test para registrar un lote, debe acumular con una sentencia por caja")
+    void registrarVentas_deberiaAgruparPorCaja() {
+        totalCajaService.registrarVentas(List.of(
+                venta(1L, 0.0, pago(MedioPago.BCI, 100.0)),
+                venta(1L, 0.0, pago(MedioPago.BCI, 50.0), pago(MedioPago.MERCADO_PAGO, 25.0)),
+                venta(2L, 0.0, pago(MedioPago.BOTON_DE_PAGO, 10.0))));
+
+        verify(totalCajaRepository).acumular(1L, 0.0, 25.0, 150.0, 0.0, 0.0, 0.0, 0.0);
+        verify(totalCajaRepository).acumular(2L, 0.0, 0.0, 0.0, 10.0, 0.0, 0.0, 0.0);
+        verifyNoMoreInteractions(totalCajaRepository);
+    }
+
+    @Test
+    @DisplayName("Test para registrar una venta sin caja, no debe acumular")
+    void registrarVenta_sinCaja_noDeberiaAcumular() {
+        totalCajaService.registrarVenta(venta(null, 0.0, pago(MedioPago.EFECTIVO, 100.0)));
+
+        verify(totalCajaRepository, never()).acumular(any(), anyDouble(), anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyDouble());
+    }
+}
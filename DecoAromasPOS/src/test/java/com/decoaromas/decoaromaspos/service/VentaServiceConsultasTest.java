@@ -0,0 +1,150 @@
+package com.decoaromas.decoaromaspos.service;
+
+import com.decoaromas.decoaromaspos.config.sql.MaxQueries;
+import com.decoaromas.decoaromaspos.config.sql.ProxyDataSourceConfig;
+import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
+import com.decoaromas.decoaromaspos.dto.venta.*;
+import com.decoaromas.decoaromaspos.enums.*;
+import com.decoaromas.decoaromaspos.mapper.*;
+import com.decoaromas.decoaromaspos.model.*;
+import com.decoaromas.decoaromaspos.repository.InventarioLoteRepository;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
+import com.decoaromas.decoaromaspos.service.importacion.LectorConteoStock;
+import com.decoaromas.decoaromaspos.utils.AvailabilityChecker;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de sentencias SQL de los caminos calientes de ventas, contra H2 con los servicios reales.
+ * Los colaboradores con SQL propio de PostgreSQL (resumen horario, estadísticas, bandeja de eventos, lotes de
+ * inventario) se simulan.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Las migraciones son de PostgreSQL: en H2 el esquema lo genera Hibernate
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ProxyDataSourceConfig.class, VentaService.class, UsuarioService.class, ClienteService.class,
+        ProductoService.class, FamiliaProductoService.class, AromaService.class, GestorInventarioService.class,
+        MovimientoInventarioService.class, AlertaStockService.class, CalculoPrecioService.class, PagoService.class,
+        ReceiptBuilderService.class, BarcodeService.class, LectorConteoStock.class, VentaMapper.class,
+        UsuarioMapper.class, ClienteMapper.class, ProductoMapper.class, FamiliaProductoMapper.class,
+        AromaMapper.class, MovimientoInventarioMapper.class, AlertaStockMapper.class, AvailabilityChecker.class})
+class VentaServiceConsultasTest {
+
+    private static final int VENTAS = 15;
+
+    @Autowired private VentaService ventaService;
+    @Autowired private TestEntityManager tem;
+
+    @MockitoBean private ResumenVentaHorariaService resumenVentaHorariaService;
+    @MockitoBean private EstadisticaClienteService estadisticaClienteService;
+    @MockitoBean private TotalCajaService totalCajaService;
+    @MockitoBean private EventoOutboxService eventoOutboxService;
+    @MockitoBean private InventarioLoteRepository inventarioLoteRepository;
+
+    @TestConfiguration
+    static class Observabilidad {
+        @Bean
+        MetricasVentaService metricasVentaService() {
+            return new MetricasVentaService(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+        }
+    }
+
+    private Usuario usuario;
+    private Cliente cliente;
+    private final List<Producto> productos = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        usuario = tem.persist(Usuario.builder()
+                .nombre("Juan").apellido("Perez").correo("juan@test.cl").username("juanp")
+                .password("x").rol(Rol.VENDEDOR).activo(true).build());
+        cliente = tem.persist(Cliente.builder()
+                .nombre("Ana").rut("11111111-1").tipo(TipoCliente.DETALLE).activo(true).build());
+        Caja caja = tem.persist(Caja.builder()
+                .fechaApertura(ZonedDateTime.now().minusDays(1)).estado(EstadoCaja.ABIERTA).usuario(usuario).build());
+        FamiliaProducto velas = tem.persist(FamiliaProducto.builder().nombre("Velas").stockMinimo(2).build());
+        for (int i = 0; i < 5; i++) {
+            productos.add(tem.persist(Producto.builder().nombre("Producto " + i).sku("P-" + i)
+                    .precioDetalle(1000.0 * (i + 1)).stock(100).familia(velas).activo(true).build()));
+        }
+
+        ZonedDateTime base = DateUtils.obtenerFechaHoraActual().minusHours(VENTAS);
+        for (int i = 0; i < VENTAS; i++) {
+            Venta venta = Venta.builder()
+                    .fecha(base.plusHours(i))
+                    .tipoCliente(TipoCliente.DETALLE)
+                    .tipoDocumento(TipoDocumento.BOLETA)
+                    .totalBruto(3000.0).totalNeto(3000.0).vuelto(0.0)
+                    .usuario(usuario).caja(caja)
+                    .cliente(i % 2 == 0 ? cliente : null)
+                    .detalles(new ArrayList<>()).pagos(new ArrayList<>())
+                    .build();
+            venta.addDetalle(DetalleVenta.builder().producto(productos.get(0)).cantidad(1)
+                    .precioUnitario(1000.0).subtotal(1000.0).build());
+            venta.addDetalle(DetalleVenta.builder().producto(productos.get(1)).cantidad(1)
+                    .precioUnitario(2000.0).subtotal(2000.0).build());
+            venta.addPago(PagoVenta.builder().medioPago(MedioPago.EFECTIVO).monto(3000.0).build());
+            tem.persist(venta);
+        }
+        tem.flush();
+        tem.clear();
+    }
+
+    @Test
+    @DisplayName("Crear una venta de 5 líneas no debe superar su presupuesto de sentencias SQL")
+    // Por línea: SELECT del producto, UPDATE de stock, INSERT del detalle y del movimiento; más 6 fijas
+    // (caja, usuario, cliente, familia para la alerta de stock, INSERT de la venta y del pago)
+    @MaxQueries(26)
+    void crearVenta_deberiaRespetarPresupuestoSql() {
+        List<DetalleVentaRequest> detalles = productos.stream()
+                .map(p -> DetalleVentaRequest.builder().productoId(p.getProductoId()).cantidad(1).build())
+                .toList();
+        PagoRequest pago = new PagoRequest();
+        pago.setMedioPago(MedioPago.EFECTIVO);
+        pago.setMonto(20000.0);
+
+        VentaResponse response = ventaService.crearVenta(VentaRequest.builder()
+                .usuarioId(usuario.getUsuarioId())
+                .clienteId(cliente.getClienteId())
+                .tipoCliente(TipoCliente.DETALLE)
+                .tipoDocumento(TipoDocumento.BOLETA)
+                .detalles(detalles)
+                .pagos(List.of(pago))
+                .build());
+        tem.flush(); // UPDATE de stock e INSERT pendientes, que en producción salen al confirmar
+
+        assertEquals(15000.0, response.getTotalNeto());
+        assertEquals(5, response.getDetalles().size());
+    }
+
+    @Test
+    @DisplayName("Una página de ventas filtradas se arma con consultas constantes")
+    @MaxQueries(4)
+    void getVentasFiltradas_deberiaRespetarPresupuestoSql() {
+        PaginacionResponse<VentaResponse> pagina = ventaService.getVentasFiltradas(
+                0, 10, "fecha", null, null, new VentaFilterDTO());
+
+        assertEquals(10, pagina.getContent().size());
+        assertEquals(VENTAS, pagina.getTotalElements());
+    }
+}
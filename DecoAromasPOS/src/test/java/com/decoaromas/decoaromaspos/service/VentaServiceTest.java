@@ -1,5 +1,6 @@
 package com.decoaromas.decoaromaspos.service;
 
+import com.decoaromas.decoaromaspos.dto.other.response.CursorResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.PaginacionResponse;
 import com.decoaromas.decoaromaspos.dto.other.response.AvailabilityResponse;
 import com.decoaromas.decoaromaspos.dto.venta.*;
@@ -8,9 +9,14 @@ import com.decoaromas.decoaromaspos.exception.CajaCerradaException;
 import com.decoaromas.decoaromaspos.exception.ExistsRegisterException;
 import com.decoaromas.decoaromaspos.exception.ResourceNotFoundException;
 import com.decoaromas.decoaromaspos.mapper.VentaMapper;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
 import com.decoaromas.decoaromaspos.model.*;
 import com.decoaromas.decoaromaspos.repository.*;
 import com.decoaromas.decoaromaspos.utils.AvailabilityChecker;
+import com.decoaromas.decoaromaspos.utils.CursorUtils;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -18,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.ZonedDateTime;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,8 +42,15 @@ class VentaServiceTest {
     @Mock private CalculoPrecioService calculoPrecioService;
     @Mock private PagoService pagoService;
     @Mock private ReceiptBuilderService receiptBuilderService;
+    @Mock private ResumenVentaHorariaService resumenVentaHorariaService;
+    @Mock private EstadisticaClienteService estadisticaClienteService;
+    @Mock private TotalCajaService totalCajaService;
     @Mock private VentaMapper ventaMapper;
     @Mock private AvailabilityChecker checker;
+    @Mock private EventoOutboxService eventoOutboxService;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy private MetricasVentaService metricasVentaService =
+            new MetricasVentaService(meterRegistry, ObservationRegistry.NOOP);
     @InjectMocks
     private VentaService ventaService;
     private Usuario usuario;
@@ -130,6 +144,8 @@ class VentaServiceTest {
         VentaResponse result = ventaService.actualizarCliente(1L, req);
         assertNotNull(result);
         verify(ventaRepository).save(any(Venta.class));
+        verify(estadisticaClienteService).descontarCompra(venta);
+        verify(estadisticaClienteService).registrarCompra(venta);
     }
 
     @Test
@@ -149,27 +165,119 @@ class VentaServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> ventaService.obtenerVenta(1L));
     }
 
+    private VentaResumenResponse resumen(long id, ZonedDateTime fecha) {
+        return VentaResumenResponse.builder().ventaId(id).fecha(fecha).build();
+    }
+
     @Test
-    @DisplayName("Test para listar las ventas, debe devolver una lista")
-    void listarVentas_deberiaRetornarListaDeVentas() {
-        when(ventaRepository.findAll()).thenReturn(List.of(venta));
-        when(ventaMapper.toResponse(any())).thenReturn(new VentaResponse());
-        List<VentaResponse> result = ventaService.listarVentas();
-        assertEquals(1, result.size());
+    @DisplayName("Test para listar ventas sin cursor, debe pedir la primera página con una fila extra")
+    void listarVentas_primeraPagina_deberiaEntregarCursorSiguiente() {
+        ZonedDateTime fecha = ZonedDateTime.of(2024, 10, 19, 12, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+        when(ventaRepository.findResumenAntesDe(CursorUtils.FECHA_INICIAL, CursorUtils.ID_INICIAL, PageRequest.of(0, 3)))
+                .thenReturn(List.of(resumen(30L, fecha), resumen(29L, fecha), resumen(28L, fecha.minusHours(1))));
+
+        CursorResponse<VentaResumenResponse> result = ventaService.listarVentas(null, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        CursorUtils.Posicion siguiente = CursorUtils.decodificar(result.getNextCursor());
+        assertEquals(29L, siguiente.id());
+        assertEquals(fecha.toInstant(), siguiente.fecha().toInstant());
+        verify(ventaRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Test para listar ventas con cursor, debe continuar desde la posición del cursor")
+    void listarVentas_conCursor_deberiaBuscarDesdePosicion() {
+        ZonedDateTime fecha = ZonedDateTime.of(2024, 10, 19, 12, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO);
+        String cursor = CursorUtils.codificar(fecha, 29L);
+        when(ventaRepository.findResumenAntesDe(any(), eq(29L), any(Pageable.class)))
+                .thenReturn(List.of(resumen(28L, fecha.minusHours(1))));
+
+        CursorResponse<VentaResumenResponse> result = ventaService.listarVentas(cursor, 2);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test para listar ventas con tamaño excesivo, debe limitarlo al máximo permitido")
+    void listarVentas_tamanioExcesivo_deberiaLimitarse() {
+        when(ventaRepository.findResumenAntesDe(any(), any(), any(Pageable.class))).thenReturn(List.of());
+
+        ventaService.listarVentas(null, 5000);
+
+        verify(ventaRepository).findResumenAntesDe(any(), any(), eq(PageRequest.of(0, CursorUtils.TAMANIO_MAXIMO + 1)));
+    }
+
+    @Test
+    @DisplayName("Test para listar ventas con cursor inválido, debe lanzar IllegalArgumentException")
+    void listarVentas_cursorInvalido_deberiaLanzarExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> ventaService.listarVentas("no-es-un-cursor", 10));
+        verifyNoInteractions(ventaRepository);
     }
 
     @Test
     @DisplayName("Test para obtener las ventas filtradas, debe devolver la pagina")
     void getVentasFiltradas_deberiaRetornarPagina() {
-        Page<Venta> ventasPage = new PageImpl<>(List.of(venta));
-        when(ventaRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(ventasPage);
-        when(ventaMapper.toResponse(any())).thenReturn(new VentaResponse());
+        Page<VentaResponse> ventasPage = new PageImpl<>(List.of(new VentaResponse()));
+        when(ventaRepository.findVentaResponses(any(Specification.class), any(Pageable.class))).thenReturn(ventasPage);
 
         PaginacionResponse<VentaResponse> resp = ventaService.getVentasFiltradas(
                 0, 10, "fecha", null, null, null);
 
         assertNotNull(resp);
         assertEquals(1, resp.getContent().size());
+        verify(ventaRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verifyNoInteractions(ventaMapper);
+    }
+
+    @Test
+    @DisplayName("Test para obtener ventas filtradas por cursor, primera página calcula el total")
+    void getVentasFiltradasCursor_primeraPagina_deberiaCalcularTotal() {
+        VentaResponse otra = VentaResponse.builder().ventaId(2L).fecha(ZonedDateTime.now()).build();
+        VentaResponse anterior = VentaResponse.builder().ventaId(1L).fecha(ZonedDateTime.now().minusHours(1)).build();
+        when(ventaRepository.findVentaResponses(any(Specification.class), any(Sort.class), eq(2))).thenReturn(List.of(otra, anterior));
+        when(ventaRepository.count(any(Specification.class))).thenReturn(7L);
+
+        CursorResponse<VentaResponse> resp = ventaService.getVentasFiltradasCursor(null, 1, null, null, new VentaFilterDTO());
+
+        assertEquals(1, resp.getContent().size());
+        assertTrue(resp.isHasNext());
+        assertEquals(7L, resp.getTotalElements());
+        assertEquals(2L, CursorUtils.decodificar(resp.getNextCursor()).id());
+    }
+
+    @Test
+    @DisplayName("Test para obtener ventas filtradas con cursor, no repite el conteo")
+    void getVentasFiltradasCursor_conCursor_noDeberiaContar() {
+        VentaResponse unica = VentaResponse.builder().ventaId(1L).fecha(ZonedDateTime.now()).build();
+        when(ventaRepository.findVentaResponses(any(Specification.class), any(Sort.class), eq(11))).thenReturn(List.of(unica));
+
+        String cursor = CursorUtils.codificar(ZonedDateTime.now(), 50L);
+        CursorResponse<VentaResponse> resp = ventaService.getVentasFiltradasCursor(cursor, 10, null, null, new VentaFilterDTO());
+
+        assertFalse(resp.isHasNext());
+        assertNull(resp.getNextCursor());
+        assertNull(resp.getTotalElements());
+        verify(ventaRepository, never()).count(any(Specification.class));
+        verify(ventaRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Test para crear venta con uuid ya registrado, debe devolver la existente sin crear otra")
+    void crearVenta_uuidExistente_deberiaSerIdempotente() {
+        UUID uuid = UUID.randomUUID();
+        VentaRequest request = VentaRequest.builder().usuarioId(1L).uuid(uuid).build();
+        when(ventaRepository.findByUuid(uuid)).thenReturn(Optional.of(venta));
+        when(ventaMapper.toResponse(venta)).thenReturn(VentaResponse.builder().ventaId(1L).build());
+
+        VentaResponse resp = ventaService.crearVenta(request);
+
+        assertEquals(1L, resp.getVentaId());
+        verify(ventaRepository, never()).save(any());
+        verifyNoInteractions(gestorInventarioService, cajaRepository);
     }
 
     @Test
@@ -184,6 +292,9 @@ class VentaServiceTest {
 
         ventaService.eliminarVenta(1L, 1L);
         verify(ventaRepository).delete(venta);
+        verify(resumenVentaHorariaService).descontarVenta(venta);
+        verify(estadisticaClienteService).descontarCompra(venta);
+        verify(totalCajaService).descontarVenta(venta);
         verify(gestorInventarioService, atLeastOnce())
                 .registrarMovimientoManual(any(), anyInt(), any(), any(), anyLong());
 
@@ -251,6 +362,12 @@ class VentaServiceTest {
         VentaResponse result = ventaService.crearVenta(request);
         assertNotNull(result);
         verify(ventaRepository).save(any(Venta.class));
+        verify(resumenVentaHorariaService).registrarVenta(any(Venta.class));
+        verify(estadisticaClienteService).registrarCompra(any(Venta.class));
+        verify(totalCajaService).registrarVenta(any(Venta.class));
+        verify(metricasVentaService).iniciarVenta(request);
+        assertEquals(1, meterRegistry.get(MetricasVentaService.CONTADOR_VENTAS).counter().count());
+        assertEquals(2, meterRegistry.get(MetricasVentaService.CONTADOR_ITEMS).counter().count());
     }
 
     @Test
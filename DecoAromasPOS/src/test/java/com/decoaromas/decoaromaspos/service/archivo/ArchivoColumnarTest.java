@@ -0,0 +1,126 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchivoColumnarTest {
+
+    private static final List<ColumnaArchivo> COLUMNAS = List.of(
+            new ColumnaArchivo("venta_id", TipoColumna.ENTERO, 0),
+            new ColumnaArchivo("total_neto", TipoColumna.DECIMAL, 2),
+            new ColumnaArchivo("fecha", TipoColumna.FECHA_HORA, 0),
+            new ColumnaArchivo("estado", TipoColumna.TEXTO, 0));
+
+    @TempDir
+    Path carpeta;
+
+    private static Object[] fila(long i) {
+        return new Object[]{
+                i,
+                i % 7 == 0 ? null : BigDecimal.valueOf(i * 150 - 3_000, 2),
+                OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000, ZoneOffset.UTC).plusMinutes(i * 13),
+                i % 5 == 0 ? null : (i % 3 == 0 ? "ANULADA" : "EMITIDA")};
+    }
+
+    private long escribir(Path archivo, long filas) throws IOException {
+        try (EscritorColumnar escritor = new EscritorColumnar(archivo, COLUMNAS)) {
+            for (long i = 0; i < filas; i++) {
+                escritor.agregar(fila(i));
+            }
+            escritor.close();
+            return escritor.getCrc32();
+        }
+    }
+
+    @Test
+    @DisplayName("Test para leer un archivo columnar, debe devolver las mismas filas en varios grupos")
+    void leer_deberiaDevolverLasFilasEscritas() throws IOException {
+        Path archivo = carpeta.resolve("venta.dcol");
+        long filas = EscritorColumnar.FILAS_POR_GRUPO + 1_000L;
+        long crc = escribir(archivo, filas);
+
+        List<Object[]> leidas = new ArrayList<>();
+        try (LectorColumnar lector = new LectorColumnar(archivo)) {
+            assertThat(lector.getColumnas()).isEqualTo(COLUMNAS);
+            assertThat(lector.leer(null, fila -> leidas.add(fila.clone()))).isEqualTo(filas);
+            assertThat(lector.getCrc32()).isEqualTo(crc);
+        }
+        assertThat(leidas).hasSize((int) filas);
+        for (int i : new int[]{0, 1, 5, 7, 35, EscritorColumnar.FILAS_POR_GRUPO, (int) filas - 1}) {
+            assertThat(Arrays.asList(leidas.get(i))).containsExactly(fila(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test para leer con proyección, debe dejar en null las columnas no pedidas y mantener el CRC")
+    void leer_conProyeccion_deberiaOmitirColumnas() throws IOException {
+        Path archivo = carpeta.resolve("venta.dcol");
+        long crc = escribir(archivo, 10);
+
+        BigDecimal[] total = {BigDecimal.ZERO};
+        try (LectorColumnar lector = new LectorColumnar(archivo)) {
+            lector.leer(Set.of("total_neto"), fila -> {
+                assertThat(fila[0]).isNull();
+                assertThat(fila[3]).isNull();
+                if (fila[1] != null) {
+                    total[0] = total[0].add((BigDecimal) fila[1]);
+                }
+            });
+            assertThat(lector.getCrc32()).isEqualTo(crc);
+        }
+        // Filas 1..9 sin la 7: 150 * (45 - 7) - 3000 * 8 centavos
+        assertThat(total[0]).isEqualByComparingTo("-183.00");
+    }
+
+    @Test
+    @DisplayName("Test para escribir un decimal con más decimales que la columna, debe fallar sin redondear")
+    void agregar_conDecimalFueraDeEscala_deberiaFallar() throws IOException {
+        EscritorColumnar escritor = new EscritorColumnar(carpeta.resolve("venta.dcol"), COLUMNAS);
+        escritor.agregar(new Object[]{1L, new BigDecimal("10.005"), null, null});
+
+        assertThatThrownBy(escritor::close).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Test para verificar un archivo modificado, debe detectar que el CRC no coincide")
+    void verificar_conArchivoModificado_deberiaFallar() throws IOException {
+        Path archivo = carpeta.resolve("venta.dcol");
+        long crc = escribir(archivo, 100);
+        ManifiestoArchivo manifiesto = new ManifiestoArchivo(2024, OffsetDateTime.now(), EscritorColumnar.VERSION,
+                Map.of("venta", new ManifiestoArchivo.ArchivoTabla("venta.dcol", 100, Files.size(archivo), crc)),
+                totalNeto(100));
+
+        ArchivoVentasService.verificar(carpeta, manifiesto);
+
+        byte[] bytes = Files.readAllBytes(archivo);
+        bytes[bytes.length - 10] ^= 0x01;
+        Files.write(archivo, bytes);
+        assertThatThrownBy(() -> ArchivoVentasService.verificar(carpeta, manifiesto)).isInstanceOf(IOException.class);
+    }
+
+    private static BigDecimal totalNeto(long filas) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (long i = 0; i < filas; i++) {
+            if (fila(i)[1] instanceof BigDecimal valor) {
+                total = total.add(valor);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.repository.AnioArchivadoRepository;
+import com.decoaromas.decoaromaspos.repository.SnapshotStockRepository;
+import com.decoaromas.decoaromaspos.service.SnapshotStockService;
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Year;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArchivoVentasServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private AnioArchivadoRepository anioArchivadoRepository;
+    @Mock private SnapshotStockService snapshotStockService;
+    @Mock private SnapshotStockRepository snapshotStockRepository;
+    @Mock private ObjectMapper objectMapper;
+    @InjectMocks
+    private ArchivoVentasService archivoVentasService;
+
+    private static int anioActual() {
+        return Year.now(DateUtils.ZONE_ID_SANTIAGO).getValue();
+    }
+
+    @Test
+    @DisplayName("Test para archivar el año actual, debe lanzar BusinessException")
+    void archivarAnio_anioNoCerrado_deberiaLanzarExcepcion() {
+        assertThatThrownBy(() -> archivoVentasService.archivarAnio(anioActual()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("años cerrados");
+        verifyNoInteractions(jdbcTemplate, snapshotStockService);
+    }
+
+    @Test
+    @DisplayName("Test para archivar un año ya archivado, debe lanzar BusinessException")
+    void archivarAnio_yaArchivado_deberiaLanzarExcepcion() {
+        when(anioArchivadoRepository.existsById(2020)).thenReturn(true);
+
+        assertThatThrownBy(() -> archivoVentasService.archivarAnio(2020))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("ya está archivado");
+        verifyNoInteractions(jdbcTemplate, snapshotStockService);
+    }
+
+    @Test
+    @DisplayName("Test para archivar sin snapshot posterior al año, debe lanzar BusinessException sin exportar")
+    void archivarAnio_sinSnapshotPosterior_deberiaLanzarExcepcion() {
+        when(anioArchivadoRepository.existsById(2020)).thenReturn(false);
+        when(snapshotStockRepository.findUltimoCorte())
+                .thenReturn(ZonedDateTime.of(2020, 12, 1, 0, 0, 0, 0, DateUtils.ZONE_ID_SANTIAGO));
+        when(jdbcTemplate.queryForObject(contains("movimiento_inventario"), eq(Boolean.class), any()))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> archivoVentasService.archivarAnio(2020))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("snapshot");
+        verify(snapshotStockService).generarSnapshots();
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Test para el archivado programado deshabilitado, no debe consultar")
+    void archivarAniosAntiguos_deshabilitado_noDeberiaHacerNada() {
+        archivoVentasService.archivarAniosAntiguos();
+
+        verifyNoInteractions(jdbcTemplate, anioArchivadoRepository);
+    }
+
+    @Test
+    @DisplayName("Test para el archivado programado, debe omitir los años en línea y los ya archivados")
+    void archivarAniosAntiguos_deberiaArchivarSoloAniosAntiguosPendientes() {
+        ReflectionTestUtils.setField(archivoVentasService, "habilitado", true);
+        ReflectionTestUtils.setField(archivoVentasService, "aniosEnLinea", 3);
+        int primerAnio = anioActual() - 4;
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(primerAnio);
+        when(anioArchivadoRepository.findAnios()).thenReturn(List.of(primerAnio));
+        // El siguiente año no está archivado: el intento se detiene en la validación de snapshot
+        when(anioArchivadoRepository.existsById(primerAnio + 1)).thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("movimiento_inventario"), eq(Boolean.class), any()))
+                .thenReturn(true);
+
+        archivoVentasService.archivarAniosAntiguos();
+
+        verify(anioArchivadoRepository, never()).existsById(primerAnio);
+        verify(anioArchivadoRepository).existsById(primerAnio + 1);
+        verify(anioArchivadoRepository, never()).existsById(primerAnio + 2);
+    }
+}
@@ -0,0 +1,48 @@
+package com.decoaromas.decoaromaspos.service.archivo;
+
+import com.decoaromas.decoaromaspos.utils.DateUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsultaHistoricaAspectTest {
+
+    @Test
+    @DisplayName("Test para años consultados con anio, debe usar ese año")
+    void aniosConsultados_conAnio_deberiaUsarElAnio() {
+        assertThat(ConsultaHistoricaAspect.aniosConsultados(new String[]{"anio", "mes"}, new Object[]{2023, 4}))
+                .containsExactly(2023);
+    }
+
+    @Test
+    @DisplayName("Test para años consultados con un periodo, debe incluir todos los años entre inicio y fin")
+    void aniosConsultados_conPeriodo_deberiaIncluirElRango() {
+        assertThat(ConsultaHistoricaAspect.aniosConsultados(new String[]{"fechaInicio", "fechaFin"},
+                new Object[]{LocalDate.of(2022, 11, 1), LocalDate.of(2024, 2, 1)}))
+                .containsExactly(2022, 2023, 2024);
+    }
+
+    @Test
+    @DisplayName("Test para años consultados con fechas en UTC, debe usar el año en Santiago")
+    void aniosConsultados_conZonedDateTime_deberiaUsarZonaSantiago() {
+        ZonedDateTime inicio = ZonedDateTime.of(2025, 1, 1, 2, 0, 0, 0, ZoneOffset.UTC);
+        assertThat(inicio.withZoneSameInstant(DateUtils.ZONE_ID_SANTIAGO).getYear()).isEqualTo(2024);
+
+        assertThat(ConsultaHistoricaAspect.aniosConsultados(new String[]{"inicio", "fin"},
+                new Object[]{inicio, inicio.plusMonths(1)}))
+                .containsExactly(2024, 2025);
+    }
+
+    @Test
+    @DisplayName("Test para años consultados sin periodo completo, debe devolver vacío")
+    void aniosConsultados_sinPeriodo_deberiaDevolverVacio() {
+        assertThat(ConsultaHistoricaAspect.aniosConsultados(new String[]{"fechaInicio", "pagina"},
+                new Object[]{LocalDate.of(2024, 1, 1), 0})).isEmpty();
+        assertThat(ConsultaHistoricaAspect.aniosConsultados(null, new Object[0])).isEmpty();
+    }
+}
@@ -0,0 +1,118 @@
+package com.decoaromas.decoaromaspos.service.evento;
+
+import com.decoaromas.decoaromaspos.dto.evento.EventoDominio;
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+import com.decoaromas.decoaromaspos.model.EventoOutbox;
+import com.decoaromas.decoaromaspos.repository.EventoOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventoOutboxPublicadorTest {
+
+    @Mock private EventoOutboxRepository eventoOutboxRepository;
+    @Mock private ObjectProvider<EventoDominioListener> listeners;
+    @Mock private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private EventoOutboxPublicador publicador;
+
+    // Listener que falla con los eventos de los agregados indicados
+    private final List<Long> recibidos = new ArrayList<>();
+    private final List<Long> agregadosQueFallan = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(publicador, "tamanioLote", 200);
+        ReflectionTestUtils.setField(publicador, "maxIntentos", 3);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        EventoDominioListener listener = (EventoDominio evento) -> {
+            if (agregadosQueFallan.contains(evento.getAgregadoId())) {
+                throw new IllegalStateException("Servicio externo no disponible");
+            }
+            recibidos.add(evento.getEventoId());
+        };
+        lenient().when(listeners.orderedStream()).thenAnswer(inv -> Stream.of(listener));
+    }
+
+    private EventoOutbox evento(Long id, Long ventaId, int intentos) {
+        return EventoOutbox.builder().eventoId(id).tipoAgregado(TipoAgregado.VENTA).agregadoId(ventaId)
+                .tipo(TipoEvento.VENTA_CREADA).payload("{}").procesado(false).intentos(intentos).build();
+    }
+
+    @Test
+    @DisplayName("Test para publicar pendientes, debe entregar en orden y marcar como procesados")
+    void publicarPendientes_deberiaEntregarEnOrden() {
+        List<EventoOutbox> lote = List.of(evento(1L, 10L, 0), evento(2L, 11L, 0), evento(3L, 10L, 0));
+        when(eventoOutboxRepository.findPendientesParaPublicar(200)).thenReturn(lote);
+
+        int entregados = publicador.publicarPendientes();
+
+        assertThat(entregados).isEqualTo(3);
+        assertThat(recibidos).containsExactly(1L, 2L, 3L);
+        assertThat(lote).allSatisfy(e -> {
+            assertThat(e.getProcesado()).isTrue();
+            assertThat(e.getProcesadoEn()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Test para publicar pendientes, un fallo debe retener los eventos siguientes del mismo agregado")
+    void publicarPendientes_conFallo_deberiaRetenerAgregado() {
+        agregadosQueFallan.add(10L);
+        EventoOutbox fallido = evento(1L, 10L, 0);
+        EventoOutbox siguiente = evento(3L, 10L, 0);
+        List<EventoOutbox> lote = List.of(fallido, evento(2L, 11L, 0), siguiente);
+        when(eventoOutboxRepository.findPendientesParaPublicar(200)).thenReturn(lote);
+
+        int entregados = publicador.publicarPendientes();
+
+        assertThat(entregados).isEqualTo(1);
+        assertThat(recibidos).containsExactly(2L);
+        assertThat(fallido.getProcesado()).isFalse();
+        assertThat(fallido.getIntentos()).isEqualTo(1);
+        assertThat(fallido.getUltimoError()).isEqualTo("Servicio externo no disponible");
+        assertThat(siguiente.getProcesado()).isFalse();
+        assertThat(siguiente.getIntentos()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test para publicar pendientes, al agotar los intentos debe descartar el evento y seguir con el agregado")
+    void publicarPendientes_intentosAgotados_deberiaDescartar() {
+        agregadosQueFallan.add(10L);
+        EventoOutbox agotado = evento(1L, 10L, 2);
+        when(eventoOutboxRepository.findPendientesParaPublicar(200)).thenReturn(List.of(agotado));
+
+        int entregados = publicador.publicarPendientes();
+
+        assertThat(entregados).isZero();
+        assertThat(agotado.getProcesado()).isTrue();
+        assertThat(agotado.getIntentos()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test para publicar pendientes, sin pendientes no debe consultar listeners")
+    void publicarPendientes_sinPendientes_noDeberiaEntregar() {
+        when(eventoOutboxRepository.findPendientesParaPublicar(200)).thenReturn(List.of());
+
+        assertThat(publicador.publicarPendientes()).isZero();
+        verify(listeners, never()).orderedStream();
+    }
+}
@@ -0,0 +1,57 @@
+package com.decoaromas.decoaromaspos.service.evento;
+
+import com.decoaromas.decoaromaspos.dto.evento.StockEvento;
+import com.decoaromas.decoaromaspos.enums.MotivoMovimiento;
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+import com.decoaromas.decoaromaspos.model.EventoOutbox;
+import com.decoaromas.decoaromaspos.repository.EventoOutboxLoteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventoOutboxServiceTest {
+
+    @Mock private EventoOutboxLoteRepository eventoOutboxLoteRepository;
+    @Spy private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @InjectMocks
+    private EventoOutboxService eventoOutboxService;
+
+    @Test
+    @DisplayName("Test para registrar, debe guardar el evento pendiente con el payload en JSON")
+    void registrar_deberiaGuardarPendienteConPayloadJson() {
+        StockEvento payload = new StockEvento(5L, 3, 1, MotivoMovimiento.VENTA);
+
+        eventoOutboxService.registrar(TipoAgregado.PRODUCTO, 5L, TipoEvento.STOCK_ACTUALIZADO, payload);
+
+        verify(eventoOutboxLoteRepository).insertar(argThat(eventos -> {
+            EventoOutbox e = eventos.get(0);
+            return eventos.size() == 1
+                    && e.getTipoAgregado() == TipoAgregado.PRODUCTO
+                    && e.getAgregadoId() == 5L
+                    && !e.getProcesado()
+                    && e.getIntentos() == 0
+                    && e.getFecha() != null
+                    && e.getPayload().contains("\"stockNuevo\":1");
+        }));
+    }
+
+    @Test
+    @DisplayName("Test para registrar todos, una lista vacía no debe ir a la base")
+    void registrarTodos_listaVacia_noDeberiaInsertar() {
+        eventoOutboxService.registrarTodos(List.of());
+
+        verify(eventoOutboxLoteRepository, never()).insertar(anyList());
+    }
+}
@@ -0,0 +1,51 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.producto.ConteoStockItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorConteoStockTest {
+
+    private final LectorConteoStock lector = new LectorConteoStock();
+
+    private List<ConteoStockItem> leer(String contenido) {
+        return lector.leer(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Test para leer conteo CSV, debe leer SKU o código de barras y cantidad")
+    void leer_deberiaLeerCadaFila() {
+        List<ConteoStockItem> items = leer("""
+                sku,codigo_barras,cantidad
+                VEL-1,,12
+                ,7800001,0
+
+                DIF-2,7800002,5
+                """);
+
+        assertEquals(3, items.size());
+        assertEquals("VEL-1", items.get(0).getSku());
+        assertEquals(12, items.get(0).getCantidad());
+        assertEquals("", items.get(1).getSku());
+        assertEquals("7800001", items.get(1).getCodigoBarras());
+        assertEquals(0, items.get(1).getCantidad());
+    }
+
+    @Test
+    @DisplayName("Test para leer conteo CSV con cantidad inválida, debe lanzar IllegalArgumentException con la línea")
+    void leer_cantidadInvalida_deberiaLanzarExcepcion() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> leer("""
+                sku,cantidad
+                VEL-1,12
+                DIF-2,doce
+                """));
+
+        assertEquals("Línea 3: cantidad inválida 'doce'", ex.getMessage());
+    }
+}
@@ -0,0 +1,88 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.enums.FormatoImportacion;
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorVentasImportacionTest {
+
+    private final LectorVentasImportacion lector = new LectorVentasImportacion(Jackson2ObjectMapperBuilder.json().build());
+
+    private List<VentaImportada> leer(String contenido, FormatoImportacion formato) {
+        List<VentaImportada> ventas = new ArrayList<>();
+        lector.leer(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), formato, ventas::add);
+        return ventas;
+    }
+
+    @Test
+    @DisplayName("Test para leer JSONL, una venta por línea y errores por línea")
+    void leer_jsonl_deberiaLeerCadaLinea() {
+        String contenido = """
+                {"fecha":"2024-05-01T12:30:00-04:00","venta":{"usuarioId":1,"tipoCliente":"DETALLE","detalles":[{"productoId":10,"cantidad":2}],"pagos":[{"medioPago":"EFECTIVO","monto":2000}]}}
+
+                {esto no es json}
+                {"fecha":"2024-05-01T13:00:00-04:00"}
+                """;
+
+        List<VentaImportada> ventas = leer(contenido, FormatoImportacion.JSONL);
+
+        assertEquals(3, ventas.size());
+        VentaImportada primera = ventas.get(0);
+        assertNull(primera.error());
+        assertEquals(1, primera.linea());
+        assertEquals(ZonedDateTime.parse("2024-05-01T12:30:00-04:00").toInstant(), primera.fecha().toInstant());
+        assertEquals(2, primera.venta().getDetalles().get(0).getCantidad());
+        assertEquals(MedioPago.EFECTIVO, primera.venta().getPagos().get(0).getMedioPago());
+
+        assertEquals(3, ventas.get(1).linea());
+        assertTrue(ventas.get(1).error().startsWith("JSON inválido"));
+        assertEquals(4, ventas.get(2).linea());
+        assertNotNull(ventas.get(2).error());
+    }
+
+    @Test
+    @DisplayName("Test para leer CSV, debe agrupar las filas de cada ticket en una venta")
+    void leer_csv_deberiaAgruparPorTicket() {
+        String contenido = """
+                ticket,fecha,usuario_id,tipo_cliente,cliente_id,tipo_documento,producto_id,cantidad,medio_pago,monto_pago
+                T-1,2024-05-01 10:15,1,MAYORISTA,5,BOLETA,10,2,EFECTIVO,1500
+                T-1,,,,,,11,1,BCI,500
+                T-2,2024-05-01 11:00,1,,,,10,1,EFECTIVO,1000
+                T-3,2024-05-01 11:30,x,,,,10,1,EFECTIVO,1000
+                """;
+
+        List<VentaImportada> ventas = leer(contenido, FormatoImportacion.CSV);
+
+        assertEquals(3, ventas.size());
+        VentaImportada t1 = ventas.get(0);
+        assertEquals("T-1", t1.referencia());
+        assertEquals(2, t1.linea());
+        assertEquals(TipoCliente.MAYORISTA, t1.venta().getTipoCliente());
+        assertEquals(5L, t1.venta().getClienteId());
+        assertEquals(2, t1.venta().getDetalles().size());
+        assertEquals(2, t1.venta().getPagos().size());
+        assertEquals(10, t1.fecha().getHour());
+
+        VentaImportada t2 = ventas.get(1);
+        assertEquals(TipoCliente.DETALLE, t2.venta().getTipoCliente());
+        assertNull(t2.venta().getClienteId());
+
+        // El uuid se deriva del ticket: reimportar el archivo genera los mismos uuids
+        assertEquals(t1.venta().getUuid(), leer(contenido, FormatoImportacion.CSV).get(0).venta().getUuid());
+        assertNotEquals(t1.venta().getUuid(), t2.venta().getUuid());
+
+        assertEquals(5, ventas.get(2).linea());
+        assertNotNull(ventas.get(2).error());
+    }
+}
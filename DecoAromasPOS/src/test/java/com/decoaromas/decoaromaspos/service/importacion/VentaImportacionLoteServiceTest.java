@@ -0,0 +1,162 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.enums.EstadoCaja;
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoAgregado;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.enums.TipoEvento;
+import com.decoaromas.decoaromaspos.mapper.VentaMapper;
+import com.decoaromas.decoaromaspos.model.*;
+import com.decoaromas.decoaromaspos.repository.*;
+import com.decoaromas.decoaromaspos.service.AlertaStockService;
+import com.decoaromas.decoaromaspos.service.TotalCajaService;
+import com.decoaromas.decoaromaspos.service.VentaService;
+import com.decoaromas.decoaromaspos.service.evento.EventoOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VentaImportacionLoteServiceTest {
+
+    @Mock private VentaRepository ventaRepository;
+    @Mock private ProductoRepository productoRepository;
+    @Mock private UsuarioRepository usuarioRepository;
+    @Mock private ClienteRepository clienteRepository;
+    @Mock private VentaLoteRepository ventaLoteRepository;
+    @Mock private VentaService ventaService;
+    @Mock private AlertaStockService alertaStockService;
+    @Mock private EventoOutboxService eventoOutboxService;
+    @Mock private VentaMapper ventaMapper;
+    @Mock private TotalCajaService totalCajaService;
+
+    @InjectMocks
+    private VentaImportacionLoteService loteService;
+
+    private final Caja caja = Caja.builder().cajaId(3L).estado(EstadoCaja.ABIERTA).build();
+    private final Usuario usuario = Usuario.builder().usuarioId(1L).nombre("Ana").build();
+    private Producto vela;
+
+    @BeforeEach
+    void setup() {
+        vela = Producto.builder().productoId(10L).nombre("Vela").precioDetalle(1000.0).stock(5).build();
+        lenient().when(productoRepository.findAllByIdParaActualizar(any())).thenReturn(List.of(vela));
+        lenient().when(usuarioRepository.findAllById(any())).thenReturn(List.of(usuario));
+        // Cálculo real de la venta reemplazado por una venta con un detalle por línea del request
+        lenient().when(ventaService.calcularVenta(any(), any())).thenAnswer(inv -> {
+            VentaRequest r = inv.getArgument(0);
+            Function<Long, Producto> catalogo = inv.getArgument(1);
+            Venta v = new Venta();
+            r.getDetalles().forEach(d -> v.addDetalle(DetalleVenta.builder()
+                    .producto(catalogo.apply(d.getProductoId())).cantidad(d.getCantidad()).build()));
+            return v;
+        });
+    }
+
+    private VentaImportada venta(int linea, int cantidad, UUID uuid) {
+        PagoRequest pago = new PagoRequest();
+        pago.setMedioPago(MedioPago.EFECTIVO);
+        pago.setMonto(1000.0 * cantidad);
+        VentaRequest request = VentaRequest.builder()
+                .uuid(uuid)
+                .usuarioId(1L)
+                .tipoCliente(TipoCliente.DETALLE)
+                .detalles(List.of(DetalleVentaRequest.builder().productoId(10L).cantidad(cantidad).build()))
+                .pagos(List.of(pago))
+                .build();
+        return new VentaImportada(linea, "T-" + linea, ZonedDateTime.now().minusDays(30), request, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MovimientoInventario> movimientosInsertados(List<Venta> ventas) {
+        ArgumentCaptor<List<MovimientoInventario>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ventaLoteRepository).insertar(eq(ventas), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Test para procesar lote, debe descontar el stock una vez con la suma del lote")
+    void procesarLote_deberiaDescontarStockAgregado() {
+        VentaImportacionLoteService.ResultadoLote resultado = loteService.procesarLote(caja,
+                List.of(venta(1, 2, null), venta(2, 3, null)));
+
+        assertEquals(2, resultado.creadas().size());
+        assertTrue(resultado.errores().isEmpty());
+        assertEquals(0, vela.getStock());
+        verify(productoRepository, times(1)).findAllByIdParaActualizar(any());
+        Venta primera = resultado.creadas().get(0);
+        assertSame(caja, primera.getCaja());
+        assertSame(usuario, primera.getUsuario());
+        assertEquals(2, movimientosInsertados(resultado.creadas()).size());
+        verify(totalCajaService).registrarVentas(resultado.creadas());
+    }
+
+    @Test
+    @DisplayName("Test para procesar lote, debe registrar un evento por venta creada y por producto en un solo batch")
+    void procesarLote_deberiaRegistrarEventosEnLote() {
+        loteService.procesarLote(caja, List.of(venta(1, 2, null), venta(2, 3, null)));
+
+        verify(eventoOutboxService).crear(eq(TipoAgregado.PRODUCTO), eq(10L), eq(TipoEvento.STOCK_ACTUALIZADO), any());
+        verify(eventoOutboxService, times(2)).crear(eq(TipoAgregado.VENTA), any(), eq(TipoEvento.VENTA_CREADA), any());
+        verify(eventoOutboxService, times(1)).registrarTodos(argThat(eventos -> eventos.size() == 3));
+    }
+
+    @Test
+    @DisplayName("Test para procesar lote, una venta sin stock se informa y las demás se importan")
+    void procesarLote_sinStock_deberiaInformarErrorPorVenta() {
+        VentaImportacionLoteService.ResultadoLote resultado = loteService.procesarLote(caja,
+                List.of(venta(1, 4, null), venta(2, 4, null), venta(3, 1, null)));
+
+        assertEquals(2, resultado.creadas().size());
+        assertEquals(1, resultado.errores().size());
+        assertEquals(2, resultado.errores().get(0).getLinea());
+        assertEquals("Stock insuficiente para producto Vela", resultado.errores().get(0).getMensaje());
+        assertEquals(0, vela.getStock());
+    }
+
+    @Test
+    @DisplayName("Test para procesar lote, debe omitir ventas con uuid ya importado")
+    void procesarLote_uuidExistente_deberiaOmitir() {
+        UUID importada = UUID.randomUUID();
+        UUID nueva = UUID.randomUUID();
+        when(ventaRepository.findUuidsExistentes(any())).thenReturn(List.of(importada));
+
+        VentaImportacionLoteService.ResultadoLote resultado = loteService.procesarLote(caja,
+                List.of(venta(1, 1, importada), venta(2, 1, nueva), venta(3, 1, nueva)));
+
+        assertEquals(1, resultado.creadas().size());
+        assertEquals(nueva, resultado.creadas().get(0).getUuid());
+        assertEquals(2, resultado.omitidas());
+        assertEquals(4, vela.getStock());
+    }
+
+    @Test
+    @DisplayName("Test para procesar lote, usuario inexistente debe informarse como error")
+    void procesarLote_usuarioInexistente_deberiaInformarError() {
+        when(usuarioRepository.findAllById(any())).thenReturn(List.of());
+
+        VentaImportacionLoteService.ResultadoLote resultado = loteService.procesarLote(caja, List.of(venta(1, 1, null)));
+
+        assertTrue(resultado.creadas().isEmpty());
+        assertEquals("No existe usuario con id 1", resultado.errores().get(0).getMensaje());
+        assertEquals(5, vela.getStock());
+        verify(ventaLoteRepository, never()).insertar(any(), any());
+    }
+}
@@ -0,0 +1,107 @@
+package com.decoaromas.decoaromaspos.service.importacion;
+
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.importacion.ImportacionVentasResponse;
+import com.decoaromas.decoaromaspos.enums.EstadoCaja;
+import com.decoaromas.decoaromaspos.enums.FormatoImportacion;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.model.Caja;
+import com.decoaromas.decoaromaspos.repository.AnioArchivadoRepository;
+import com.decoaromas.decoaromaspos.service.CajaService;
+import com.decoaromas.decoaromaspos.service.EstadisticaClienteService;
+import com.decoaromas.decoaromaspos.service.ParticionVentaService;
+import com.decoaromas.decoaromaspos.service.ResumenVentaHorariaService;
+import com.decoaromas.decoaromaspos.service.SnapshotStockService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VentaImportacionServiceTest {
+
+    @Mock private LectorVentasImportacion lector;
+    @Mock private VentaImportacionLoteService loteService;
+    @Mock private CajaService cajaService;
+    @Mock private ResumenVentaHorariaService resumenVentaHorariaService;
+    @Mock private EstadisticaClienteService estadisticaClienteService;
+    @Mock private SnapshotStockService snapshotStockService;
+    @Mock private AnioArchivadoRepository anioArchivadoRepository;
+    @Mock private ParticionVentaService particionVentaService;
+    @InjectMocks
+    private VentaImportacionService importacionService;
+
+    private final InputStream archivo = new ByteArrayInputStream(new byte[0]);
+
+    @Test
+    @DisplayName("Test para importar, las ventas deben ir a una caja propia que se cierra al terminar")
+    void importar_deberiaUsarCajaPropiaYCerrarla() {
+        ReflectionTestUtils.setField(importacionService, "tamanioLote", 500);
+        Caja cajaImportacion = Caja.builder().cajaId(7L).estado(EstadoCaja.CERRADA).build();
+        when(cajaService.crearCajaImportacion(3L)).thenReturn(cajaImportacion);
+        doAnswer(invocation -> {
+            Consumer<VentaImportada> destino = invocation.getArgument(2);
+            destino.accept(new VentaImportada(1, "T-1", ZonedDateTime.now(), VentaRequest.builder().build(), null));
+            return null;
+        }).when(lector).leer(any(), any(), any());
+        when(loteService.procesarLote(any(), anyList()))
+                .thenReturn(new VentaImportacionLoteService.ResultadoLote(List.of(), 0, List.of()));
+
+        ImportacionVentasResponse response = importacionService.importar(archivo, FormatoImportacion.JSONL, 3L);
+
+        assertEquals(7L, response.getCajaId());
+        var orden = inOrder(cajaService, loteService);
+        orden.verify(cajaService).crearCajaImportacion(3L);
+        orden.verify(loteService).procesarLote(same(cajaImportacion), anyList());
+        orden.verify(cajaService).cerrarCajaImportacion(7L);
+    }
+
+    @Test
+    @DisplayName("Test para importar, si la lectura falla, debe cerrar la caja de la importación igual")
+    void importar_errorDeLectura_deberiaCerrarCaja() {
+        when(cajaService.crearCajaImportacion(3L)).thenReturn(Caja.builder().cajaId(7L).estado(EstadoCaja.CERRADA).build());
+        doThrow(new BusinessException("Archivo ilegible")).when(lector).leer(any(), any(), any());
+
+        assertThrows(BusinessException.class, () -> importacionService.importar(archivo, FormatoImportacion.JSONL, 3L));
+        verify(cajaService).cerrarCajaImportacion(7L);
+    }
+
+    @Test
+    @DisplayName("Test para importar ventas con fecha pasada, debe crear las particiones de sus meses antes del lote")
+    @SuppressWarnings("unchecked")
+    void importar_ventasPasadas_deberiaCrearParticionesDelLote() {
+        ReflectionTestUtils.setField(importacionService, "tamanioLote", 500);
+        when(cajaService.crearCajaImportacion(3L)).thenReturn(Caja.builder().cajaId(7L).estado(EstadoCaja.CERRADA).build());
+        doAnswer(invocation -> {
+            Consumer<VentaImportada> destino = invocation.getArgument(2);
+            destino.accept(new VentaImportada(1, "T-1", ZonedDateTime.parse("2018-03-10T12:00:00-03:00[America/Santiago]"),
+                    VentaRequest.builder().build(), null));
+            // 1 de noviembre a las 01:00 UTC aún es octubre en Santiago
+            destino.accept(new VentaImportada(2, "T-2", ZonedDateTime.parse("2018-11-01T01:00:00Z"),
+                    VentaRequest.builder().build(), null));
+            return null;
+        }).when(lector).leer(any(), any(), any());
+        when(loteService.procesarLote(any(), anyList()))
+                .thenReturn(new VentaImportacionLoteService.ResultadoLote(List.of(), 0, List.of()));
+
+        importacionService.importar(archivo, FormatoImportacion.JSONL, 3L);
+
+        var orden = inOrder(particionVentaService, loteService);
+        orden.verify(particionVentaService).crearParticiones(YearMonth.of(2018, 3), YearMonth.of(2018, 10));
+        orden.verify(loteService).procesarLote(any(), anyList());
+    }
+}
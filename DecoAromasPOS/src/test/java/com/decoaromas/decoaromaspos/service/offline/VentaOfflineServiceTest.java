@@ -0,0 +1,247 @@
+package com.decoaromas.decoaromaspos.service.offline;
+
+import com.decoaromas.decoaromaspos.dto.producto.ProductoSnapshot;
+import com.decoaromas.decoaromaspos.dto.venta.DetalleVentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.PagoRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaRequest;
+import com.decoaromas.decoaromaspos.dto.venta.VentaResponse;
+import com.decoaromas.decoaromaspos.dto.venta.offline.VentaOfflineResponse;
+import com.decoaromas.decoaromaspos.enums.EstadoSincronizacion;
+import com.decoaromas.decoaromaspos.enums.MedioPago;
+import com.decoaromas.decoaromaspos.enums.TipoCliente;
+import com.decoaromas.decoaromaspos.exception.BusinessException;
+import com.decoaromas.decoaromaspos.model.Venta;
+import com.decoaromas.decoaromaspos.service.VentaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VentaOfflineServiceTest {
+
+    @Mock private VentaService ventaService;
+    @Mock private CatalogoLocalService catalogoLocalService;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directorio;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private VentaJournal journal;
+    private VentaOfflineService service;
+
+    @BeforeEach
+    void setup() {
+        journal = new VentaJournal(objectMapper, directorio.toString());
+        service = new VentaOfflineService(ventaService, catalogoLocalService, journal, jdbcTemplate);
+    }
+
+    private VentaRequest request(int cantidad) {
+        PagoRequest pago = new PagoRequest();
+        pago.setMedioPago(MedioPago.EFECTIVO);
+        pago.setMonto(5000.0);
+        return VentaRequest.builder()
+                .usuarioId(1L)
+                .tipoCliente(TipoCliente.DETALLE)
+                .detalles(List.of(DetalleVentaRequest.builder().productoId(10L).cantidad(cantidad).build()))
+                .pagos(List.of(pago))
+                .build();
+    }
+
+    // Base de datos caída: crearVenta falla al abrir la transacción; el catálogo local tiene 3 unidades.
+    private void simularBaseCaida() {
+        when(ventaService.crearVenta(any())).thenThrow(new CannotCreateTransactionException("Connection refused"));
+        when(catalogoLocalService.buscar(10L)).thenReturn(Optional.of(
+                new ProductoSnapshot(10L, "Vela", "780001", 1000.0, 800.0, 300.0, 3)));
+        Venta calculada = new Venta();
+        calculada.setTotalNeto(1000.0);
+        calculada.setVuelto(4000.0);
+        lenient().when(ventaService.calcularVentaSinConexion(any(), any())).thenReturn(calculada);
+    }
+
+    @Test
+    @DisplayName("Test para registrar venta en línea, no debe usar el journal")
+    void registrarVenta_enLinea_deberiaGuardarEnBaseDeDatos() {
+        VentaResponse guardada = VentaResponse.builder().ventaId(1L).totalNeto(1000.0).build();
+        when(ventaService.crearVenta(any())).thenReturn(guardada);
+
+        VentaOfflineResponse resp = service.registrarVenta(request(1));
+
+        assertEquals(EstadoSincronizacion.SINCRONIZADA, resp.getEstado());
+        assertNotNull(resp.getUuid());
+        assertSame(guardada, resp.getVenta());
+        assertTrue(journal.pendientes().isEmpty());
+        assertFalse(service.isModoOffline());
+    }
+
+    @Test
+    @DisplayName("Test para registrar venta sin conexión, debe quedar en el journal y pasar a modo offline")
+    void registrarVenta_sinConexion_deberiaEscribirJournal() {
+        simularBaseCaida();
+
+        VentaOfflineResponse primera = service.registrarVenta(request(1));
+        VentaOfflineResponse segunda = service.registrarVenta(request(1));
+
+        assertEquals(EstadoSincronizacion.PENDIENTE, primera.getEstado());
+        assertEquals(1000.0, primera.getTotalNeto());
+        assertEquals(EstadoSincronizacion.PENDIENTE, segunda.getEstado());
+        assertTrue(service.isModoOffline());
+        assertEquals(2, journal.pendientes().size());
+        // En modo offline la segunda venta no espera a la base de datos
+        verify(ventaService, times(1)).crearVenta(any());
+    }
+
+    @Test
+    @DisplayName("Test para registrar venta sin conexión, debe descontar el stock de ventas pendientes")
+    void registrarVenta_sinConexion_stockLocalInsuficiente_deberiaLanzarExcepcion() {
+        simularBaseCaida();
+        service.registrarVenta(request(2));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.registrarVenta(request(2)));
+
+        assertEquals("Stock insuficiente para producto Vela", ex.getMessage());
+        assertEquals(1, journal.pendientes().size());
+    }
+
+    @Test
+    @DisplayName("Test para el journal, debe conservar las ventas al reiniciar")
+    void journal_deberiaSobrevivirReinicio() {
+        simularBaseCaida();
+        VentaOfflineResponse resp = service.registrarVenta(request(2));
+
+        VentaJournal reabierto = new VentaJournal(objectMapper, directorio.toString());
+        List<VentaJournal.Entrada> pendientes = reabierto.pendientes();
+
+        assertEquals(1, pendientes.size());
+        assertEquals(resp.getUuid(), pendientes.get(0).uuid());
+        assertEquals(resp.getUuid(), pendientes.get(0).request().getUuid());
+        assertEquals(2, pendientes.get(0).request().getDetalles().get(0).getCantidad());
+        assertEquals(MedioPago.EFECTIVO, pendientes.get(0).request().getPagos().get(0).getMedioPago());
+    }
+
+    @Test
+    @DisplayName("Test para el journal con una línea cortada al final, la siguiente venta no debe perderse")
+    void journal_lineaCortada_deberiaConservarSiguienteVenta() throws Exception {
+        simularBaseCaida();
+        service.registrarVenta(request(1));
+        // Corte de energía a mitad de escritura: queda un fragmento sin salto de línea
+        Files.write(directorio.resolve("ventas.journal"), "{\"uuid\":\"".getBytes(), StandardOpenOption.APPEND);
+
+        VentaOfflineResponse resp = service.registrarVenta(request(1));
+
+        List<VentaJournal.Entrada> pendientes = journal.pendientes();
+        assertEquals(2, pendientes.size());
+        assertEquals(resp.getUuid(), pendientes.get(1).uuid());
+    }
+
+    @Test
+    @DisplayName("Test para el journal con un carácter UTF-8 cortado, debe seguir leyendo las demás ventas")
+    void journal_caracterCortado_deberiaLeerDemasVentas() throws Exception {
+        simularBaseCaida();
+        VentaOfflineResponse resp = service.registrarVenta(request(1));
+        // Primer byte de "ñ" (0xC3 0xB1) sin el segundo
+        Files.write(directorio.resolve("ventas.journal"), new byte[]{'{', '"', (byte) 0xC3}, StandardOpenOption.APPEND);
+
+        List<VentaJournal.Entrada> pendientes = journal.pendientes();
+
+        assertEquals(1, pendientes.size());
+        assertEquals(resp.getUuid(), pendientes.get(0).uuid());
+    }
+
+    @Test
+    @DisplayName("Test para sincronizar con líneas ilegibles en el journal, no debe archivarlo")
+    void sincronizar_lineaIlegible_noDeberiaArchivar() throws Exception {
+        simularBaseCaida();
+        service.registrarVenta(request(1));
+        Files.write(directorio.resolve("ventas.journal"), "{\"uuid\":\"".getBytes(), StandardOpenOption.APPEND);
+
+        when(ventaService.crearVenta(any(), any())).thenReturn(VentaResponse.builder().ventaId(99L).build());
+        service.sincronizar();
+
+        assertTrue(journal.pendientes().isEmpty());
+        assertFalse(journal.archivarSiSincronizado());
+        assertTrue(Files.exists(directorio.resolve("ventas.journal")));
+        assertFalse(Files.exists(directorio.resolve("historial")));
+    }
+
+    @Test
+    @DisplayName("Test para sincronizar, debe reenviar las ventas con su fecha original y archivar el journal")
+    void sincronizar_deberiaReenviarConFechaOriginal() {
+        simularBaseCaida();
+        VentaOfflineResponse resp = service.registrarVenta(request(1));
+        ZonedDateTime fechaOffline = journal.pendientes().get(0).fecha();
+
+        when(ventaService.crearVenta(any(), any())).thenReturn(VentaResponse.builder().ventaId(99L).build());
+        service.sincronizar();
+
+        verify(ventaService).crearVenta(argThat(r -> r.getUuid().equals(resp.getUuid())), eq(fechaOffline));
+        assertFalse(service.isModoOffline());
+        assertTrue(journal.pendientes().isEmpty());
+        assertFalse(Files.exists(directorio.resolve("ventas.journal")));
+        assertTrue(Files.exists(directorio.resolve("historial")));
+    }
+
+    @Test
+    @DisplayName("Test para sincronizar con la base aún caída, las ventas deben seguir pendientes")
+    void sincronizar_sinConexion_deberiaMantenerPendientes() {
+        simularBaseCaida();
+        service.registrarVenta(request(1));
+
+        when(ventaService.crearVenta(any(), any())).thenThrow(new CannotCreateTransactionException("Connection refused"));
+        service.sincronizar();
+
+        assertTrue(service.isModoOffline());
+        assertEquals(1, journal.pendientes().size());
+        assertTrue(service.listarConflictos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test para sincronizar, una venta rechazada debe quedar como conflicto")
+    void sincronizar_ventaRechazada_deberiaQuedarEnConflicto() {
+        simularBaseCaida();
+        service.registrarVenta(request(1));
+
+        when(ventaService.crearVenta(any(), any())).thenThrow(new BusinessException("Stock insuficiente para producto Vela"));
+        service.sincronizar();
+
+        assertTrue(journal.pendientes().isEmpty());
+        assertEquals(1, service.listarConflictos().size());
+        assertEquals("Stock insuficiente para producto Vela", service.listarConflictos().get(0).getMensaje());
+        // Con conflictos el journal no se archiva
+        assertTrue(Files.exists(directorio.resolve("ventas.journal")));
+    }
+
+    @Test
+    @DisplayName("Test para sincronizar sin pendientes, debe volver a modo en línea si la base responde")
+    void sincronizar_sinPendientes_deberiaVolverEnLinea() {
+        simularBaseCaida();
+        // La venta falla en línea (pasa a offline) y tampoco cabe en el stock local: el journal queda vacío
+        assertThrows(BusinessException.class, () -> service.registrarVenta(request(5)));
+        assertTrue(service.isModoOffline());
+
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+        service.sincronizar();
+
+        assertFalse(service.isModoOffline());
+        verify(ventaService, never()).crearVenta(any(), any());
+    }
+}
@@ -0,0 +1,123 @@
+package com.decoaromas.decoaromaspos.service.pronostico;
+
+import com.decoaromas.decoaromaspos.dto.movimiento_inventario.StockProductoDTO;
+import com.decoaromas.decoaromaspos.dto.reportes.ResumenPronosticoDTO;
+import com.decoaromas.decoaromaspos.model.PronosticoDemanda;
+import com.decoaromas.decoaromaspos.repository.ProductoRepository;
+import com.decoaromas.decoaromaspos.repository.PronosticoDemandaLoteRepository;
+import com.decoaromas.decoaromaspos.repository.PronosticoDemandaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PronosticoDemandaServiceTest {
+
+    @Mock private PronosticoDemandaLoteRepository pronosticoDemandaLoteRepository;
+    @Mock private PronosticoDemandaRepository pronosticoDemandaRepository;
+    @Mock private ProductoRepository productoRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private PronosticoDemandaService pronosticoDemandaService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(pronosticoDemandaService, "historiaDias", 1095);
+        ReflectionTestUtils.setField(pronosticoDemandaService, "diasReposicion", 14);
+        ReflectionTestUtils.setField(pronosticoDemandaService, "diasCobertura", 14);
+        ReflectionTestUtils.setField(pronosticoDemandaService, "factorSeguridad", 1.65);
+        ReflectionTestUtils.setField(pronosticoDemandaService, "alfa", 0.2);
+        ReflectionTestUtils.setField(pronosticoDemandaService, "gamma", 0.1);
+        ReflectionTestUtils.setField(pronosticoDemandaService, "paralelismo", 4);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Test para calcular pronósticos, debe sugerir reposición solo a productos activos con stock bajo el punto de reorden")
+    void calcularPronosticos_deberiaSugerirReposicion() {
+        when(productoRepository.findStockActivos()).thenReturn(List.of(
+                new StockProductoDTO(1L, "VEL-1", "Vela", 5),
+                new StockProductoDTO(2L, "DIF-2", "Difusor", 500)));
+        // 3 unidades diarias de cada producto durante 10 semanas; el 3 está inactivo
+        doAnswer(inv -> {
+            LocalDate hasta = inv.getArgument(1);
+            PronosticoDemandaLoteRepository.DemandaDiariaHandler handler = inv.getArgument(2);
+            for (long productoId = 1; productoId <= 3; productoId++) {
+                for (LocalDate dia = hasta.minusDays(70); dia.isBefore(hasta); dia = dia.plusDays(1)) {
+                    handler.procesar(productoId, dia, 3);
+                }
+            }
+            return null;
+        }).when(pronosticoDemandaLoteRepository).recorrerDemandaDiaria(any(), any(), any());
+
+        ResumenPronosticoDTO resumen = pronosticoDemandaService.calcularPronosticos();
+
+        Map<Long, PronosticoDemanda> pronosticos = capturarPronosticos();
+        assertThat(pronosticos).containsOnlyKeys(1L, 2L);
+        PronosticoDemanda vela = pronosticos.get(1L);
+        assertThat(vela.getDiasHistoria()).isEqualTo(70);
+        assertThat(vela.getDemandaDiaria()).isEqualTo(3.0);
+        assertThat(vela.getPuntoReorden()).isEqualTo(42);
+        assertThat(vela.getCantidadSugerida()).isEqualTo(84 - 5);
+        assertThat(pronosticos.get(2L).getCantidadSugerida()).isZero();
+        assertThat(resumen.getProductosPronosticados()).isEqualTo(2);
+        assertThat(resumen.getProductosAReponer()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test para calcular pronósticos, 10.000 productos con 3 años de historia deben procesarse en menos de un minuto")
+    void calcularPronosticos_catalogoCompleto_deberiaTerminarEnMenosDeUnMinuto() {
+        int productos = 10_000;
+        when(productoRepository.findStockActivos()).thenReturn(LongStream.rangeClosed(1, productos)
+                .mapToObj(id -> new StockProductoDTO(id, "SKU-" + id, "Producto " + id, 10))
+                .toList());
+        doAnswer(inv -> {
+            LocalDate desde = inv.getArgument(0);
+            LocalDate hasta = inv.getArgument(1);
+            PronosticoDemandaLoteRepository.DemandaDiariaHandler handler = inv.getArgument(2);
+            List<LocalDate> dias = new ArrayList<>();
+            for (LocalDate dia = desde; dia.isBefore(hasta); dia = dia.plusDays(1)) {
+                dias.add(dia);
+            }
+            for (long productoId = 1; productoId <= productos; productoId++) {
+                for (int i = 0; i < dias.size(); i++) {
+                    handler.procesar(productoId, dias.get(i), (int) ((productoId + i) % 5));
+                }
+            }
+            return null;
+        }).when(pronosticoDemandaLoteRepository).recorrerDemandaDiaria(any(), any(), any());
+
+        long inicio = System.currentTimeMillis();
+        ResumenPronosticoDTO resumen = pronosticoDemandaService.calcularPronosticos();
+
+        assertThat(System.currentTimeMillis() - inicio).isLessThan(60_000);
+        assertThat(resumen.getProductosPronosticados()).isEqualTo(productos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, PronosticoDemanda> capturarPronosticos() {
+        ArgumentCaptor<List<PronosticoDemanda>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pronosticoDemandaLoteRepository).reemplazarPronosticos(captor.capture());
+        return captor.getValue().stream().collect(Collectors.toMap(PronosticoDemanda::getProductoId, Function.identity()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.decoaromas.decoaromaspos.service.pronostico;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SuavizamientoExponencialTest {
+
+    @Test
+    @DisplayName("Test para ajustar, una serie con patrón semanal debe reproducir el patrón en el pronóstico")
+    void ajustar_patronSemanal_deberiaPronosticarPatron() {
+        // 10 unidades los sábados (día 5 de cada semana), 2 el resto
+        int[] serie = new int[16 * 7];
+        for (int i = 0; i < serie.length; i++) {
+            serie[i] = (i % 7 == 5) ? 10 : 2;
+        }
+
+        SuavizamientoExponencial.Ajuste ajuste = SuavizamientoExponencial.ajustar(serie, 7, 0.2, 0.1, 14);
+
+        // La serie termina en el día 6 de la semana: el pronóstico empieza en el día 0
+        assertThat(ajuste.pronostico()[5]).isCloseTo(10, within(0.01));
+        assertThat(ajuste.pronostico()[12]).isCloseTo(10, within(0.01));
+        assertThat(ajuste.pronostico()[0]).isCloseTo(2, within(0.01));
+        assertThat(ajuste.total(7)).isCloseTo(22, within(0.05));
+        assertThat(ajuste.desviacion()).isCloseTo(0, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Test para ajustar, una serie corta debe usar el promedio")
+    void ajustar_serieCorta_deberiaUsarPromedio() {
+        SuavizamientoExponencial.Ajuste ajuste = SuavizamientoExponencial.ajustar(new int[]{4, 0, 2}, 7, 0.2, 0.1, 3);
+
+        assertThat(ajuste.pronostico()).containsExactly(2.0, 2.0, 2.0);
+        assertThat(ajuste.desviacion()).isCloseTo(2, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Test para ajustar, una demanda que se detiene no debe pronosticar valores negativos")
+    void ajustar_demandaDetenida_noDeberiaSerNegativo() {
+        int[] serie = new int[8 * 7];
+        for (int i = 0; i < 4 * 7; i++) {
+            serie[i] = (i % 7 == 0) ? 30 : 1;
+        }
+
+        SuavizamientoExponencial.Ajuste ajuste = SuavizamientoExponencial.ajustar(serie, 7, 0.5, 0.5, 7);
+
+        assertThat(Arrays.stream(ajuste.pronostico()).min().orElseThrow()).isGreaterThanOrEqualTo(0);
+    }
+}